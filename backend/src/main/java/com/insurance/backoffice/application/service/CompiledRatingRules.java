@@ -0,0 +1,314 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.EngineCapacityBand;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.PowerBand;
+import com.insurance.backoffice.domain.RatingAttribute;
+import com.insurance.backoffice.domain.RatingRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rating rules compiled into a flat evaluator.
+ * Every factor of an insurance type keeps its upper bounds in a sorted int array, so bucketing an
+ * attribute is a binary search. The buckets of all factors combine into one cell number (mixed radix,
+ * first factor most significant), and the rating keys of every cell are resolved once at compile time.
+ * Premium grids are laid out by these cells, so a quote never builds a rating key string.
+ * Insurance types without stored rules use the default tariff of {@link #defaults()}.
+ * Clean Code: Immutable value object - safe to share between threads without synchronization.
+ */
+public final class CompiledRatingRules {
+
+    /** Vehicle ages above this share one rating in the default tariff. */
+    static final int DEFAULT_MAX_RATED_VEHICLE_AGE = 10;
+
+    /** Rating key of negative vehicle ages in the default tariff; matches no rating table entry. */
+    static final String UNRATED_VEHICLE_AGE_KEY = "VEHICLE_AGE_UNRATED";
+
+    private static final CompiledRatingRules DEFAULTS = compileTypes(defaultRules());
+
+    private final TypeRules[] rulesByType;
+    private final String signature;
+
+    private CompiledRatingRules(TypeRules[] rulesByType) {
+        this.rulesByType = rulesByType;
+        StringBuilder signature = new StringBuilder();
+        for (InsuranceType insuranceType : InsuranceType.values()) {
+            signature.append(insuranceType).append(rulesByType[insuranceType.ordinal()].signature).append('\n');
+        }
+        this.signature = signature.toString();
+    }
+
+    /**
+     * Returns the default tariff: vehicle age capped at {@value #DEFAULT_MAX_RATED_VEHICLE_AGE} years,
+     * the {@link EngineCapacityBand} and {@link PowerBand} bands and one coverage key per insurance type.
+     */
+    public static CompiledRatingRules defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Compiles stored rating rules. Insurance types without rules keep the default tariff.
+     *
+     * @param ratingRules all stored rating rules
+     * @return the compiled rules
+     */
+    public static CompiledRatingRules compile(Collection<RatingRule> ratingRules) {
+        if (ratingRules == null || ratingRules.isEmpty()) {
+            return DEFAULTS;
+        }
+        Map<InsuranceType, List<RatingRule>> byType = defaultRules();
+        Map<InsuranceType, List<RatingRule>> stored = new EnumMap<>(InsuranceType.class);
+        for (RatingRule ratingRule : ratingRules) {
+            stored.computeIfAbsent(ratingRule.getInsuranceType(), type -> new ArrayList<>()).add(ratingRule);
+        }
+        byType.putAll(stored);
+        return compileTypes(byType);
+    }
+
+    /**
+     * Returns the grid cell of a vehicle: the combined bucket of every factor.
+     *
+     * @param insuranceType the insurance type
+     * @param vehicleAge vehicle age in whole years on the policy date
+     * @param engineCapacity engine capacity in cc
+     * @param power engine power in HP
+     * @return the cell number, between 0 and {@link #cellCount(InsuranceType)} exclusive
+     */
+    public int cellOf(InsuranceType insuranceType, int vehicleAge, int engineCapacity, int power) {
+        TypeRules rules = rulesByType[insuranceType.ordinal()];
+        int cell = 0;
+        for (Factor factor : rules.factors) {
+            int value = switch (factor.attribute) {
+                case VEHICLE_AGE -> vehicleAge;
+                case ENGINE_CAPACITY -> engineCapacity;
+                case POWER -> power;
+                case NONE -> 0;
+            };
+            cell += factor.bucketOf(value) * factor.stride;
+        }
+        return cell;
+    }
+
+    /**
+     * Returns the number of distinct rating cells of an insurance type.
+     */
+    public int cellCount(InsuranceType insuranceType) {
+        return rulesByType[insuranceType.ordinal()].cellKeys.length;
+    }
+
+    /**
+     * Returns the rating keys of a cell, one per factor in rule order. The array is shared; do not modify.
+     */
+    String[] ratingKeysOfCell(InsuranceType insuranceType, int cell) {
+        return rulesByType[insuranceType.ordinal()].cellKeys[cell];
+    }
+
+    /**
+     * Returns the rating keys applied to a vehicle, one per factor in rule order.
+     */
+    public String[] ratingKeys(InsuranceType insuranceType, int vehicleAge, int engineCapacity, int power) {
+        return ratingKeysOfCell(insuranceType, cellOf(insuranceType, vehicleAge, engineCapacity, power)).clone();
+    }
+
+    /**
+     * Returns the factor names of an insurance type in rule order, matching {@link #ratingKeys}.
+     */
+    public String[] factorNames(InsuranceType insuranceType) {
+        return rulesByType[insuranceType.ordinal()].factorNames.clone();
+    }
+
+    /**
+     * Returns the factors of every insurance type - names, attributes, bounds and rating keys - as text.
+     * Two rule sets with the same signature bucket every vehicle into the same rating keys.
+     */
+    String signature() {
+        return signature;
+    }
+
+    /**
+     * Returns the sorted vehicle ages at which a vehicle moves into another rating bucket.
+     * Between two consecutive ages the vehicle age cannot change the premium.
+     */
+    public int[] getVehicleAgeBoundaries(InsuranceType insuranceType) {
+        return rulesByType[insuranceType.ordinal()].vehicleAgeBoundaries.clone();
+    }
+
+    private static CompiledRatingRules compileTypes(Map<InsuranceType, List<RatingRule>> rulesByType) {
+        InsuranceType[] insuranceTypes = InsuranceType.values();
+        TypeRules[] compiled = new TypeRules[insuranceTypes.length];
+        for (InsuranceType insuranceType : insuranceTypes) {
+            compiled[insuranceType.ordinal()] = TypeRules.of(rulesByType.getOrDefault(insuranceType, List.of()));
+        }
+        return new CompiledRatingRules(compiled);
+    }
+
+    private static Map<InsuranceType, List<RatingRule>> defaultRules() {
+        // Ages below zero (first registration after the policy date) get a key no rating table defines,
+        // so they keep the neutral multiplier 1.0 rather than the rating of new vehicles
+        int[] ageBounds = new int[DEFAULT_MAX_RATED_VEHICLE_AGE + 1];
+        String[] ageKeys = new String[DEFAULT_MAX_RATED_VEHICLE_AGE + 2];
+        ageBounds[0] = -1;
+        ageKeys[0] = UNRATED_VEHICLE_AGE_KEY;
+        for (int age = 0; age <= DEFAULT_MAX_RATED_VEHICLE_AGE; age++) {
+            if (age < DEFAULT_MAX_RATED_VEHICLE_AGE) {
+                ageBounds[age + 1] = age;
+            }
+            ageKeys[age + 1] = "VEHICLE_AGE_" + age;
+        }
+        EngineCapacityBand[] engineBands = EngineCapacityBand.values();
+        PowerBand[] powerBands = PowerBand.values();
+
+        Map<InsuranceType, List<RatingRule>> defaults = new EnumMap<>(InsuranceType.class);
+        for (InsuranceType insuranceType : InsuranceType.values()) {
+            defaults.put(insuranceType, List.of(
+                    rule(insuranceType, "VEHICLE_AGE", RatingAttribute.VEHICLE_AGE, 1, ageBounds, ageKeys),
+                    rule(insuranceType, "ENGINE_CAPACITY", RatingAttribute.ENGINE_CAPACITY, 2,
+                            Arrays.stream(engineBands, 0, engineBands.length - 1)
+                                    .mapToInt(EngineCapacityBand::getUpperBound).toArray(),
+                            Arrays.stream(engineBands).map(EngineCapacityBand::getRatingKey).toArray(String[]::new)),
+                    rule(insuranceType, "POWER", RatingAttribute.POWER, 3,
+                            Arrays.stream(powerBands, 0, powerBands.length - 1)
+                                    .mapToInt(PowerBand::getUpperBound).toArray(),
+                            Arrays.stream(powerBands).map(PowerBand::getRatingKey).toArray(String[]::new)),
+                    rule(insuranceType, insuranceType + "_COVERAGE", RatingAttribute.NONE, 4, new int[0],
+                            new String[] {defaultCoverageKey(insuranceType)})
+            ));
+        }
+        return defaults;
+    }
+
+    private static String defaultCoverageKey(InsuranceType insuranceType) {
+        return switch (insuranceType) {
+            case OC -> "OC_STANDARD";
+            case AC -> "AC_COMPREHENSIVE";
+            case NNW -> "NNW_STANDARD";
+        };
+    }
+
+    private static RatingRule rule(InsuranceType insuranceType, String factorName, RatingAttribute attribute,
+                                   int position, int[] upperBounds, String[] ratingKeys) {
+        return RatingRule.builder()
+                .insuranceType(insuranceType)
+                .factorName(factorName)
+                .attribute(attribute)
+                .position(position)
+                .upperBounds(upperBounds)
+                .ratingKeys(ratingKeys)
+                .build();
+    }
+
+    /**
+     * The compiled factors of one insurance type with the rating keys of every cell.
+     */
+    private static final class TypeRules {
+        private final Factor[] factors;
+        private final String[] factorNames;
+        private final String[][] cellKeys;
+        private final int[] vehicleAgeBoundaries;
+        private final String signature;
+
+        private TypeRules(Factor[] factors, String[][] cellKeys, int[] vehicleAgeBoundaries) {
+            this.factors = factors;
+            this.factorNames = Arrays.stream(factors).map(factor -> factor.name).toArray(String[]::new);
+            this.cellKeys = cellKeys;
+            this.vehicleAgeBoundaries = vehicleAgeBoundaries;
+            StringBuilder signature = new StringBuilder();
+            for (Factor factor : factors) {
+                signature.append('|').append(factor.name).append(':').append(factor.attribute)
+                        .append(':').append(Arrays.toString(factor.upperBounds))
+                        .append(':').append(String.join(",", factor.ratingKeys));
+            }
+            this.signature = signature.toString();
+        }
+
+        static TypeRules of(List<RatingRule> ratingRules) {
+            List<RatingRule> ordered = new ArrayList<>(ratingRules);
+            ordered.sort(Comparator.comparingInt(RatingRule::getPosition));
+
+            // Last factor varies fastest, so its stride is one
+            Factor[] factors = new Factor[ordered.size()];
+            int stride = 1;
+            for (int i = factors.length - 1; i >= 0; i--) {
+                factors[i] = Factor.of(ordered.get(i), stride);
+                stride = Math.multiplyExact(stride, factors[i].ratingKeys.length);
+            }
+
+            String[][] cellKeys = new String[stride][];
+            for (int cell = 0; cell < stride; cell++) {
+                String[] keys = new String[factors.length];
+                for (int i = 0; i < factors.length; i++) {
+                    keys[i] = factors[i].ratingKeys[cell / factors[i].stride % factors[i].ratingKeys.length];
+                }
+                cellKeys[cell] = keys;
+            }
+
+            int[] vehicleAgeBoundaries = Arrays.stream(factors)
+                    .filter(factor -> factor.attribute == RatingAttribute.VEHICLE_AGE)
+                    .flatMapToInt(factor -> Arrays.stream(factor.upperBounds).map(bound -> bound + 1))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+            return new TypeRules(factors, cellKeys, vehicleAgeBoundaries);
+        }
+    }
+
+    /**
+     * One compiled rule: sorted inclusive upper bounds and the rating key of each bucket.
+     */
+    private static final class Factor {
+        private final String name;
+        private final RatingAttribute attribute;
+        private final int[] upperBounds;
+        private final String[] ratingKeys;
+        private final int stride;
+
+        private Factor(String name, RatingAttribute attribute, int[] upperBounds, String[] ratingKeys, int stride) {
+            this.name = name;
+            this.attribute = attribute;
+            this.upperBounds = upperBounds;
+            this.ratingKeys = ratingKeys;
+            this.stride = stride;
+        }
+
+        static Factor of(RatingRule ratingRule, int stride) {
+            int[] upperBounds = ratingRule.getUpperBoundValues();
+            String[] ratingKeys = ratingRule.getRatingKeyValues();
+            // Stored rows bypass the builder, so the bucket layout is checked again before use
+            if (ratingKeys.length != upperBounds.length + 1) {
+                throw new IllegalStateException("Rating rule " + ratingRule.getInsuranceType() + " " +
+                        ratingRule.getFactorName() + " needs one rating key more than upper bounds");
+            }
+            for (int i = 1; i < upperBounds.length; i++) {
+                if (upperBounds[i] <= upperBounds[i - 1]) {
+                    throw new IllegalStateException("Rating rule " + ratingRule.getInsuranceType() + " " +
+                            ratingRule.getFactorName() + " has upper bounds that are not strictly ascending");
+                }
+            }
+            return new Factor(ratingRule.getFactorName(), ratingRule.getAttribute(), upperBounds, ratingKeys, stride);
+        }
+
+        /**
+         * Returns the first bucket whose upper bound is at least the value, or the last bucket.
+         */
+        int bucketOf(int value) {
+            int low = 0;
+            int high = upperBounds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (upperBounds[mid] >= value) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
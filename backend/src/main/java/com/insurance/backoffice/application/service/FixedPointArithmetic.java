@@ -0,0 +1,128 @@
+package com.insurance.backoffice.application.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Scaled-long arithmetic for premium calculation.
+ * A non-negative decimal is packed into one long: the unscaled value (trailing zeros stripped)
+ * in the upper bits and the scale in the lowest {@value #SCALE_BITS} bits. Multiplying packed values
+ * multiplies the unscaled parts and adds the scales, so the product is exact until it overflows 127 bits,
+ * which is reported as an {@link ArithmeticException} for the caller to fall back to BigDecimal.
+ * Clean Code: Pure functions without allocation on the multiplication path.
+ */
+final class FixedPointArithmetic {
+
+    /** Marker for values that cannot be packed (negative, too precise or too large). */
+    static final long UNREPRESENTABLE = -1L;
+
+    private static final int SCALE_BITS = 5;
+    private static final long SCALE_MASK = (1L << SCALE_BITS) - 1;
+    private static final int MAX_UNSCALED_BITS = Long.SIZE - 1 - SCALE_BITS;
+    private static final int CENTS_SCALE = 2;
+    // Divisors stay below 2^31 so a remainder shifted by one 32-bit word still fits a long
+    private static final int MAX_DIVISOR_DIGITS = 9;
+    private static final long LOW_WORD_MASK = 0xFFFFFFFFL;
+
+    /** Packed representation of the neutral multiplier 1. */
+    static final long ONE = 1L << SCALE_BITS;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_DIVISOR_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private FixedPointArithmetic() {
+    }
+
+    /**
+     * Packs a decimal value.
+     *
+     * @param value the value to pack
+     * @return the packed value, or {@link #UNREPRESENTABLE}
+     */
+    static long encode(BigDecimal value) {
+        if (value == null || value.signum() < 0) {
+            return UNREPRESENTABLE;
+        }
+        if (value.signum() == 0) {
+            return 0L;
+        }
+        BigDecimal stripped = value.stripTrailingZeros();
+        BigInteger unscaled = stripped.unscaledValue();
+        int scale = stripped.scale();
+        if (scale < 0) {
+            unscaled = unscaled.multiply(BigInteger.TEN.pow(-scale));
+            scale = 0;
+        }
+        if (scale > SCALE_MASK || unscaled.bitLength() > MAX_UNSCALED_BITS) {
+            return UNREPRESENTABLE;
+        }
+        return unscaled.longValue() << SCALE_BITS | scale;
+    }
+
+    /**
+     * Multiplies packed values and rounds the exact product HALF_UP to cents.
+     * The product is accumulated as an unsigned 128-bit integer in two longs, which holds
+     * a base premium times several 4-decimal multipliers without losing a digit.
+     *
+     * @param factors packed factors
+     * @param count number of leading factors to multiply
+     * @return the product in cents
+     * @throws ArithmeticException if a factor is unrepresentable or the product overflows
+     */
+    static long multiplyToCents(long[] factors, int count) {
+        long high = 0;
+        long low = 1;
+        int scale = 0;
+        for (int i = 0; i < count; i++) {
+            long factor = factors[i];
+            if (factor == UNREPRESENTABLE) {
+                throw new ArithmeticException("Factor is not representable in fixed-point");
+            }
+            long unscaled = factor >>> SCALE_BITS;
+            // Unsigned high word of low * unscaled; unscaled is non-negative
+            long carry = Math.multiplyHigh(low, unscaled) + ((low >> 63) & unscaled);
+            high = Math.addExact(Math.multiplyExact(high, unscaled), carry);
+            low = low * unscaled;
+            scale += (int) (factor & SCALE_MASK);
+        }
+
+        if (scale <= CENTS_SCALE) {
+            return Math.multiplyExact(toLong(high, low), POWERS_OF_TEN[CENTS_SCALE - scale]);
+        }
+
+        // Drop all but one of the extra digits; HALF_UP only depends on the first dropped digit
+        int digitsToDrop = scale - CENTS_SCALE - 1;
+        while (digitsToDrop > 0) {
+            int digits = Math.min(digitsToDrop, MAX_DIVISOR_DIGITS);
+            long divisor = POWERS_OF_TEN[digits];
+            long quotient3 = (high >>> 32) / divisor;
+            long remainder = (high >>> 32) % divisor;
+            long current = remainder << 32 | (high & LOW_WORD_MASK);
+            long quotient2 = current / divisor;
+            current = (current % divisor) << 32 | (low >>> 32);
+            long quotient1 = current / divisor;
+            current = (current % divisor) << 32 | (low & LOW_WORD_MASK);
+            long quotient0 = current / divisor;
+            high = quotient3 << 32 | quotient2;
+            low = quotient1 << 32 | quotient0;
+            digitsToDrop -= digits;
+        }
+
+        long withRoundingDigit = toLong(high, low);
+        long cents = withRoundingDigit / 10;
+        return withRoundingDigit % 10 >= 5 ? cents + 1 : cents;
+    }
+
+    private static long toLong(long high, long low) {
+        if (high != 0 || low < 0) {
+            throw new ArithmeticException("Premium exceeds fixed-point range");
+        }
+        return low;
+    }
+}
@@ -0,0 +1,103 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Computes rounded premiums with scaled-long arithmetic instead of chained BigDecimal multiplication.
+ * When enabled, premiums come from the fixed-point path and fall back to BigDecimal on overflow.
+ * Independently, a sample of calculations can be shadow-verified: both paths run, the BigDecimal
+ * result is returned, and differing cents are counted, so the paths can be proven identical before
+ * the fixed-point path is switched on.
+ * Clean Code: Single Responsibility - owns the choice and verification of premium arithmetic.
+ */
+@Component
+public class FixedPointPremiumCalculator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixedPointPremiumCalculator.class);
+
+    private final boolean enabled;
+    private final double shadowSampleRate;
+    private final Counter comparisonCounter;
+    private final Counter mismatchCounter;
+    private final Counter fallbackCounter;
+
+    @Autowired
+    public FixedPointPremiumCalculator(MeterRegistry meterRegistry,
+                                       @Value("${app.rating.fixed-point.enabled:false}") boolean enabled,
+                                       @Value("${app.rating.fixed-point.shadow-sample-rate:0.0}") double shadowSampleRate) {
+        if (shadowSampleRate < 0 || shadowSampleRate > 1) {
+            throw new IllegalArgumentException("Shadow sample rate must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.shadowSampleRate = shadowSampleRate;
+        this.comparisonCounter = Counter.builder("rating.fixed-point.comparisons")
+                .description("Premiums calculated with both fixed-point and BigDecimal arithmetic")
+                .register(meterRegistry);
+        this.mismatchCounter = Counter.builder("rating.fixed-point.mismatches")
+                .description("Shadow-verified premiums whose fixed-point cents differ from BigDecimal")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("rating.fixed-point.fallbacks")
+                .description("Premiums that overflowed fixed-point arithmetic and used BigDecimal")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Calculates the premium rounded HALF_UP to 2 decimal places.
+     *
+     * @param snapshot the rating snapshot holding the packed multipliers
+     * @param insuranceType the insurance type
+     * @param basePremium the base premium
+     * @param ratingKeys the rating keys whose multipliers apply; missing entries count as 1
+     * @param epochDay the policy date as epoch day
+     * @param exactPremium the BigDecimal calculation of the same premium, already rounded
+     * @return the rounded premium
+     */
+    public BigDecimal premium(RatingTableSnapshot snapshot, InsuranceType insuranceType, BigDecimal basePremium,
+                              String[] ratingKeys, long epochDay, Supplier<BigDecimal> exactPremium) {
+        boolean verify = shadowSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < shadowSampleRate;
+        if (!enabled && !verify) {
+            return exactPremium.get();
+        }
+
+        long[] factors = new long[ratingKeys.length + 1];
+        factors[0] = FixedPointArithmetic.encode(basePremium);
+        for (int i = 0; i < ratingKeys.length; i++) {
+            factors[i + 1] = snapshot.findFixedPointMultiplier(insuranceType, ratingKeys[i], epochDay);
+        }
+
+        long cents;
+        try {
+            cents = FixedPointArithmetic.multiplyToCents(factors, factors.length);
+        } catch (ArithmeticException e) {
+            fallbackCounter.increment();
+            return exactPremium.get();
+        }
+
+        if (verify) {
+            BigDecimal expected = exactPremium.get();
+            BigDecimal fixedPoint = BigDecimal.valueOf(cents, 2);
+            comparisonCounter.increment();
+            if (fixedPoint.compareTo(expected) != 0) {
+                mismatchCounter.increment();
+                logger.warn("Fixed-point premium {} differs from BigDecimal premium {} for {} with keys {}",
+                        fixedPoint, expected, insuranceType, String.join(",", ratingKeys));
+            }
+            return expected;
+        }
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public double getShadowSampleRate() { return shadowSampleRate; }
+}
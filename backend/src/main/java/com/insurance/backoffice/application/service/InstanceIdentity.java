@@ -0,0 +1,29 @@
+package com.insurance.backoffice.application.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Identity of this application instance in background job claims.
+ * The host name tells operators where a job runs; the random suffix keeps a restarted instance from
+ * mistaking the claims of its previous run for its own.
+ */
+final class InstanceIdentity {
+
+    private static final int MAX_HOST_NAME_LENGTH = 80;
+
+    static final String ID = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private InstanceIdentity() {
+    }
+
+    private static String hostName() {
+        try {
+            String hostName = InetAddress.getLocalHost().getHostName();
+            return hostName.length() > MAX_HOST_NAME_LENGTH ? hostName.substring(0, MAX_HOST_NAME_LENGTH) : hostName;
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.Client;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.Policy;
+import com.insurance.backoffice.domain.PolicyStatus;
+import com.insurance.backoffice.domain.Vehicle;
+import com.insurance.backoffice.infrastructure.repository.ClientRepository;
+import com.insurance.backoffice.infrastructure.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for issuing many policies in one call, for fleet customers.
+ * Each item is validated and rated on its own, and invalid items are reported without holding back
+ * the valid ones. Clients and vehicles are loaded with one query each and policy numbers come from
+ * {@link PolicyNumberAllocator} without any query. The policies are inserted through Hibernate JDBC
+ * batching, which works because policy IDs come from a pooled sequence.
+ * Clean Code: Single Responsibility - bulk issuance, sharing validation rules with PolicyService.
+ */
+@Service
+public class PolicyBulkIssuanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyBulkIssuanceService.class);
+
+    private final ClientRepository clientRepository;
+    private final VehicleRepository vehicleRepository;
+    private final RatingService ratingService;
+    private final PolicyNumberAllocator policyNumberAllocator;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final int maxItems;
+
+    @Autowired
+    public PolicyBulkIssuanceService(ClientRepository clientRepository,
+                                     VehicleRepository vehicleRepository,
+                                     RatingService ratingService,
+                                     PolicyNumberAllocator policyNumberAllocator,
+                                     EntityManager entityManager,
+                                     @Value("${app.policies.bulk.batch-size:500}") int batchSize,
+                                     @Value("${app.policies.bulk.max-items:5000}") int maxItems) {
+        this.clientRepository = clientRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.ratingService = ratingService;
+        this.policyNumberAllocator = policyNumberAllocator;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Issues a policy for every valid item.
+     *
+     * @param items the policies to issue
+     * @return the issued policies and a message for every rejected item
+     * @throws IllegalArgumentException if there are no items or more than the configured maximum
+     */
+    @Transactional
+    public BulkIssuanceResult issuePolicies(List<BulkPolicyItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one policy is required");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " policies can be issued per request");
+        }
+        long started = System.nanoTime();
+
+        Map<Long, Client> clients = loadById(items, BulkPolicyItem::clientId, clientRepository::findAllById,
+                Client::getId);
+        Map<Long, Vehicle> vehicles = loadById(items, BulkPolicyItem::vehicleId, vehicleRepository::findAllById,
+                Vehicle::getId);
+
+        List<ItemError> errors = new ArrayList<>();
+        List<IssuedPolicy> issued = new ArrayList<>(items.size());
+        List<Pending> chunk = new ArrayList<>(batchSize);
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+
+        for (int index = 0; index < items.size(); index++) {
+            BulkPolicyItem item = items.get(index);
+            try {
+                chunk.add(new Pending(index, prepare(item, clients, vehicles)));
+            } catch (IllegalArgumentException | IllegalStateException | EntityNotFoundException
+                     | PremiumCalculationException e) {
+                errors.add(new ItemError(index, e.getMessage()));
+            }
+            if (chunk.size() == batchSize) {
+                insert(chunk, issued, session);
+            }
+        }
+        insert(chunk, issued, session);
+
+        logger.info("Issued {} of {} policies in bulk in {} ms", issued.size(), items.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return new BulkIssuanceResult(items.size(), issued.size(), issued, errors);
+    }
+
+    /**
+     * Validates and rates one item into an unsaved policy.
+     */
+    private Policy prepare(BulkPolicyItem item, Map<Long, Client> clients, Map<Long, Vehicle> vehicles) {
+        if (item == null) {
+            throw new IllegalArgumentException("Policy item cannot be null");
+        }
+        PolicyService.validatePolicyCreationParameters(item.clientId(), item.vehicleId(), item.insuranceType(),
+                item.startDate(), item.endDate());
+        Client client = clients.get(item.clientId());
+        if (client == null) {
+            throw new EntityNotFoundException("Client not found with ID: " + item.clientId());
+        }
+        Vehicle vehicle = vehicles.get(item.vehicleId());
+        if (vehicle == null) {
+            throw new EntityNotFoundException("Vehicle not found with ID: " + item.vehicleId());
+        }
+        BigDecimal premium = ratingService.calculatePremium(item.insuranceType(), vehicle, item.startDate());
+
+        return Policy.builder()
+                .policyNumber(policyNumberAllocator.nextPolicyNumber(item.insuranceType()))
+                .issueDate(LocalDate.now())
+                .startDate(item.startDate())
+                .endDate(item.endDate())
+                .status(PolicyStatus.ACTIVE)
+                .insuranceType(item.insuranceType())
+                .premium(premium)
+                .discountSurcharge(item.discountSurcharge())
+                .amountGuaranteed(item.amountGuaranteed())
+                .coverageArea(item.coverageArea())
+                .client(client)
+                .vehicle(vehicle)
+                .build();
+    }
+
+    /**
+     * Inserts a chunk as one JDBC batch and detaches it, so the persistence context stays small.
+     */
+    private void insert(List<Pending> chunk, List<IssuedPolicy> issued, Session session) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (Pending pending : chunk) {
+            session.persist(pending.policy());
+        }
+        session.flush();
+        for (Pending pending : chunk) {
+            Policy policy = pending.policy();
+            issued.add(new IssuedPolicy(pending.index(), policy.getId(), policy.getPolicyNumber()));
+        }
+        session.clear();
+        chunk.clear();
+    }
+
+    private static <T> Map<Long, T> loadById(List<BulkPolicyItem> items, Function<BulkPolicyItem, Long> idOf,
+                                              Function<Set<Long>, List<T>> finder, Function<T, Long> entityId) {
+        Set<Long> ids = items.stream()
+                .filter(Objects::nonNull)
+                .map(idOf)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, T> byId = new HashMap<>();
+        for (T entity : finder.apply(ids)) {
+            byId.put(entityId.apply(entity), entity);
+        }
+        return byId;
+    }
+
+    /**
+     * An unsaved policy and the position of its item in the request.
+     */
+    private record Pending(int index, Policy policy) {}
+
+    /**
+     * One policy to issue.
+     */
+    public record BulkPolicyItem(Long clientId, Long vehicleId, InsuranceType insuranceType,
+                                 LocalDate startDate, LocalDate endDate, BigDecimal discountSurcharge,
+                                 BigDecimal amountGuaranteed, String coverageArea) {}
+
+    /**
+     * A policy issued for the item at a 0-based position in the request.
+     */
+    public record IssuedPolicy(int index, Long policyId, String policyNumber) {}
+
+    /**
+     * Why the item at a 0-based position in the request was not issued.
+     */
+    public record ItemError(int index, String message) {}
+
+    /**
+     * Outcome of a bulk issuance. Valid items are issued even when others are rejected.
+     */
+    public record BulkIssuanceResult(int received, int issued, List<IssuedPolicy> policies,
+                                     List<ItemError> errors) {
+
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+    }
+}
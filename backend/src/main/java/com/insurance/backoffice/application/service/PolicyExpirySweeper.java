@@ -0,0 +1,144 @@
+package com.insurance.backoffice.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves ACTIVE policies past their end date to EXPIRED, so the stored status stays true and
+ * ACTIVE-filtered queries only read live policies.
+ * Each sweep expires overdue policies in chunks, one statement and one transaction per chunk. A chunk
+ * claims its rows with FOR UPDATE SKIP LOCKED, so sweepers on several nodes split the work instead of
+ * waiting on each other, and rows locked by a concurrent cancellation are left for the next sweep.
+ * Clean Code: Single Responsibility - status maintenance, the expiry rule stays in the Policy domain.
+ */
+@Service
+public class PolicyExpirySweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyExpirySweeper.class);
+
+    // The partial index on ACTIVE end dates (V30) finds the overdue rows without reading expired ones
+    private static final String EXPIRE_CHUNK_SQL = """
+            UPDATE policies SET status = 'EXPIRED', version = version + 1
+            WHERE id IN (
+                SELECT id FROM policies
+                WHERE status = 'ACTIVE' AND end_date < CURRENT_DATE
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int chunkSize;
+    private final Counter sweptCounter;
+    private final Timer sweepTimer;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public PolicyExpirySweeper(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.policies.expiry.enabled:true}") boolean enabled,
+                               @Value("${app.policies.expiry.interval:PT1H}") Duration interval,
+                               @Value("${app.policies.expiry.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Expiry chunk size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.chunkSize = chunkSize;
+        this.sweptCounter = Counter.builder("policies.expiry.swept")
+                .description("Policies moved from ACTIVE to EXPIRED by the expiry sweeper")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("policies.expiry.sweep")
+                .description("Time to expire all overdue policies in one sweep")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "policy-expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the first sweep once the application is ready and repeats it at the configured interval.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Policy expiry sweeper is disabled");
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::sweepSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Expires every ACTIVE policy whose end date has passed.
+     * Clean Code: Intention-revealing method name with clear business purpose.
+     *
+     * @return number of policies expired by this sweep
+     */
+    public long sweep() {
+        long started = System.nanoTime();
+        long swept = 0;
+        try {
+            int expired;
+            do {
+                expired = expireChunk();
+                swept += expired;
+                sweptCounter.increment(expired);
+            } while (expired == chunkSize);
+        } finally {
+            sweepTimer.record(Duration.ofNanos(System.nanoTime() - started));
+        }
+        if (swept > 0) {
+            logger.info("Expired {} overdue policies", swept);
+        }
+        return swept;
+    }
+
+    /**
+     * Expires at most one chunk of overdue policies in its own transaction.
+     *
+     * @return number of policies expired
+     */
+    int expireChunk() {
+        Integer expired = transactionTemplate.execute(status -> jdbcTemplate.update(EXPIRE_CHUNK_SQL, chunkSize));
+        return expired != null ? expired : 0;
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            // A failed sweep must not cancel the schedule; the next one picks up the remaining rows
+            logger.warn("Policy expiry sweep failed, retrying in {} ms", interval.toMillis(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.insurance.backoffice.application.service;
+
+/**
+ * Output formats of the policy export.
+ */
+public enum PolicyExportFormat {
+    /**
+     * One JSON object per line (application/x-ndjson).
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row (text/csv, RFC 4180 quoting).
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    PolicyExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() { return mediaType; }
+    public String getFileExtension() { return fileExtension; }
+}
@@ -0,0 +1,144 @@
+package com.insurance.backoffice.application.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.insurance.backoffice.domain.PolicySummary;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting every policy as NDJSON or CSV.
+ * Policies are read through a database cursor and written as they arrive, so memory use does not
+ * grow with the number of policies and the first rows reach the client before the last are read.
+ * Rows are {@link PolicySummary} projections: they never enter the persistence context, so there
+ * is nothing to detach or clear while streaming.
+ * Clean Code: Single Responsibility - serialization of the full policy set, independent of HTTP.
+ */
+@Service
+public class PolicyExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyExportService.class);
+
+    static final String CSV_HEADER = "id,policyNumber,issueDate,clientName,vehicleRegistration,insuranceType," +
+            "startDate,endDate,premium,discountSurcharge,amountGuaranteed,coverageArea,status";
+
+    // Rows written between explicit flushes, so a slow cursor never holds back written rows for long
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final PolicyRepository policyRepository;
+    private final ObjectWriter rowWriter;
+
+    @Autowired
+    public PolicyExportService(PolicyRepository policyRepository, ObjectMapper objectMapper) {
+        this.policyRepository = policyRepository;
+        this.rowWriter = objectMapper.writerFor(PolicySummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every policy, ordered by ID, to the output.
+     * The output is flushed but not closed.
+     *
+     * @param format the output format
+     * @param output the stream to write to
+     * @return the number of policies written
+     * @throws IOException if writing fails, for example because the client disconnected
+     */
+    @Transactional(readOnly = true)
+    public long export(PolicyExportFormat format, OutputStream output) throws IOException {
+        if (format == null) {
+            throw new IllegalArgumentException("Export format cannot be null");
+        }
+        long started = System.nanoTime();
+        long count;
+        try (Stream<PolicySummary> policies = policyRepository.streamAllSummaries()) {
+            count = format == PolicyExportFormat.CSV
+                    ? writeCsv(policies.iterator(), output)
+                    : writeNdjson(policies.iterator(), output);
+        }
+        logger.info("Exported {} policies as {} in {} ms", count, format,
+                (System.nanoTime() - started) / 1_000_000);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<PolicySummary> policies, OutputStream output) throws IOException {
+        JsonGenerator generator = rowWriter.createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long count = 0;
+        try (generator) {
+            generator.flush();
+            while (policies.hasNext()) {
+                rowWriter.writeValue(generator, policies.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<PolicySummary> policies, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        writer.flush();
+        long count = 0;
+        while (policies.hasNext()) {
+            writeCsvRow(writer, policies.next());
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, PolicySummary policy) throws IOException {
+        Object[] values = {
+                policy.id(), policy.policyNumber(), policy.issueDate(), policy.clientName(),
+                policy.vehicleRegistration(), policy.insuranceType(), policy.startDate(), policy.endDate(),
+                policy.premium() != null ? policy.premium().toPlainString() : null,
+                policy.discountSurcharge() != null ? policy.discountSurcharge().toPlainString() : null,
+                policy.amountGuaranteed() != null ? policy.amountGuaranteed().toPlainString() : null,
+                policy.coverageArea(), policy.status()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quotes a CSV field if it contains a separator, quote or line break, doubling inner quotes.
+     */
+    static String csvField(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,118 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Allocates unique policy numbers of the form "&lt;TYPE&gt;-&lt;encoded sequence&gt;", e.g. "OC-000002S".
+ * Each node reserves a block of {@link #BLOCK_SIZE} sequence values with one nextval() call on
+ * policy_number_seq and hands them out from memory with a single atomic increment, so issuing a
+ * policy costs no database round trip in the common case. Blocks come from one database sequence,
+ * so no two nodes, threads or restarts can receive the same value; values of a block still unused
+ * when a node stops are skipped, never reused.
+ * Clean Code: Single Responsibility - uniqueness of policy numbers, separate from policy rules.
+ */
+@Service
+public class PolicyNumberAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyNumberAllocator.class);
+
+    /**
+     * Sequence values reserved per nextval() call; must match INCREMENT BY of policy_number_seq.
+     */
+    static final int BLOCK_SIZE = 100;
+
+    // Numbers issued before the allocator carry 8 hex characters, so 7 characters keep the formats apart
+    static final int ENCODED_LENGTH = 7;
+    private static final int RADIX = 36;
+    private static final long MAX_SEQUENCE_VALUE = (long) Math.pow(RADIX, ENCODED_LENGTH) - 1;
+
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval('policy_number_seq')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>(Block.EXHAUSTED);
+    private final Object refillLock = new Object();
+
+    @Autowired
+    public PolicyNumberAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns a policy number that no other call on any node has returned.
+     *
+     * @param insuranceType the insurance type, used as the prefix
+     * @return a unique policy number
+     * @throws IllegalArgumentException if the insurance type is null
+     * @throws IllegalStateException if the sequence has run past the encodable range
+     */
+    public String nextPolicyNumber(InsuranceType insuranceType) {
+        if (insuranceType == null) {
+            throw new IllegalArgumentException("Insurance type cannot be null");
+        }
+        return insuranceType.name() + "-" + encode(nextSequenceValue());
+    }
+
+    /**
+     * Takes the next value of the current block, reserving a new block when it is used up.
+     * Only the thread that finds the block exhausted refills it; the others retry on the new block.
+     */
+    long nextSequenceValue() {
+        while (true) {
+            Block block = currentBlock.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        synchronized (refillLock) {
+            if (currentBlock.get() != exhausted) {
+                return;
+            }
+            Long start = jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+            if (start == null) {
+                throw new IllegalStateException("policy_number_seq returned no value");
+            }
+            currentBlock.set(new Block(start, start + BLOCK_SIZE));
+            logger.debug("Reserved policy numbers {} to {}", start, start + BLOCK_SIZE - 1);
+        }
+    }
+
+    /**
+     * Encodes a sequence value as fixed-width, upper-case base 36.
+     */
+    static String encode(long value) {
+        if (value < 0 || value > MAX_SEQUENCE_VALUE) {
+            throw new IllegalStateException("Policy number sequence value out of range: " + value);
+        }
+        String digits = Long.toString(value, RADIX).toUpperCase();
+        return "0".repeat(ENCODED_LENGTH - digits.length()) + digits;
+    }
+
+    /**
+     * A reserved range of sequence values [next, end).
+     */
+    private static final class Block {
+
+        static final Block EXHAUSTED = new Block(0, 0);
+
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.PolicySummary;
+
+import java.util.List;
+
+/**
+ * One page of a policy listing.
+ *
+ * @param policies the policies of this page, in listing order
+ * @param nextPageToken opaque token requesting the next page, or null on the last page
+ */
+public record PolicyPage(List<PolicySummary> policies, String nextPageToken) {
+
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.insurance.backoffice.application.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Continuation token of a policy listing: the keyset position (issue date and ID) of the last policy
+ * returned, bound to the listing and sort order it was issued for.
+ * Clients treat the encoded form as opaque, so its layout may change with {@link #VERSION}.
+ *
+ * @param listing the listing the token belongs to, e.g. "status:ACTIVE" or "client:42"
+ * @param sortOrder the sort order of the listing
+ * @param issueDate issue date of the last policy returned
+ * @param id ID of the last policy returned
+ */
+record PolicyPageToken(String listing, PolicySortOrder sortOrder, LocalDate issueDate, long id) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = String.join(SEPARATOR, VERSION, listing, sortOrder.name(),
+                Long.toString(issueDate.toEpochDay()), Long.toString(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token and checks it was issued for the given listing and sort order.
+     *
+     * @throws IllegalArgumentException if the token is malformed or belongs to another listing
+     */
+    static PolicyPageToken decode(String token, String listing, PolicySortOrder sortOrder) {
+        String[] parts;
+        LocalDate issueDate;
+        long id;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid page token");
+            }
+            issueDate = LocalDate.ofEpochDay(Long.parseLong(parts[3]));
+            id = Long.parseLong(parts[4]);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid page token", e);
+        }
+        if (!listing.equals(parts[1]) || !sortOrder.name().equals(parts[2])) {
+            throw new IllegalArgumentException("Page token belongs to another listing or sort order");
+        }
+        return new PolicyPageToken(listing, sortOrder, issueDate, id);
+    }
+}
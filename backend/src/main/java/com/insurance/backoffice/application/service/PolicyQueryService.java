@@ -0,0 +1,286 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.PolicySearchCriteria;
+import com.insurance.backoffice.domain.PolicyStatus;
+import com.insurance.backoffice.domain.PolicySummary;
+import com.insurance.backoffice.infrastructure.repository.ClientRepository;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import com.insurance.backoffice.infrastructure.repository.PolicyVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Service for paginated policy listings.
+ * Pages are cut by keyset on (issue date, ID) instead of offsets: each page continues after the last
+ * policy of the previous one, carried in an opaque page token, so a deep page costs the same as the
+ * first and concurrent inserts never shift a page. Pages are read as {@link PolicySummary} projections,
+ * one query per page whatever its size.
+ * Every listing also has an entity tag, computed from the IDs and versions of the rows the page would
+ * show, so a client's cached page is validated by an index-only version query instead of a joined one.
+ * Clean Code: Single Responsibility - read-side policy listings, separate from policy lifecycle.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PolicyQueryService {
+
+    // Keyset start positions: before every issued policy in either direction
+    private static final LocalDate LATEST_ISSUE_DATE = LocalDate.of(9999, 12, 31);
+    private static final LocalDate EARLIEST_ISSUE_DATE = LocalDate.of(1, 1, 1);
+
+    private final PolicyRepository policyRepository;
+    private final ClientRepository clientRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    @Autowired
+    public PolicyQueryService(PolicyRepository policyRepository,
+                              ClientRepository clientRepository,
+                              @Value("${app.policies.page.default-size:50}") int defaultPageSize,
+                              @Value("${app.policies.page.max-size:500}") int maxPageSize) {
+        this.policyRepository = policyRepository;
+        this.clientRepository = clientRepository;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Returns one page of the policies with a status.
+     *
+     * @param status the policy status
+     * @param pageSize requested page size, or null for the default; capped at the maximum page size
+     * @param sortOrder the sort order
+     * @param pageToken token of the previous page, or null for the first page
+     * @return the page
+     * @throws IllegalArgumentException if the page size is not positive or the token is invalid
+     */
+    public PolicyPage findPoliciesByStatus(PolicyStatus status, Integer pageSize, PolicySortOrder sortOrder,
+                                           String pageToken) {
+        String listing = statusListing(status);
+        return findPage(listing, pageSize, sortOrder, pageToken, (issueDate, id, pageable) ->
+                sortOrder == PolicySortOrder.NEWEST_FIRST
+                        ? policyRepository.findByStatusIssuedBefore(status, issueDate, id, pageable)
+                        : policyRepository.findByStatusIssuedAfter(status, issueDate, id, pageable));
+    }
+
+    /**
+     * Returns one page of a client's policies.
+     *
+     * @param clientId the client ID
+     * @param pageSize requested page size, or null for the default; capped at the maximum page size
+     * @param sortOrder the sort order
+     * @param pageToken token of the previous page, or null for the first page
+     * @return the page
+     * @throws IllegalArgumentException if the page size is not positive or the token is invalid
+     * @throws EntityNotFoundException if the client does not exist
+     */
+    public PolicyPage findPoliciesByClient(Long clientId, Integer pageSize, PolicySortOrder sortOrder,
+                                           String pageToken) {
+        String listing = clientListing(clientId);
+        PolicyPage page = findPage(listing, pageSize, sortOrder, pageToken, (issueDate, id, pageable) ->
+                sortOrder == PolicySortOrder.NEWEST_FIRST
+                        ? policyRepository.findByClientIssuedBefore(clientId, issueDate, id, pageable)
+                        : policyRepository.findByClientIssuedAfter(clientId, issueDate, id, pageable));
+        // Policies prove the client exists; only an empty first page needs the extra lookup
+        boolean firstPage = pageToken == null || pageToken.isBlank();
+        if (firstPage && page.policies().isEmpty() && !clientRepository.existsById(clientId)) {
+            throw new EntityNotFoundException("Client not found with ID: " + clientId);
+        }
+        return page;
+    }
+
+    /**
+     * Returns one page of the policies matching any combination of filters.
+     * Only the supplied filters are queried, see {@link com.insurance.backoffice.infrastructure.repository.PolicySpecifications}.
+     *
+     * @param criteria the filters
+     * @param pageSize requested page size, or null for the default; capped at the maximum page size
+     * @param sortOrder the sort order
+     * @param pageToken token of the previous page, or null for the first page
+     * @return the page
+     * @throws IllegalArgumentException if the issue date range is reversed, the page size is not positive
+     *         or the token is invalid
+     */
+    public PolicyPage findPolicies(PolicySearchCriteria criteria, Integer pageSize, PolicySortOrder sortOrder,
+                                   String pageToken) {
+        String listing = criteriaListing(criteria);
+        return findPage(listing, pageSize, sortOrder, pageToken, (issueDate, id, pageable) ->
+                sortOrder == PolicySortOrder.NEWEST_FIRST
+                        ? policyRepository.findByCriteriaIssuedBefore(criteria, issueDate, id, pageable)
+                        : policyRepository.findByCriteriaIssuedAfter(criteria, issueDate, id, pageable));
+    }
+
+    /**
+     * Returns the entity tag of one page of the policies with a status.
+     *
+     * @param status the policy status
+     * @param pageSize requested page size, or null for the default; capped at the maximum page size
+     * @param sortOrder the sort order
+     * @param pageToken token of the previous page, or null for the first page
+     * @return strong entity tag, quoted; it changes whenever the page content would
+     * @throws IllegalArgumentException if the page size is not positive or the token is invalid
+     */
+    public String findPoliciesByStatusETag(PolicyStatus status, Integer pageSize, PolicySortOrder sortOrder,
+                                           String pageToken) {
+        String listing = statusListing(status);
+        return findPageETag(listing, PolicySearchCriteria.of(null, null, status, null, null, null),
+                pageSize, sortOrder, pageToken);
+    }
+
+    /**
+     * Returns the entity tag of one page of a client's policies.
+     *
+     * @param clientId the client ID
+     * @param pageSize requested page size, or null for the default; capped at the maximum page size
+     * @param sortOrder the sort order
+     * @param pageToken token of the previous page, or null for the first page
+     * @return strong entity tag, quoted; it changes whenever the page content would
+     * @throws IllegalArgumentException if the page size is not positive or the token is invalid
+     */
+    public String findPoliciesByClientETag(Long clientId, Integer pageSize, PolicySortOrder sortOrder,
+                                           String pageToken) {
+        String listing = clientListing(clientId);
+        return findPageETag(listing, PolicySearchCriteria.of(clientId, null, null, null, null, null),
+                pageSize, sortOrder, pageToken);
+    }
+
+    /**
+     * Returns the entity tag of one page of the policies matching any combination of filters.
+     *
+     * @param criteria the filters
+     * @param pageSize requested page size, or null for the default; capped at the maximum page size
+     * @param sortOrder the sort order
+     * @param pageToken token of the previous page, or null for the first page
+     * @return strong entity tag, quoted; it changes whenever the page content would
+     * @throws IllegalArgumentException if the issue date range is reversed, the page size is not positive
+     *         or the token is invalid
+     */
+    public String findPoliciesETag(PolicySearchCriteria criteria, Integer pageSize, PolicySortOrder sortOrder,
+                                   String pageToken) {
+        String listing = criteriaListing(criteria);
+        return findPageETag(listing, criteria, pageSize, sortOrder, pageToken);
+    }
+
+    private String statusListing(PolicyStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        return "status:" + status;
+    }
+
+    private String clientListing(Long clientId) {
+        if (clientId == null) {
+            throw new IllegalArgumentException("Client ID cannot be null");
+        }
+        return "client:" + clientId;
+    }
+
+    private String criteriaListing(PolicySearchCriteria criteria) {
+        if (criteria == null) {
+            throw new IllegalArgumentException("Search criteria cannot be null");
+        }
+        if (criteria.issuedFrom() != null && criteria.issuedTo() != null
+                && criteria.issuedFrom().isAfter(criteria.issuedTo())) {
+            throw new IllegalArgumentException("Issue date range start must not be after its end");
+        }
+        return "criteria:" + criteria.canonicalForm();
+    }
+
+    private PolicyPage findPage(String listing, Integer pageSize, PolicySortOrder sortOrder, String pageToken,
+                                KeysetQuery query) {
+        if (sortOrder == null) {
+            throw new IllegalArgumentException("Sort order cannot be null");
+        }
+        int size = resolvePageSize(pageSize);
+        KeysetStart start = resolveStart(listing, sortOrder, pageToken);
+
+        // One extra row tells whether another page follows
+        List<PolicySummary> policies = query.find(start.issueDate(), start.id(), PageRequest.of(0, size + 1));
+        if (policies.size() <= size) {
+            return new PolicyPage(policies, null);
+        }
+        List<PolicySummary> page = policies.subList(0, size);
+        PolicySummary last = page.get(size - 1);
+        String nextPageToken = new PolicyPageToken(listing, sortOrder, last.issueDate(), last.id()).encode();
+        return new PolicyPage(List.copyOf(page), nextPageToken);
+    }
+
+    /**
+     * Hashes the position of a page with the IDs and versions of its rows, including the extra row
+     * that decides the next page token. A page changes exactly when one of these does: a policy entering
+     * or leaving it changes the IDs, and any edit of a listed policy bumps its version.
+     */
+    private String findPageETag(String listing, PolicySearchCriteria criteria, Integer pageSize,
+                                PolicySortOrder sortOrder, String pageToken) {
+        if (sortOrder == null) {
+            throw new IllegalArgumentException("Sort order cannot be null");
+        }
+        int size = resolvePageSize(pageSize);
+        KeysetStart start = resolveStart(listing, sortOrder, pageToken);
+        PageRequest pageable = PageRequest.of(0, size + 1);
+        List<PolicyVersion> versions = sortOrder == PolicySortOrder.NEWEST_FIRST
+                ? policyRepository.findVersionsByCriteriaIssuedBefore(criteria, start.issueDate(), start.id(), pageable)
+                : policyRepository.findVersionsByCriteriaIssuedAfter(criteria, start.issueDate(), start.id(), pageable);
+
+        StringBuilder content = new StringBuilder()
+                .append(listing).append('|').append(sortOrder).append('|').append(size).append('|')
+                .append(start.issueDate()).append('|').append(start.id());
+        for (PolicyVersion version : versions) {
+            content.append('|').append(version.id()).append(':').append(version.version());
+        }
+        return "\"" + HexFormat.of().formatHex(sha256(content.toString())) + "\"";
+    }
+
+    private KeysetStart resolveStart(String listing, PolicySortOrder sortOrder, String pageToken) {
+        if (pageToken == null || pageToken.isBlank()) {
+            boolean newestFirst = sortOrder == PolicySortOrder.NEWEST_FIRST;
+            return newestFirst
+                    ? new KeysetStart(LATEST_ISSUE_DATE, Long.MAX_VALUE)
+                    : new KeysetStart(EARLIEST_ISSUE_DATE, Long.MIN_VALUE);
+        }
+        PolicyPageToken token = PolicyPageToken.decode(pageToken, listing, sortOrder);
+        return new KeysetStart(token.issueDate(), token.id());
+    }
+
+    private static byte[] sha256(String content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(pageSize, maxPageSize);
+    }
+
+    /**
+     * One keyset query: the policies after a position in listing order.
+     */
+    @FunctionalInterface
+    private interface KeysetQuery {
+        List<PolicySummary> find(LocalDate issueDate, long id, Pageable pageable);
+    }
+
+    /**
+     * Keyset position a page starts after.
+     */
+    private record KeysetStart(LocalDate issueDate, long id) {
+    }
+}
@@ -0,0 +1,513 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RenewalJob;
+import com.insurance.backoffice.domain.RenewalJobStatus;
+import com.insurance.backoffice.domain.Vehicle;
+import com.insurance.backoffice.infrastructure.repository.PolicyRenewalView;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import com.insurance.backoffice.infrastructure.repository.RenewalJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for quoting renewals of ACTIVE policies that expire within a window.
+ * A job streams expiring policies in keyset-paginated chunks of rating inputs, prices every chunk in
+ * parallel against one rating snapshot and writes the renewal offers with a JDBC batch insert. Each
+ * chunk is committed together with the job checkpoint, so a paused, crashed or failed job resumes
+ * after the last committed chunk.
+ * Jobs are meant to run during business hours: rating uses a small dedicated pool, and a per-job
+ * rate limit, adjustable while the job runs, spaces chunks out so interactive traffic keeps its
+ * share of the database.
+ * With several instances, a job runs on the instance that claimed it in the database. The claim is
+ * renewed with every chunk and while throttled, and lapses after the lease, so a job of a crashed
+ * instance is taken over by another one. Pauses and rate limits work from any instance.
+ * Clean Code: Single Responsibility - bulk renewal quoting, rating stays in RatingService.
+ */
+@Service
+public class PolicyRenewalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyRenewalService.class);
+
+    // Rerunning a window skips policies that already have an offer for the same renewal term
+    private static final String INSERT_OFFER_SQL = """
+            INSERT INTO renewal_offers (policy_id, renewal_job_id, insurance_type, start_date, end_date,
+                                        premium, previous_premium, snapshot_version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (policy_id, start_date) DO NOTHING
+            """;
+
+    // Claims a job that is unowned, owned by this instance, paused, failed, or whose owner stopped heartbeating
+    private static final String CLAIM_SQL = """
+            UPDATE renewal_jobs
+            SET status = 'RUNNING', owner = ?, heartbeat_at = LOCALTIMESTAMP, version = version + 1
+            WHERE id = ? AND status <> 'COMPLETED'
+              AND (status IN ('PAUSED', 'FAILED') OR owner IS NULL OR owner = ?
+                   OR heartbeat_at < LOCALTIMESTAMP - ? * INTERVAL '1 second')
+            """;
+
+    // Fails once the job was paused or claimed elsewhere, which stops the run
+    private static final String HEARTBEAT_SQL =
+            "UPDATE renewal_jobs SET heartbeat_at = LOCALTIMESTAMP WHERE id = ? AND owner = ? AND status = 'RUNNING'";
+
+    private static final String RELEASE_SQL = """
+            UPDATE renewal_jobs SET owner = NULL, heartbeat_at = NULL, version = version + 1
+            WHERE owner = ? AND status = 'RUNNING'
+            """;
+
+    private static final String PAUSE_SQL =
+            "UPDATE renewal_jobs SET status = 'PAUSED', version = version + 1 WHERE id = ? AND status <> 'COMPLETED'";
+
+    private static final String THROTTLE_SQL = "UPDATE renewal_jobs SET max_rows_per_second = ? WHERE id = ?";
+
+    private static final String RATE_LIMIT_SQL = "SELECT max_rows_per_second FROM renewal_jobs WHERE id = ?";
+
+    private final PolicyRepository policyRepository;
+    private final RenewalJobRepository renewalJobRepository;
+    private final RatingService ratingService;
+    private final RatingTableSnapshotProvider snapshotProvider;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Integer defaultMaxRowsPerSecond;
+    private final boolean resumeOnStartup;
+    private final Duration lease;
+    private final String instanceId = InstanceIdentity.ID;
+    private final ScheduledExecutorService executor;
+    private final ForkJoinPool ratingPool;
+    private final Map<Long, JobControl> activeJobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PolicyRenewalService(PolicyRepository policyRepository,
+                                RenewalJobRepository renewalJobRepository,
+                                RatingService ratingService,
+                                RatingTableSnapshotProvider snapshotProvider,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.policies.renewal.chunk-size:500}") int chunkSize,
+                                @Value("${app.policies.renewal.parallelism:2}") int parallelism,
+                                @Value("${app.policies.renewal.max-rows-per-second:0}") int defaultMaxRowsPerSecond,
+                                @Value("${app.policies.renewal.resume-on-startup:true}") boolean resumeOnStartup,
+                                @Value("${app.policies.renewal.lease:PT2M}") Duration lease) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Renewal chunk size must be positive");
+        }
+        if (lease.isNegative() || lease.isZero()) {
+            throw new IllegalArgumentException("Renewal lease must be positive");
+        }
+        this.policyRepository = policyRepository;
+        this.renewalJobRepository = renewalJobRepository;
+        this.ratingService = ratingService;
+        this.snapshotProvider = snapshotProvider;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.defaultMaxRowsPerSecond = defaultMaxRowsPerSecond > 0 ? defaultMaxRowsPerSecond : null;
+        this.resumeOnStartup = resumeOnStartup;
+        this.lease = lease;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "renewal-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ratingPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a renewal job and runs it in the background.
+     * Clean Code: Intention-revealing method name with clear business purpose.
+     *
+     * @param insuranceType optional insurance type to limit the job to
+     * @param expiringFrom policies ending on or after this date are quoted
+     * @param expiringTo policies ending on or before this date are quoted
+     * @param maxRowsPerSecond optional rate limit in policies per second; defaults to the configured one
+     * @return the created job
+     * @throws IllegalArgumentException if the window is missing or reversed, or the rate limit is not positive
+     * @throws IllegalStateException if another renewal job is running
+     */
+    public RenewalJob startJob(InsuranceType insuranceType, LocalDate expiringFrom, LocalDate expiringTo,
+                               Integer maxRowsPerSecond) {
+        RenewalJob job = RenewalJob.builder()
+                .insuranceType(insuranceType)
+                .expiringFrom(expiringFrom)
+                .expiringTo(expiringTo)
+                .maxRowsPerSecond(maxRowsPerSecond != null ? maxRowsPerSecond : defaultMaxRowsPerSecond)
+                .build();
+
+        try {
+            job = renewalJobRepository.save(job);
+        } catch (DataIntegrityViolationException e) {
+            // uk_renewal_jobs_running admits one RUNNING job across all instances
+            throw new IllegalStateException("A renewal job is already running", e);
+        }
+        submit(job.getId());
+        return job;
+    }
+
+    /**
+     * Resumes a paused, interrupted or failed job from its checkpoint.
+     *
+     * @param jobId the ID of the job
+     * @return the job as stored before resuming
+     * @throws EntityNotFoundException if the job does not exist
+     * @throws IllegalStateException if the job is completed, already running, or another job is running
+     */
+    public RenewalJob resumeJob(Long jobId) {
+        RenewalJob job = findJob(jobId);
+        if (job.isCompleted()) {
+            throw new IllegalStateException("Renewal job is already completed");
+        }
+        if (activeJobs.containsKey(jobId)) {
+            throw new IllegalStateException("Renewal job is already running");
+        }
+        claim(jobId);
+        submit(jobId);
+        return job;
+    }
+
+    /**
+     * Pauses a job. A job running in this instance stops after its current chunk is committed; a job
+     * running on another instance stops at its next heartbeat, and its uncommitted chunk is redone on resume.
+     *
+     * @param jobId the ID of the job
+     * @return the job; still RUNNING here until its current chunk is committed
+     * @throws EntityNotFoundException if the job does not exist
+     * @throws IllegalStateException if the job is completed
+     */
+    public RenewalJob pauseJob(Long jobId) {
+        RenewalJob job = findJob(jobId);
+        if (job.isCompleted()) {
+            throw new IllegalStateException("Renewal job is already completed");
+        }
+        JobControl control = activeJobs.get(jobId);
+        if (control != null) {
+            control.pauseRequested = true;
+            return job;
+        }
+        if (jdbcTemplate.update(PAUSE_SQL, jobId) == 0) {
+            throw new IllegalStateException("Renewal job is already completed");
+        }
+        return findJob(jobId);
+    }
+
+    /**
+     * Changes the rate limit of a job. The instance running the job applies it from its next chunk.
+     *
+     * @param jobId the ID of the job
+     * @param maxRowsPerSecond the limit in policies per second, or null to lift it
+     * @return the job with the new limit
+     * @throws EntityNotFoundException if the job does not exist
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public RenewalJob throttleJob(Long jobId, Integer maxRowsPerSecond) {
+        RenewalJob job = findJob(jobId);
+        job.throttle(maxRowsPerSecond);
+        // Written apart from the checkpoint, so the running worker neither loses it nor its claim
+        jdbcTemplate.update(THROTTLE_SQL, maxRowsPerSecond, jobId);
+        return job;
+    }
+
+    /**
+     * Finds a renewal job with its progress totals.
+     *
+     * @param jobId the ID of the job
+     * @return the job
+     * @throws EntityNotFoundException if the job does not exist
+     */
+    public RenewalJob findJob(Long jobId) {
+        if (jobId == null) {
+            throw new IllegalArgumentException("Job ID cannot be null");
+        }
+        return renewalJobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Renewal job not found with ID: " + jobId));
+    }
+
+    /**
+     * Resumes jobs that were still running when the application stopped, and from then on takes over
+     * jobs whose owner stopped heartbeating. Jobs another live instance runs are left to it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(this::resumeAbandonedJobs, 0, lease.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a job on the calling thread until it completes, fails or is paused.
+     * Clean Code: Chunk and checkpoint are committed together, so progress is never lost or repeated.
+     *
+     * @param jobId the ID of the job
+     * @return the job after the run, or as left when it was paused or taken over by another instance
+     * @throws IllegalStateException if the job is completed or running on another instance
+     */
+    public RenewalJob runJob(Long jobId) {
+        JobControl control = activeJobs.computeIfAbsent(jobId, id -> new JobControl());
+        try {
+            claim(jobId);
+            return run(jobId, control);
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    private RenewalJob run(Long jobId, JobControl control) {
+        RenewalJob job = findJob(jobId);
+        RatingTableSnapshot snapshot = snapshotProvider.currentFromDatabase();
+        job.markRunning(snapshot.getVersion());
+        job = renewalJobRepository.save(job);
+
+        try {
+            while (true) {
+                if (control.pauseRequested) {
+                    job.pause();
+                    job = renewalJobRepository.save(job);
+                    logger.info("Renewal job {} paused after policy {}", jobId, job.getLastPolicyId());
+                    return job;
+                }
+                long chunkStarted = System.nanoTime();
+                List<PolicyRenewalView> policies = policyRepository.findActivePoliciesForRenewal(
+                        job.getLastEndDate(), job.getLastPolicyId(), job.getExpiringTo(), job.getInsuranceType(),
+                        PageRequest.of(0, chunkSize));
+                if (policies.isEmpty()) {
+                    break;
+                }
+                List<RenewalOffer> offers = quote(snapshot, policies);
+                Integer maxRowsPerSecond = jdbcTemplate.queryForObject(RATE_LIMIT_SQL, Integer.class, jobId);
+                job.throttle(maxRowsPerSecond);
+                if (!throttle(jobId, policies.size(), maxRowsPerSecond, chunkStarted)) {
+                    // Interrupted by shutdown: the job stays RUNNING and is resumed by the next instance
+                    return job;
+                }
+                job = writeChunk(job, snapshot, policies, offers, chunkStarted);
+            }
+            job.complete();
+            job = renewalJobRepository.save(job);
+            logger.info("Renewal job {} completed: {} policies, {} offers, {} skipped, {} rows/s",
+                    jobId, job.getProcessedCount(), job.getOfferedCount(), job.getSkippedCount(),
+                    String.format("%.1f", job.getRowsPerSecond()));
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Renewal job {} was paused or taken over by another instance after policy {}",
+                    jobId, job.getLastPolicyId());
+            job = findJob(jobId);
+        } catch (RuntimeException e) {
+            logger.error("Renewal job {} failed after policy {}", jobId, job.getLastPolicyId(), e);
+            job = recordFailure(jobId, job, e);
+        }
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        ratingPool.shutdownNow();
+        try {
+            // Hands RUNNING jobs to the next instance at once instead of after the lease
+            jdbcTemplate.update(RELEASE_SQL, instanceId);
+        } catch (RuntimeException e) {
+            logger.warn("Could not release renewal job claims of instance {}", instanceId, e);
+        }
+    }
+
+    private void submit(Long jobId) {
+        if (activeJobs.putIfAbsent(jobId, new JobControl()) != null) {
+            return;
+        }
+        executor.submit(() -> {
+            try {
+                runJob(jobId);
+            } catch (IllegalStateException e) {
+                logger.info("Renewal job {} not run: {}", jobId, e.getMessage());
+            }
+        });
+    }
+
+    private void resumeAbandonedJobs() {
+        try {
+            for (RenewalJob job : renewalJobRepository.findByStatus(RenewalJobStatus.RUNNING)) {
+                if (activeJobs.containsKey(job.getId()) || !tryClaim(job.getId())) {
+                    continue;
+                }
+                logger.info("Resuming interrupted renewal job {} after policy {}", job.getId(), job.getLastPolicyId());
+                submit(job.getId());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not check for interrupted renewal jobs", e);
+        }
+    }
+
+    /**
+     * Claims a job for this instance, or renews the claim it already holds.
+     *
+     * @throws IllegalStateException if the job is completed, running elsewhere, or another job is running
+     */
+    private void claim(Long jobId) {
+        if (tryClaim(jobId)) {
+            return;
+        }
+        if (findJob(jobId).isCompleted()) {
+            throw new IllegalStateException("Renewal job is already completed");
+        }
+        throw new IllegalStateException("Renewal job is running on another instance");
+    }
+
+    private boolean tryClaim(Long jobId) {
+        try {
+            return jdbcTemplate.update(CLAIM_SQL, instanceId, jobId, instanceId, lease.toSeconds()) > 0;
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A renewal job is already running", e);
+        }
+    }
+
+    /**
+     * Renews the claim of this instance on a running job.
+     *
+     * @throws OptimisticLockingFailureException if the job was paused or claimed by another instance
+     */
+    private void heartbeat(Long jobId) {
+        if (jdbcTemplate.update(HEARTBEAT_SQL, jobId, instanceId) == 0) {
+            throw new OptimisticLockingFailureException("Renewal job " + jobId
+                    + " is no longer running under this instance");
+        }
+    }
+
+    /**
+     * Marks a job failed unless another instance has changed it since the last checkpoint of this run.
+     */
+    private RenewalJob recordFailure(Long jobId, RenewalJob lastSaved, RuntimeException cause) {
+        RenewalJob failed = findJob(jobId);
+        if (!Objects.equals(failed.getVersion(), lastSaved.getVersion())) {
+            return failed;
+        }
+        failed.fail(cause.getMessage());
+        try {
+            return renewalJobRepository.save(failed);
+        } catch (OptimisticLockingFailureException e) {
+            return findJob(jobId);
+        }
+    }
+
+    /**
+     * Prices the renewal of every policy of a chunk in parallel; policies that cannot be rated get no offer.
+     *
+     * @return one offer per policy, in chunk order, null where rating failed
+     */
+    private List<RenewalOffer> quote(RatingTableSnapshot snapshot, List<PolicyRenewalView> policies) {
+        return ratingPool.submit(() -> policies.parallelStream()
+                .map(policy -> quote(snapshot, policy))
+                .toList()).join();
+    }
+
+    private RenewalOffer quote(RatingTableSnapshot snapshot, PolicyRenewalView policy) {
+        LocalDate startDate = policy.endDate().plusDays(1);
+        try {
+            Vehicle vehicle = Vehicle.forRating(policy.engineCapacity(), policy.power(), policy.firstRegistrationDate());
+            BigDecimal premium = ratingService.calculatePremium(snapshot, policy.insuranceType(), vehicle, startDate);
+            return new RenewalOffer(policy.policyId(), policy.insuranceType(), startDate,
+                    startDate.plusYears(1).minusDays(1), premium, policy.premium());
+        } catch (PremiumCalculationException | IllegalArgumentException e) {
+            logger.debug("No renewal quote for policy {}: {}", policy.policyId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Waits until a chunk has taken at least as long as the rate limit allows.
+     * A long wait renews the claim on the job, so it does not lapse while the job is throttled.
+     *
+     * @return false if the wait was interrupted
+     */
+    private boolean throttle(Long jobId, int processed, Integer maxRowsPerSecond, long chunkStarted) {
+        if (maxRowsPerSecond == null) {
+            return true;
+        }
+        long minimumMillis = processed * 1000L / maxRowsPerSecond;
+        long remainingMillis = minimumMillis - Duration.ofNanos(System.nanoTime() - chunkStarted).toMillis();
+        try {
+            while (remainingMillis > 0) {
+                long sleepMillis = Math.min(remainingMillis, lease.toMillis() / 2);
+                Thread.sleep(sleepMillis);
+                remainingMillis -= sleepMillis;
+                if (remainingMillis > 0) {
+                    heartbeat(jobId);
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes the offers of a chunk and moves the checkpoint in one transaction.
+     */
+    private RenewalJob writeChunk(RenewalJob job, RatingTableSnapshot snapshot, List<PolicyRenewalView> policies,
+                                  List<RenewalOffer> offers, long chunkStarted) {
+        List<Object[]> rows = offers.stream()
+                .filter(Objects::nonNull)
+                .map(offer -> new Object[] {offer.policyId(), job.getId(), offer.insuranceType().name(),
+                        offer.startDate(), offer.endDate(), offer.premium(), offer.previousPremium(),
+                        snapshot.getVersion()})
+                .toList();
+        PolicyRenewalView last = policies.get(policies.size() - 1);
+
+        return transactionTemplate.execute(status -> {
+            // Locks the job row, so neither a claim nor a pause can move it while the chunk commits
+            heartbeat(job.getId());
+            int[] insertCounts = rows.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(INSERT_OFFER_SQL, rows);
+            int offered = 0;
+            for (int count : insertCounts) {
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    offered++;
+                }
+            }
+
+            long chunkMillis = Duration.ofNanos(System.nanoTime() - chunkStarted).toMillis();
+            job.recordChunk(last.endDate(), last.policyId(), policies.size(), offered,
+                    policies.size() - rows.size(), chunkMillis);
+            logger.debug("Renewal job {} checkpoint at policy {}: {} read, {} offers in {} ms",
+                    job.getId(), last.policyId(), policies.size(), offered, chunkMillis);
+            return renewalJobRepository.save(job);
+        });
+    }
+
+    /**
+     * Controls of a job running in this instance, set by API calls and read by the worker between chunks.
+     */
+    private static final class JobControl {
+        private volatile boolean pauseRequested;
+    }
+
+    /**
+     * A renewal quote computed for one policy.
+     */
+    private record RenewalOffer(Long policyId, InsuranceType insuranceType, LocalDate startDate,
+                                LocalDate endDate, BigDecimal premium, BigDecimal previousPremium) {}
+}
@@ -0,0 +1,380 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RepricingJob;
+import com.insurance.backoffice.domain.RepricingJobStatus;
+import com.insurance.backoffice.domain.Vehicle;
+import com.insurance.backoffice.infrastructure.repository.PolicyRatingView;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import com.insurance.backoffice.infrastructure.repository.RepricingJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for repricing ACTIVE policies after new rating tables take effect.
+ * A job walks affected policies in keyset-paginated chunks, rates every chunk against one
+ * rating snapshot and writes changed premiums with a JDBC batch update. Each chunk is committed
+ * together with the job checkpoint, so a crashed or failed job resumes after the last committed chunk.
+ * With several instances, a job runs on the instance that claimed it in the database. The claim is
+ * renewed with every chunk and lapses after the lease, so a job of a crashed instance is taken over
+ * by another one; a checkpoint written after the claim moved fails its version check and is rolled back.
+ * Clean Code: Single Responsibility - bulk premium maintenance, rating stays in RatingService.
+ */
+@Service
+public class PolicyRepricingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyRepricingService.class);
+
+    // Only rows whose premium is still the one that was rated are updated
+    private static final String UPDATE_PREMIUM_SQL =
+            "UPDATE policies SET premium = ?, version = version + 1 WHERE id = ? AND status = 'ACTIVE' AND premium = ?";
+
+    // Claims a job that is unowned, owned by this instance, failed, or whose owner stopped heartbeating
+    private static final String CLAIM_SQL = """
+            UPDATE repricing_jobs
+            SET status = 'RUNNING', owner = ?, heartbeat_at = LOCALTIMESTAMP, version = version + 1
+            WHERE id = ? AND status <> 'COMPLETED'
+              AND (status = 'FAILED' OR owner IS NULL OR owner = ?
+                   OR heartbeat_at < LOCALTIMESTAMP - ? * INTERVAL '1 second')
+            """;
+
+    private static final String HEARTBEAT_SQL =
+            "UPDATE repricing_jobs SET heartbeat_at = LOCALTIMESTAMP WHERE id = ? AND owner = ?";
+
+    private static final String RELEASE_SQL = """
+            UPDATE repricing_jobs SET owner = NULL, heartbeat_at = NULL, version = version + 1
+            WHERE owner = ? AND status = 'RUNNING'
+            """;
+
+    private final PolicyRepository policyRepository;
+    private final RepricingJobRepository repricingJobRepository;
+    private final RatingService ratingService;
+    private final RatingTableSnapshotProvider snapshotProvider;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final boolean resumeOnStartup;
+    private final Duration lease;
+    private final String instanceId = InstanceIdentity.ID;
+    private final ScheduledExecutorService executor;
+    private final Set<Long> activeJobIds = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public PolicyRepricingService(PolicyRepository policyRepository,
+                                  RepricingJobRepository repricingJobRepository,
+                                  RatingService ratingService,
+                                  RatingTableSnapshotProvider snapshotProvider,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.rating.repricing.chunk-size:500}") int chunkSize,
+                                  @Value("${app.rating.repricing.resume-on-startup:true}") boolean resumeOnStartup,
+                                  @Value("${app.rating.repricing.lease:PT2M}") Duration lease) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Repricing chunk size must be positive");
+        }
+        if (lease.isNegative() || lease.isZero()) {
+            throw new IllegalArgumentException("Repricing lease must be positive");
+        }
+        this.policyRepository = policyRepository;
+        this.repricingJobRepository = repricingJobRepository;
+        this.ratingService = ratingService;
+        this.snapshotProvider = snapshotProvider;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.resumeOnStartup = resumeOnStartup;
+        this.lease = lease;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "repricing-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a repricing job and runs it in the background.
+     * Clean Code: Intention-revealing method name with clear business purpose.
+     *
+     * @param insuranceType optional insurance type to limit the job to
+     * @param effectiveFrom policies starting on or after this date are repriced
+     * @return the created job
+     * @throws IllegalArgumentException if the effective date is missing
+     * @throws IllegalStateException if another repricing job is running
+     */
+    public RepricingJob startJob(InsuranceType insuranceType, LocalDate effectiveFrom) {
+        if (effectiveFrom == null) {
+            throw new IllegalArgumentException("Effective from date cannot be null");
+        }
+
+        RepricingJob job;
+        try {
+            job = repricingJobRepository.save(RepricingJob.builder()
+                    .insuranceType(insuranceType)
+                    .effectiveFrom(effectiveFrom)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // uk_repricing_jobs_running admits one RUNNING job across all instances
+            throw new IllegalStateException("A repricing job is already running", e);
+        }
+        submit(job.getId());
+        return job;
+    }
+
+    /**
+     * Resumes an interrupted or failed job from its checkpoint.
+     *
+     * @param jobId the ID of the job
+     * @return the job as stored before resuming
+     * @throws EntityNotFoundException if the job does not exist
+     * @throws IllegalStateException if the job is completed, already running, or another job is running
+     */
+    public RepricingJob resumeJob(Long jobId) {
+        RepricingJob job = findJob(jobId);
+        if (job.isCompleted()) {
+            throw new IllegalStateException("Repricing job is already completed");
+        }
+        if (activeJobIds.contains(jobId)) {
+            throw new IllegalStateException("Repricing job is already running");
+        }
+        claim(jobId);
+        submit(jobId);
+        return job;
+    }
+
+    /**
+     * Finds a repricing job with its progress totals.
+     *
+     * @param jobId the ID of the job
+     * @return the job
+     * @throws EntityNotFoundException if the job does not exist
+     */
+    public RepricingJob findJob(Long jobId) {
+        if (jobId == null) {
+            throw new IllegalArgumentException("Job ID cannot be null");
+        }
+        return repricingJobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Repricing job not found with ID: " + jobId));
+    }
+
+    /**
+     * Resumes jobs that were still running when the application stopped, and from then on takes over
+     * jobs whose owner stopped heartbeating. Jobs another live instance runs are left to it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(this::resumeAbandonedJobs, 0, lease.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a job to completion on the calling thread.
+     * Clean Code: Chunk and checkpoint are committed together, so progress is never lost or repeated.
+     *
+     * @param jobId the ID of the job
+     * @return the job after the run: completed, failed, or as left when another instance took it over
+     * @throws IllegalStateException if the job is completed or running on another instance
+     */
+    public RepricingJob runJob(Long jobId) {
+        claim(jobId);
+        RepricingJob job = findJob(jobId);
+        RatingTableSnapshot snapshot = snapshotProvider.currentFromDatabase();
+        if (job.getSnapshotVersion() != null && job.getSnapshotVersion() != snapshot.getVersion()) {
+            logger.info("Repricing job {} continues with rating snapshot version {} (previous run used {})",
+                    jobId, snapshot.getVersion(), job.getSnapshotVersion());
+        }
+        job.markRunning(snapshot.getVersion());
+        job = repricingJobRepository.save(job);
+
+        try {
+            while (true) {
+                long chunkStarted = System.nanoTime();
+                List<PolicyRatingView> policies = policyRepository.findActivePoliciesForRepricing(
+                        job.getLastPolicyId(), job.getEffectiveFrom(), job.getInsuranceType(),
+                        PageRequest.of(0, chunkSize));
+                if (policies.isEmpty()) {
+                    break;
+                }
+                job = writeChunk(job, snapshot, policies, chunkStarted);
+            }
+            job.complete();
+            job = repricingJobRepository.save(job);
+            logger.info("Repricing job {} completed: {} policies, {} updated, net premium delta {}, {} rows/s",
+                    jobId, job.getProcessedCount(), job.getUpdatedCount(), job.getNetPremiumDelta(),
+                    String.format("%.1f", job.getRowsPerSecond()));
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Repricing job {} was taken over by another instance after policy {}",
+                    jobId, job.getLastPolicyId());
+            job = findJob(jobId);
+        } catch (RuntimeException e) {
+            logger.error("Repricing job {} failed after policy {}", jobId, job.getLastPolicyId(), e);
+            job = recordFailure(jobId, job, e);
+        }
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        try {
+            // Hands RUNNING jobs to the next instance at once instead of after the lease
+            jdbcTemplate.update(RELEASE_SQL, instanceId);
+        } catch (RuntimeException e) {
+            logger.warn("Could not release repricing job claims of instance {}", instanceId, e);
+        }
+    }
+
+    private void resumeAbandonedJobs() {
+        try {
+            for (RepricingJob job : repricingJobRepository.findByStatus(RepricingJobStatus.RUNNING)) {
+                if (activeJobIds.contains(job.getId()) || !tryClaim(job.getId())) {
+                    continue;
+                }
+                logger.info("Resuming interrupted repricing job {} after policy {}", job.getId(), job.getLastPolicyId());
+                submit(job.getId());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not check for interrupted repricing jobs", e);
+        }
+    }
+
+    /**
+     * Claims a job for this instance, or renews the claim it already holds.
+     *
+     * @throws IllegalStateException if the job is completed, running elsewhere, or another job is running
+     */
+    private void claim(Long jobId) {
+        if (tryClaim(jobId)) {
+            return;
+        }
+        if (findJob(jobId).isCompleted()) {
+            throw new IllegalStateException("Repricing job is already completed");
+        }
+        throw new IllegalStateException("Repricing job is running on another instance");
+    }
+
+    private boolean tryClaim(Long jobId) {
+        try {
+            return jdbcTemplate.update(CLAIM_SQL, instanceId, jobId, instanceId, lease.toSeconds()) > 0;
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A repricing job is already running", e);
+        }
+    }
+
+    /**
+     * Marks a job failed unless another instance has claimed it since the last checkpoint of this run.
+     */
+    private RepricingJob recordFailure(Long jobId, RepricingJob lastSaved, RuntimeException cause) {
+        RepricingJob failed = findJob(jobId);
+        if (!Objects.equals(failed.getVersion(), lastSaved.getVersion())) {
+            return failed;
+        }
+        failed.fail(cause.getMessage());
+        try {
+            return repricingJobRepository.save(failed);
+        } catch (OptimisticLockingFailureException e) {
+            return findJob(jobId);
+        }
+    }
+
+    private void submit(Long jobId) {
+        if (!activeJobIds.add(jobId)) {
+            return;
+        }
+        executor.submit(() -> {
+            try {
+                runJob(jobId);
+            } catch (IllegalStateException e) {
+                logger.info("Repricing job {} not run: {}", jobId, e.getMessage());
+            } finally {
+                activeJobIds.remove(jobId);
+            }
+        });
+    }
+
+    /**
+     * Rates a chunk, writes changed premiums and moves the checkpoint in one transaction.
+     */
+    private RepricingJob writeChunk(RepricingJob job, RatingTableSnapshot snapshot,
+                                    List<PolicyRatingView> policies, long chunkStarted) {
+        List<PremiumChange> changes = new ArrayList<>();
+        for (PolicyRatingView policy : policies) {
+            Vehicle vehicle = Vehicle.forRating(policy.engineCapacity(), policy.power(), policy.firstRegistrationDate());
+            BigDecimal newPremium = ratingService.calculatePremium(
+                    snapshot, policy.insuranceType(), vehicle, policy.startDate());
+            if (newPremium.compareTo(policy.premium()) != 0) {
+                changes.add(new PremiumChange(policy.policyId(), policy.premium(), newPremium));
+            }
+        }
+        long lastPolicyId = policies.get(policies.size() - 1).policyId();
+
+        return transactionTemplate.execute(status -> {
+            // Locks the job row, so the claim cannot move while the chunk commits
+            if (jdbcTemplate.update(HEARTBEAT_SQL, job.getId(), instanceId) == 0) {
+                throw new OptimisticLockingFailureException("Repricing job " + job.getId()
+                        + " is no longer claimed by this instance");
+            }
+            int[] updateCounts = changes.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(UPDATE_PREMIUM_SQL,
+                    changes.stream()
+                            .map(change -> new Object[] {change.newPremium(), change.policyId(), change.oldPremium()})
+                            .toList());
+
+            int updated = 0;
+            BigDecimal increase = BigDecimal.ZERO;
+            BigDecimal decrease = BigDecimal.ZERO;
+            for (int i = 0; i < updateCounts.length; i++) {
+                if (updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                    BigDecimal delta = changes.get(i).delta();
+                    updated++;
+                    if (delta.signum() > 0) {
+                        increase = increase.add(delta);
+                    } else {
+                        decrease = decrease.add(delta.negate());
+                    }
+                }
+            }
+
+            long chunkMillis = Duration.ofNanos(System.nanoTime() - chunkStarted).toMillis();
+            job.recordChunk(lastPolicyId, policies.size(), updated, increase, decrease, chunkMillis);
+            logger.debug("Repricing job {} checkpoint at policy {}: {} rated, {} updated in {} ms",
+                    job.getId(), lastPolicyId, policies.size(), updated, chunkMillis);
+            return repricingJobRepository.save(job);
+        });
+    }
+
+    /**
+     * A premium change computed for one policy.
+     */
+    private record PremiumChange(Long policyId, BigDecimal oldPremium, BigDecimal newPremium) {
+
+        BigDecimal delta() {
+            return newPremium.subtract(oldPremium);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.insurance.backoffice.application.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token of a policy search: the relevance and ID of the last policy returned, bound
+ * to the search term it was issued for.
+ * Clients treat the encoded form as opaque, so its layout may change with {@link #VERSION}.
+ *
+ * @param term the normalized search term
+ * @param rank relevance of the last policy returned
+ * @param id ID of the last policy returned
+ */
+record PolicySearchPageToken(String term, double rank, long id) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        // The term goes last, so separators inside it need no escaping
+        String raw = String.join(SEPARATOR, VERSION, Double.toString(rank), Long.toString(id), term);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token and checks it was issued for the given search term.
+     *
+     * @throws IllegalArgumentException if the token is malformed or belongs to another search
+     */
+    static PolicySearchPageToken decode(String token, String term) {
+        String[] parts;
+        double rank;
+        long id;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid page token");
+            }
+            rank = Double.parseDouble(parts[1]);
+            id = Long.parseLong(parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token", e);
+        }
+        if (!term.equals(parts[3])) {
+            throw new IllegalArgumentException("Page token belongs to another search");
+        }
+        return new PolicySearchPageToken(term, rank, id);
+    }
+}
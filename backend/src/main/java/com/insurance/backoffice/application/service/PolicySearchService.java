@@ -0,0 +1,158 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.PolicyStatus;
+import com.insurance.backoffice.domain.PolicySummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service for relevance-ranked policy search over policy number, client name, PESEL, registration
+ * number and VIN.
+ * A policy matches when its full-text vector matches the term, when its search text contains the term,
+ * or when a word of it is trigram-similar to the term; all three are answered by GIN indexes on
+ * policies (V27), so a search never scans the table. Results are ordered by relevance, the better of
+ * full-text rank and trigram word similarity, and cut by keyset on (relevance, ID).
+ * Clean Code: Single Responsibility - search, separate from filtered listings in PolicyQueryService.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PolicySearchService {
+
+    static final int MIN_TERM_LENGTH = 3;
+    static final int MAX_TERM_LENGTH = 100;
+
+    private static final String SEARCH_SQL = """
+            SELECT * FROM (
+                SELECT p.id, p.policy_number, p.issue_date, c.full_name, v.registration_number,
+                       p.insurance_type, p.start_date, p.end_date, p.premium, p.discount_surcharge,
+                       p.amount_guaranteed, p.coverage_area, p.status,
+                       GREATEST(ts_rank_cd(p.search_vector, websearch_to_tsquery('simple', :term)),
+                                word_similarity(:term, p.search_text))::float8 AS rank
+                FROM policies p
+                JOIN clients c ON c.id = p.client_id
+                JOIN vehicles v ON v.id = p.vehicle_id
+                WHERE p.search_vector @@ websearch_to_tsquery('simple', :term)
+                   OR p.search_text LIKE :pattern
+                   OR :term <% p.search_text
+            ) ranked
+            WHERE :firstPage OR (rank, id) < (:afterRank, :afterId)
+            ORDER BY rank DESC, id DESC
+            LIMIT :limit
+            """;
+
+    private static final RowMapper<RankedSummary> ROW_MAPPER = (rs, rowNum) -> new RankedSummary(
+            new PolicySummary(
+                    rs.getLong("id"),
+                    rs.getString("policy_number"),
+                    rs.getObject("issue_date", LocalDate.class),
+                    rs.getString("full_name"),
+                    rs.getString("registration_number"),
+                    InsuranceType.valueOf(rs.getString("insurance_type")),
+                    rs.getObject("start_date", LocalDate.class),
+                    rs.getObject("end_date", LocalDate.class),
+                    rs.getBigDecimal("premium"),
+                    rs.getBigDecimal("discount_surcharge"),
+                    rs.getBigDecimal("amount_guaranteed"),
+                    rs.getString("coverage_area"),
+                    PolicyStatus.valueOf(rs.getString("status"))),
+            rs.getDouble("rank"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    @Autowired
+    public PolicySearchService(NamedParameterJdbcTemplate jdbcTemplate,
+                               @Value("${app.policies.page.default-size:50}") int defaultPageSize,
+                               @Value("${app.policies.page.max-size:500}") int maxPageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Returns one page of the policies matching a search term, most relevant first.
+     *
+     * @param query the search term, e.g. part of a client name, a PESEL or a registration number
+     * @param pageSize requested page size, or null for the default; capped at the maximum page size
+     * @param pageToken token of the previous page, or null for the first page
+     * @return the page
+     * @throws IllegalArgumentException if the term is too short or too long, the page size is not
+     *         positive or the token is invalid
+     */
+    public PolicyPage searchPolicies(String query, Integer pageSize, String pageToken) {
+        String term = normalize(query);
+        int size = resolvePageSize(pageSize);
+        PolicySearchPageToken after = pageToken == null || pageToken.isBlank()
+                ? null
+                : PolicySearchPageToken.decode(pageToken, term);
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("term", term)
+                .addValue("pattern", "%" + escapeLike(term) + "%")
+                .addValue("firstPage", after == null)
+                .addValue("afterRank", after != null ? after.rank() : 0.0)
+                .addValue("afterId", after != null ? after.id() : 0L)
+                // One extra row tells whether another page follows
+                .addValue("limit", size + 1);
+        List<RankedSummary> rows = jdbcTemplate.query(SEARCH_SQL, parameters, ROW_MAPPER);
+
+        List<PolicySummary> policies = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            policies.add(rows.get(i).summary());
+        }
+        if (rows.size() <= size) {
+            return new PolicyPage(policies, null);
+        }
+        RankedSummary last = rows.get(size - 1);
+        String nextPageToken = new PolicySearchPageToken(term, last.rank(), last.summary().id()).encode();
+        return new PolicyPage(policies, nextPageToken);
+    }
+
+    private static String normalize(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search term is required");
+        }
+        String term = query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (term.length() < MIN_TERM_LENGTH) {
+            throw new IllegalArgumentException("Search term must have at least " + MIN_TERM_LENGTH + " characters");
+        }
+        if (term.length() > MAX_TERM_LENGTH) {
+            throw new IllegalArgumentException("Search term must have at most " + MAX_TERM_LENGTH + " characters");
+        }
+        return term;
+    }
+
+    /**
+     * Escapes LIKE wildcards so the term only ever matches literally.
+     */
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(pageSize, maxPageSize);
+    }
+
+    /**
+     * A matching policy and its relevance, which positions the next page.
+     */
+    record RankedSummary(PolicySummary summary, double rank) {}
+}
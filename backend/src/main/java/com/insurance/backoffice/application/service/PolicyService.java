@@ -3,13 +3,13 @@ package com.insurance.backoffice.application.service;
 import com.insurance.backoffice.domain.*;
 import com.insurance.backoffice.infrastructure.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Service class for policy management operations.
@@ -24,16 +24,19 @@ public class PolicyService {
     private final ClientRepository clientRepository;
     private final VehicleRepository vehicleRepository;
     private final RatingService ratingService;
+    private final PolicyNumberAllocator policyNumberAllocator;
     
     @Autowired
     public PolicyService(PolicyRepository policyRepository, 
                         ClientRepository clientRepository,
                         VehicleRepository vehicleRepository,
-                        RatingService ratingService) {
+                        RatingService ratingService,
+                        PolicyNumberAllocator policyNumberAllocator) {
         this.policyRepository = policyRepository;
         this.clientRepository = clientRepository;
         this.vehicleRepository = vehicleRepository;
         this.ratingService = ratingService;
+        this.policyNumberAllocator = policyNumberAllocator;
     }
     
     /**
@@ -67,8 +70,8 @@ public class PolicyService {
         // Calculate premium using rating service
         BigDecimal premium = ratingService.calculatePremium(insuranceType, vehicle, startDate);
         
-        // Generate unique policy number
-        String policyNumber = generatePolicyNumber(insuranceType);
+        // Allocate unique policy number
+        String policyNumber = policyNumberAllocator.nextPolicyNumber(insuranceType);
         
         // Create policy using builder pattern
         Policy policy = Policy.builder()
@@ -105,9 +108,37 @@ public class PolicyService {
      */
     public Policy updatePolicy(Long policyId, LocalDate startDate, LocalDate endDate, 
                               BigDecimal discountSurcharge, BigDecimal amountGuaranteed, String coverageArea) {
+        return updatePolicy(policyId, startDate, endDate, discountSurcharge, amountGuaranteed, coverageArea, null);
+    }
+    
+    /**
+     * Updates an existing policy if it is still at the version the caller read.
+     * Clean Code: Optimistic locking - a stale edit is rejected instead of overwriting a newer one.
+     * 
+     * @param policyId the ID of the policy to update
+     * @param startDate the new start date
+     * @param endDate the new end date
+     * @param discountSurcharge the new discount/surcharge amount
+     * @param amountGuaranteed the guaranteed amount for coverage
+     * @param coverageArea the coverage area
+     * @param expectedVersion the version the caller read, or null to skip the check
+     * @return the updated policy
+     * @throws EntityNotFoundException if policy not found
+     * @throws OptimisticLockingFailureException if the policy changed since the expected version
+     * @throws IllegalArgumentException if update data is invalid
+     */
+    public Policy updatePolicy(Long policyId, LocalDate startDate, LocalDate endDate, 
+                              BigDecimal discountSurcharge, BigDecimal amountGuaranteed, String coverageArea,
+                              Long expectedVersion) {
         
         Policy existingPolicy = findPolicyById(policyId);
         
+        // A concurrent update committed after this read is still caught by the version check on flush
+        if (expectedVersion != null && !expectedVersion.equals(existingPolicy.getVersion())) {
+            throw new OptimisticLockingFailureException(
+                    "Policy " + policyId + " was modified since version " + expectedVersion);
+        }
+        
         // Validate that policy can be updated
         if (existingPolicy.isCanceled()) {
             throw new IllegalStateException("Cannot update a canceled policy");
@@ -171,6 +202,20 @@ public class PolicyService {
                 .orElseThrow(() -> new EntityNotFoundException("Policy not found with ID: " + policyId));
     }
     
+    /**
+     * Finds the current version of a policy without loading it.
+     * Clean Code: Intention-revealing method name.
+     * 
+     * @param policyId the policy ID
+     * @return the policy version
+     * @throws EntityNotFoundException if policy not found
+     */
+    @Transactional(readOnly = true)
+    public long findPolicyVersion(Long policyId) {
+        return policyRepository.findVersionById(policyId)
+                .orElseThrow(() -> new EntityNotFoundException("Policy not found with ID: " + policyId));
+    }
+    
     /**
      * Finds a policy by policy number.
      * Clean Code: Intention-revealing method name.
@@ -310,32 +355,11 @@ public class PolicyService {
         return vehicleRepository.findAll();
     }
     
-    /**
-     * Generates a unique policy number.
-     * Clean Code: Extracted utility method with clear purpose.
-     * 
-     * @param insuranceType the insurance type for prefix
-     * @return unique policy number
-     */
-    private String generatePolicyNumber(InsuranceType insuranceType) {
-        String prefix = insuranceType.name();
-        String uniqueId = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        String policyNumber = prefix + "-" + uniqueId;
-        
-        // Ensure uniqueness (very unlikely collision, but safety check)
-        while (policyRepository.existsByPolicyNumber(policyNumber)) {
-            uniqueId = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-            policyNumber = prefix + "-" + uniqueId;
-        }
-        
-        return policyNumber;
-    }
-    
     /**
      * Validates policy creation parameters.
-     * Clean Code: Extracted validation logic for reusability.
+     * Clean Code: Extracted validation logic for reusability - shared with bulk issuance.
      */
-    private void validatePolicyCreationParameters(Long clientId, Long vehicleId, 
+    static void validatePolicyCreationParameters(Long clientId, Long vehicleId, 
                                                  InsuranceType insuranceType, 
                                                  LocalDate startDate, LocalDate endDate) {
         if (clientId == null) {
@@ -355,7 +379,7 @@ public class PolicyService {
      * Validates policy dates.
      * Clean Code: Extracted validation logic for reusability.
      */
-    private void validatePolicyDates(LocalDate startDate, LocalDate endDate) {
+    private static void validatePolicyDates(LocalDate startDate, LocalDate endDate) {
         if (startDate == null) {
             throw new IllegalArgumentException("Start date is required");
         }
@@ -0,0 +1,18 @@
+package com.insurance.backoffice.application.service;
+
+/**
+ * Sort orders of paginated policy listings.
+ * Policies issued on the same day are ordered by ID, so every order is total and pages never
+ * skip or repeat a policy.
+ */
+public enum PolicySortOrder {
+    /**
+     * Most recently issued first.
+     */
+    NEWEST_FIRST,
+    
+    /**
+     * Earliest issued first.
+     */
+    OLDEST_FIRST
+}
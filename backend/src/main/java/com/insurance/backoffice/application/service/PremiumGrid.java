@@ -0,0 +1,206 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precompiled premiums for every rating cell of a {@link RatingTableSnapshot}.
+ * The snapshot's {@link CompiledRatingRules} bucket every rating input (with the default tariff:
+ * vehicle age capped at 10, four engine bands, four power bands), so per insurance type and rating
+ * epoch - a date range in which no rating table boundary changes - there is one premium per rating
+ * cell. They are kept as cents in primitive arrays indexed by cell number, so a quote is a few binary
+ * searches for the cell and the epoch plus an array read.
+ * Epochs are compiled lazily on first use with the same premium arithmetic as the factor path, once:
+ * callers arriving while an epoch compiles wait for it instead of compiling it again.
+ * Clean Code: Immutable apart from the per-epoch cache - safe to share between threads.
+ */
+public final class PremiumGrid {
+
+    private final RatingTableSnapshot snapshot;
+    private final CompiledRatingRules ratingRules;
+    private final TypeGrid[] grids;
+
+    private PremiumGrid(RatingTableSnapshot snapshot, TypeGrid[] grids) {
+        this.snapshot = snapshot;
+        this.ratingRules = snapshot.getRatingRules();
+        this.grids = grids;
+    }
+
+    /**
+     * Creates the grid for a snapshot. Epoch premiums are compiled on first access.
+     *
+     * @param snapshot the rating snapshot the premiums are derived from
+     * @param basePremiums base premium per insurance type
+     * @param calculator the premium arithmetic used to compile cells
+     * @return the premium grid
+     */
+    public static PremiumGrid of(RatingTableSnapshot snapshot, Map<InsuranceType, BigDecimal> basePremiums,
+                                 FixedPointPremiumCalculator calculator) {
+        InsuranceType[] insuranceTypes = InsuranceType.values();
+        TypeGrid[] grids = new TypeGrid[insuranceTypes.length];
+        for (InsuranceType insuranceType : insuranceTypes) {
+            grids[insuranceType.ordinal()] = new TypeGrid(snapshot, insuranceType, basePremiums.get(insuranceType), calculator);
+        }
+        return new PremiumGrid(snapshot, grids);
+    }
+
+    /**
+     * Returns the premium for a vehicle on the given date.
+     *
+     * @param insuranceType the insurance type
+     * @param vehicleAge vehicle age in whole years on the policy date
+     * @param engineCapacity engine capacity in cc
+     * @param power engine power in HP
+     * @param epochDay the policy date as epoch day
+     * @return the premium rounded to 2 decimal places
+     */
+    public BigDecimal premium(InsuranceType insuranceType, int vehicleAge, int engineCapacity, int power,
+                              long epochDay) {
+        return BigDecimal.valueOf(premiumCents(insuranceType, vehicleAge, engineCapacity, power, epochDay), 2);
+    }
+
+    /**
+     * Returns the premium in cents for a vehicle on the given date.
+     */
+    public long premiumCents(InsuranceType insuranceType, int vehicleAge, int engineCapacity, int power,
+                             long epochDay) {
+        int cell = ratingRules.cellOf(insuranceType, vehicleAge, engineCapacity, power);
+        return grids[insuranceType.ordinal()].premiumCents(epochDay, cell);
+    }
+
+    /**
+     * Compiles the premiums of every insurance type for the epoch containing the given day.
+     * Clean Code: Lets the day rollover pay the compile cost before the first quote of the day.
+     *
+     * @param epochDay the day as epoch day
+     */
+    public void prewarm(long epochDay) {
+        for (TypeGrid grid : grids) {
+            grid.cellsOf(epochDay);
+        }
+    }
+
+    public RatingTableSnapshot getSnapshot() { return snapshot; }
+
+    /**
+     * Premium cells of one insurance type, one array per rating epoch.
+     */
+    private static final class TypeGrid {
+        private final RatingTableSnapshot snapshot;
+        private final InsuranceType insuranceType;
+        private final BigDecimal basePremium;
+        private final FixedPointPremiumCalculator calculator;
+        private final int cellCount;
+        private final long[] epochStarts;
+        private final AtomicReferenceArray<long[]> epochCells;
+        private final AtomicReferenceArray<FutureTask<long[]>> compiling;
+
+        TypeGrid(RatingTableSnapshot snapshot, InsuranceType insuranceType, BigDecimal basePremium,
+                 FixedPointPremiumCalculator calculator) {
+            this.snapshot = snapshot;
+            this.insuranceType = insuranceType;
+            this.basePremium = basePremium;
+            this.calculator = calculator;
+            this.cellCount = snapshot.getRatingRules().cellCount(insuranceType);
+
+            // The first epoch covers everything before the earliest boundary
+            long[] boundaries = snapshot.getValidityBoundaries(insuranceType);
+            this.epochStarts = new long[boundaries.length + 1];
+            this.epochStarts[0] = Long.MIN_VALUE;
+            System.arraycopy(boundaries, 0, this.epochStarts, 1, boundaries.length);
+            this.epochCells = new AtomicReferenceArray<>(epochStarts.length);
+            this.compiling = new AtomicReferenceArray<>(epochStarts.length);
+        }
+
+        long premiumCents(long epochDay, int cell) {
+            return cellsOf(epochDay)[cell];
+        }
+
+        long[] cellsOf(long epochDay) {
+            int epoch = epochOf(epochDay);
+            long[] cells = epochCells.get(epoch);
+            return cells != null ? cells : compileOnce(epoch);
+        }
+
+        /**
+         * Compiles an epoch for all concurrent callers: the first one compiles it, the others wait.
+         * A failed compile is not kept, so the next caller tries again.
+         */
+        private long[] compileOnce(int epoch) {
+            FutureTask<long[]> task = new FutureTask<>(() -> {
+                // Finished by another caller since this one missed
+                long[] compiled = epochCells.get(epoch);
+                if (compiled == null) {
+                    compiled = compile(epochStarts[epoch]);
+                    epochCells.set(epoch, compiled);
+                }
+                return compiled;
+            });
+            FutureTask<long[]> running = compiling.compareAndExchange(epoch, null, task);
+            if (running == null) {
+                try {
+                    task.run();
+                } finally {
+                    compiling.compareAndSet(epoch, task, null);
+                }
+                running = task;
+            }
+            try {
+                return running.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while compiling " + insuranceType + " premiums", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Compiling " + insuranceType + " premiums failed", e.getCause());
+            }
+        }
+
+        private int epochOf(long epochDay) {
+            int low = 0;
+            int high = epochStarts.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (epochStarts[mid] <= epochDay) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private long[] compile(long epochStart) {
+            CompiledRatingRules ratingRules = snapshot.getRatingRules();
+            long[] cells = new long[cellCount];
+            for (int cell = 0; cell < cellCount; cell++) {
+                String[] ratingKeys = ratingRules.ratingKeysOfCell(insuranceType, cell);
+                BigDecimal premium = calculator.premium(snapshot, insuranceType, basePremium, ratingKeys,
+                        epochStart, () -> exactPremium(ratingKeys, epochStart));
+                cells[cell] = premium.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+            }
+            return cells;
+        }
+
+        private BigDecimal exactPremium(String[] ratingKeys, long epochDay) {
+            BigDecimal premium = basePremium;
+            for (String ratingKey : ratingKeys) {
+                premium = premium.multiply(multiplier(ratingKey, epochDay));
+            }
+            return premium.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private BigDecimal multiplier(String ratingKey, long epochDay) {
+            BigDecimal multiplier = snapshot.findMultiplier(insuranceType, ratingKey, epochDay);
+            return multiplier != null ? multiplier : BigDecimal.ONE;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.Vehicle;
+import com.insurance.backoffice.infrastructure.repository.VehicleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for pricing batches of quotes without persisting policies.
+ * Every item of a batch is rated against the same rating snapshot. Items are split into chunks
+ * that are evaluated in parallel, and results are handed to the caller chunk by chunk as they complete.
+ * Clean Code: Single Responsibility - orchestrates batch quoting, premium logic stays in RatingService.
+ */
+@Service
+public class QuoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteService.class);
+
+    // Chunks per worker thread, so a slow chunk does not hold back the rest of the batch
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final RatingService ratingService;
+    private final RatingTableSnapshotProvider snapshotProvider;
+    private final VehicleRepository vehicleRepository;
+    private final int maxBatchSize;
+    private final int parallelism;
+    private final ExecutorService executor;
+    private final Timer batchTimer;
+    private final Counter succeededCounter;
+    private final Counter failedCounter;
+
+    @Autowired
+    public QuoteService(RatingService ratingService,
+                        RatingTableSnapshotProvider snapshotProvider,
+                        VehicleRepository vehicleRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.rating.quotes.max-batch-size:10000}") int maxBatchSize,
+                        @Value("${app.rating.quotes.parallelism:0}") int parallelism) {
+        this.ratingService = ratingService;
+        this.snapshotProvider = snapshotProvider;
+        this.vehicleRepository = vehicleRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, workerThreadFactory());
+        this.batchTimer = Timer.builder("rating.quotes.batch")
+                .description("Time to price a batch of quotes")
+                .register(meterRegistry);
+        this.succeededCounter = Counter.builder("rating.quotes.items")
+                .description("Quotes priced in batches")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("rating.quotes.items")
+                .description("Quotes priced in batches")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Prices a batch of quotes, passing results to the consumer as they complete.
+     * The consumer is always called from the calling thread, so it may write to a response stream.
+     * Results arrive in completion order; {@link QuoteResult#index()} refers to the position in the batch.
+     * Clean Code: Per-item failures are reported as results and never abort the batch.
+     *
+     * @param items the quotes to price
+     * @param resultConsumer receives every result exactly once
+     * @return batch-level throughput figures
+     * @throws IllegalArgumentException if the batch is empty or exceeds the maximum batch size
+     */
+    public BatchSummary quote(List<QuoteItem> items, Consumer<QuoteResult> resultConsumer) {
+        validateBatch(items);
+        Objects.requireNonNull(resultConsumer, "Result consumer cannot be null");
+
+        long started = System.nanoTime();
+        RatingTableSnapshot snapshot = snapshotProvider.current();
+        Map<Long, Vehicle> vehicles = loadReferencedVehicles(items);
+
+        CompletionService<List<QuoteResult>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<List<QuoteResult>>> pending = new ArrayList<>();
+        int chunkSize = Math.max(1, (items.size() + parallelism * CHUNKS_PER_WORKER - 1) / (parallelism * CHUNKS_PER_WORKER));
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(from + chunkSize, items.size());
+            pending.add(completionService.submit(() -> priceChunk(snapshot, items, vehicles, chunkStart, chunkEnd)));
+        }
+
+        int succeeded = 0;
+        int failed = 0;
+        try {
+            for (int i = 0; i < pending.size(); i++) {
+                for (QuoteResult result : completionService.take().get()) {
+                    if (result.isSuccessful()) {
+                        succeeded++;
+                    } else {
+                        failed++;
+                    }
+                    resultConsumer.accept(result);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PremiumCalculationException("Batch quote was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new PremiumCalculationException("Batch quote failed", e.getCause());
+        } finally {
+            // Stop outstanding chunks when the consumer failed, e.g. because the client disconnected
+            pending.forEach(future -> future.cancel(true));
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        batchTimer.record(elapsed);
+        succeededCounter.increment(succeeded);
+        failedCounter.increment(failed);
+
+        BatchSummary summary = BatchSummary.of(items.size(), succeeded, failed, snapshot.getVersion(), elapsed);
+        logger.debug("Priced {} quotes ({} failed) against rating snapshot version {} in {} ms",
+                summary.requested(), summary.failed(), summary.snapshotVersion(), summary.elapsedMillis());
+        return summary;
+    }
+
+    /**
+     * Validates batch-level constraints, so callers can reject a batch before streaming any result.
+     *
+     * @param items the quotes to price
+     * @throws IllegalArgumentException if the batch is empty or exceeds the maximum batch size
+     */
+    public void validateBatch(List<QuoteItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one quote is required");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Batch size " + items.size() + " exceeds the maximum of " + maxBatchSize + " quotes");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<QuoteResult> priceChunk(RatingTableSnapshot snapshot, List<QuoteItem> items,
+                                         Map<Long, Vehicle> vehicles, int from, int to) {
+        List<QuoteResult> results = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            results.add(priceItem(snapshot, index, items.get(index), vehicles));
+        }
+        return results;
+    }
+
+    private QuoteResult priceItem(RatingTableSnapshot snapshot, int index, QuoteItem item, Map<Long, Vehicle> vehicles) {
+        if (item == null) {
+            return QuoteResult.failure(index, null, "Quote item cannot be null");
+        }
+        try {
+            Vehicle vehicle = resolveVehicle(item, vehicles);
+            RatingService.PremiumBreakdown breakdown =
+                    ratingService.calculatePremiumBreakdown(snapshot, item.insuranceType(), vehicle, item.policyDate());
+            return QuoteResult.success(index, item, breakdown);
+        } catch (EntityNotFoundException | IllegalArgumentException e) {
+            return QuoteResult.failure(index, item, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to price quote {} of batch", index, e);
+            return QuoteResult.failure(index, item,
+                    "Failed to calculate premium for " + item.insuranceType() + " insurance");
+        }
+    }
+
+    private Vehicle resolveVehicle(QuoteItem item, Map<Long, Vehicle> vehicles) {
+        if (item.vehicleId() != null) {
+            Vehicle vehicle = vehicles.get(item.vehicleId());
+            if (vehicle == null) {
+                throw new EntityNotFoundException("Vehicle not found with ID: " + item.vehicleId());
+            }
+            return vehicle;
+        }
+        Vehicle vehicle = item.vehicle();
+        if (vehicle == null) {
+            throw new IllegalArgumentException("Either vehicle ID or vehicle attributes are required");
+        }
+        if (vehicle.getEngineCapacity() == null || vehicle.getPower() == null
+                || vehicle.getFirstRegistrationDate() == null) {
+            throw new IllegalArgumentException(
+                    "Engine capacity, power and first registration date are required for inline vehicles");
+        }
+        return vehicle;
+    }
+
+    /**
+     * Loads every vehicle referenced by ID with a single query.
+     */
+    private Map<Long, Vehicle> loadReferencedVehicles(List<QuoteItem> items) {
+        Set<Long> vehicleIds = items.stream()
+                .filter(Objects::nonNull)
+                .map(QuoteItem::vehicleId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (vehicleIds.isEmpty()) {
+            return Map.of();
+        }
+        return vehicleRepository.findAllById(vehicleIds).stream()
+                .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "quote-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A single quote to price, referencing a stored vehicle by ID or carrying inline vehicle attributes.
+     */
+    public record QuoteItem(InsuranceType insuranceType, Long vehicleId, Vehicle vehicle, LocalDate policyDate) {
+
+        public static QuoteItem forVehicleId(InsuranceType insuranceType, Long vehicleId, LocalDate policyDate) {
+            return new QuoteItem(insuranceType, vehicleId, null, policyDate);
+        }
+
+        public static QuoteItem forVehicle(InsuranceType insuranceType, Vehicle vehicle, LocalDate policyDate) {
+            return new QuoteItem(insuranceType, null, vehicle, policyDate);
+        }
+    }
+
+    /**
+     * Outcome of a single quote: either a premium breakdown or an error message.
+     */
+    public record QuoteResult(int index, InsuranceType insuranceType, Long vehicleId, LocalDate policyDate,
+                              RatingService.PremiumBreakdown breakdown, String error) {
+
+        static QuoteResult success(int index, QuoteItem item, RatingService.PremiumBreakdown breakdown) {
+            return new QuoteResult(index, item.insuranceType(), item.vehicleId(), item.policyDate(), breakdown, null);
+        }
+
+        static QuoteResult failure(int index, QuoteItem item, String error) {
+            return item == null
+                    ? new QuoteResult(index, null, null, null, null, error)
+                    : new QuoteResult(index, item.insuranceType(), item.vehicleId(), item.policyDate(), null, error);
+        }
+
+        public boolean isSuccessful() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Batch-level throughput figures.
+     */
+    public record BatchSummary(int requested, int succeeded, int failed, long snapshotVersion,
+                               long elapsedMillis, double quotesPerSecond) {
+
+        static BatchSummary of(int requested, int succeeded, int failed, long snapshotVersion, Duration elapsed) {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            double quotesPerSecond = seconds > 0 ? requested / seconds : 0;
+            return new BatchSummary(requested, succeeded, failed, snapshotVersion, elapsed.toMillis(), quotesPerSecond);
+        }
+    }
+}
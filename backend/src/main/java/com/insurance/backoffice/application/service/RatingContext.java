@@ -0,0 +1,109 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.Vehicle;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every rating factor a quote needs, resolved once from one rating table snapshot.
+ * The required rating keys, chosen by the snapshot's rating rules, and the number of entries valid for each on the policy date are
+ * looked up when the context is created; validation, missing-factor detection and premium
+ * calculation then all read the same context instead of querying per factor.
+ * Clean Code: Immutable value object shared by RatingValidationService and RatingService.
+ */
+public final class RatingContext {
+
+    private final RatingTableSnapshot snapshot;
+    private final InsuranceType insuranceType;
+    private final Vehicle vehicle;
+    private final LocalDate policyDate;
+    private final int vehicleAge;
+    private final String[] ratingKeys;
+    private final int[] validEntryCounts;
+
+    private RatingContext(RatingTableSnapshot snapshot, InsuranceType insuranceType, Vehicle vehicle,
+                          LocalDate policyDate, int vehicleAge, String[] ratingKeys, int[] validEntryCounts) {
+        this.snapshot = snapshot;
+        this.insuranceType = insuranceType;
+        this.vehicle = vehicle;
+        this.policyDate = policyDate;
+        this.vehicleAge = vehicleAge;
+        this.ratingKeys = ratingKeys;
+        this.validEntryCounts = validEntryCounts;
+    }
+
+    /**
+     * Resolves the rating factors of a vehicle against a snapshot.
+     *
+     * @param snapshot the rating table snapshot
+     * @param insuranceType the insurance type
+     * @param vehicle the vehicle to be insured
+     * @param policyDate the policy effective date
+     * @return the rating context
+     */
+    static RatingContext of(RatingTableSnapshot snapshot, InsuranceType insuranceType,
+                            Vehicle vehicle, LocalDate policyDate) {
+        int vehicleAge = Period.between(vehicle.getFirstRegistrationDate(), policyDate).getYears();
+        String[] ratingKeys = RatingService.ratingKeys(snapshot, insuranceType, vehicle, policyDate);
+
+        int[] validEntryCounts = new int[ratingKeys.length];
+        for (int i = 0; i < ratingKeys.length; i++) {
+            validEntryCounts[i] = snapshot.countValidEntries(insuranceType, ratingKeys[i], policyDate);
+        }
+        return new RatingContext(snapshot, insuranceType, vehicle, policyDate, vehicleAge, ratingKeys,
+                validEntryCounts);
+    }
+
+    /**
+     * Returns the rating keys the premium depends on, one per rating factor.
+     */
+    public List<String> getRequiredRatingKeys() {
+        return List.of(ratingKeys);
+    }
+
+    /**
+     * Returns the required rating keys without an entry valid on the policy date.
+     */
+    public List<String> getMissingRatingKeys() {
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < ratingKeys.length; i++) {
+            if (validEntryCounts[i] == 0) {
+                missing.add(ratingKeys[i]);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Returns the required rating keys with more than one entry valid on the policy date.
+     */
+    public List<String> getAmbiguousRatingKeys() {
+        List<String> ambiguous = new ArrayList<>();
+        for (int i = 0; i < ratingKeys.length; i++) {
+            if (validEntryCounts[i] > 1) {
+                ambiguous.add(ratingKeys[i]);
+            }
+        }
+        return ambiguous;
+    }
+
+    public RatingTableSnapshot getSnapshot() { return snapshot; }
+    public InsuranceType getInsuranceType() { return insuranceType; }
+    public Vehicle getVehicle() { return vehicle; }
+    public LocalDate getPolicyDate() { return policyDate; }
+    public int getVehicleAge() { return vehicleAge; }
+
+    @Override
+    public String toString() {
+        return "RatingContext{" +
+                "insuranceType=" + insuranceType +
+                ", policyDate=" + policyDate +
+                ", ratingKeys=" + List.of(ratingKeys) +
+                ", snapshotVersion=" + snapshot.getVersion() +
+                '}';
+    }
+}
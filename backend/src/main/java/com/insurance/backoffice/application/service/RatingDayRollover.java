@@ -0,0 +1,312 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Moves date-dependent rating state from one day to the next without a miss storm at midnight.
+ * Everything rated "today" - the currently valid rating tables and the premium grid epoch of the day -
+ * turns over at once when the date changes, together with every rating that starts on that date.
+ * Shortly before midnight the next day's state is built in the background; at the date change it is
+ * swapped in, so the first requests of the day are served from memory.
+ * Day state is tied to the content of the rating snapshot it was built from, so a rating change in
+ * the meantime makes it rebuild on first use instead of serving stale tables, while a reload that
+ * changed nothing keeps it. A rebuild runs once; concurrent callers wait for it.
+ * Clean Code: Single Responsibility - owns the day boundary of rating data.
+ */
+@Service
+public class RatingDayRollover {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingDayRollover.class);
+
+    /**
+     * Progress of building the next day's rating state.
+     */
+    public enum WarmUpStatus {
+        /** Waiting for the warm-up time before the next date change. */
+        SCHEDULED,
+        /** Building the next day's rating state. */
+        WARMING,
+        /** The next day's rating state is built and waits for the date change. */
+        READY,
+        /** Building failed; the new day's state is built on first use instead. */
+        FAILED
+    }
+
+    private final RatingService ratingService;
+    private final RatingTableSnapshotProvider snapshotProvider;
+    private final boolean enabled;
+    private final Duration leadTime;
+    private final Clock clock;
+    private final Timer warmUpTimer;
+    private final Counter rebuildCounter;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicReference<FutureTask<RatingDay>> rebuilding = new AtomicReference<>();
+
+    private volatile RatingDay today;
+    private volatile RatingDay next;
+    private volatile WarmUpStatus warmUpStatus = WarmUpStatus.SCHEDULED;
+    private volatile ZonedDateTime nextSwitchAt;
+    private volatile Duration lastWarmUpDuration;
+    private volatile String lastWarmUpError;
+
+    @Autowired
+    public RatingDayRollover(RatingService ratingService,
+                             RatingTableSnapshotProvider snapshotProvider,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.rating.rollover.enabled:true}") boolean enabled,
+                             @Value("${app.rating.rollover.lead-time:PT10M}") Duration leadTime,
+                             @Value("${app.rating.rollover.zone:}") String zone) {
+        this.ratingService = ratingService;
+        this.snapshotProvider = snapshotProvider;
+        this.enabled = enabled;
+        this.leadTime = leadTime;
+        this.clock = Clock.system(zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone));
+        this.warmUpTimer = Timer.builder("rating.rollover.warmup")
+                .description("Time to build the next day's rating state")
+                .register(meterRegistry);
+        this.rebuildCounter = Counter.builder("rating.rollover.rebuilds")
+                .description("Day rating state built on first use instead of ahead of time")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rating-day-rollover");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builds today's state and schedules the first rollover once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Rating day rollover is disabled");
+            return;
+        }
+        scheduler.execute(() -> {
+            LocalDate day = LocalDate.now(clock);
+            warmUp(day);
+            switchTo(day);
+            scheduleRollover(day.plusDays(1));
+        });
+    }
+
+    /**
+     * Returns the rating tables valid today.
+     * Clean Code: Served from the day state, so the date change does not send every caller to the database.
+     *
+     * @param insuranceType the insurance type
+     * @return list of currently valid rating tables
+     */
+    public List<RatingTable> getCurrentRatingTables(InsuranceType insuranceType) {
+        if (insuranceType == null) {
+            throw new IllegalArgumentException("Insurance type cannot be null");
+        }
+        return ratingTablesOn(insuranceType, LocalDate.now(clock));
+    }
+
+    /**
+     * Returns the rollover state for monitoring.
+     */
+    public RolloverStatus getStatus() {
+        RatingDay current = today;
+        RatingDay pending = next;
+        return new RolloverStatus(
+                current != null ? current.day() : null,
+                current != null ? current.snapshotVersion() : null,
+                nextSwitchAt,
+                nextRatingChange(LocalDate.now(clock)),
+                warmUpStatus,
+                pending != null ? pending.day() : null,
+                lastWarmUpDuration != null ? lastWarmUpDuration.toMillis() : null,
+                lastWarmUpError);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Builds the rating state of a day ahead of its start and compiles its premium grid epoch.
+     * Failures are recorded, not thrown; the day state is then built on first use.
+     */
+    void warmUp(LocalDate day) {
+        warmUpStatus = WarmUpStatus.WARMING;
+        long started = System.nanoTime();
+        try {
+            RatingDay built = build(day);
+            ratingService.prewarmPremiumGrid(day);
+            next = built;
+            lastWarmUpError = null;
+            warmUpStatus = WarmUpStatus.READY;
+            logger.info("Prepared rating state for {} from snapshot version {}", day, built.snapshotVersion());
+        } catch (RuntimeException e) {
+            lastWarmUpError = e.getMessage();
+            warmUpStatus = WarmUpStatus.FAILED;
+            logger.warn("Preparing rating state for {} failed, building it on first use", day, e);
+        } finally {
+            lastWarmUpDuration = Duration.ofNanos(System.nanoTime() - started);
+            warmUpTimer.record(lastWarmUpDuration);
+        }
+    }
+
+    /**
+     * Makes the prepared state of a day the current one. Without prepared state the current one is
+     * dropped, so the day's state is built on first use.
+     */
+    void switchTo(LocalDate day) {
+        RatingDay pending = next;
+        today = pending != null && pending.day().equals(day) ? pending : null;
+        next = null;
+        if (warmUpStatus == WarmUpStatus.READY) {
+            warmUpStatus = WarmUpStatus.SCHEDULED;
+        }
+        logger.debug("Switched rating state to {}", day);
+    }
+
+    /**
+     * Returns the rating tables valid on a day from the day state, building it if it is missing,
+     * for another day, or built from rating content that has since changed.
+     */
+    List<RatingTable> ratingTablesOn(InsuranceType insuranceType, LocalDate day) {
+        while (true) {
+            String contentHash = snapshotProvider.current().getContentHash();
+            RatingDay current = today;
+            if (current != null && current.isFor(day, contentHash)) {
+                return current.ratingTables().get(insuranceType);
+            }
+            // The date changed before the scheduled switch ran
+            RatingDay pending = next;
+            if (pending != null && pending.isFor(day, contentHash)) {
+                today = pending;
+                return pending.ratingTables().get(insuranceType);
+            }
+            RatingDay built = rebuild(day);
+            if (built.isFor(day, snapshotProvider.current().getContentHash())) {
+                return built.ratingTables().get(insuranceType);
+            }
+            // Joined a rebuild for another day or ratings changed while it ran
+        }
+    }
+
+    /**
+     * Builds the day state once for all concurrent callers: the first one builds it, the others wait.
+     */
+    private RatingDay rebuild(LocalDate day) {
+        FutureTask<RatingDay> task = new FutureTask<>(() -> {
+            RatingDay built = build(day);
+            today = built;
+            return built;
+        });
+        FutureTask<RatingDay> running = rebuilding.compareAndExchange(null, task);
+        if (running == null) {
+            rebuildCounter.increment();
+            try {
+                task.run();
+            } finally {
+                rebuilding.compareAndSet(task, null);
+            }
+            running = task;
+        }
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building rating state for " + day, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Building rating state for " + day + " failed", e.getCause());
+        }
+    }
+
+    private RatingDay build(LocalDate day) {
+        RatingTableSnapshot snapshot = snapshotProvider.current();
+        Map<InsuranceType, List<RatingTable>> ratingTables = new EnumMap<>(InsuranceType.class);
+        for (InsuranceType insuranceType : InsuranceType.values()) {
+            ratingTables.put(insuranceType, List.copyOf(ratingService.getRatingTablesForDate(insuranceType, day)));
+        }
+        return new RatingDay(day, snapshot.getVersion(), snapshot.getContentHash(), ratingTables);
+    }
+
+    /**
+     * Schedules the warm-up for a day the lead time before it starts, and the switch at its start.
+     */
+    private void scheduleRollover(LocalDate day) {
+        ZonedDateTime switchAt = day.atStartOfDay(clock.getZone());
+        nextSwitchAt = switchAt;
+        long untilSwitch = Duration.between(clock.instant(), switchAt.toInstant()).toMillis();
+        long untilWarmUp = Math.max(0, untilSwitch - leadTime.toMillis());
+        scheduler.schedule(() -> warmUp(day), untilWarmUp, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> {
+            switchTo(day);
+            scheduleRollover(day.plusDays(1));
+        }, Math.max(0, untilSwitch), TimeUnit.MILLISECONDS);
+        logger.debug("Scheduled rating rollover to {} at {}", day, switchAt);
+    }
+
+    /**
+     * Returns the first day after the given one on which any rating starts or stops being valid.
+     */
+    LocalDate nextRatingChange(LocalDate after) {
+        RatingTableSnapshot snapshot = snapshotProvider.current();
+        long afterDay = after.toEpochDay();
+        long nearest = Long.MAX_VALUE;
+        for (InsuranceType insuranceType : InsuranceType.values()) {
+            long[] boundaries = snapshot.getValidityBoundaries(insuranceType);
+            int index = Arrays.binarySearch(boundaries, afterDay + 1);
+            int insertion = index >= 0 ? index : -index - 1;
+            if (insertion < boundaries.length) {
+                nearest = Math.min(nearest, boundaries[insertion]);
+            }
+        }
+        return nearest != Long.MAX_VALUE ? LocalDate.ofEpochDay(nearest) : null;
+    }
+
+    /**
+     * Rating state of one day, built from one snapshot; valid for every later snapshot with the same content.
+     */
+    private record RatingDay(LocalDate day, long snapshotVersion, String contentHash,
+                             Map<InsuranceType, List<RatingTable>> ratingTables) {
+        boolean isFor(LocalDate date, String hash) {
+            return day.equals(date) && contentHash.equals(hash);
+        }
+    }
+
+    /**
+     * Rollover state: the current day, the next scheduled switch and the warm-up of the next day.
+     */
+    public record RolloverStatus(LocalDate currentDay, Long currentSnapshotVersion, ZonedDateTime nextSwitchAt,
+                                 LocalDate nextRatingChange, WarmUpStatus warmUpStatus, LocalDate preparedDay,
+                                 Long lastWarmUpMillis, String lastWarmUpError) {}
+}
@@ -10,9 +10,11 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.TreeSet;
 
 /**
  * Service class for premium calculations using rating tables.
@@ -24,6 +26,11 @@ import java.util.HashMap;
 public class RatingService {
     
     private final RatingTableRepository ratingTableRepository;
+    private final RatingTableSnapshotProvider snapshotProvider;
+    private final FixedPointPremiumCalculator fixedPointCalculator;
+    
+    /** Longest date range a premium timeline may cover. */
+    static final int MAX_TIMELINE_YEARS = 10;
     
     // Base premium amounts for different insurance types
     private static final Map<InsuranceType, BigDecimal> BASE_PREMIUMS = Map.of(
@@ -33,12 +40,17 @@ public class RatingService {
     );
     
     @Autowired
-    public RatingService(RatingTableRepository ratingTableRepository) {
+    public RatingService(RatingTableRepository ratingTableRepository,
+                         RatingTableSnapshotProvider snapshotProvider,
+                         FixedPointPremiumCalculator fixedPointCalculator) {
         this.ratingTableRepository = ratingTableRepository;
+        this.snapshotProvider = snapshotProvider;
+        this.fixedPointCalculator = fixedPointCalculator;
     }
     
     /**
      * Calculates premium for a given insurance type, vehicle, and policy date.
+     * Priced from rating data loaded from the database, as callers store the result on a policy.
      * Clean Code: Main business method with clear purpose and parameters.
      * 
      * @param insuranceType the type of insurance
@@ -51,19 +63,39 @@ public class RatingService {
     public BigDecimal calculatePremium(InsuranceType insuranceType, Vehicle vehicle, LocalDate policyDate) {
         validateCalculationParameters(insuranceType, vehicle, policyDate);
         
+        RatingTableSnapshot snapshot;
         try {
-            // Get base premium for insurance type
-            BigDecimal basePremium = getBasePremium(insuranceType);
-            
-            // Calculate rating factors
-            Map<String, BigDecimal> ratingFactors = calculateRatingFactors(insuranceType, vehicle, policyDate);
-            
-            // Apply rating factors to base premium
-            BigDecimal calculatedPremium = applyRatingFactors(basePremium, ratingFactors);
-            
-            // Round to 2 decimal places
-            return calculatedPremium.setScale(2, RoundingMode.HALF_UP);
-            
+            snapshot = snapshotProvider.currentFromDatabase();
+        } catch (Exception e) {
+            throw new PremiumCalculationException(
+                    "Failed to calculate premium for " + insuranceType + " insurance", e);
+        }
+        return calculatePremium(snapshot, insuranceType, vehicle, policyDate);
+    }
+    
+    /**
+     * Calculates premium against a given rating snapshot.
+     * Clean Code: Lets bulk callers price every policy against one consistent snapshot.
+     * 
+     * @param snapshot the rating table snapshot to rate against
+     * @param insuranceType the type of insurance
+     * @param vehicle the vehicle to be insured
+     * @param policyDate the policy effective date
+     * @return calculated premium amount
+     * @throws IllegalArgumentException if parameters are invalid
+     * @throws PremiumCalculationException if calculation fails
+     */
+    public BigDecimal calculatePremium(RatingTableSnapshot snapshot, InsuranceType insuranceType,
+                                       Vehicle vehicle, LocalDate policyDate) {
+        validateCalculationParameters(insuranceType, vehicle, policyDate);
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Rating snapshot cannot be null");
+        }
+        
+        try {
+            // The snapshot's rating rules bucket every vehicle into a cell of the precompiled premium grid
+            return premiumGridFor(snapshot).premium(insuranceType, calculateVehicleAge(vehicle, policyDate),
+                    vehicle.getEngineCapacity(), vehicle.getPower(), policyDate.toEpochDay());
         } catch (Exception e) {
             throw new PremiumCalculationException(
                     "Failed to calculate premium for " + insuranceType + " insurance", e);
@@ -80,13 +112,115 @@ public class RatingService {
      * @return premium breakdown with factors
      */
     public PremiumBreakdown calculatePremiumBreakdown(InsuranceType insuranceType, Vehicle vehicle, LocalDate policyDate) {
+        return calculatePremiumBreakdown(snapshotProvider.current(), insuranceType, vehicle, policyDate);
+    }
+    
+    /**
+     * Calculates premium breakdown against a given rating snapshot.
+     * Clean Code: Lets batch callers price every item against one consistent snapshot.
+     * 
+     * @param snapshot the rating table snapshot to rate against
+     * @param insuranceType the type of insurance
+     * @param vehicle the vehicle to be insured
+     * @param policyDate the policy effective date
+     * @return premium breakdown with factors
+     */
+    public PremiumBreakdown calculatePremiumBreakdown(RatingTableSnapshot snapshot, InsuranceType insuranceType,
+                                                      Vehicle vehicle, LocalDate policyDate) {
         validateCalculationParameters(insuranceType, vehicle, policyDate);
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Rating snapshot cannot be null");
+        }
         
         BigDecimal basePremium = getBasePremium(insuranceType);
-        Map<String, BigDecimal> ratingFactors = calculateRatingFactors(insuranceType, vehicle, policyDate);
-        BigDecimal finalPremium = applyRatingFactors(basePremium, ratingFactors);
+        Map<String, BigDecimal> ratingFactors = calculateRatingFactors(snapshot, insuranceType, vehicle, policyDate);
+        BigDecimal finalPremium = calculateRoundedPremium(snapshot, insuranceType, basePremium, ratingFactors,
+                vehicle, policyDate);
         
-        return new PremiumBreakdown(basePremium, ratingFactors, finalPremium.setScale(2, RoundingMode.HALF_UP));
+        return new PremiumBreakdown(basePremium, ratingFactors, finalPremium);
+    }
+    
+    /**
+     * Resolves every rating factor of a quote against the current rating snapshot.
+     * Clean Code: One lookup pass shared by validation and premium calculation.
+     *
+     * @param insuranceType the type of insurance
+     * @param vehicle the vehicle to be insured
+     * @param policyDate the policy effective date
+     * @return the rating context
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public RatingContext createRatingContext(InsuranceType insuranceType, Vehicle vehicle, LocalDate policyDate) {
+        validateCalculationParameters(insuranceType, vehicle, policyDate);
+        return RatingContext.of(snapshotProvider.current(), insuranceType, vehicle, policyDate);
+    }
+    
+    /**
+     * Calculates premium for a resolved rating context.
+     *
+     * @param context the rating context
+     * @return calculated premium amount
+     * @throws PremiumCalculationException if calculation fails
+     */
+    public BigDecimal calculatePremium(RatingContext context) {
+        return calculatePremium(context.getSnapshot(), context.getInsuranceType(), context.getVehicle(),
+                context.getPolicyDate());
+    }
+    
+    /**
+     * Calculates premium breakdown for a resolved rating context.
+     *
+     * @param context the rating context
+     * @return premium breakdown with factors
+     */
+    public PremiumBreakdown calculatePremiumBreakdown(RatingContext context) {
+        return calculatePremiumBreakdown(context.getSnapshot(), context.getInsuranceType(), context.getVehicle(),
+                context.getPolicyDate());
+    }
+    
+    /**
+     * Calculates how the premium of a vehicle changes over a date range.
+     * The premium can only change where a rating table of the insurance type starts or stops being valid
+     * and where the vehicle gets a year older, so only those breakpoints are evaluated instead of every day.
+     * Clean Code: Adjacent intervals with the same premium are merged into one segment.
+     * 
+     * @param insuranceType the type of insurance
+     * @param vehicle the vehicle to be insured
+     * @param from the first day of the range
+     * @param to the last day of the range, inclusive
+     * @return consecutive segments covering the whole range, each with a constant premium
+     * @throws IllegalArgumentException if parameters are invalid
+     * @throws PremiumCalculationException if calculation fails
+     */
+    public List<PremiumSegment> calculatePremiumTimeline(InsuranceType insuranceType, Vehicle vehicle,
+                                                         LocalDate from, LocalDate to) {
+        validateCalculationParameters(insuranceType, vehicle, from);
+        if (to == null) {
+            throw new IllegalArgumentException("Timeline end date cannot be null");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Timeline end date cannot be before start date");
+        }
+        if (to.isAfter(from.plusYears(MAX_TIMELINE_YEARS))) {
+            throw new IllegalArgumentException("Timeline cannot exceed " + MAX_TIMELINE_YEARS + " years");
+        }
+        
+        RatingTableSnapshot snapshot = snapshotProvider.current();
+        List<PremiumSegment> segments = new ArrayList<>();
+        LocalDate segmentStart = from;
+        BigDecimal segmentPremium = calculatePremium(snapshot, insuranceType, vehicle, from);
+        
+        for (LocalDate breakpoint : findPremiumBreakpoints(snapshot, insuranceType, vehicle, from, to)) {
+            BigDecimal premium = calculatePremium(snapshot, insuranceType, vehicle, breakpoint);
+            if (premium.compareTo(segmentPremium) != 0) {
+                segments.add(new PremiumSegment(segmentStart, breakpoint.minusDays(1), segmentPremium));
+                segmentStart = breakpoint;
+                segmentPremium = premium;
+            }
+        }
+        segments.add(new PremiumSegment(segmentStart, to, segmentPremium));
+        
+        return segments;
     }
     
     /**
@@ -125,133 +259,89 @@ public class RatingService {
     
     /**
      * Calculates rating factors based on vehicle characteristics and policy date.
-     * Clean Code: Extracted calculation logic for different rating factors.
+     * Clean Code: The snapshot's rating rules decide which factors apply, keyed by factor name.
      */
-    private Map<String, BigDecimal> calculateRatingFactors(InsuranceType insuranceType, Vehicle vehicle, LocalDate policyDate) {
+    private Map<String, BigDecimal> calculateRatingFactors(RatingTableSnapshot snapshot, InsuranceType insuranceType,
+                                                           Vehicle vehicle, LocalDate policyDate) {
+        String[] factorNames = snapshot.getRatingRules().factorNames(insuranceType);
+        String[] ratingKeys = ratingKeys(snapshot, insuranceType, vehicle, policyDate);
         Map<String, BigDecimal> factors = new HashMap<>();
-        
-        // Vehicle age factor
-        int vehicleAge = calculateVehicleAge(vehicle, policyDate);
-        BigDecimal ageFactor = getVehicleAgeFactor(insuranceType, vehicleAge, policyDate);
-        if (ageFactor != null) {
-            factors.put("VEHICLE_AGE", ageFactor);
+        for (int i = 0; i < factorNames.length; i++) {
+            factors.put(factorNames[i], getRatingMultiplier(snapshot, insuranceType, ratingKeys[i], policyDate));
         }
-        
-        // Engine capacity factor
-        BigDecimal engineFactor = getEngineCapacityFactor(insuranceType, vehicle.getEngineCapacity(), policyDate);
-        if (engineFactor != null) {
-            factors.put("ENGINE_CAPACITY", engineFactor);
-        }
-        
-        // Power factor
-        BigDecimal powerFactor = getPowerFactor(insuranceType, vehicle.getPower(), policyDate);
-        if (powerFactor != null) {
-            factors.put("POWER", powerFactor);
-        }
-        
-        // Insurance type specific factors
-        addInsuranceTypeSpecificFactors(factors, insuranceType, vehicle, policyDate);
-        
         return factors;
     }
     
     /**
-     * Gets vehicle age factor from rating tables.
-     * Clean Code: Specific factor calculation method.
+     * Retrieves rating multiplier from the rating table snapshot.
+     * Clean Code: Centralized rating table lookup method.
      */
-    private BigDecimal getVehicleAgeFactor(InsuranceType insuranceType, int vehicleAge, LocalDate policyDate) {
-        String ratingKey = "VEHICLE_AGE_" + Math.min(vehicleAge, 10); // Cap at 10 years
-        return getRatingMultiplier(insuranceType, ratingKey, policyDate);
+    private BigDecimal getRatingMultiplier(RatingTableSnapshot snapshot, InsuranceType insuranceType,
+                                           String ratingKey, LocalDate policyDate) {
+        BigDecimal multiplier = snapshot.findMultiplier(insuranceType, ratingKey, policyDate);
+        
+        // Return neutral multiplier if no rating found
+        return multiplier != null ? multiplier : BigDecimal.ONE;
     }
     
     /**
-     * Gets engine capacity factor from rating tables.
-     * Clean Code: Specific factor calculation method.
+     * Returns the rating rules of the current rating snapshot.
+     * Clean Code: Lets simulations build candidate snapshots bucketed like the live one.
      */
-    private BigDecimal getEngineCapacityFactor(InsuranceType insuranceType, Integer engineCapacity, LocalDate policyDate) {
-        String ratingKey;
-        if (engineCapacity <= 1000) {
-            ratingKey = "ENGINE_SMALL";
-        } else if (engineCapacity <= 1600) {
-            ratingKey = "ENGINE_MEDIUM";
-        } else if (engineCapacity <= 2000) {
-            ratingKey = "ENGINE_LARGE";
-        } else {
-            ratingKey = "ENGINE_XLARGE";
-        }
-        
-        return getRatingMultiplier(insuranceType, ratingKey, policyDate);
+    CompiledRatingRules getRatingRules() {
+        return snapshotProvider.current().getRatingRules();
     }
     
     /**
-     * Gets power factor from rating tables.
-     * Clean Code: Specific factor calculation method.
+     * Compiles the premium grid of the current snapshot for the given day ahead of the first quote.
+     * Clean Code: Used by the day rollover, so the epoch compile does not land on live traffic.
+     *
+     * @param date the day to prepare premiums for
+     * @return the version of the snapshot the premiums were compiled from
      */
-    private BigDecimal getPowerFactor(InsuranceType insuranceType, Integer power, LocalDate policyDate) {
-        String ratingKey;
-        if (power <= 75) {
-            ratingKey = "POWER_LOW";
-        } else if (power <= 150) {
-            ratingKey = "POWER_MEDIUM";
-        } else if (power <= 250) {
-            ratingKey = "POWER_HIGH";
-        } else {
-            ratingKey = "POWER_VERY_HIGH";
-        }
-        
-        return getRatingMultiplier(insuranceType, ratingKey, policyDate);
+    long prewarmPremiumGrid(LocalDate date) {
+        RatingTableSnapshot snapshot = snapshotProvider.current();
+        premiumGridFor(snapshot).prewarm(date.toEpochDay());
+        return snapshot.getVersion();
     }
     
     /**
-     * Adds insurance type specific rating factors.
-     * Clean Code: Extensible method for type-specific calculations.
+     * Returns the premium grid of the given snapshot, compiled once and kept on the snapshot.
+     * Clean Code: Callers pinned to an older snapshot and live traffic on the current one each keep
+     * their own grid instead of evicting each other's.
      */
-    private void addInsuranceTypeSpecificFactors(Map<String, BigDecimal> factors, 
-                                               InsuranceType insuranceType, 
-                                               Vehicle vehicle, 
-                                               LocalDate policyDate) {
-        switch (insuranceType) {
-            case OC:
-                // OC specific factors (e.g., coverage area)
-                BigDecimal ocFactor = getRatingMultiplier(insuranceType, "OC_STANDARD", policyDate);
-                if (ocFactor != null) {
-                    factors.put("OC_COVERAGE", ocFactor);
-                }
-                break;
-                
-            case AC:
-                // AC specific factors (e.g., vehicle value)
-                BigDecimal acFactor = getRatingMultiplier(insuranceType, "AC_COMPREHENSIVE", policyDate);
-                if (acFactor != null) {
-                    factors.put("AC_COVERAGE", acFactor);
-                }
-                break;
-                
-            case NNW:
-                // NNW specific factors (e.g., coverage amount)
-                BigDecimal nnwFactor = getRatingMultiplier(insuranceType, "NNW_STANDARD", policyDate);
-                if (nnwFactor != null) {
-                    factors.put("NNW_COVERAGE", nnwFactor);
-                }
-                break;
-        }
+    private PremiumGrid premiumGridFor(RatingTableSnapshot snapshot) {
+        return snapshot.premiumGrid(this::compilePremiumGrid);
     }
     
     /**
-     * Retrieves rating multiplier from rating tables.
-     * Clean Code: Centralized rating table lookup method.
+     * Creates a premium grid for a snapshot without caching it.
+     * Clean Code: Lets simulations price against candidate snapshots without evicting the live grid.
      */
-    private BigDecimal getRatingMultiplier(InsuranceType insuranceType, String ratingKey, LocalDate policyDate) {
-        List<RatingTable> ratingTables = ratingTableRepository
-                .findByInsuranceTypeAndRatingKeyValidForDate(insuranceType, ratingKey, policyDate);
-        
-        if (ratingTables.isEmpty()) {
-            // Return neutral multiplier if no rating found
-            return BigDecimal.ONE;
-        }
-        
-        // Use the first valid rating table (should be only one for a given date)
-        return ratingTables.get(0).getMultiplier();
+    PremiumGrid compilePremiumGrid(RatingTableSnapshot snapshot) {
+        return PremiumGrid.of(snapshot, BASE_PREMIUMS, fixedPointCalculator);
+    }
+    
+    /**
+     * Returns the rating keys the snapshot's rating rules apply to a vehicle, one per rating factor.
+     */
+    static String[] ratingKeys(RatingTableSnapshot snapshot, InsuranceType insuranceType,
+                               Vehicle vehicle, LocalDate policyDate) {
+        int vehicleAge = Period.between(vehicle.getFirstRegistrationDate(), policyDate).getYears();
+        return snapshot.getRatingRules().ratingKeys(insuranceType, vehicleAge, vehicle.getEngineCapacity(),
+                vehicle.getPower());
+    }
+    
+    /**
+     * Applies rating factors to base premium and rounds to 2 decimal places.
+     * The BigDecimal product is the reference; the fixed-point calculator may replace or verify it.
+     */
+    private BigDecimal calculateRoundedPremium(RatingTableSnapshot snapshot, InsuranceType insuranceType,
+                                               BigDecimal basePremium, Map<String, BigDecimal> ratingFactors,
+                                               Vehicle vehicle, LocalDate policyDate) {
+        String[] ratingKeys = ratingKeys(snapshot, insuranceType, vehicle, policyDate);
+        return fixedPointCalculator.premium(snapshot, insuranceType, basePremium, ratingKeys, policyDate.toEpochDay(),
+                () -> applyRatingFactors(basePremium, ratingFactors).setScale(2, RoundingMode.HALF_UP));
     }
     
     /**
@@ -284,6 +374,35 @@ public class RatingService {
         return Period.between(vehicle.getFirstRegistrationDate(), policyDate).getYears();
     }
     
+    /**
+     * Collects the days after the range start on which the premium may change.
+     * Around each age bucket anniversary both the anniversary and the following day are
+     * candidates, which covers leap-day registrations; extra candidates only cost an evaluation.
+     */
+    private TreeSet<LocalDate> findPremiumBreakpoints(RatingTableSnapshot snapshot, InsuranceType insuranceType,
+                                                      Vehicle vehicle, LocalDate from, LocalDate to) {
+        TreeSet<LocalDate> breakpoints = new TreeSet<>();
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        for (long boundary : snapshot.getValidityBoundaries(insuranceType)) {
+            if (boundary > fromDay && boundary <= toDay) {
+                breakpoints.add(LocalDate.ofEpochDay(boundary));
+            }
+        }
+        
+        // Only anniversaries on which the vehicle moves into another age bucket can change the premium
+        LocalDate firstRegistrationDate = vehicle.getFirstRegistrationDate();
+        for (int years : snapshot.getRatingRules().getVehicleAgeBoundaries(insuranceType)) {
+            LocalDate anniversary = firstRegistrationDate.plusYears(years);
+            for (LocalDate candidate : List.of(anniversary, anniversary.plusDays(1))) {
+                if (candidate.isAfter(from) && !candidate.isAfter(to)) {
+                    breakpoints.add(candidate);
+                }
+            }
+        }
+        return breakpoints;
+    }
+    
     /**
      * Validates calculation parameters.
      * Clean Code: Extracted validation logic.
@@ -300,6 +419,15 @@ public class RatingService {
         }
     }
     
+    /**
+     * A date range with a constant premium.
+     * 
+     * @param from the first day of the segment
+     * @param to the last day of the segment, inclusive
+     * @param premium the premium on every day of the segment
+     */
+    public record PremiumSegment(LocalDate from, LocalDate to, BigDecimal premium) {}
+    
     /**
      * Inner class representing premium calculation breakdown.
      * Clean Code: Value object for structured data return.
@@ -0,0 +1,308 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.EngineCapacityBand;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import com.insurance.backoffice.domain.Vehicle;
+import com.insurance.backoffice.infrastructure.repository.PolicyRatingView;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Service for what-if rating simulations over the active portfolio.
+ * Candidate rating table rows are overlaid on the stored rows in memory and never persisted.
+ * Active policies are streamed from the database in keyset-paginated pages; each page is
+ * repriced with fork-join while the next page is read, so at most two pages are on the heap.
+ * Premiums come from precompiled grids of the current and the candidate snapshot, so every
+ * policy costs two array reads, and deltas are aggregated as cents per rating bucket.
+ * Clean Code: Single Responsibility - read-only impact analysis, nothing is written.
+ */
+@Service
+public class RatingSimulationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingSimulationService.class);
+
+    // Below this many policies a fork-join task prices its slice directly
+    private static final int LEAF_SIZE = 1024;
+
+    // Deltas are reported by the age buckets and engine bands of the default tariff
+    static final int MAX_REPORTED_VEHICLE_AGE = CompiledRatingRules.DEFAULT_MAX_RATED_VEHICLE_AGE;
+
+    private final PolicyRepository policyRepository;
+    private final RatingTableRepository ratingTableRepository;
+    private final RatingService ratingService;
+    private final int pageSize;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public RatingSimulationService(PolicyRepository policyRepository,
+                                   RatingTableRepository ratingTableRepository,
+                                   RatingService ratingService,
+                                   @Value("${app.rating.simulation.page-size:5000}") int pageSize,
+                                   @Value("${app.rating.simulation.parallelism:0}") int parallelism) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Simulation page size must be positive");
+        }
+        this.policyRepository = policyRepository;
+        this.ratingTableRepository = ratingTableRepository;
+        this.ratingService = ratingService;
+        this.pageSize = pageSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reprices every active policy with candidate rating tables and reports the premium deltas.
+     * Clean Code: Intention-revealing method name with clear business purpose.
+     *
+     * @param candidates candidate rating table rows; on the same key they take precedence over stored rows
+     * @param effectiveDate the date both premiums are calculated for; defaults to the earliest candidate start
+     * @param insuranceType optional insurance type to limit the simulation to
+     * @return the premium delta distribution
+     * @throws IllegalArgumentException if no candidates are given
+     */
+    public SimulationResult simulate(List<RatingTable> candidates, LocalDate effectiveDate,
+                                     InsuranceType insuranceType) {
+        if (candidates == null || candidates.isEmpty()) {
+            throw new IllegalArgumentException("At least one candidate rating table is required");
+        }
+        LocalDate ratingDate = effectiveDate != null ? effectiveDate : candidates.stream()
+                .map(RatingTable::getValidFrom)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+
+        long started = System.nanoTime();
+        // Both snapshots come from the same read, so only the candidates can cause a delta
+        List<RatingTable> currentRows = ratingTableRepository.findAll();
+        List<RatingTable> candidateRows = new ArrayList<>(currentRows);
+        candidateRows.addAll(candidates);
+        CompiledRatingRules ratingRules = ratingService.getRatingRules();
+        PricingContext context = new PricingContext(
+                ratingService.compilePremiumGrid(RatingTableSnapshot.of(0, currentRows, ratingRules)),
+                ratingService.compilePremiumGrid(RatingTableSnapshot.of(0, candidateRows, ratingRules)),
+                ratingDate);
+
+        DeltaStatistics statistics = new DeltaStatistics();
+        long afterId = 0;
+        ForkJoinTask<DeltaStatistics> inFlight = null;
+        while (true) {
+            List<PolicyRatingView> page = policyRepository.findActivePoliciesForRepricing(
+                    afterId, null, insuranceType, PageRequest.of(0, pageSize));
+            if (inFlight != null) {
+                statistics.merge(inFlight.join());
+            }
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).policyId();
+            inFlight = pool.submit(new PriceSliceTask(context, page, 0, page.size()));
+        }
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        SimulationResult result = statistics.toResult(ratingDate, candidates.size(), elapsedMillis);
+        logger.info("Rating simulation with {} candidate rows priced {} policies on {} in {} ms, net delta {}",
+                candidates.size(), result.policyCount(), ratingDate, elapsedMillis, result.deltaTotal());
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * The two premium grids a simulation compares, plus the shared rating date.
+     */
+    private record PricingContext(PremiumGrid currentGrid, PremiumGrid candidateGrid,
+                                  LocalDate ratingDate) {
+
+        long currentCents(PolicyRatingView policy, Vehicle vehicle, int vehicleAge) {
+            return cents(currentGrid, policy, vehicle, vehicleAge);
+        }
+
+        long candidateCents(PolicyRatingView policy, Vehicle vehicle, int vehicleAge) {
+            return cents(candidateGrid, policy, vehicle, vehicleAge);
+        }
+
+        private long cents(PremiumGrid grid, PolicyRatingView policy, Vehicle vehicle, int vehicleAge) {
+            return grid.premiumCents(policy.insuranceType(), vehicleAge, vehicle.getEngineCapacity(),
+                    vehicle.getPower(), ratingDate.toEpochDay());
+        }
+    }
+
+    /**
+     * Fork-join task pricing a slice of a page, splitting it in halves down to {@link #LEAF_SIZE}.
+     */
+    private static final class PriceSliceTask extends RecursiveTask<DeltaStatistics> {
+        private final PricingContext context;
+        private final List<PolicyRatingView> policies;
+        private final int from;
+        private final int to;
+
+        PriceSliceTask(PricingContext context, List<PolicyRatingView> policies, int from, int to) {
+            this.context = context;
+            this.policies = policies;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected DeltaStatistics compute() {
+            if (to - from <= LEAF_SIZE) {
+                DeltaStatistics statistics = new DeltaStatistics();
+                for (int i = from; i < to; i++) {
+                    price(policies.get(i), statistics);
+                }
+                return statistics;
+            }
+            int middle = (from + to) >>> 1;
+            PriceSliceTask left = new PriceSliceTask(context, policies, from, middle);
+            left.fork();
+            DeltaStatistics right = new PriceSliceTask(context, policies, middle, to).compute();
+            DeltaStatistics combined = left.join();
+            combined.merge(right);
+            return combined;
+        }
+
+        private void price(PolicyRatingView policy, DeltaStatistics statistics) {
+            Vehicle vehicle = Vehicle.forRating(policy.engineCapacity(), policy.power(), policy.firstRegistrationDate());
+            int vehicleAge = Period.between(vehicle.getFirstRegistrationDate(), context.ratingDate()).getYears();
+            long currentCents = context.currentCents(policy, vehicle, vehicleAge);
+            long candidateCents = context.candidateCents(policy, vehicle, vehicleAge);
+            statistics.record(policy.insuranceType(), Math.max(0, Math.min(vehicleAge, MAX_REPORTED_VEHICLE_AGE)),
+                    EngineCapacityBand.of(vehicle.getEngineCapacity()), currentCents, candidateCents);
+        }
+    }
+
+    /**
+     * Premium delta statistics in cents per (insurance type, vehicle age bucket, engine band).
+     * Clean Code: Primitive arrays indexed by bucket keep merging cheap and allocation-free.
+     */
+    static final class DeltaStatistics {
+        private static final InsuranceType[] INSURANCE_TYPES = InsuranceType.values();
+        private static final EngineCapacityBand[] ENGINE_BANDS = EngineCapacityBand.values();
+        private static final int AGE_BUCKETS = MAX_REPORTED_VEHICLE_AGE + 1;
+        private static final int BUCKETS = INSURANCE_TYPES.length * AGE_BUCKETS * ENGINE_BANDS.length;
+
+        private final long[] policies = new long[BUCKETS];
+        private final long[] increased = new long[BUCKETS];
+        private final long[] decreased = new long[BUCKETS];
+        private final long[] currentCents = new long[BUCKETS];
+        private final long[] deltaCents = new long[BUCKETS];
+        private final long[] minDeltaCents = new long[BUCKETS];
+        private final long[] maxDeltaCents = new long[BUCKETS];
+
+        void record(InsuranceType insuranceType, int ageBucket, EngineCapacityBand engineBand,
+                    long current, long candidate) {
+            int bucket = (insuranceType.ordinal() * AGE_BUCKETS + ageBucket) * ENGINE_BANDS.length
+                    + engineBand.ordinal();
+            long delta = candidate - current;
+            if (policies[bucket] == 0) {
+                minDeltaCents[bucket] = delta;
+                maxDeltaCents[bucket] = delta;
+            } else {
+                minDeltaCents[bucket] = Math.min(minDeltaCents[bucket], delta);
+                maxDeltaCents[bucket] = Math.max(maxDeltaCents[bucket], delta);
+            }
+            policies[bucket]++;
+            if (delta > 0) {
+                increased[bucket]++;
+            } else if (delta < 0) {
+                decreased[bucket]++;
+            }
+            currentCents[bucket] += current;
+            deltaCents[bucket] += delta;
+        }
+
+        void merge(DeltaStatistics other) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                if (other.policies[bucket] == 0) {
+                    continue;
+                }
+                if (policies[bucket] == 0) {
+                    minDeltaCents[bucket] = other.minDeltaCents[bucket];
+                    maxDeltaCents[bucket] = other.maxDeltaCents[bucket];
+                } else {
+                    minDeltaCents[bucket] = Math.min(minDeltaCents[bucket], other.minDeltaCents[bucket]);
+                    maxDeltaCents[bucket] = Math.max(maxDeltaCents[bucket], other.maxDeltaCents[bucket]);
+                }
+                policies[bucket] += other.policies[bucket];
+                increased[bucket] += other.increased[bucket];
+                decreased[bucket] += other.decreased[bucket];
+                currentCents[bucket] += other.currentCents[bucket];
+                deltaCents[bucket] += other.deltaCents[bucket];
+            }
+        }
+
+        SimulationResult toResult(LocalDate ratingDate, int candidateCount, long elapsedMillis) {
+            List<DeltaBucket> buckets = new ArrayList<>();
+            long totalPolicies = 0;
+            long totalIncreased = 0;
+            long totalDecreased = 0;
+            long totalCurrentCents = 0;
+            long totalDeltaCents = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                if (policies[bucket] == 0) {
+                    continue;
+                }
+                int engine = bucket % ENGINE_BANDS.length;
+                int age = bucket / ENGINE_BANDS.length % AGE_BUCKETS;
+                int type = bucket / ENGINE_BANDS.length / AGE_BUCKETS;
+                buckets.add(new DeltaBucket(INSURANCE_TYPES[type], age, ENGINE_BANDS[engine], policies[bucket],
+                        increased[bucket], decreased[bucket], BigDecimal.valueOf(currentCents[bucket], 2),
+                        BigDecimal.valueOf(deltaCents[bucket], 2), BigDecimal.valueOf(minDeltaCents[bucket], 2),
+                        BigDecimal.valueOf(maxDeltaCents[bucket], 2)));
+                totalPolicies += policies[bucket];
+                totalIncreased += increased[bucket];
+                totalDecreased += decreased[bucket];
+                totalCurrentCents += currentCents[bucket];
+                totalDeltaCents += deltaCents[bucket];
+            }
+            return new SimulationResult(ratingDate, candidateCount, totalPolicies, totalIncreased, totalDecreased,
+                    BigDecimal.valueOf(totalCurrentCents, 2), BigDecimal.valueOf(totalDeltaCents, 2),
+                    elapsedMillis, buckets);
+        }
+    }
+
+    /**
+     * Premium deltas of one reporting bucket. The age bucket {@value #MAX_REPORTED_VEHICLE_AGE}
+     * includes all older vehicles.
+     */
+    public record DeltaBucket(InsuranceType insuranceType, int vehicleAgeBucket, EngineCapacityBand engineBand,
+                              long policies, long increased, long decreased, BigDecimal currentPremiumTotal,
+                              BigDecimal deltaTotal, BigDecimal minDelta, BigDecimal maxDelta) {
+
+        public long unchanged() {
+            return policies - increased - decreased;
+        }
+    }
+
+    /**
+     * Outcome of a simulation: portfolio totals plus the per-bucket distribution.
+     */
+    public record SimulationResult(LocalDate ratingDate, int candidateCount, long policyCount, long increased,
+                                   long decreased, BigDecimal currentPremiumTotal, BigDecimal deltaTotal,
+                                   long elapsedMillis, List<DeltaBucket> buckets) {
+
+        public long unchanged() {
+            return policyCount - increased - decreased;
+        }
+    }
+}
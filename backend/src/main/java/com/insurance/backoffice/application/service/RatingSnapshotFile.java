@@ -0,0 +1,285 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingAttribute;
+import com.insurance.backoffice.domain.RatingRule;
+import com.insurance.backoffice.domain.RatingTable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Rating tables and rating rules in a compact, versioned binary file.
+ * Layout (big-endian): a fixed header - magic, format version, export time, row counts, payload length
+ * and CRC32C of the payload - followed by the payload. Rows are written in a canonical order, so the
+ * checksum identifies the rating data regardless of the order the database returned it in, and
+ * serves as the snapshot version shared by all nodes.
+ * Files are read through a memory mapping and rejected if the header or checksum does not match.
+ * Clean Code: Immutable value object - encoding and decoding of the snapshot file in one place.
+ */
+public final class RatingSnapshotFile {
+
+    /** "RSNP" */
+    static final int MAGIC = 0x52534E50;
+    static final short FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 32;
+    private static final int OPEN_ENDED = Integer.MAX_VALUE;
+    private static final InsuranceType[] INSURANCE_TYPES = InsuranceType.values();
+    private static final RatingAttribute[] ATTRIBUTES = RatingAttribute.values();
+
+    private static final Comparator<RatingTable> TABLE_ORDER = Comparator
+            .comparing(RatingTable::getInsuranceType)
+            .thenComparing(RatingTable::getRatingKey)
+            .thenComparing(RatingTable::getValidFrom);
+    private static final Comparator<RatingRule> RULE_ORDER = Comparator
+            .comparing(RatingRule::getInsuranceType)
+            .thenComparingInt(RatingRule::getPosition)
+            .thenComparing(RatingRule::getFactorName);
+
+    private final Instant exportedAt;
+    private final List<RatingTable> ratingTables;
+    private final List<RatingRule> ratingRules;
+    private final byte[] payload;
+    private final int checksum;
+
+    private RatingSnapshotFile(Instant exportedAt, List<RatingTable> ratingTables, List<RatingRule> ratingRules,
+                               byte[] payload, int checksum) {
+        this.exportedAt = exportedAt;
+        this.ratingTables = ratingTables;
+        this.ratingRules = ratingRules;
+        this.payload = payload;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Encodes rating data for export.
+     *
+     * @param ratingTables all rating tables
+     * @param ratingRules all rating rules
+     * @param exportedAt the export time recorded in the header
+     * @return the encoded snapshot file
+     */
+    public static RatingSnapshotFile of(Collection<RatingTable> ratingTables, Collection<RatingRule> ratingRules,
+                                        Instant exportedAt) {
+        List<RatingTable> sortedTables = new ArrayList<>(ratingTables);
+        sortedTables.sort(TABLE_ORDER);
+        List<RatingRule> sortedRules = new ArrayList<>(ratingRules);
+        sortedRules.sort(RULE_ORDER);
+        byte[] payload = encode(sortedTables, sortedRules);
+        return new RatingSnapshotFile(exportedAt, List.copyOf(sortedTables), List.copyOf(sortedRules), payload,
+                checksum(ByteBuffer.wrap(payload)));
+    }
+
+    /**
+     * Memory-maps and decodes a snapshot file.
+     *
+     * @param path the snapshot file
+     * @return the decoded snapshot file
+     * @throws IOException if the file cannot be read, has another format or fails its checksum
+     */
+    public static RatingSnapshotFile read(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Rating snapshot file " + path + " is truncated");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Rating snapshot file " + path + " is not a rating snapshot");
+        }
+        short formatVersion = buffer.getShort();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Rating snapshot file " + path + " has unsupported format version " + formatVersion);
+        }
+        buffer.getShort();
+        Instant exportedAt = Instant.ofEpochMilli(buffer.getLong());
+        int tableCount = buffer.getInt();
+        int ruleCount = buffer.getInt();
+        int payloadLength = buffer.getInt();
+        int expectedChecksum = buffer.getInt();
+        if (buffer.remaining() != payloadLength) {
+            throw new IOException("Rating snapshot file " + path + " is truncated");
+        }
+        ByteBuffer payloadBuffer = buffer.slice();
+        if (checksum(payloadBuffer.duplicate()) != expectedChecksum) {
+            throw new IOException("Rating snapshot file " + path + " failed its checksum");
+        }
+
+        try {
+            List<RatingTable> ratingTables = new ArrayList<>(tableCount);
+            for (int i = 0; i < tableCount; i++) {
+                ratingTables.add(readTable(payloadBuffer));
+            }
+            List<RatingRule> ratingRules = new ArrayList<>(ruleCount);
+            for (int i = 0; i < ruleCount; i++) {
+                ratingRules.add(readRule(payloadBuffer));
+            }
+            byte[] payload = new byte[payloadLength];
+            buffer.position(HEADER_BYTES);
+            buffer.get(payload);
+            return new RatingSnapshotFile(exportedAt, List.copyOf(ratingTables), List.copyOf(ratingRules), payload,
+                    expectedChecksum);
+        } catch (RuntimeException e) {
+            throw new IOException("Rating snapshot file " + path + " has invalid content", e);
+        }
+    }
+
+    /**
+     * Writes the file atomically: readers see either the previous file or the complete new one.
+     *
+     * @param path the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC)
+                        .putShort(FORMAT_VERSION)
+                        .putShort((short) 0)
+                        .putLong(exportedAt.toEpochMilli())
+                        .putInt(ratingTables.size())
+                        .putInt(ratingRules.size())
+                        .putInt(payload.length)
+                        .putInt(checksum)
+                        .flip();
+                ByteBuffer body = ByteBuffer.wrap(payload);
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    channel.write(new ByteBuffer[] {header, body});
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Returns the snapshot version: format version and payload checksum.
+     */
+    public String getVersion() {
+        return FORMAT_VERSION + "-" + String.format("%08x", checksum);
+    }
+
+    public int getChecksum() { return checksum; }
+    public Instant getExportedAt() { return exportedAt; }
+    public List<RatingTable> getRatingTables() { return ratingTables; }
+    public List<RatingRule> getRatingRules() { return ratingRules; }
+
+    private static byte[] encode(List<RatingTable> ratingTables, List<RatingRule> ratingRules) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(ratingTables.size() * 40 + ratingRules.size() * 200);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (RatingTable ratingTable : ratingTables) {
+                out.writeByte(ratingTable.getInsuranceType().ordinal());
+                writeString(out, ratingTable.getRatingKey());
+                BigDecimal multiplier = ratingTable.getMultiplier();
+                out.writeByte(multiplier.scale());
+                out.writeLong(multiplier.unscaledValue().longValueExact());
+                out.writeInt(Math.toIntExact(ratingTable.getValidFrom().toEpochDay()));
+                out.writeInt(ratingTable.getValidTo() != null
+                        ? Math.toIntExact(ratingTable.getValidTo().toEpochDay()) : OPEN_ENDED);
+            }
+            for (RatingRule ratingRule : ratingRules) {
+                out.writeByte(ratingRule.getInsuranceType().ordinal());
+                writeString(out, ratingRule.getFactorName());
+                out.writeByte(ratingRule.getAttribute().ordinal());
+                out.writeInt(ratingRule.getPosition());
+                int[] upperBounds = ratingRule.getUpperBoundValues();
+                out.writeShort(upperBounds.length);
+                for (int upperBound : upperBounds) {
+                    out.writeInt(upperBound);
+                }
+                String[] ratingKeys = ratingRule.getRatingKeyValues();
+                out.writeShort(ratingKeys.length);
+                for (String ratingKey : ratingKeys) {
+                    writeString(out, ratingKey);
+                }
+            }
+        } catch (IOException e) {
+            // In-memory streams do not fail
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static RatingTable readTable(ByteBuffer buffer) {
+        InsuranceType insuranceType = INSURANCE_TYPES[buffer.get()];
+        String ratingKey = readString(buffer);
+        int scale = buffer.get();
+        BigDecimal multiplier = BigDecimal.valueOf(buffer.getLong(), scale);
+        LocalDate validFrom = LocalDate.ofEpochDay(buffer.getInt());
+        int validTo = buffer.getInt();
+        return RatingTable.builder()
+                .insuranceType(insuranceType)
+                .ratingKey(ratingKey)
+                .multiplier(multiplier)
+                .validFrom(validFrom)
+                .validTo(validTo != OPEN_ENDED ? LocalDate.ofEpochDay(validTo) : null)
+                .build();
+    }
+
+    private static RatingRule readRule(ByteBuffer buffer) {
+        InsuranceType insuranceType = INSURANCE_TYPES[buffer.get()];
+        String factorName = readString(buffer);
+        RatingAttribute attribute = ATTRIBUTES[buffer.get()];
+        int position = buffer.getInt();
+        int[] upperBounds = new int[Short.toUnsignedInt(buffer.getShort())];
+        for (int i = 0; i < upperBounds.length; i++) {
+            upperBounds[i] = buffer.getInt();
+        }
+        String[] ratingKeys = new String[Short.toUnsignedInt(buffer.getShort())];
+        for (int i = 0; i < ratingKeys.length; i++) {
+            ratingKeys[i] = readString(buffer);
+        }
+        return RatingRule.builder()
+                .insuranceType(insuranceType)
+                .factorName(factorName)
+                .attribute(attribute)
+                .position(position)
+                .upperBounds(upperBounds)
+                .ratingKeys(ratingKeys)
+                .build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,244 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.RatingRule;
+import com.insurance.backoffice.domain.RatingTable;
+import com.insurance.backoffice.domain.RatingTablesChangedEvent;
+import com.insurance.backoffice.infrastructure.repository.RatingRuleRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a binary {@link RatingSnapshotFile} of the rating data next to the application, so a starting
+ * node serves quotes from it before its first database load.
+ * At startup the file is memory-mapped and seeded into the {@link RatingTableSnapshotProvider}. Once
+ * the application is ready it is verified against the database in the background, retrying until the
+ * database is reachable: a stale file is replaced by a fresh export and the snapshot reloaded.
+ * Until then a file left by an earlier deploy may be stale, so it only serves quotes; premiums stored
+ * on policies are priced from {@link RatingTableSnapshotProvider#currentFromDatabase()}.
+ * Flyway migrations and schema validation reach the database before this component is created, so
+ * the file does not let a node start while the database is down; it spares the rating load on the
+ * first quotes.
+ * Local rating changes are exported after commit; changes made on other nodes are caught by the
+ * verification on the next start.
+ * Clean Code: Single Responsibility - persistence of the rating snapshot outside the database.
+ */
+@Component
+public class RatingSnapshotFileStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingSnapshotFileStore.class);
+
+    /**
+     * State of the snapshot file relative to the database.
+     */
+    public enum FileStatus {
+        /** No snapshot file is configured. */
+        DISABLED,
+        /** No file existed at startup; one is exported once the database is reachable. */
+        MISSING,
+        /** The file could not be read; it is replaced once the database is reachable. */
+        INVALID,
+        /** The file is mapped and serving, verification against the database is pending. */
+        MAPPED,
+        /** The file matches the database. */
+        VERIFIED,
+        /** The file was exported from the database after startup. */
+        EXPORTED
+    }
+
+    private final RatingTableRepository ratingTableRepository;
+    private final RatingRuleRepository ratingRuleRepository;
+    private final RatingTableSnapshotProvider snapshotProvider;
+    private final Path path;
+    private final Duration retryDelay;
+    private final ExecutorService executor;
+    private final AtomicBoolean exportPending = new AtomicBoolean();
+
+    private volatile boolean running = true;
+    private volatile FileStatus status;
+    private volatile RatingSnapshotFile file;
+    private volatile RatingTableSnapshot seededSnapshot;
+
+    @Autowired
+    public RatingSnapshotFileStore(RatingTableRepository ratingTableRepository,
+                                   RatingRuleRepository ratingRuleRepository,
+                                   RatingTableSnapshotProvider snapshotProvider,
+                                   @Value("${app.rating.snapshot-file.path:}") String path,
+                                   @Value("${app.rating.snapshot-file.retry-delay:PT10S}") Duration retryDelay) {
+        this.ratingTableRepository = ratingTableRepository;
+        this.ratingRuleRepository = ratingRuleRepository;
+        this.snapshotProvider = snapshotProvider;
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.retryDelay = retryDelay;
+        this.status = this.path == null ? FileStatus.DISABLED : FileStatus.MISSING;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rating-snapshot-file");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Maps the snapshot file and seeds the rating snapshot from it before the application takes traffic.
+     */
+    @PostConstruct
+    public void mapSnapshotFile() {
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try {
+            RatingSnapshotFile mapped = RatingSnapshotFile.read(path);
+            file = mapped;
+            seededSnapshot = snapshotProvider.seed(mapped.getRatingTables(), mapped.getRatingRules());
+            status = FileStatus.MAPPED;
+            logger.info("Serving rating snapshot {} exported at {} from {}",
+                    mapped.getVersion(), mapped.getExportedAt(), path);
+        } catch (IOException | RuntimeException e) {
+            status = FileStatus.INVALID;
+            logger.warn("Ignoring rating snapshot file {}, rating data will be loaded from the database", path, e);
+        }
+    }
+
+    /**
+     * Verifies the snapshot file against the database in the background once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyInBackground() {
+        if (path == null) {
+            return;
+        }
+        executor.submit(() -> {
+            while (running) {
+                try {
+                    verifyAgainstDatabase();
+                    return;
+                } catch (RuntimeException e) {
+                    logger.warn("Rating snapshot file verification failed, retrying in {} ms",
+                            retryDelay.toMillis(), e);
+                }
+                if (!sleep(retryDelay)) {
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Exports the rating data after a local change commits. Changes arriving while an export is
+     * queued are covered by that export.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRatingTablesChanged(RatingTablesChangedEvent event) {
+        if (path == null || !exportPending.compareAndSet(false, true)) {
+            return;
+        }
+        executor.submit(() -> {
+            exportPending.set(false);
+            try {
+                export();
+            } catch (RuntimeException e) {
+                logger.warn("Rating snapshot file export failed, the next start verifies and replaces it", e);
+            }
+        });
+    }
+
+    /**
+     * Returns the snapshot file state for monitoring.
+     */
+    public SnapshotFileStatus getStatus() {
+        RatingSnapshotFile current = file;
+        RatingTableSnapshot served = snapshotProvider.peek();
+        return new SnapshotFileStatus(
+                status,
+                current != null ? current.getVersion() : null,
+                current != null ? current.getExportedAt() : null,
+                served != null && served == seededSnapshot);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Compares the mapped file with the database, reloading the snapshot and exporting a fresh file
+     * when they differ.
+     */
+    void verifyAgainstDatabase() {
+        RatingSnapshotFile mapped = file;
+        RatingSnapshotFile current = loadFromDatabase();
+        if (mapped != null && mapped.getChecksum() == current.getChecksum()) {
+            status = FileStatus.VERIFIED;
+            logger.info("Rating snapshot file {} matches the database", mapped.getVersion());
+            return;
+        }
+        if (mapped != null && snapshotProvider.peek() == seededSnapshot) {
+            logger.info("Rating snapshot file {} is stale, reloading rating data from the database",
+                    mapped.getVersion());
+            snapshotProvider.reload();
+        }
+        write(current);
+    }
+
+    private void export() {
+        RatingSnapshotFile current = loadFromDatabase();
+        RatingSnapshotFile written = file;
+        if (written == null || written.getChecksum() != current.getChecksum()) {
+            write(current);
+        }
+    }
+
+    private RatingSnapshotFile loadFromDatabase() {
+        List<RatingTable> ratingTables = ratingTableRepository.findAll();
+        List<RatingRule> ratingRules = ratingRuleRepository.findAll();
+        return RatingSnapshotFile.of(ratingTables, ratingRules, Instant.now());
+    }
+
+    private void write(RatingSnapshotFile exported) {
+        try {
+            exported.writeTo(path);
+            file = exported;
+            status = FileStatus.EXPORTED;
+            logger.info("Exported rating snapshot {} with {} rating tables to {}",
+                    exported.getVersion(), exported.getRatingTables().size(), path);
+        } catch (IOException e) {
+            logger.warn("Could not write rating snapshot file {}", path, e);
+        }
+    }
+
+    private boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+            return running;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Snapshot file state: whether it matches the database, its version, and whether quotes are
+     * still served from it.
+     */
+    public record SnapshotFileStatus(FileStatus status, String version, Instant exportedAt, boolean serving) {}
+}
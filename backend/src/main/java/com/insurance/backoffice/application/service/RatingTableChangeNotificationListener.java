@@ -0,0 +1,232 @@
+package com.insurance.backoffice.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the local rating caches of this instance in step with rating table changes made on any node.
+ * Triggers on rating_tables and rating_rules send a NOTIFY on {@value #CHANNEL} for every changed row; this listener
+ * holds a dedicated connection that LISTENs on the channel and invalidates the rating snapshot and
+ * the "rating-tables" cache as soon as a notification arrives.
+ * The connection is opened with the datasource URL and credentials but outside the connection pool,
+ * so it neither takes a pool slot for the lifetime of the application nor trips leak detection.
+ * Notifications sent while no connection is listening are lost, so every (re)connect resyncs by
+ * invalidating unconditionally. An idle connection is pinged on each poll timeout, so a dead one
+ * is noticed and replaced.
+ * Clean Code: Single Responsibility - cross-node cache coherence for rating data.
+ */
+@Component
+public class RatingTableChangeNotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingTableChangeNotificationListener.class);
+
+    static final String CHANNEL = "rating_tables_changed";
+    static final String RATING_TABLES_CACHE = "rating-tables";
+
+    private final DataSource listenerDataSource;
+    private final RatingTableSnapshotProvider snapshotProvider;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final int pollTimeoutMillis;
+    private final Duration reconnectDelay;
+    private final Counter notificationCounter;
+    private final Counter resyncCounter;
+    private final ExecutorService executor;
+
+    private volatile boolean running = true;
+    private volatile boolean listening;
+
+    @Autowired
+    public RatingTableChangeNotificationListener(@Value("${spring.datasource.url}") String jdbcUrl,
+                                                 @Value("${spring.datasource.username:}") String username,
+                                                 @Value("${spring.datasource.password:}") String password,
+                                                 RatingTableSnapshotProvider snapshotProvider,
+                                                 CacheManager cacheManager,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${app.rating.notifications.enabled:true}") boolean enabled,
+                                                 @Value("${app.rating.notifications.poll-timeout:PT10S}") Duration pollTimeout,
+                                                 @Value("${app.rating.notifications.reconnect-delay:PT5S}") Duration reconnectDelay) {
+        this(unpooledDataSource(jdbcUrl, username, password), snapshotProvider, cacheManager, meterRegistry,
+                enabled, pollTimeout, reconnectDelay);
+    }
+
+    /**
+     * Creates a listener that opens its connections from the given data source.
+     * Clean Code: Lets tests supply the connections; production passes a non-pooled data source.
+     */
+    RatingTableChangeNotificationListener(DataSource listenerDataSource,
+                                          RatingTableSnapshotProvider snapshotProvider,
+                                          CacheManager cacheManager,
+                                          MeterRegistry meterRegistry,
+                                          boolean enabled,
+                                          Duration pollTimeout,
+                                          Duration reconnectDelay) {
+        this.listenerDataSource = listenerDataSource;
+        this.snapshotProvider = snapshotProvider;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.pollTimeoutMillis = (int) Math.max(1, pollTimeout.toMillis());
+        this.reconnectDelay = reconnectDelay;
+        this.notificationCounter = Counter.builder("rating.notifications.received")
+                .description("Rating table change notifications received from the database")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("rating.notifications.resyncs")
+                .description("Rating cache resyncs after (re)connecting the notification listener")
+                .register(meterRegistry);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rating-notification-listener");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts listening once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Rating table change notifications are disabled");
+            return;
+        }
+        executor.submit(this::run);
+    }
+
+    /**
+     * @return true while a connection is listening for rating table changes
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (!listenUntilFailure()) {
+                    return;
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Rating table notification connection lost, reconnecting in {} ms",
+                        reconnectDelay.toMillis(), e);
+            }
+            if (!sleep(reconnectDelay)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs one listening session on a dedicated connection until it fails or the listener stops.
+     * The connection is closed when the session ends, so a reconnect never holds two.
+     *
+     * @return false if the database does not support notifications and listening should not be retried
+     * @throws SQLException if the connection fails
+     */
+    boolean listenUntilFailure() throws SQLException {
+        try (Connection connection = listenerDataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                logger.info("Database does not support LISTEN/NOTIFY, relying on snapshot expiry for rating changes");
+                running = false;
+                return false;
+            }
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+            }
+            listening = true;
+            resync();
+
+            while (running) {
+                PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                if (notifications == null || notifications.length == 0) {
+                    ping(connection);
+                    continue;
+                }
+                notificationCounter.increment(notifications.length);
+                logger.debug("Rating tables changed on another node: {} notifications, first {}",
+                        notifications.length, notifications[0].getParameter());
+                invalidateCaches();
+            }
+            return true;
+        } finally {
+            listening = false;
+        }
+    }
+
+    /**
+     * Drops everything cached locally, since changes may have been missed while not listening.
+     */
+    private void resync() {
+        resyncCounter.increment();
+        invalidateCaches();
+        logger.info("Listening for rating table changes on channel {}", CHANNEL);
+    }
+
+    private void invalidateCaches() {
+        snapshotProvider.invalidate();
+        Cache cache = cacheManager.getCache(RATING_TABLES_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Opens a new physical connection per call; closing it closes the connection.
+     */
+    private static DataSource unpooledDataSource(String jdbcUrl, String username, String password) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(jdbcUrl, username, password);
+        Properties properties = new Properties();
+        // Shown in pg_stat_activity, so the long-lived session is recognizable
+        properties.setProperty("ApplicationName", "rating-notification-listener");
+        dataSource.setConnectionProperties(properties);
+        return dataSource;
+    }
+
+    private void ping(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+    }
+
+    private boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+            return running;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
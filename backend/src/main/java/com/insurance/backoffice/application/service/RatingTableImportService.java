@@ -0,0 +1,363 @@
+package com.insurance.backoffice.application.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import com.insurance.backoffice.domain.RatingTablesChangedEvent;
+import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service for importing a whole tariff of rating table rows at once.
+ * Rows are parsed from a CSV or JSON stream, sorted by (insurance type, rating key, valid from)
+ * and checked in a single sweep against each other and the stored rows, replacing one overlap
+ * query per row. Multiplier bounds are checked in the same pass. Either every row is inserted
+ * with JDBC batches in one transaction, or nothing is and every problem is reported by row number.
+ * Clean Code: Single Responsibility - bulk rating table maintenance.
+ */
+@Service
+public class RatingTableImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingTableImportService.class);
+
+    static final String CSV_HEADER = "insuranceType,ratingKey,multiplier,validFrom,validTo";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO rating_tables (insurance_type, rating_key, multiplier, valid_from, valid_to) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final int MULTIPLIER_SCALE = 4;
+    private static final long OPEN_ENDED = Long.MAX_VALUE;
+
+    private static final Comparator<ImportInterval> SWEEP_ORDER = Comparator
+            .comparing((ImportInterval interval) -> interval.insuranceType)
+            .thenComparing(interval -> interval.ratingKey)
+            .thenComparingLong(interval -> interval.validFrom);
+
+    private final RatingTableRepository ratingTableRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int maxRows;
+
+    @Autowired
+    public RatingTableImportService(RatingTableRepository ratingTableRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ObjectMapper objectMapper,
+                                    @Value("${app.rating.import.max-rows:100000}") int maxRows) {
+        this.ratingTableRepository = ratingTableRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Imports rating table rows from CSV with the header {@value #CSV_HEADER}.
+     * An empty validTo column means open-ended.
+     *
+     * @param input the CSV stream
+     * @return the import result; nothing is inserted if it has errors
+     * @throws IllegalArgumentException if the stream is empty, has the wrong header or too many rows
+     */
+    @Transactional
+    public ImportResult importCsv(InputStream input) {
+        List<ImportRow> rows = new ArrayList<>();
+        List<ImportError> errors = new ArrayList<>();
+        int rowNumber = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || !header.replace(" ", "").equalsIgnoreCase(CSV_HEADER)) {
+                throw new IllegalArgumentException("CSV header must be: " + CSV_HEADER);
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                rowNumber++;
+                checkRowLimit(rowNumber);
+                try {
+                    rows.add(parseCsvLine(rowNumber, line));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    errors.add(new ImportError(rowNumber, "Unparseable row: " + e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read CSV import", e);
+        }
+        return importRows(rowNumber, rows, errors);
+    }
+
+    /**
+     * Imports rating table rows from a JSON array of objects with the CSV column names as fields.
+     *
+     * @param input the JSON stream
+     * @return the import result; nothing is inserted if it has errors
+     * @throws IllegalArgumentException if the stream is not a JSON array of rows or has too many rows
+     */
+    @Transactional
+    public ImportResult importJson(InputStream input) {
+        List<ImportRow> rows = new ArrayList<>();
+        try (MappingIterator<JsonRow> iterator = objectMapper.readerFor(JsonRow.class).readValues(input)) {
+            int rowNumber = 0;
+            while (iterator.hasNextValue()) {
+                JsonRow row = iterator.nextValue();
+                rowNumber++;
+                checkRowLimit(rowNumber);
+                rows.add(new ImportRow(rowNumber, row.insuranceType(), row.ratingKey(), row.multiplier(),
+                        row.validFrom(), row.validTo()));
+            }
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof IllegalArgumentException illegalArgument) {
+                throw illegalArgument;
+            }
+            throw new IllegalArgumentException("Failed to read JSON import: " + e.getMessage(), e);
+        }
+        return importRows(rows.size(), rows, new ArrayList<>());
+    }
+
+    /**
+     * Validates parsed rows in one sweep and inserts them if no row has an error.
+     */
+    private ImportResult importRows(int received, List<ImportRow> rows, List<ImportError> errors) {
+        if (received == 0) {
+            throw new IllegalArgumentException("Import contains no rating table rows");
+        }
+
+        long started = System.nanoTime();
+        List<ImportInterval> intervals = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (validateRow(row, errors)) {
+                intervals.add(ImportInterval.imported(row));
+            }
+        }
+        for (RatingTable existing : ratingTableRepository.findAll()) {
+            intervals.add(ImportInterval.existing(existing));
+        }
+        detectOverlaps(intervals, errors);
+
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(ImportError::row));
+            logger.info("Rejected rating table import of {} rows with {} errors", received, errors.size());
+            return new ImportResult(received, 0, errors);
+        }
+
+        insert(rows);
+        Set<RatingTablesChangedEvent> changes = new LinkedHashSet<>();
+        for (ImportRow row : rows) {
+            changes.add(new RatingTablesChangedEvent(row.insuranceType(), row.ratingKey()));
+        }
+        changes.forEach(eventPublisher::publishEvent);
+        logger.info("Imported {} rating table rows for {} rating keys in {} ms", rows.size(), changes.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return new ImportResult(rows.size(), rows.size(), List.of());
+    }
+
+    /**
+     * Checks required fields, date order and multiplier bounds of a single row.
+     *
+     * @return true if the row can take part in the overlap sweep
+     */
+    private boolean validateRow(ImportRow row, List<ImportError> errors) {
+        int errorCount = errors.size();
+        if (row.insuranceType() == null) {
+            errors.add(new ImportError(row.rowNumber(), "Insurance type is required"));
+        }
+        if (row.ratingKey() == null || row.ratingKey().isBlank()) {
+            errors.add(new ImportError(row.rowNumber(), "Rating key is required"));
+        }
+        if (row.validFrom() == null) {
+            errors.add(new ImportError(row.rowNumber(), "Valid from date is required"));
+        } else if (row.validTo() != null && row.validFrom().isAfter(row.validTo())) {
+            errors.add(new ImportError(row.rowNumber(), "Valid from date must be before valid to date"));
+        }
+        BigDecimal multiplier = row.multiplier();
+        if (multiplier == null) {
+            errors.add(new ImportError(row.rowNumber(), "Multiplier is required"));
+        } else {
+            if (multiplier.compareTo(RatingValidationService.MIN_MULTIPLIER) < 0) {
+                errors.add(new ImportError(row.rowNumber(), "Multiplier " + multiplier +
+                        " is below minimum allowed value " + RatingValidationService.MIN_MULTIPLIER));
+            }
+            if (multiplier.compareTo(RatingValidationService.MAX_MULTIPLIER) > 0) {
+                errors.add(new ImportError(row.rowNumber(), "Multiplier " + multiplier +
+                        " exceeds maximum allowed value " + RatingValidationService.MAX_MULTIPLIER));
+            }
+            if (multiplier.stripTrailingZeros().scale() > MULTIPLIER_SCALE) {
+                errors.add(new ImportError(row.rowNumber(), "Multiplier " + multiplier +
+                        " has more than " + MULTIPLIER_SCALE + " decimal places"));
+            }
+        }
+        return errors.size() == errorCount;
+    }
+
+    /**
+     * Sweeps the intervals of each (insurance type, rating key) in start order.
+     * The latest end seen so far is tracked separately for stored and imported rows: an interval
+     * overlaps an earlier one exactly when it starts on or before that end. Overlaps among stored
+     * rows are not the import's concern and are ignored.
+     */
+    private void detectOverlaps(List<ImportInterval> intervals, List<ImportError> errors) {
+        intervals.sort(SWEEP_ORDER);
+        ImportInterval latestExisting = null;
+        ImportInterval latestImported = null;
+        ImportInterval previous = null;
+        for (ImportInterval interval : intervals) {
+            if (previous == null || !interval.sameKeyAs(previous)) {
+                latestExisting = null;
+                latestImported = null;
+            }
+            if (latestImported != null && interval.validFrom <= latestImported.validTo) {
+                if (interval.isImported()) {
+                    errors.add(new ImportError(interval.rowNumber, "Validity period of " + interval.describe() +
+                            " overlaps row " + latestImported.rowNumber));
+                } else {
+                    errors.add(new ImportError(latestImported.rowNumber, "Validity period of " +
+                            latestImported.describe() + " overlaps stored entry valid from " +
+                            LocalDate.ofEpochDay(interval.validFrom)));
+                }
+            }
+            if (interval.isImported() && latestExisting != null && interval.validFrom <= latestExisting.validTo) {
+                errors.add(new ImportError(interval.rowNumber, "Validity period of " + interval.describe() +
+                        " overlaps stored entry valid from " + LocalDate.ofEpochDay(latestExisting.validFrom)));
+            }
+            if (interval.isImported()) {
+                latestImported = later(latestImported, interval);
+            } else {
+                latestExisting = later(latestExisting, interval);
+            }
+            previous = interval;
+        }
+    }
+
+    private void insert(List<ImportRow> rows) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (ImportRow row : rows) {
+            batch.add(new Object[] {row.insuranceType().name(), row.ratingKey(), row.multiplier(),
+                    row.validFrom(), row.validTo()});
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+
+    private ImportRow parseCsvLine(int rowNumber, String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length != 5) {
+            throw new IllegalArgumentException("expected 5 columns but found " + columns.length);
+        }
+        return new ImportRow(rowNumber,
+                columns[0].isBlank() ? null : InsuranceType.valueOf(columns[0].trim()),
+                columns[1].isBlank() ? null : columns[1].trim(),
+                columns[2].isBlank() ? null : new BigDecimal(columns[2].trim()),
+                columns[3].isBlank() ? null : LocalDate.parse(columns[3].trim()),
+                columns[4].isBlank() ? null : LocalDate.parse(columns[4].trim()));
+    }
+
+    private void checkRowLimit(int rowNumber) {
+        if (rowNumber > maxRows) {
+            throw new IllegalArgumentException("Import exceeds the maximum of " + maxRows + " rows");
+        }
+    }
+
+    private static ImportInterval later(ImportInterval current, ImportInterval candidate) {
+        return current == null || candidate.validTo > current.validTo ? candidate : current;
+    }
+
+    /**
+     * A parsed import row with its 1-based row number, not counting the CSV header.
+     */
+    record ImportRow(int rowNumber, InsuranceType insuranceType, String ratingKey, BigDecimal multiplier,
+                     LocalDate validFrom, LocalDate validTo) {}
+
+    /**
+     * JSON shape of an import row.
+     */
+    record JsonRow(InsuranceType insuranceType, String ratingKey, BigDecimal multiplier,
+                   LocalDate validFrom, LocalDate validTo) {}
+
+    /**
+     * A validity interval in epoch days; stored rows have row number 0.
+     */
+    private static final class ImportInterval {
+        private final int rowNumber;
+        private final InsuranceType insuranceType;
+        private final String ratingKey;
+        private final long validFrom;
+        private final long validTo;
+
+        private ImportInterval(int rowNumber, InsuranceType insuranceType, String ratingKey,
+                               LocalDate validFrom, LocalDate validTo) {
+            this.rowNumber = rowNumber;
+            this.insuranceType = insuranceType;
+            this.ratingKey = ratingKey;
+            this.validFrom = validFrom.toEpochDay();
+            this.validTo = validTo != null ? validTo.toEpochDay() : OPEN_ENDED;
+        }
+
+        static ImportInterval imported(ImportRow row) {
+            return new ImportInterval(row.rowNumber(), row.insuranceType(), row.ratingKey(),
+                    row.validFrom(), row.validTo());
+        }
+
+        static ImportInterval existing(RatingTable ratingTable) {
+            return new ImportInterval(0, ratingTable.getInsuranceType(), ratingTable.getRatingKey(),
+                    ratingTable.getValidFrom(), ratingTable.getValidTo());
+        }
+
+        boolean isImported() {
+            return rowNumber > 0;
+        }
+
+        String describe() {
+            return insuranceType + " " + ratingKey;
+        }
+
+        boolean sameKeyAs(ImportInterval other) {
+            return insuranceType == other.insuranceType && ratingKey.equals(other.ratingKey);
+        }
+    }
+
+    /**
+     * A problem with one import row.
+     */
+    public record ImportError(int row, String message) {}
+
+    /**
+     * Outcome of an import. Rows are only imported when there are no errors.
+     */
+    public record ImportResult(int received, int imported, List<ImportError> errors) {
+
+        public boolean isSuccessful() {
+            return errors.isEmpty();
+        }
+    }
+}
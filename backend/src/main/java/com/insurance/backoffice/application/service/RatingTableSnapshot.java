@@ -0,0 +1,352 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Immutable in-memory copy of all rating table entries and the compiled rating rules.
+ * Entries are indexed by (insurance type, rating key) and every key keeps its validity
+ * intervals sorted by start date, so a multiplier lookup is a hash probe plus a binary search.
+ * The premium grid compiled from a snapshot is kept on it, so every caller pinned to the same
+ * snapshot shares one grid and it is released together with the snapshot. A snapshot reloaded with
+ * the same content takes over the grid of the one it replaces.
+ * Clean Code: Value object - safe to share between threads without synchronization.
+ */
+public final class RatingTableSnapshot {
+
+    private static final long OPEN_ENDED = Long.MAX_VALUE;
+
+    private final long version;
+    private final Instant loadedAt;
+    private final int entryCount;
+    private final String contentHash;
+    private final Map<InsuranceType, Map<String, ValidityTimeline>> index;
+    private final Map<InsuranceType, long[]> validityBoundaries;
+    private final CompiledRatingRules ratingRules;
+
+    // Premium grid compiled from this snapshot on first use
+    private volatile PremiumGrid premiumGrid;
+
+    private RatingTableSnapshot(long version, Instant loadedAt, int entryCount, String contentHash,
+                                Map<InsuranceType, Map<String, ValidityTimeline>> index,
+                                CompiledRatingRules ratingRules) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.entryCount = entryCount;
+        this.contentHash = contentHash;
+        this.index = index;
+        this.validityBoundaries = collectValidityBoundaries(index);
+        this.ratingRules = ratingRules;
+    }
+
+    /**
+     * Builds a snapshot from the given rating table entries with the default rating rules.
+     * Clean Code: Static factory hides the indexing details.
+     *
+     * @param version monotonically increasing snapshot version
+     * @param ratingTables all rating table entries to include
+     * @return the immutable snapshot
+     */
+    public static RatingTableSnapshot of(long version, Collection<RatingTable> ratingTables) {
+        return of(version, ratingTables, CompiledRatingRules.defaults());
+    }
+
+    /**
+     * Builds a snapshot from the given rating table entries and compiled rating rules.
+     *
+     * @param version monotonically increasing snapshot version
+     * @param ratingTables all rating table entries to include
+     * @param ratingRules the compiled rules that map vehicles to rating keys
+     * @return the immutable snapshot
+     */
+    public static RatingTableSnapshot of(long version, Collection<RatingTable> ratingTables,
+                                         CompiledRatingRules ratingRules) {
+        Map<InsuranceType, Map<String, List<RatingTable>>> grouped = new EnumMap<>(InsuranceType.class);
+        for (RatingTable ratingTable : ratingTables) {
+            grouped.computeIfAbsent(ratingTable.getInsuranceType(), type -> new HashMap<>())
+                    .computeIfAbsent(ratingTable.getRatingKey(), key -> new ArrayList<>())
+                    .add(ratingTable);
+        }
+
+        Map<InsuranceType, Map<String, ValidityTimeline>> index = new EnumMap<>(InsuranceType.class);
+        grouped.forEach((insuranceType, byKey) -> {
+            Map<String, ValidityTimeline> timelines = new HashMap<>();
+            byKey.forEach((ratingKey, entries) -> timelines.put(ratingKey, ValidityTimeline.of(entries)));
+            index.put(insuranceType, Collections.unmodifiableMap(timelines));
+        });
+
+        return new RatingTableSnapshot(version, Instant.now(), ratingTables.size(),
+                contentHash(ratingTables, ratingRules), index, ratingRules);
+    }
+
+    /**
+     * Finds the multiplier valid for the given insurance type, rating key and date.
+     *
+     * @param insuranceType the insurance type
+     * @param ratingKey the rating key
+     * @param date the date to check validity against
+     * @return the multiplier, or null if no entry is valid on that date
+     */
+    public BigDecimal findMultiplier(InsuranceType insuranceType, String ratingKey, LocalDate date) {
+        return findMultiplier(insuranceType, ratingKey, date.toEpochDay());
+    }
+
+    /**
+     * Finds the multiplier valid on the given epoch day.
+     * Clean Code: Primitive overload for callers that already work with epoch days.
+     */
+    BigDecimal findMultiplier(InsuranceType insuranceType, String ratingKey, long epochDay) {
+        ValidityTimeline timeline = timelineFor(insuranceType, ratingKey);
+        return timeline != null ? timeline.find(epochDay) : null;
+    }
+
+    /**
+     * Finds the multiplier valid on the given epoch day in packed fixed-point form.
+     * Multipliers are packed once per snapshot, so the lookup does not allocate.
+     *
+     * @return the packed multiplier, {@link FixedPointArithmetic#ONE} if no entry is valid on that day,
+     *         or {@link FixedPointArithmetic#UNREPRESENTABLE}
+     */
+    long findFixedPointMultiplier(InsuranceType insuranceType, String ratingKey, long epochDay) {
+        ValidityTimeline timeline = timelineFor(insuranceType, ratingKey);
+        return timeline != null ? timeline.findFixedPoint(epochDay) : FixedPointArithmetic.ONE;
+    }
+
+    /**
+     * Counts the entries valid for the given insurance type, rating key and date.
+     * More than one indicates overlapping validity periods.
+     */
+    public int countValidEntries(InsuranceType insuranceType, String ratingKey, LocalDate date) {
+        ValidityTimeline timeline = timelineFor(insuranceType, ratingKey);
+        return timeline != null ? timeline.count(date.toEpochDay()) : 0;
+    }
+
+    /**
+     * Returns the rating keys known for an insurance type.
+     */
+    public Set<String> getRatingKeys(InsuranceType insuranceType) {
+        return index.getOrDefault(insuranceType, Map.of()).keySet();
+    }
+
+    /**
+     * Returns the sorted epoch days on which any rating of the insurance type starts or stops being valid.
+     * Between two consecutive boundaries every multiplier of that type is constant.
+     */
+    public long[] getValidityBoundaries(InsuranceType insuranceType) {
+        return validityBoundaries.getOrDefault(insuranceType, new long[0]).clone();
+    }
+
+    /**
+     * Returns the premium grid of this snapshot, compiling it on first use.
+     * Clean Code: Derived cache - compiled once per snapshot content, never replaced.
+     *
+     * @param compiler creates the grid from this snapshot
+     * @return the grid shared by every caller of this snapshot
+     */
+    PremiumGrid premiumGrid(Function<RatingTableSnapshot, PremiumGrid> compiler) {
+        PremiumGrid grid = premiumGrid;
+        if (grid == null) {
+            synchronized (this) {
+                grid = premiumGrid;
+                if (grid == null) {
+                    grid = compiler.apply(this);
+                    premiumGrid = grid;
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Takes over the premium grid of an earlier snapshot with the same content, so its compiled
+     * epochs survive a reload that changed nothing.
+     *
+     * @param previous the snapshot this one replaces, or null
+     */
+    void inheritPremiumGrid(RatingTableSnapshot previous) {
+        if (previous == null || previous == this || !contentHash.equals(previous.contentHash)) {
+            return;
+        }
+        PremiumGrid inherited = previous.premiumGrid;
+        if (inherited == null) {
+            return;
+        }
+        synchronized (this) {
+            if (premiumGrid == null) {
+                premiumGrid = inherited;
+            }
+        }
+    }
+
+    public CompiledRatingRules getRatingRules() { return ratingRules; }
+    public long getVersion() { return version; }
+
+    /**
+     * Returns a hash of the rating entries and rating rules, independent of their order and of the
+     * snapshot version.
+     * Clean Code: Lets state derived from the ratings survive reloads that changed nothing.
+     */
+    public String getContentHash() { return contentHash; }
+    public Instant getLoadedAt() { return loadedAt; }
+    public int getEntryCount() { return entryCount; }
+
+    private ValidityTimeline timelineFor(InsuranceType insuranceType, String ratingKey) {
+        Map<String, ValidityTimeline> timelines = index.get(insuranceType);
+        return timelines != null ? timelines.get(ratingKey) : null;
+    }
+
+    private static String contentHash(Collection<RatingTable> ratingTables, CompiledRatingRules ratingRules) {
+        List<String> rows = new ArrayList<>(ratingTables.size() + 1);
+        rows.add("rules|" + ratingRules.signature());
+        for (RatingTable ratingTable : ratingTables) {
+            rows.add(ratingTable.getInsuranceType() + "|" + ratingTable.getRatingKey() + "|"
+                    + ratingTable.getMultiplier().stripTrailingZeros().toPlainString() + "|"
+                    + ratingTable.getValidFrom() + "|" + ratingTable.getValidTo());
+        }
+        Collections.sort(rows);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String row : rows) {
+                digest.update(row.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Map<InsuranceType, long[]> collectValidityBoundaries(
+            Map<InsuranceType, Map<String, ValidityTimeline>> index) {
+        Map<InsuranceType, long[]> boundaries = new EnumMap<>(InsuranceType.class);
+        index.forEach((insuranceType, timelines) -> {
+            TreeSet<Long> days = new TreeSet<>();
+            timelines.values().forEach(timeline -> timeline.collectBoundaries(days));
+            boundaries.put(insuranceType, days.stream().mapToLong(Long::longValue).toArray());
+        });
+        return boundaries;
+    }
+
+    @Override
+    public String toString() {
+        return "RatingTableSnapshot{" +
+                "version=" + version +
+                ", loadedAt=" + loadedAt +
+                ", entryCount=" + entryCount +
+                '}';
+    }
+
+    /**
+     * Validity intervals of a single (insurance type, rating key) pair, sorted by start date.
+     * Dates are stored as epoch days in parallel primitive arrays.
+     */
+    static final class ValidityTimeline {
+        private final long[] validFrom;
+        private final long[] validTo;
+        private final BigDecimal[] multipliers;
+        private final long[] fixedPointMultipliers;
+
+        private ValidityTimeline(long[] validFrom, long[] validTo, BigDecimal[] multipliers) {
+            this.validFrom = validFrom;
+            this.validTo = validTo;
+            this.multipliers = multipliers;
+            this.fixedPointMultipliers = new long[multipliers.length];
+            for (int i = 0; i < multipliers.length; i++) {
+                fixedPointMultipliers[i] = FixedPointArithmetic.encode(multipliers[i]);
+            }
+        }
+
+        static ValidityTimeline of(List<RatingTable> entries) {
+            List<RatingTable> sorted = new ArrayList<>(entries);
+            sorted.sort(Comparator.comparing(RatingTable::getValidFrom));
+
+            int size = sorted.size();
+            long[] validFrom = new long[size];
+            long[] validTo = new long[size];
+            BigDecimal[] multipliers = new BigDecimal[size];
+            for (int i = 0; i < size; i++) {
+                RatingTable entry = sorted.get(i);
+                validFrom[i] = entry.getValidFrom().toEpochDay();
+                validTo[i] = entry.getValidTo() != null ? entry.getValidTo().toEpochDay() : OPEN_ENDED;
+                multipliers[i] = entry.getMultiplier();
+            }
+            return new ValidityTimeline(validFrom, validTo, multipliers);
+        }
+
+        /**
+         * Returns the multiplier of the latest-starting interval that covers the day.
+         */
+        BigDecimal find(long day) {
+            int i = indexOf(day);
+            return i >= 0 ? multipliers[i] : null;
+        }
+
+        long findFixedPoint(long day) {
+            int i = indexOf(day);
+            return i >= 0 ? fixedPointMultipliers[i] : FixedPointArithmetic.ONE;
+        }
+
+        private int indexOf(long day) {
+            for (int i = lastStartingOnOrBefore(day); i >= 0; i--) {
+                if (validTo[i] >= day) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void collectBoundaries(Set<Long> days) {
+            for (int i = 0; i < validFrom.length; i++) {
+                days.add(validFrom[i]);
+                if (validTo[i] != OPEN_ENDED) {
+                    days.add(validTo[i] + 1);
+                }
+            }
+        }
+
+        int count(long day) {
+            int count = 0;
+            for (int i = lastStartingOnOrBefore(day); i >= 0; i--) {
+                if (validTo[i] >= day) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private int lastStartingOnOrBefore(long day) {
+            int low = 0;
+            int high = validFrom.length - 1;
+            int result = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (validFrom[mid] <= day) {
+                    result = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return result;
+        }
+    }
+}
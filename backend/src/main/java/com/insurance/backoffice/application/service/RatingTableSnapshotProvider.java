@@ -0,0 +1,235 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.RatingRule;
+import com.insurance.backoffice.domain.RatingTable;
+import com.insurance.backoffice.domain.RatingTablesChangedEvent;
+import com.insurance.backoffice.infrastructure.repository.RatingRuleRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Process-wide holder of the current {@link RatingTableSnapshot}.
+ * The snapshot is loaded with one query for the rating tables and one for the rating rules,
+ * which are compiled into it, and swapped atomically on reload.
+ * Only one thread loads at a time: when no snapshot exists callers wait for that load,
+ * when the snapshot has merely aged the other callers keep serving the previous one.
+ * A reload that changed no rating keeps the compiled premium grid of the snapshot it replaces.
+ * A snapshot seeded from elsewhere serves quotes only; premiums that are persisted are priced
+ * from {@link #currentFromDatabase()}.
+ * Clean Code: Single Responsibility - owns the lifecycle of the in-memory rating data.
+ */
+@Component
+public class RatingTableSnapshotProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingTableSnapshotProvider.class);
+
+    private final RatingTableRepository ratingTableRepository;
+    private final RatingRuleRepository ratingRuleRepository;
+    private final Duration maxAge;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile RatingTableSnapshot snapshot;
+    private volatile RatingTableSnapshot seeded;
+    private volatile RatingTableSnapshot lastPublished;
+
+    @Autowired
+    public RatingTableSnapshotProvider(RatingTableRepository ratingTableRepository,
+                                       RatingRuleRepository ratingRuleRepository,
+                                       @Value("${app.rating.snapshot.max-age:PT5M}") Duration maxAge) {
+        this.ratingTableRepository = ratingTableRepository;
+        this.ratingRuleRepository = ratingRuleRepository;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Returns the current snapshot, loading it if none is available.
+     * Clean Code: Hot path is a single volatile read.
+     *
+     * @return the current rating table snapshot
+     */
+    public RatingTableSnapshot current() {
+        RatingTableSnapshot current = snapshot;
+        if (current == null) {
+            return loadIfAbsent();
+        }
+        if (isExpired(current) && reloadLock.tryLock()) {
+            try {
+                if (snapshot == current) {
+                    return refresh(current);
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the current snapshot if it was loaded from the database, loading it otherwise.
+     * Clean Code: A seeded snapshot may be stale until verified, so it never prices what is stored.
+     *
+     * @return the current snapshot loaded from the database
+     */
+    public RatingTableSnapshot currentFromDatabase() {
+        RatingTableSnapshot current = current();
+        if (current != seeded) {
+            return current;
+        }
+        reloadLock.lock();
+        try {
+            RatingTableSnapshot latest = snapshot;
+            if (latest != null && latest != seeded) {
+                return latest;
+            }
+            long generation = invalidations.get();
+            return publish(load(), generation);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current snapshot without loading one.
+     *
+     * @return the current snapshot, or null if none is loaded
+     */
+    public RatingTableSnapshot peek() {
+        return snapshot;
+    }
+
+    /**
+     * Publishes a snapshot of rating data loaded elsewhere unless one is already available.
+     * Clean Code: Lets a node serve quotes from a snapshot file before its first database load.
+     *
+     * @param ratingTables all rating tables
+     * @param ratingRules all rating rules
+     * @return the published snapshot, or null if a snapshot was already available
+     */
+    public RatingTableSnapshot seed(Collection<RatingTable> ratingTables, Collection<RatingRule> ratingRules) {
+        reloadLock.lock();
+        try {
+            if (snapshot != null) {
+                return null;
+            }
+            RatingTableSnapshot seeded = RatingTableSnapshot.of(versionSequence.incrementAndGet(), ratingTables,
+                    CompiledRatingRules.compile(ratingRules));
+            snapshot = seeded;
+            this.seeded = seeded;
+            lastPublished = seeded;
+            return seeded;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Forces a reload and swaps the new snapshot in.
+     *
+     * @return the freshly loaded snapshot
+     */
+    public RatingTableSnapshot reload() {
+        reloadLock.lock();
+        try {
+            long generation = invalidations.get();
+            return publish(load(), generation);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the current snapshot so the next caller loads a fresh one.
+     */
+    public void invalidate() {
+        invalidations.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * Invalidates immediately so the writing transaction sees its own changes.
+     */
+    @EventListener
+    public void onRatingTablesChanged(RatingTablesChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Invalidates again once the writing transaction completes, so a snapshot built
+     * from uncommitted or rolled back rows is never kept.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onRatingTablesChangeCompleted(RatingTablesChangedEvent event) {
+        invalidate();
+    }
+
+    private RatingTableSnapshot loadIfAbsent() {
+        reloadLock.lock();
+        try {
+            RatingTableSnapshot current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long generation = invalidations.get();
+            return publish(load(), generation);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private RatingTableSnapshot refresh(RatingTableSnapshot current) {
+        long generation = invalidations.get();
+        try {
+            return publish(load(), generation);
+        } catch (RuntimeException e) {
+            logger.warn("Rating table snapshot refresh failed, keeping version {}", current.getVersion(), e);
+            return current;
+        }
+    }
+
+    private RatingTableSnapshot load() {
+        long started = System.nanoTime();
+        List<RatingTable> ratingTables = ratingTableRepository.findAll();
+        CompiledRatingRules ratingRules = CompiledRatingRules.compile(ratingRuleRepository.findAll());
+        RatingTableSnapshot loaded = RatingTableSnapshot.of(versionSequence.incrementAndGet(), ratingTables, ratingRules);
+        logger.debug("Loaded rating table snapshot version {} with {} entries in {} ms",
+                loaded.getVersion(), loaded.getEntryCount(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return loaded;
+    }
+
+    /**
+     * Publishes a loaded snapshot unless it was invalidated while loading.
+     * The caller still gets the loaded snapshot, which is at least as fresh as the request.
+     * The last published snapshot is kept across invalidations, so its premium grid outlives them.
+     */
+    private RatingTableSnapshot publish(RatingTableSnapshot loaded, long generation) {
+        loaded.inheritPremiumGrid(lastPublished);
+        if (invalidations.get() == generation) {
+            snapshot = loaded;
+            lastPublished = loaded;
+        }
+        return loaded;
+    }
+
+    private boolean isExpired(RatingTableSnapshot current) {
+        if (maxAge.isZero() || maxAge.isNegative()) {
+            return false;
+        }
+        return current.getLoadedAt().plus(maxAge).isBefore(Instant.now());
+    }
+}
@@ -20,10 +20,11 @@ import java.util.ArrayList;
 public class RatingValidationService {
     
     private final RatingTableRepository ratingTableRepository;
+    private final RatingService ratingService;
     
     // Business rule constants
-    private static final BigDecimal MIN_MULTIPLIER = new BigDecimal("0.1000");
-    private static final BigDecimal MAX_MULTIPLIER = new BigDecimal("5.0000");
+    static final BigDecimal MIN_MULTIPLIER = new BigDecimal("0.1000");
+    static final BigDecimal MAX_MULTIPLIER = new BigDecimal("5.0000");
     private static final int MAX_VEHICLE_AGE_FOR_AC = 15; // AC insurance not available for very old vehicles
     private static final int MIN_ENGINE_CAPACITY = 50; // Minimum engine capacity in cc
     private static final int MAX_ENGINE_CAPACITY = 8000; // Maximum engine capacity in cc
@@ -31,8 +32,9 @@ public class RatingValidationService {
     private static final int MAX_POWER = 1000; // Maximum power in HP
     
     @Autowired
-    public RatingValidationService(RatingTableRepository ratingTableRepository) {
+    public RatingValidationService(RatingTableRepository ratingTableRepository, RatingService ratingService) {
         this.ratingTableRepository = ratingTableRepository;
+        this.ratingService = ratingService;
     }
     
     /**
@@ -57,6 +59,24 @@ public class RatingValidationService {
             throw new IllegalArgumentException("Policy date cannot be null");
         }
         
+        return validateRatingFactors(ratingService.createRatingContext(insuranceType, vehicle, policyDate));
+    }
+    
+    /**
+     * Validates rating factors against an already resolved rating context.
+     * Clean Code: Reuses the context's single lookup pass instead of querying per factor.
+     * 
+     * @param context the rating context of the quote
+     * @return validation result with any errors found
+     */
+    public RatingValidationResult validateRatingFactors(RatingContext context) {
+        if (context == null) {
+            throw new IllegalArgumentException("Rating context cannot be null");
+        }
+        
+        InsuranceType insuranceType = context.getInsuranceType();
+        Vehicle vehicle = context.getVehicle();
+        LocalDate policyDate = context.getPolicyDate();
         List<String> errors = new ArrayList<>();
         List<String> warnings = new ArrayList<>();
         
@@ -67,7 +87,7 @@ public class RatingValidationService {
         validateInsuranceTypeRules(insuranceType, vehicle, policyDate, errors, warnings);
         
         // Validate rating table availability
-        validateRatingTableAvailability(insuranceType, vehicle, policyDate, errors, warnings);
+        validateRatingTableAvailability(context, errors, warnings);
         
         // Validate business rules
         validateBusinessRules(insuranceType, vehicle, policyDate, errors, warnings);
@@ -75,6 +95,26 @@ public class RatingValidationService {
         return new RatingValidationResult(errors.isEmpty(), errors, warnings);
     }
     
+    /**
+     * Validates a quote and, when it is valid, calculates its premium from the same rating context.
+     * Clean Code: A validated quote costs one lookup pass instead of one query per factor and step.
+     * 
+     * @param insuranceType the type of insurance
+     * @param vehicle the vehicle to be insured
+     * @param policyDate the policy effective date
+     * @return the validation result with the premium breakdown of a valid quote
+     */
+    public ValidatedQuote validateAndCalculatePremium(InsuranceType insuranceType,
+                                                      Vehicle vehicle,
+                                                      LocalDate policyDate) {
+        RatingContext context = ratingService.createRatingContext(insuranceType, vehicle, policyDate);
+        RatingValidationResult validation = validateRatingFactors(context);
+        RatingService.PremiumBreakdown breakdown = validation.isValid()
+                ? ratingService.calculatePremiumBreakdown(context)
+                : null;
+        return new ValidatedQuote(validation, breakdown);
+    }
+    
     /**
      * Validates a rating table entry for business rule compliance.
      * Clean Code: Specific validation method for rating tables.
@@ -148,20 +188,7 @@ public class RatingValidationService {
     public List<String> getMissingRatingFactors(InsuranceType insuranceType, 
                                                Vehicle vehicle, 
                                                LocalDate policyDate) {
-        List<String> missingFactors = new ArrayList<>();
-        
-        // Check for required rating factors
-        String[] requiredFactors = getRequiredRatingFactors(insuranceType, vehicle);
-        
-        for (String factor : requiredFactors) {
-            List<RatingTable> tables = ratingTableRepository
-                .findByInsuranceTypeAndRatingKeyValidForDate(insuranceType, factor, policyDate);
-            if (tables.isEmpty()) {
-                missingFactors.add(factor);
-            }
-        }
-        
-        return missingFactors;
+        return ratingService.createRatingContext(insuranceType, vehicle, policyDate).getMissingRatingKeys();
     }
     
     /**
@@ -238,22 +265,15 @@ public class RatingValidationService {
      * Validates rating table availability for calculation.
      * Clean Code: Data availability validation.
      */
-    private void validateRatingTableAvailability(InsuranceType insuranceType, 
-                                               Vehicle vehicle, 
-                                               LocalDate policyDate, 
+    private void validateRatingTableAvailability(RatingContext context, 
                                                List<String> errors, 
                                                List<String> warnings) {
-        String[] requiredFactors = getRequiredRatingFactors(insuranceType, vehicle);
-        
-        for (String factor : requiredFactors) {
-            List<RatingTable> tables = ratingTableRepository
-                .findByInsuranceTypeAndRatingKeyValidForDate(insuranceType, factor, policyDate);
-            
-            if (tables.isEmpty()) {
-                errors.add("Missing rating factor: " + factor + " for " + insuranceType + " insurance on " + policyDate);
-            } else if (tables.size() > 1) {
-                warnings.add("Multiple rating entries found for factor: " + factor + ", using first one");
-            }
+        for (String factor : context.getMissingRatingKeys()) {
+            errors.add("Missing rating factor: " + factor + " for " + context.getInsuranceType() +
+                    " insurance on " + context.getPolicyDate());
+        }
+        for (String factor : context.getAmbiguousRatingKeys()) {
+            warnings.add("Multiple rating entries found for factor: " + factor + ", using first one");
         }
     }
     
@@ -327,58 +347,6 @@ public class RatingValidationService {
         }
     }
     
-    /**
-     * Gets required rating factors for a given scenario.
-     * Clean Code: Configuration method for required factors.
-     */
-    private String[] getRequiredRatingFactors(InsuranceType insuranceType, Vehicle vehicle) {
-        int vehicleAge = java.time.Period.between(vehicle.getFirstRegistrationDate(), LocalDate.now()).getYears();
-        String ageKey = "VEHICLE_AGE_" + Math.min(vehicleAge, 10);
-        
-        String engineKey;
-        if (vehicle.getEngineCapacity() <= 1000) {
-            engineKey = "ENGINE_SMALL";
-        } else if (vehicle.getEngineCapacity() <= 1600) {
-            engineKey = "ENGINE_MEDIUM";
-        } else if (vehicle.getEngineCapacity() <= 2000) {
-            engineKey = "ENGINE_LARGE";
-        } else {
-            engineKey = "ENGINE_XLARGE";
-        }
-        
-        String powerKey;
-        if (vehicle.getPower() <= 75) {
-            powerKey = "POWER_LOW";
-        } else if (vehicle.getPower() <= 150) {
-            powerKey = "POWER_MEDIUM";
-        } else if (vehicle.getPower() <= 250) {
-            powerKey = "POWER_HIGH";
-        } else {
-            powerKey = "POWER_VERY_HIGH";
-        }
-        
-        // Base factors required for all insurance types
-        List<String> factors = new ArrayList<>();
-        factors.add(ageKey);
-        factors.add(engineKey);
-        factors.add(powerKey);
-        
-        // Add insurance type specific factors
-        switch (insuranceType) {
-            case OC:
-                factors.add("OC_STANDARD");
-                break;
-            case AC:
-                factors.add("AC_COMPREHENSIVE");
-                break;
-            case NNW:
-                factors.add("NNW_STANDARD");
-                break;
-        }
-        
-        return factors.toArray(new String[0]);
-    }
-    
     /**
      * Inner class representing validation results.
      * Clean Code: Value object for structured validation results.
@@ -409,4 +377,23 @@ public class RatingValidationService {
                     '}';
         }
     }
+    
+    /**
+     * Inner class pairing a quote's validation result with its premium.
+     * Clean Code: Value object for structured validation results.
+     */
+    public static class ValidatedQuote {
+        private final RatingValidationResult validation;
+        private final RatingService.PremiumBreakdown premiumBreakdown;
+        
+        public ValidatedQuote(RatingValidationResult validation, RatingService.PremiumBreakdown premiumBreakdown) {
+            this.validation = validation;
+            this.premiumBreakdown = premiumBreakdown;
+        }
+        
+        public RatingValidationResult getValidation() { return validation; }
+        /** Returns the premium breakdown, or null if the quote is invalid. */
+        public RatingService.PremiumBreakdown getPremiumBreakdown() { return premiumBreakdown; }
+        public boolean isValid() { return validation.isValid(); }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.insurance.backoffice.application.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a client in the change feed: for policies, clients and vehicles, the (change transaction,
+ * ID) of the last row it received.
+ * Clients treat the encoded form as opaque, so its layout may change with {@link #VERSION}.
+ *
+ * @param policies position in the policy changes
+ * @param clients position in the client changes
+ * @param vehicles position in the vehicle changes
+ */
+record SyncToken(Cursor policies, Cursor clients, Cursor vehicles) {
+
+    /**
+     * Position before every change, for a client that has not synced yet.
+     */
+    static final SyncToken START = new SyncToken(Cursor.START, Cursor.START, Cursor.START);
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = String.join(SEPARATOR, VERSION,
+                Long.toString(policies.xid()), Long.toString(policies.id()),
+                Long.toString(clients.xid()), Long.toString(clients.id()),
+                Long.toString(vehicles.xid()), Long.toString(vehicles.id()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static SyncToken decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\|", -1);
+            if (parts.length != 7 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return new SyncToken(
+                    new Cursor(Long.parseLong(parts[1]), Long.parseLong(parts[2])),
+                    new Cursor(Long.parseLong(parts[3]), Long.parseLong(parts[4])),
+                    new Cursor(Long.parseLong(parts[5]), Long.parseLong(parts[6])));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+
+    /**
+     * Keyset position in one table's changes, ordered by change transaction and ID.
+     *
+     * @param xid transaction of the last change received
+     * @param id ID of the last row received
+     */
+    record Cursor(long xid, long id) {
+
+        static final Cursor START = new Cursor(0, 0);
+
+        Cursor {
+            if (xid < 0 || id < 0) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.insurance.backoffice.config;
 
+import com.insurance.backoffice.application.service.RatingSnapshotFileStore;
+import com.insurance.backoffice.application.service.RatingSnapshotFileStore.SnapshotFileStatus;
+import com.insurance.backoffice.application.service.RatingTableSnapshot;
+import com.insurance.backoffice.application.service.RatingTableSnapshotProvider;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.info.InfoContributor;
@@ -24,6 +28,12 @@ public class ActuatorConfig {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private RatingTableSnapshotProvider ratingTableSnapshotProvider;
+
+    @Autowired
+    private RatingSnapshotFileStore ratingSnapshotFileStore;
+
     @Value("${spring.application.name:insurance-backoffice-system}")
     private String applicationName;
 
@@ -81,6 +91,7 @@ public class ActuatorConfig {
                 
                 Map<String, Object> details = new HashMap<>();
                 details.put("ratingTablesCount", ratingTableCount);
+                details.put("ratingSnapshot", ratingSnapshotDetails());
                 details.put("profile", activeProfile);
                 details.put("lastChecked", LocalDateTime.now());
                 
@@ -97,12 +108,34 @@ public class ActuatorConfig {
             } catch (Exception e) {
                 return Health.down()
                     .withDetail("error", e.getMessage())
+                    .withDetail("ratingSnapshot", ratingSnapshotDetails())
                     .withDetail("lastChecked", LocalDateTime.now())
                     .build();
             }
         };
     }
 
+    /**
+     * Describes the rating snapshot quotes are served from: its in-memory version and the
+     * snapshot file it may have been seeded from.
+     */
+    private Map<String, Object> ratingSnapshotDetails() {
+        Map<String, Object> details = new HashMap<>();
+        RatingTableSnapshot snapshot = ratingTableSnapshotProvider.peek();
+        if (snapshot != null) {
+            details.put("version", snapshot.getVersion());
+            details.put("loadedAt", snapshot.getLoadedAt());
+        }
+        SnapshotFileStatus fileStatus = ratingSnapshotFileStore.getStatus();
+        details.put("source", fileStatus.serving() ? "FILE" : "DATABASE");
+        details.put("fileStatus", fileStatus.status());
+        if (fileStatus.version() != null) {
+            details.put("fileVersion", fileStatus.version());
+            details.put("fileExportedAt", fileStatus.exportedAt());
+        }
+        return details;
+    }
+
     /**
      * Custom info contributor for application metadata.
      */
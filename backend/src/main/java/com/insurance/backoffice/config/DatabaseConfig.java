@@ -58,17 +58,8 @@ public class DatabaseConfig {
         config.setAutoCommit(true);
         config.setTransactionIsolation("TRANSACTION_READ_COMMITTED");
         
-        // Connection properties for PostgreSQL optimization
-        config.addDataSourceProperty("cachePrepStmts", "true");
-        config.addDataSourceProperty("prepStmtCacheSize", "250");
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-        config.addDataSourceProperty("useServerPrepStmts", "true");
-        config.addDataSourceProperty("useLocalSessionState", "true");
-        config.addDataSourceProperty("rewriteBatchedStatements", "true");
-        config.addDataSourceProperty("cacheResultSetMetadata", "true");
-        config.addDataSourceProperty("cacheServerConfiguration", "true");
-        config.addDataSourceProperty("elideSetAutoCommits", "true");
-        config.addDataSourceProperty("maintainTimeStats", "false");
+        // PostgreSQL JDBC driver (pgjdbc) settings
+        addPostgresDataSourceProperties(config, 256);
         
         return new HikariDataSource(config);
     }
@@ -103,12 +94,21 @@ public class DatabaseConfig {
         config.setAutoCommit(true);
         config.setTransactionIsolation("TRANSACTION_READ_COMMITTED");
         
-        // Basic connection properties
-        config.addDataSourceProperty("cachePrepStmts", "true");
-        config.addDataSourceProperty("prepStmtCacheSize", "100");
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", "1024");
-        config.addDataSourceProperty("useServerPrepStmts", "true");
+        // PostgreSQL JDBC driver (pgjdbc) settings
+        addPostgresDataSourceProperties(config, 128);
         
         return new HikariDataSource(config);
     }
-}
\ No newline at end of file
+
+    /**
+     * Adds pgjdbc driver properties.
+     * Batched inserts are rewritten into multi-row INSERT statements, which is what makes Hibernate
+     * insert batching pay off; frequently used statements become server-side prepared statements.
+     */
+    private void addPostgresDataSourceProperties(HikariConfig config, int preparedStatementCacheQueries) {
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        config.addDataSourceProperty("prepareThreshold", "5");
+        config.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(preparedStatementCacheQueries));
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", "5");
+    }
+}
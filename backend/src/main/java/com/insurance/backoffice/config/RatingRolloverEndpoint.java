@@ -0,0 +1,30 @@
+package com.insurance.backoffice.config;
+
+import com.insurance.backoffice.application.service.RatingDayRollover;
+import com.insurance.backoffice.application.service.RatingDayRollover.RolloverStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint reporting the rating day rollover: the day currently served, the next
+ * scheduled switch, the next date a rating change takes effect and the warm-up of the next day.
+ * Available at /actuator/ratingrollover when exposed.
+ */
+@Component
+@Endpoint(id = "ratingrollover")
+public class RatingRolloverEndpoint {
+
+    private final RatingDayRollover ratingDayRollover;
+
+    @Autowired
+    public RatingRolloverEndpoint(RatingDayRollover ratingDayRollover) {
+        this.ratingDayRollover = ratingDayRollover;
+    }
+
+    @ReadOperation
+    public RolloverStatus status() {
+        return ratingDayRollover.getStatus();
+    }
+}
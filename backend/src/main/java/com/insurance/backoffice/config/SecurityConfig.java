@@ -2,6 +2,7 @@ package com.insurance.backoffice.config;
 
 import com.insurance.backoffice.infrastructure.security.CustomUserDetailsService;
 import com.insurance.backoffice.infrastructure.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -93,6 +94,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:3000", "http://127.0.0.1:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Next-Page-Token", "Link"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -123,6 +125,9 @@ public class SecurityConfig {
             
             // Configure authorization rules
             .authorizeHttpRequests(authz -> authz
+                // Streamed responses finish on an async dispatch of a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/debug/**").permitAll()
@@ -135,6 +140,7 @@ public class SecurityConfig {
                 // Operator and Admin endpoints
                 .requestMatchers("/api/policies/**").hasAnyRole("OPERATOR", "ADMIN")
                 .requestMatchers("/api/rating/**").hasAnyRole("OPERATOR", "ADMIN")
+                .requestMatchers("/api/sync/**").hasAnyRole("OPERATOR", "ADMIN")
                 
                 // All other requests require authentication
                 .anyRequest().authenticated()
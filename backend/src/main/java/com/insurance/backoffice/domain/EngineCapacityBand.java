@@ -0,0 +1,54 @@
+package com.insurance.backoffice.domain;
+
+/**
+ * Enumeration representing the engine capacity bands used as a rating factor.
+ * Each band maps to the rating key under which its multiplier is stored.
+ * The bands form the default tariff, used for an insurance type without rating rules in the database,
+ * and the reporting dimension of rating simulations.
+ */
+public enum EngineCapacityBand {
+    /**
+     * Up to 1000cc.
+     */
+    SMALL("ENGINE_SMALL", 1000),
+    
+    /**
+     * 1001-1600cc.
+     */
+    MEDIUM("ENGINE_MEDIUM", 1600),
+    
+    /**
+     * 1601-2000cc.
+     */
+    LARGE("ENGINE_LARGE", 2000),
+    
+    /**
+     * Above 2000cc.
+     */
+    XLARGE("ENGINE_XLARGE", Integer.MAX_VALUE);
+    
+    private static final EngineCapacityBand[] BANDS = values();
+    
+    private final String ratingKey;
+    private final int upperBound;
+    
+    EngineCapacityBand(String ratingKey, int upperBound) {
+        this.ratingKey = ratingKey;
+        this.upperBound = upperBound;
+    }
+    
+    /**
+     * Returns the band for the given engine capacity in cc.
+     */
+    public static EngineCapacityBand of(int engineCapacity) {
+        for (EngineCapacityBand band : BANDS) {
+            if (engineCapacity <= band.upperBound) {
+                return band;
+            }
+        }
+        return XLARGE;
+    }
+    
+    public String getRatingKey() { return ratingKey; }
+    public int getUpperBound() { return upperBound; }
+}
@@ -15,8 +15,11 @@ import java.util.Objects;
 @Table(name = "policies")
 public class Policy {
     
+    // Sequence IDs are allocated in blocks of 50, so inserts can be batched; identity columns
+    // would force one round trip per insert to read the generated key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "policies_id_seq")
+    @SequenceGenerator(name = "policies_id_seq", sequenceName = "policies_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "policy_number", unique = true, nullable = false, length = 50)
@@ -62,6 +65,11 @@ public class Policy {
     @OneToOne(mappedBy = "policy", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private PolicyDetails policyDetails;
     
+    // Bumped on every write, including JDBC updates and client or vehicle changes shown in listings
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     // Default constructor for JPA
     protected Policy() {}
     
@@ -188,6 +196,7 @@ public class Policy {
     public Client getClient() { return client; }
     public Vehicle getVehicle() { return vehicle; }
     public PolicyDetails getPolicyDetails() { return policyDetails; }
+    public Long getVersion() { return version; }
     
     // Setters for mutable fields
     public void setPolicyNumber(String policyNumber) { this.policyNumber = policyNumber; }
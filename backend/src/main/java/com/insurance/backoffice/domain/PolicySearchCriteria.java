@@ -0,0 +1,79 @@
+package com.insurance.backoffice.domain;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filters of a policy search. Every filter is optional: an empty set or a null date does not restrict
+ * the search, and a set with several values matches any of them.
+ *
+ * @param clientIds client IDs, any of which matches
+ * @param vehicleIds vehicle IDs, any of which matches
+ * @param statuses statuses, any of which matches
+ * @param insuranceTypes insurance types, any of which matches
+ * @param issuedFrom earliest issue date, inclusive
+ * @param issuedTo latest issue date, inclusive
+ */
+public record PolicySearchCriteria(
+        Set<Long> clientIds,
+        Set<Long> vehicleIds,
+        Set<PolicyStatus> statuses,
+        Set<InsuranceType> insuranceTypes,
+        LocalDate issuedFrom,
+        LocalDate issuedTo
+) {
+
+    /**
+     * Most values accepted per multi-value filter.
+     */
+    public static final int MAX_VALUES = 100;
+
+    public PolicySearchCriteria {
+        clientIds = copyOf(clientIds, "client IDs");
+        vehicleIds = copyOf(vehicleIds, "vehicle IDs");
+        statuses = copyOf(statuses, "statuses");
+        insuranceTypes = copyOf(insuranceTypes, "insurance types");
+    }
+
+    /**
+     * Criteria with at most one value per filter; null values do not restrict the search.
+     */
+    public static PolicySearchCriteria of(Long clientId, Long vehicleId, PolicyStatus status,
+                                          InsuranceType insuranceType, LocalDate issuedFrom, LocalDate issuedTo) {
+        return new PolicySearchCriteria(setOf(clientId), setOf(vehicleId), setOf(status), setOf(insuranceType),
+                issuedFrom, issuedTo);
+    }
+
+    /**
+     * Canonical text form: equal for equal criteria, whatever the order of values.
+     */
+    public String canonicalForm() {
+        return "clients=" + sorted(clientIds) + ";vehicles=" + sorted(vehicleIds) +
+                ";statuses=" + sorted(statuses) + ";types=" + sorted(insuranceTypes) +
+                ";from=" + (issuedFrom != null ? issuedFrom : "") + ";to=" + (issuedTo != null ? issuedTo : "");
+    }
+
+    private static <T> Set<T> copyOf(Collection<T> values, String name) {
+        if (values == null) {
+            return Set.of();
+        }
+        if (values.size() > MAX_VALUES) {
+            throw new IllegalArgumentException("At most " + MAX_VALUES + " " + name + " can be filtered on");
+        }
+        return values.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static <T> Set<T> setOf(T value) {
+        return value != null ? Set.of(value) : Set.of();
+    }
+
+    private static String sorted(Set<?> values) {
+        return values.stream()
+                .map(String::valueOf)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+}
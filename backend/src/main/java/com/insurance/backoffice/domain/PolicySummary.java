@@ -0,0 +1,39 @@
+package com.insurance.backoffice.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read model of a policy in listings: the policy columns plus the client name and vehicle registration,
+ * selected in one joined query instead of hydrating the policy with its client, vehicle and details.
+ *
+ * @param id the policy ID
+ * @param policyNumber the policy number
+ * @param issueDate the issue date, also the listing order
+ * @param clientName the client's full name
+ * @param vehicleRegistration the vehicle registration number
+ * @param insuranceType the insurance type
+ * @param startDate the coverage start date
+ * @param endDate the coverage end date
+ * @param premium the premium
+ * @param discountSurcharge the discount or surcharge
+ * @param amountGuaranteed the guaranteed amount, if any
+ * @param coverageArea the coverage area, if any
+ * @param status the policy status
+ */
+public record PolicySummary(
+        Long id,
+        String policyNumber,
+        LocalDate issueDate,
+        String clientName,
+        String vehicleRegistration,
+        InsuranceType insuranceType,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal premium,
+        BigDecimal discountSurcharge,
+        BigDecimal amountGuaranteed,
+        String coverageArea,
+        PolicyStatus status
+) {
+}
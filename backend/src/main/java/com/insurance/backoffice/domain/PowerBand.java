@@ -0,0 +1,54 @@
+package com.insurance.backoffice.domain;
+
+/**
+ * Enumeration representing the engine power bands used as a rating factor.
+ * Each band maps to the rating key under which its multiplier is stored.
+ * The bands form the default tariff, used for an insurance type without rating rules in the database,
+ * and the reporting dimension of rating simulations.
+ */
+public enum PowerBand {
+    /**
+     * Up to 75 HP.
+     */
+    LOW("POWER_LOW", 75),
+    
+    /**
+     * 76-150 HP.
+     */
+    MEDIUM("POWER_MEDIUM", 150),
+    
+    /**
+     * 151-250 HP.
+     */
+    HIGH("POWER_HIGH", 250),
+    
+    /**
+     * Above 250 HP.
+     */
+    VERY_HIGH("POWER_VERY_HIGH", Integer.MAX_VALUE);
+    
+    private static final PowerBand[] BANDS = values();
+    
+    private final String ratingKey;
+    private final int upperBound;
+    
+    PowerBand(String ratingKey, int upperBound) {
+        this.ratingKey = ratingKey;
+        this.upperBound = upperBound;
+    }
+    
+    /**
+     * Returns the band for the given power in HP.
+     */
+    public static PowerBand of(int power) {
+        for (PowerBand band : BANDS) {
+            if (power <= band.upperBound) {
+                return band;
+            }
+        }
+        return VERY_HIGH;
+    }
+    
+    public String getRatingKey() { return ratingKey; }
+    public int getUpperBound() { return upperBound; }
+}
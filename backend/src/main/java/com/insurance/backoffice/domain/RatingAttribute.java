@@ -0,0 +1,26 @@
+package com.insurance.backoffice.domain;
+
+/**
+ * Enumeration representing the vehicle attribute a rating rule buckets on.
+ */
+public enum RatingAttribute {
+    /**
+     * Vehicle age in whole years on the policy date.
+     */
+    VEHICLE_AGE,
+    
+    /**
+     * Engine capacity in cc.
+     */
+    ENGINE_CAPACITY,
+    
+    /**
+     * Engine power in HP.
+     */
+    POWER,
+    
+    /**
+     * No attribute - the rule always applies its single rating key.
+     */
+    NONE
+}
@@ -0,0 +1,213 @@
+package com.insurance.backoffice.domain;
+
+import jakarta.persistence.*;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Entity representing one rating factor of an insurance type's tariff.
+ * The rule buckets a vehicle attribute by ascending inclusive upper bounds and names the rating key
+ * of every bucket; values above the last bound fall into the final bucket. Rules are applied in
+ * position order, and each bucket's multiplier comes from the rating tables.
+ * Example: ENGINE_CAPACITY with bounds 1000,1600,2000 and keys ENGINE_SMALL,ENGINE_MEDIUM,ENGINE_LARGE,ENGINE_XLARGE.
+ */
+@Entity
+@Table(name = "rating_rules", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rating_rules_factor", columnNames = {"insurance_type", "factor_name"})
+})
+@EntityListeners(RatingRuleChangeListener.class)
+public class RatingRule {
+
+    private static final String SEPARATOR = ",";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "insurance_type", nullable = false, length = 10)
+    private InsuranceType insuranceType;
+
+    @Column(name = "factor_name", nullable = false, length = 50)
+    private String factorName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RatingAttribute attribute;
+
+    @Column(name = "upper_bounds", length = 500)
+    private String upperBounds;
+
+    @Column(name = "rating_keys", nullable = false, length = 2000)
+    private String ratingKeys;
+
+    @Column(nullable = false)
+    private int position;
+
+    // Default constructor for JPA and testing
+    public RatingRule() {}
+
+    // Private constructor for Builder pattern
+    private RatingRule(Builder builder) {
+        this.insuranceType = builder.insuranceType;
+        this.factorName = builder.factorName;
+        this.attribute = builder.attribute;
+        this.upperBounds = join(builder.upperBounds);
+        this.ratingKeys = String.join(SEPARATOR, builder.ratingKeys);
+        this.position = builder.position;
+    }
+
+    /**
+     * Returns the ascending inclusive upper bounds of all buckets but the last.
+     * Clean Code: Parses the stored column so callers work with primitives.
+     */
+    public int[] getUpperBoundValues() {
+        if (upperBounds == null || upperBounds.isBlank()) {
+            return new int[0];
+        }
+        return Arrays.stream(upperBounds.split(SEPARATOR))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+
+    /**
+     * Returns the rating key of every bucket, one more than there are upper bounds.
+     */
+    public String[] getRatingKeyValues() {
+        return Arrays.stream(ratingKeys.split(SEPARATOR))
+                .map(String::trim)
+                .toArray(String[]::new);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public InsuranceType getInsuranceType() { return insuranceType; }
+    public String getFactorName() { return factorName; }
+    public RatingAttribute getAttribute() { return attribute; }
+    public String getUpperBounds() { return upperBounds; }
+    public String getRatingKeys() { return ratingKeys; }
+    public int getPosition() { return position; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RatingRule that = (RatingRule) o;
+        return Objects.equals(id, that.id) &&
+               Objects.equals(insuranceType, that.insuranceType) &&
+               Objects.equals(factorName, that.factorName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, insuranceType, factorName);
+    }
+
+    @Override
+    public String toString() {
+        return "RatingRule{" +
+                "id=" + id +
+                ", insuranceType=" + insuranceType +
+                ", factorName='" + factorName + '\'' +
+                ", attribute=" + attribute +
+                ", upperBounds='" + upperBounds + '\'' +
+                ", ratingKeys='" + ratingKeys + '\'' +
+                ", position=" + position +
+                '}';
+    }
+
+    private static String join(int[] values) {
+        if (values.length == 0) {
+            return null;
+        }
+        return String.join(SEPARATOR, Arrays.stream(values).mapToObj(String::valueOf).toArray(String[]::new));
+    }
+
+    /**
+     * Builder pattern implementation for clean object creation.
+     */
+    public static class Builder {
+        private InsuranceType insuranceType;
+        private String factorName;
+        private RatingAttribute attribute;
+        private int[] upperBounds = new int[0];
+        private String[] ratingKeys;
+        private int position;
+
+        public Builder insuranceType(InsuranceType insuranceType) {
+            this.insuranceType = insuranceType;
+            return this;
+        }
+
+        public Builder factorName(String factorName) {
+            this.factorName = factorName;
+            return this;
+        }
+
+        public Builder attribute(RatingAttribute attribute) {
+            this.attribute = attribute;
+            return this;
+        }
+
+        public Builder upperBounds(int... upperBounds) {
+            this.upperBounds = upperBounds != null ? upperBounds.clone() : new int[0];
+            return this;
+        }
+
+        public Builder ratingKeys(String... ratingKeys) {
+            this.ratingKeys = ratingKeys != null ? ratingKeys.clone() : null;
+            return this;
+        }
+
+        public Builder position(int position) {
+            this.position = position;
+            return this;
+        }
+
+        public RatingRule build() {
+            validateRequiredFields();
+            validateBusinessRules();
+            return new RatingRule(this);
+        }
+
+        private void validateRequiredFields() {
+            if (insuranceType == null) {
+                throw new IllegalArgumentException("Insurance type is required");
+            }
+            if (factorName == null || factorName.trim().isEmpty()) {
+                throw new IllegalArgumentException("Factor name is required");
+            }
+            if (attribute == null) {
+                throw new IllegalArgumentException("Rating attribute is required");
+            }
+            if (ratingKeys == null || ratingKeys.length == 0) {
+                throw new IllegalArgumentException("At least one rating key is required");
+            }
+        }
+
+        private void validateBusinessRules() {
+            if (ratingKeys.length != upperBounds.length + 1) {
+                throw new IllegalArgumentException("A rating rule needs exactly one rating key more than upper bounds");
+            }
+            if (attribute == RatingAttribute.NONE && upperBounds.length > 0) {
+                throw new IllegalArgumentException("A rating rule without attribute cannot have upper bounds");
+            }
+            for (int i = 1; i < upperBounds.length; i++) {
+                if (upperBounds[i] <= upperBounds[i - 1]) {
+                    throw new IllegalArgumentException("Upper bounds must be strictly ascending");
+                }
+            }
+            for (String ratingKey : ratingKeys) {
+                if (ratingKey == null || ratingKey.trim().isEmpty() || ratingKey.contains(SEPARATOR)) {
+                    throw new IllegalArgumentException("Rating keys must be non-empty and cannot contain commas");
+                }
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+}
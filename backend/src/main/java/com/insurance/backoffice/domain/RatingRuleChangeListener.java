@@ -0,0 +1,28 @@
+package com.insurance.backoffice.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that turns rating rule writes into {@link RatingTablesChangedEvent}s,
+ * since compiled rules are part of the in-memory rating snapshot.
+ * Instantiated by Hibernate through the Spring bean container, so the publisher is injected.
+ */
+public class RatingRuleChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Publishes a change event after a rating rule has been written.
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRatingRuleChanged(RatingRule ratingRule) {
+        eventPublisher.publishEvent(new RatingTablesChangedEvent(ratingRule.getInsuranceType(), null));
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "rating_tables")
+@EntityListeners(RatingTableChangeListener.class)
 public class RatingTable {
     
     @Id
@@ -0,0 +1,29 @@
+package com.insurance.backoffice.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that turns rating table writes into {@link RatingTablesChangedEvent}s.
+ * Instantiated by Hibernate through the Spring bean container, so the publisher is injected.
+ */
+public class RatingTableChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Publishes a change event after a rating table entry has been written.
+     * Clean Code: Single callback for every kind of write.
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRatingTableChanged(RatingTable ratingTable) {
+        eventPublisher.publishEvent(
+                new RatingTablesChangedEvent(ratingTable.getInsuranceType(), ratingTable.getRatingKey()));
+    }
+}
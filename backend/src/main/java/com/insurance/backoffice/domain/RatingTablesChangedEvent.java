@@ -0,0 +1,11 @@
+package com.insurance.backoffice.domain;
+
+/**
+ * Domain event published whenever a rating table entry or rating rule is inserted, updated or removed.
+ * Consumers use it to invalidate any in-memory copy of the rating tables.
+ *
+ * @param insuranceType the insurance type of the changed entry
+ * @param ratingKey the rating key of the changed entry, or null if a rating rule changed
+ */
+public record RatingTablesChangedEvent(InsuranceType insuranceType, String ratingKey) {
+}
@@ -0,0 +1,281 @@
+package com.insurance.backoffice.domain;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing a bulk renewal quote job and its checkpoint.
+ * The job walks ACTIVE policies ending within its window in (end date, ID) order; the last processed
+ * position and the running totals are saved with every chunk, so a paused or interrupted job resumes
+ * where it stopped.
+ * The owner and heartbeat of a job are claimed and renewed by SQL against the database clock and are
+ * read-only here; the version makes a checkpoint written after the claim moved to another instance fail.
+ */
+@Entity
+@Table(name = "renewal_jobs")
+public class RenewalJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RenewalJobStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "insurance_type", length = 10)
+    private InsuranceType insuranceType;
+    
+    @Column(name = "expiring_from", nullable = false)
+    private LocalDate expiringFrom;
+    
+    @Column(name = "expiring_to", nullable = false)
+    private LocalDate expiringTo;
+    
+    // Changed by SQL only, so a throttle set on any instance is never overwritten by a checkpoint
+    @Column(name = "max_rows_per_second", updatable = false)
+    private Integer maxRowsPerSecond;
+    
+    @Column(name = "snapshot_version")
+    private Long snapshotVersion;
+    
+    @Column(name = "last_end_date", nullable = false)
+    private LocalDate lastEndDate;
+    
+    @Column(name = "last_policy_id", nullable = false)
+    private Long lastPolicyId;
+    
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount;
+    
+    @Column(name = "offered_count", nullable = false)
+    private Long offeredCount;
+    
+    @Column(name = "skipped_count", nullable = false)
+    private Long skippedCount;
+    
+    @Column(name = "elapsed_millis", nullable = false)
+    private Long elapsedMillis;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+    
+    @Column(length = 100, insertable = false, updatable = false)
+    private String owner;
+    
+    @Column(name = "heartbeat_at", insertable = false, updatable = false)
+    private LocalDateTime heartbeatAt;
+    
+    // Bumped by every save and by every claim, release or pause from another instance
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    // Default constructor for JPA
+    public RenewalJob() {}
+    
+    // Private constructor for Builder pattern
+    private RenewalJob(Builder builder) {
+        this.status = RenewalJobStatus.RUNNING;
+        this.insuranceType = builder.insuranceType;
+        this.expiringFrom = builder.expiringFrom;
+        this.expiringTo = builder.expiringTo;
+        this.maxRowsPerSecond = builder.maxRowsPerSecond;
+        // The keyset starts before every policy ending on the first day of the window
+        this.lastEndDate = builder.expiringFrom;
+        this.lastPolicyId = 0L;
+        this.processedCount = 0L;
+        this.offeredCount = 0L;
+        this.skippedCount = 0L;
+        this.elapsedMillis = 0L;
+        this.startedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Marks the job as running against the given rating snapshot version.
+     * Clean Code: State transition encapsulated in domain object.
+     */
+    public void markRunning(long snapshotVersion) {
+        if (status == RenewalJobStatus.COMPLETED) {
+            throw new IllegalStateException("Renewal job is already completed");
+        }
+        this.status = RenewalJobStatus.RUNNING;
+        this.snapshotVersion = snapshotVersion;
+        this.errorMessage = null;
+    }
+    
+    /**
+     * Records a processed chunk and moves the checkpoint past its last policy.
+     * 
+     * @param lastEndDate end date of the last policy of the chunk
+     * @param lastPolicyId ID of the last policy of the chunk
+     * @param processed number of policies read in the chunk
+     * @param offered number of renewal offers written
+     * @param skipped number of policies that could not be rated
+     * @param chunkMillis time spent on the chunk, throttling included
+     */
+    public void recordChunk(LocalDate lastEndDate, long lastPolicyId, int processed, int offered, int skipped,
+                            long chunkMillis) {
+        this.lastEndDate = lastEndDate;
+        this.lastPolicyId = lastPolicyId;
+        this.processedCount += processed;
+        this.offeredCount += offered;
+        this.skippedCount += skipped;
+        this.elapsedMillis += chunkMillis;
+    }
+    
+    /**
+     * Limits the job to a number of policies per second, or lifts the limit with null.
+     * 
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public void throttle(Integer maxRowsPerSecond) {
+        if (maxRowsPerSecond != null && maxRowsPerSecond <= 0) {
+            throw new IllegalArgumentException("Renewal rate limit must be positive");
+        }
+        this.maxRowsPerSecond = maxRowsPerSecond;
+    }
+    
+    /**
+     * Marks the job as paused; it keeps its checkpoint and can be resumed.
+     */
+    public void pause() {
+        if (status == RenewalJobStatus.COMPLETED) {
+            throw new IllegalStateException("Renewal job is already completed");
+        }
+        this.status = RenewalJobStatus.PAUSED;
+    }
+    
+    /**
+     * Marks the job as completed.
+     */
+    public void complete() {
+        this.status = RenewalJobStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Marks the job as failed; it keeps its checkpoint and can be resumed.
+     */
+    public void fail(String errorMessage) {
+        this.status = RenewalJobStatus.FAILED;
+        this.errorMessage = errorMessage != null && errorMessage.length() > 1000
+                ? errorMessage.substring(0, 1000) : errorMessage;
+    }
+    
+    /**
+     * Returns the average throughput across all runs of the job.
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? processedCount * 1000.0 / elapsedMillis : 0;
+    }
+    
+    public boolean isCompleted() {
+        return status == RenewalJobStatus.COMPLETED;
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    public RenewalJobStatus getStatus() { return status; }
+    public InsuranceType getInsuranceType() { return insuranceType; }
+    public LocalDate getExpiringFrom() { return expiringFrom; }
+    public LocalDate getExpiringTo() { return expiringTo; }
+    public Integer getMaxRowsPerSecond() { return maxRowsPerSecond; }
+    public Long getSnapshotVersion() { return snapshotVersion; }
+    public LocalDate getLastEndDate() { return lastEndDate; }
+    public Long getLastPolicyId() { return lastPolicyId; }
+    public Long getProcessedCount() { return processedCount; }
+    public Long getOfferedCount() { return offeredCount; }
+    public Long getSkippedCount() { return skippedCount; }
+    public Long getElapsedMillis() { return elapsedMillis; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public String getErrorMessage() { return errorMessage; }
+    public String getOwner() { return owner; }
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public Long getVersion() { return version; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RenewalJob that = (RenewalJob) o;
+        return Objects.equals(id, that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+    
+    @Override
+    public String toString() {
+        return "RenewalJob{" +
+                "id=" + id +
+                ", status=" + status +
+                ", insuranceType=" + insuranceType +
+                ", expiringFrom=" + expiringFrom +
+                ", expiringTo=" + expiringTo +
+                ", lastPolicyId=" + lastPolicyId +
+                ", processedCount=" + processedCount +
+                ", offeredCount=" + offeredCount +
+                '}';
+    }
+    
+    /**
+     * Builder pattern implementation for clean object creation.
+     */
+    public static class Builder {
+        private InsuranceType insuranceType;
+        private LocalDate expiringFrom;
+        private LocalDate expiringTo;
+        private Integer maxRowsPerSecond;
+        
+        public Builder insuranceType(InsuranceType insuranceType) {
+            this.insuranceType = insuranceType;
+            return this;
+        }
+        
+        public Builder expiringFrom(LocalDate expiringFrom) {
+            this.expiringFrom = expiringFrom;
+            return this;
+        }
+        
+        public Builder expiringTo(LocalDate expiringTo) {
+            this.expiringTo = expiringTo;
+            return this;
+        }
+        
+        public Builder maxRowsPerSecond(Integer maxRowsPerSecond) {
+            this.maxRowsPerSecond = maxRowsPerSecond;
+            return this;
+        }
+        
+        public RenewalJob build() {
+            if (expiringFrom == null || expiringTo == null) {
+                throw new IllegalArgumentException("Expiry window start and end are required");
+            }
+            if (expiringFrom.isAfter(expiringTo)) {
+                throw new IllegalArgumentException("Expiry window start must not be after its end");
+            }
+            if (maxRowsPerSecond != null && maxRowsPerSecond <= 0) {
+                throw new IllegalArgumentException("Renewal rate limit must be positive");
+            }
+            return new RenewalJob(this);
+        }
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+}
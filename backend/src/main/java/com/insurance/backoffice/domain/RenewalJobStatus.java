@@ -0,0 +1,26 @@
+package com.insurance.backoffice.domain;
+
+/**
+ * Enumeration representing the lifecycle of a bulk renewal quote job.
+ */
+public enum RenewalJobStatus {
+    /**
+     * Job is quoting renewals, or was interrupted and can be resumed from its checkpoint.
+     */
+    RUNNING,
+    
+    /**
+     * Job was paused after a committed chunk and can be resumed from its checkpoint.
+     */
+    PAUSED,
+    
+    /**
+     * Job has quoted a renewal for every expiring policy in its window.
+     */
+    COMPLETED,
+    
+    /**
+     * Job stopped on an error and can be resumed from its checkpoint.
+     */
+    FAILED
+}
@@ -0,0 +1,243 @@
+package com.insurance.backoffice.domain;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing a portfolio repricing job and its checkpoint.
+ * The job walks affected ACTIVE policies in ascending ID order; the last processed policy ID
+ * and the running totals are saved with every chunk, so an interrupted job resumes where it stopped.
+ * The owner and heartbeat of a job are claimed and renewed by SQL against the database clock and are
+ * read-only here; the version makes a checkpoint written after the claim moved to another instance fail.
+ */
+@Entity
+@Table(name = "repricing_jobs")
+public class RepricingJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RepricingJobStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "insurance_type", length = 10)
+    private InsuranceType insuranceType;
+    
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+    
+    @Column(name = "snapshot_version")
+    private Long snapshotVersion;
+    
+    @Column(name = "last_policy_id", nullable = false)
+    private Long lastPolicyId;
+    
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount;
+    
+    @Column(name = "updated_count", nullable = false)
+    private Long updatedCount;
+    
+    @Column(name = "premium_increase_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal premiumIncreaseTotal;
+    
+    @Column(name = "premium_decrease_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal premiumDecreaseTotal;
+    
+    @Column(name = "elapsed_millis", nullable = false)
+    private Long elapsedMillis;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+    
+    @Column(length = 100, insertable = false, updatable = false)
+    private String owner;
+    
+    @Column(name = "heartbeat_at", insertable = false, updatable = false)
+    private LocalDateTime heartbeatAt;
+    
+    // Bumped by every save and by every claim or release
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    // Default constructor for JPA
+    public RepricingJob() {}
+    
+    // Private constructor for Builder pattern
+    private RepricingJob(Builder builder) {
+        this.status = RepricingJobStatus.RUNNING;
+        this.insuranceType = builder.insuranceType;
+        this.effectiveFrom = builder.effectiveFrom;
+        this.lastPolicyId = 0L;
+        this.processedCount = 0L;
+        this.updatedCount = 0L;
+        this.premiumIncreaseTotal = BigDecimal.ZERO;
+        this.premiumDecreaseTotal = BigDecimal.ZERO;
+        this.elapsedMillis = 0L;
+        this.startedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Marks the job as running against the given rating snapshot version.
+     * Clean Code: State transition encapsulated in domain object.
+     */
+    public void markRunning(long snapshotVersion) {
+        if (status == RepricingJobStatus.COMPLETED) {
+            throw new IllegalStateException("Repricing job is already completed");
+        }
+        this.status = RepricingJobStatus.RUNNING;
+        this.snapshotVersion = snapshotVersion;
+        this.errorMessage = null;
+    }
+    
+    /**
+     * Records a processed chunk and moves the checkpoint past its last policy.
+     * 
+     * @param lastPolicyId the highest policy ID of the chunk
+     * @param processed number of policies rated in the chunk
+     * @param updated number of policies whose premium changed
+     * @param premiumIncrease sum of premium increases in the chunk
+     * @param premiumDecrease sum of premium decreases in the chunk, as a positive amount
+     * @param chunkMillis time spent on the chunk
+     */
+    public void recordChunk(long lastPolicyId, int processed, int updated,
+                            BigDecimal premiumIncrease, BigDecimal premiumDecrease, long chunkMillis) {
+        this.lastPolicyId = lastPolicyId;
+        this.processedCount += processed;
+        this.updatedCount += updated;
+        this.premiumIncreaseTotal = premiumIncreaseTotal.add(premiumIncrease);
+        this.premiumDecreaseTotal = premiumDecreaseTotal.add(premiumDecrease);
+        this.elapsedMillis += chunkMillis;
+    }
+    
+    /**
+     * Marks the job as completed.
+     */
+    public void complete() {
+        this.status = RepricingJobStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Marks the job as failed; it keeps its checkpoint and can be resumed.
+     */
+    public void fail(String errorMessage) {
+        this.status = RepricingJobStatus.FAILED;
+        this.errorMessage = errorMessage != null && errorMessage.length() > 1000
+                ? errorMessage.substring(0, 1000) : errorMessage;
+    }
+    
+    /**
+     * Returns the net premium change of all updated policies.
+     * Clean Code: Derived value computed from persisted totals.
+     */
+    public BigDecimal getNetPremiumDelta() {
+        return premiumIncreaseTotal.subtract(premiumDecreaseTotal);
+    }
+    
+    /**
+     * Returns the average throughput across all runs of the job.
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? processedCount * 1000.0 / elapsedMillis : 0;
+    }
+    
+    public boolean isCompleted() {
+        return status == RepricingJobStatus.COMPLETED;
+    }
+    
+    /**
+     * Checks whether the given instance holds the claim on the job.
+     */
+    public boolean isOwnedBy(String instance) {
+        return owner != null && owner.equals(instance);
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    public RepricingJobStatus getStatus() { return status; }
+    public InsuranceType getInsuranceType() { return insuranceType; }
+    public LocalDate getEffectiveFrom() { return effectiveFrom; }
+    public Long getSnapshotVersion() { return snapshotVersion; }
+    public Long getLastPolicyId() { return lastPolicyId; }
+    public Long getProcessedCount() { return processedCount; }
+    public Long getUpdatedCount() { return updatedCount; }
+    public BigDecimal getPremiumIncreaseTotal() { return premiumIncreaseTotal; }
+    public BigDecimal getPremiumDecreaseTotal() { return premiumDecreaseTotal; }
+    public Long getElapsedMillis() { return elapsedMillis; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public String getErrorMessage() { return errorMessage; }
+    public String getOwner() { return owner; }
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public Long getVersion() { return version; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RepricingJob that = (RepricingJob) o;
+        return Objects.equals(id, that.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+    
+    @Override
+    public String toString() {
+        return "RepricingJob{" +
+                "id=" + id +
+                ", status=" + status +
+                ", insuranceType=" + insuranceType +
+                ", effectiveFrom=" + effectiveFrom +
+                ", lastPolicyId=" + lastPolicyId +
+                ", processedCount=" + processedCount +
+                ", updatedCount=" + updatedCount +
+                '}';
+    }
+    
+    /**
+     * Builder pattern implementation for clean object creation.
+     */
+    public static class Builder {
+        private InsuranceType insuranceType;
+        private LocalDate effectiveFrom;
+        
+        public Builder insuranceType(InsuranceType insuranceType) {
+            this.insuranceType = insuranceType;
+            return this;
+        }
+        
+        public Builder effectiveFrom(LocalDate effectiveFrom) {
+            this.effectiveFrom = effectiveFrom;
+            return this;
+        }
+        
+        public RepricingJob build() {
+            if (effectiveFrom == null) {
+                throw new IllegalArgumentException("Effective from date is required");
+            }
+            return new RepricingJob(this);
+        }
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+}
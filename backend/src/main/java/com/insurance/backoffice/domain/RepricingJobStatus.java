@@ -0,0 +1,21 @@
+package com.insurance.backoffice.domain;
+
+/**
+ * Enumeration representing the lifecycle of a portfolio repricing job.
+ */
+public enum RepricingJobStatus {
+    /**
+     * Job is processing policies, or was interrupted and can be resumed from its checkpoint.
+     */
+    RUNNING,
+    
+    /**
+     * Job has repriced every affected policy.
+     */
+    COMPLETED,
+    
+    /**
+     * Job stopped on an error and can be resumed from its checkpoint.
+     */
+    FAILED
+}
@@ -71,6 +71,18 @@ public class Vehicle {
         return make + " " + model;
     }
     
+    /**
+     * Creates a transient vehicle carrying only the attributes used for premium rating.
+     * Clean Code: Lets quoting paths rate vehicles that are not stored.
+     */
+    public static Vehicle forRating(Integer engineCapacity, Integer power, LocalDate firstRegistrationDate) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.engineCapacity = engineCapacity;
+        vehicle.power = power;
+        vehicle.firstRegistrationDate = firstRegistrationDate;
+        return vehicle;
+    }
+    
     /**
      * Calculates the age of the vehicle in years from first registration.
      * Clean Code: Business logic encapsulated in domain object.
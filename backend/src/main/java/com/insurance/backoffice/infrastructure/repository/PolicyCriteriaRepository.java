@@ -0,0 +1,94 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.PolicySearchCriteria;
+import com.insurance.backoffice.domain.PolicySummary;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Criteria-built policy searches, part of {@link PolicyRepository}.
+ * Results are {@link PolicySummary} projections cut by keyset on (issue date, ID), like the fixed
+ * policy listings, but filtered by any combination of {@link PolicySearchCriteria}.
+ * Bulk rating scans live here too, because their filters are optional as well.
+ */
+public interface PolicyCriteriaRepository {
+
+    /**
+     * Finds policies matching the criteria issued before a keyset position, newest first.
+     *
+     * @param criteria the search criteria
+     * @param issueDate issue date of the last policy of the previous page
+     * @param id ID of the last policy of the previous page
+     * @param pageable page size (the page number is ignored)
+     * @return matching policies ordered by issue date and ID descending
+     */
+    List<PolicySummary> findByCriteriaIssuedBefore(PolicySearchCriteria criteria, LocalDate issueDate, long id,
+                                                   Pageable pageable);
+
+    /**
+     * Finds policies matching the criteria issued after a keyset position, oldest first.
+     *
+     * @param criteria the search criteria
+     * @param issueDate issue date of the last policy of the previous page
+     * @param id ID of the last policy of the previous page
+     * @param pageable page size (the page number is ignored)
+     * @return matching policies ordered by issue date and ID ascending
+     */
+    List<PolicySummary> findByCriteriaIssuedAfter(PolicySearchCriteria criteria, LocalDate issueDate, long id,
+                                                  Pageable pageable);
+
+    /**
+     * Finds the IDs and versions of the policies {@link #findByCriteriaIssuedBefore} would return.
+     *
+     * @param criteria the search criteria
+     * @param issueDate issue date of the last policy of the previous page
+     * @param id ID of the last policy of the previous page
+     * @param pageable page size (the page number is ignored)
+     * @return policy versions ordered by issue date and ID descending
+     */
+    List<PolicyVersion> findVersionsByCriteriaIssuedBefore(PolicySearchCriteria criteria, LocalDate issueDate,
+                                                           long id, Pageable pageable);
+
+    /**
+     * Finds the IDs and versions of the policies {@link #findByCriteriaIssuedAfter} would return.
+     *
+     * @param criteria the search criteria
+     * @param issueDate issue date of the last policy of the previous page
+     * @param id ID of the last policy of the previous page
+     * @param pageable page size (the page number is ignored)
+     * @return policy versions ordered by issue date and ID ascending
+     */
+    List<PolicyVersion> findVersionsByCriteriaIssuedAfter(PolicySearchCriteria criteria, LocalDate issueDate,
+                                                          long id, Pageable pageable);
+
+    /**
+     * Finds the next page of ACTIVE policies to reprice, using keyset pagination on the policy ID.
+     * Returns rating inputs only, so no Policy, Client or Vehicle entities are loaded.
+     *
+     * @param afterId only policies with a greater ID are returned
+     * @param effectiveFrom optional; only policies starting on or after this date are returned
+     * @param insuranceType optional insurance type filter
+     * @param pageable page size (the page number is ignored)
+     * @return rating inputs ordered by policy ID
+     */
+    List<PolicyRatingView> findActivePoliciesForRepricing(Long afterId, LocalDate effectiveFrom,
+                                                          InsuranceType insuranceType, Pageable pageable);
+
+    /**
+     * Finds the next page of ACTIVE policies ending within a window, for renewal quoting, using keyset
+     * pagination on (end date, ID). Returns rating inputs only, so no Policy, Client or Vehicle entities
+     * are loaded.
+     *
+     * @param endDate end date of the last policy of the previous page, or the window start
+     * @param afterId ID of the last policy of the previous page, or 0
+     * @param expiringTo latest end date of the window, inclusive
+     * @param insuranceType optional insurance type filter
+     * @param pageable page size (the page number is ignored)
+     * @return renewal inputs ordered by end date and ID
+     */
+    List<PolicyRenewalView> findActivePoliciesForRenewal(LocalDate endDate, Long afterId, LocalDate expiringTo,
+                                                         InsuranceType insuranceType, Pageable pageable);
+}
@@ -0,0 +1,168 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+import com.insurance.backoffice.domain.Client;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.Policy;
+import com.insurance.backoffice.domain.PolicySearchCriteria;
+import com.insurance.backoffice.domain.PolicyStatus;
+import com.insurance.backoffice.domain.PolicySummary;
+import com.insurance.backoffice.domain.Vehicle;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria API implementation of {@link PolicyCriteriaRepository}.
+ * The keyset condition is written as "issue_date <= :d AND (issue_date < :d OR id < :id)" rather
+ * than an OR alone, so its first half bounds the index range scan on issue date.
+ */
+public class PolicyCriteriaRepositoryImpl implements PolicyCriteriaRepository {
+
+    private final EntityManager entityManager;
+
+    public PolicyCriteriaRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<PolicySummary> findByCriteriaIssuedBefore(PolicySearchCriteria criteria, LocalDate issueDate,
+                                                          long id, Pageable pageable) {
+        return findByCriteria(PolicySummary.class, this::selectSummary, criteria, issueDate, id, pageable, true);
+    }
+
+    @Override
+    public List<PolicySummary> findByCriteriaIssuedAfter(PolicySearchCriteria criteria, LocalDate issueDate,
+                                                         long id, Pageable pageable) {
+        return findByCriteria(PolicySummary.class, this::selectSummary, criteria, issueDate, id, pageable, false);
+    }
+
+    @Override
+    public List<PolicyVersion> findVersionsByCriteriaIssuedBefore(PolicySearchCriteria criteria, LocalDate issueDate,
+                                                                  long id, Pageable pageable) {
+        return findByCriteria(PolicyVersion.class, this::selectVersion, criteria, issueDate, id, pageable, true);
+    }
+
+    @Override
+    public List<PolicyVersion> findVersionsByCriteriaIssuedAfter(PolicySearchCriteria criteria, LocalDate issueDate,
+                                                                 long id, Pageable pageable) {
+        return findByCriteria(PolicyVersion.class, this::selectVersion, criteria, issueDate, id, pageable, false);
+    }
+
+    // Optional filters only become predicates when supplied, like PolicySpecifications
+    @Override
+    public List<PolicyRatingView> findActivePoliciesForRepricing(Long afterId, LocalDate effectiveFrom,
+                                                                 InsuranceType insuranceType, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PolicyRatingView> query = cb.createQuery(PolicyRatingView.class);
+        Root<Policy> policy = query.from(Policy.class);
+        Join<Policy, Vehicle> vehicle = policy.join("vehicle");
+        query.select(cb.construct(PolicyRatingView.class,
+                policy.get("id"), policy.get("insuranceType"), policy.get("startDate"), policy.get("premium"),
+                vehicle.get("engineCapacity"), vehicle.get("power"), vehicle.get("firstRegistrationDate")));
+
+        Path<Long> policyId = policy.get("id");
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(policy.get("status"), PolicyStatus.ACTIVE));
+        predicates.add(cb.greaterThan(policyId, afterId));
+        if (effectiveFrom != null) {
+            predicates.add(cb.greaterThanOrEqualTo(policy.get("startDate"), effectiveFrom));
+        }
+        if (insuranceType != null) {
+            predicates.add(cb.equal(policy.get("insuranceType"), insuranceType));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(policyId));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<PolicyRenewalView> findActivePoliciesForRenewal(LocalDate endDate, Long afterId, LocalDate expiringTo,
+                                                                InsuranceType insuranceType, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PolicyRenewalView> query = cb.createQuery(PolicyRenewalView.class);
+        Root<Policy> policy = query.from(Policy.class);
+        Join<Policy, Vehicle> vehicle = policy.join("vehicle");
+        query.select(cb.construct(PolicyRenewalView.class,
+                policy.get("id"), policy.get("insuranceType"), policy.get("endDate"), policy.get("premium"),
+                vehicle.get("engineCapacity"), vehicle.get("power"), vehicle.get("firstRegistrationDate")));
+
+        Path<LocalDate> policyEndDate = policy.get("endDate");
+        Path<Long> policyId = policy.get("id");
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(policy.get("status"), PolicyStatus.ACTIVE));
+        // Keyset on (end_date, id), bounded by the window so idx_policies_active_end_date_id is range-scanned
+        predicates.add(cb.greaterThanOrEqualTo(policyEndDate, endDate));
+        predicates.add(cb.lessThanOrEqualTo(policyEndDate, expiringTo));
+        predicates.add(cb.or(cb.greaterThan(policyEndDate, endDate), cb.greaterThan(policyId, afterId)));
+        if (insuranceType != null) {
+            predicates.add(cb.equal(policy.get("insuranceType"), insuranceType));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(policyEndDate), cb.asc(policyId));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    private <T> List<T> findByCriteria(Class<T> resultType, ResultSelection<T> selection,
+                                       PolicySearchCriteria criteria, LocalDate issueDate, long id,
+                                       Pageable pageable, boolean newestFirst) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(resultType);
+        Root<Policy> policy = query.from(Policy.class);
+        selection.select(query, policy, cb);
+
+        Path<LocalDate> policyIssueDate = policy.get("issueDate");
+        Path<Long> policyId = policy.get("id");
+        Predicate keyset = newestFirst
+                ? cb.and(cb.lessThanOrEqualTo(policyIssueDate, issueDate),
+                        cb.or(cb.lessThan(policyIssueDate, issueDate), cb.lessThan(policyId, id)))
+                : cb.and(cb.greaterThanOrEqualTo(policyIssueDate, issueDate),
+                        cb.or(cb.greaterThan(policyIssueDate, issueDate), cb.greaterThan(policyId, id)));
+        query.where(PolicySpecifications.matching(criteria).toPredicate(policy, query, cb), keyset);
+        query.orderBy(newestFirst
+                ? List.of(cb.desc(policyIssueDate), cb.desc(policyId))
+                : List.of(cb.asc(policyIssueDate), cb.asc(policyId)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    private void selectSummary(CriteriaQuery<PolicySummary> query, Root<Policy> policy, CriteriaBuilder cb) {
+        Join<Policy, Client> client = policy.join("client");
+        Join<Policy, Vehicle> vehicle = policy.join("vehicle");
+        query.select(cb.construct(PolicySummary.class,
+                policy.get("id"), policy.get("policyNumber"), policy.get("issueDate"),
+                client.get("fullName"), vehicle.get("registrationNumber"), policy.get("insuranceType"),
+                policy.get("startDate"), policy.get("endDate"), policy.get("premium"),
+                policy.get("discountSurcharge"), policy.get("amountGuaranteed"), policy.get("coverageArea"),
+                policy.get("status")));
+    }
+
+    // Filters compare foreign keys, so versions are read from policies alone
+    private void selectVersion(CriteriaQuery<PolicyVersion> query, Root<Policy> policy, CriteriaBuilder cb) {
+        query.select(cb.construct(PolicyVersion.class, policy.get("id"), policy.get("version")));
+    }
+
+    /**
+     * Select clause of one result type; may join what it selects.
+     */
+    @FunctionalInterface
+    private interface ResultSelection<T> {
+        void select(CriteriaQuery<T> query, Root<Policy> policy, CriteriaBuilder cb);
+    }
+}
@@ -0,0 +1,21 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+import com.insurance.backoffice.domain.InsuranceType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of the policy and vehicle columns needed to rate a policy.
+ * Loaded with a single constructor-expression query instead of full Policy entities.
+ */
+public record PolicyRatingView(
+        Long policyId,
+        InsuranceType insuranceType,
+        LocalDate startDate,
+        BigDecimal premium,
+        Integer engineCapacity,
+        Integer power,
+        LocalDate firstRegistrationDate
+) {
+}
@@ -1,16 +1,25 @@
 package com.insurance.backoffice.infrastructure.repository;
 
 import com.insurance.backoffice.domain.Policy;
+import com.insurance.backoffice.domain.PolicySearchCriteria;
 import com.insurance.backoffice.domain.PolicyStatus;
+import com.insurance.backoffice.domain.PolicySummary;
 import com.insurance.backoffice.domain.InsuranceType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Policy entity operations.
@@ -18,7 +27,38 @@ import java.util.Optional;
  * custom query methods for policy search by client and complex filtering.
  */
 @Repository
-public interface PolicyRepository extends JpaRepository<Policy, Long> {
+public interface PolicyRepository extends JpaRepository<Policy, Long>, JpaSpecificationExecutor<Policy>,
+        PolicyCriteriaRepository {
+    
+    /**
+     * Select clause of policy listings: policy columns with client name and vehicle registration
+     * in one joined row, so listed policies are never hydrated or lazily loaded one by one.
+     */
+    String SUMMARY_SELECT = "SELECT new com.insurance.backoffice.domain.PolicySummary(" +
+            "p.id, p.policyNumber, p.issueDate, c.fullName, v.registrationNumber, p.insuranceType, " +
+            "p.startDate, p.endDate, p.premium, p.discountSurcharge, p.amountGuaranteed, p.coverageArea, " +
+            "p.status) FROM Policy p JOIN p.client c JOIN p.vehicle v ";
+    
+    /**
+     * Finds a policy by ID together with its client, vehicle and details in one query.
+     * Callers render all three outside the transaction, and the inverse details association
+     * would otherwise be loaded by a separate select anyway.
+     * 
+     * @param id the policy ID
+     * @return Optional containing the policy if found, empty otherwise
+     */
+    @Override
+    @EntityGraph(attributePaths = {"client", "vehicle", "policyDetails"})
+    Optional<Policy> findById(Long id);
+    
+    /**
+     * Finds the version of a policy without loading it, to validate cached copies of the policy.
+     * 
+     * @param id the policy ID
+     * @return Optional containing the version if the policy exists, empty otherwise
+     */
+    @Query("SELECT p.version FROM Policy p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
     
     /**
      * Finds a policy by its policy number.
@@ -137,6 +177,7 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
     /**
      * Complex search for policies with multiple optional criteria.
      * Used for advanced policy search and filtering functionality.
+     * Only the supplied criteria become predicates, see {@link PolicySpecifications}.
      * 
      * @param clientId optional client ID filter
      * @param vehicleId optional vehicle ID filter
@@ -146,21 +187,12 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
      * @param endDate optional end date for issue date range
      * @return list of policies matching the specified criteria
      */
-    @Query("SELECT p FROM Policy p WHERE " +
-           "(:clientId IS NULL OR p.client.id = :clientId) AND " +
-           "(:vehicleId IS NULL OR p.vehicle.id = :vehicleId) AND " +
-           "(:status IS NULL OR p.status = :status) AND " +
-           "(:insuranceType IS NULL OR p.insuranceType = :insuranceType) AND " +
-           "(:startDate IS NULL OR p.issueDate >= :startDate) AND " +
-           "(:endDate IS NULL OR p.issueDate <= :endDate)")
-    List<Policy> findPoliciesWithCriteria(
-        @Param("clientId") Long clientId,
-        @Param("vehicleId") Long vehicleId,
-        @Param("status") PolicyStatus status,
-        @Param("insuranceType") InsuranceType insuranceType,
-        @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate
-    );
+    default List<Policy> findPoliciesWithCriteria(Long clientId, Long vehicleId, PolicyStatus status,
+                                                  InsuranceType insuranceType, LocalDate startDate,
+                                                  LocalDate endDate) {
+        return findAll(PolicySpecifications.matching(
+                PolicySearchCriteria.of(clientId, vehicleId, status, insuranceType, startDate, endDate)));
+    }
     
     /**
      * Finds policies by client name (case-insensitive search).
@@ -181,4 +213,95 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
      */
     @Query("SELECT p FROM Policy p WHERE p.vehicle.registrationNumber = :registrationNumber")
     List<Policy> findByVehicleRegistrationNumber(@Param("registrationNumber") String registrationNumber);
-}
\ No newline at end of file
+    
+    /**
+     * Finds the next page of policies with a status, newest first, using keyset pagination on
+     * (issue date, ID). The row comparison is an index condition, so every page costs the same.
+     * 
+     * @param status the policy status
+     * @param issueDate issue date of the last policy of the previous page
+     * @param id ID of the last policy of the previous page
+     * @param pageable page size; the page number must be 0
+     * @return policy summaries, ordered by issue date and ID descending
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE p.status = :status AND (p.issueDate, p.id) < (:issueDate, :id) " +
+           "ORDER BY p.issueDate DESC, p.id DESC")
+    List<PolicySummary> findByStatusIssuedBefore(
+        @Param("status") PolicyStatus status,
+        @Param("issueDate") LocalDate issueDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    /**
+     * Finds the next page of policies with a status, oldest first, using keyset pagination on
+     * (issue date, ID).
+     * 
+     * @param status the policy status
+     * @param issueDate issue date of the last policy of the previous page
+     * @param id ID of the last policy of the previous page
+     * @param pageable page size; the page number must be 0
+     * @return policy summaries, ordered by issue date and ID ascending
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE p.status = :status AND (p.issueDate, p.id) > (:issueDate, :id) " +
+           "ORDER BY p.issueDate, p.id")
+    List<PolicySummary> findByStatusIssuedAfter(
+        @Param("status") PolicyStatus status,
+        @Param("issueDate") LocalDate issueDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    /**
+     * Finds the next page of a client's policies, newest first, using keyset pagination on
+     * (issue date, ID).
+     * 
+     * @param clientId the ID of the client
+     * @param issueDate issue date of the last policy of the previous page
+     * @param id ID of the last policy of the previous page
+     * @param pageable page size; the page number must be 0
+     * @return policy summaries, ordered by issue date and ID descending
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE c.id = :clientId AND (p.issueDate, p.id) < (:issueDate, :id) " +
+           "ORDER BY p.issueDate DESC, p.id DESC")
+    List<PolicySummary> findByClientIssuedBefore(
+        @Param("clientId") Long clientId,
+        @Param("issueDate") LocalDate issueDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    /**
+     * Finds the next page of a client's policies, oldest first, using keyset pagination on
+     * (issue date, ID).
+     * 
+     * @param clientId the ID of the client
+     * @param issueDate issue date of the last policy of the previous page
+     * @param id ID of the last policy of the previous page
+     * @param pageable page size; the page number must be 0
+     * @return policy summaries, ordered by issue date and ID ascending
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE c.id = :clientId AND (p.issueDate, p.id) > (:issueDate, :id) " +
+           "ORDER BY p.issueDate, p.id")
+    List<PolicySummary> findByClientIssuedAfter(
+        @Param("clientId") Long clientId,
+        @Param("issueDate") LocalDate issueDate,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+    
+    /**
+     * Streams every policy in ID order for export. Rows are fetched from a server-side cursor in
+     * batches of the fetch size, so only one batch is in memory at a time; the stream must be
+     * consumed and closed inside a transaction.
+     * 
+     * @return stream of policy summaries, ordered by ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY_SELECT + "ORDER BY p.id")
+    Stream<PolicySummary> streamAllSummaries();
+}
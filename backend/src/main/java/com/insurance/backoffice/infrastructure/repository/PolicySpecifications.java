@@ -0,0 +1,60 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+import com.insurance.backoffice.domain.Policy;
+import com.insurance.backoffice.domain.PolicySearchCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Specifications for policy searches.
+ * Only the filters actually supplied become predicates, so each filter combination is planned for
+ * the columns it uses (e.g. the (client_id, status) and (insurance_type, status) indexes) instead of
+ * one generic plan for "(:x IS NULL OR col = :x)" on every column, which PostgreSQL can only scan.
+ * Client and vehicle filters compare the foreign key columns and never join.
+ */
+public final class PolicySpecifications {
+
+    private PolicySpecifications() {
+    }
+
+    /**
+     * Policies matching every supplied filter of the criteria.
+     *
+     * @param criteria the search criteria
+     * @return the specification; matches every policy if no filter is supplied
+     */
+    public static Specification<Policy> matching(PolicySearchCriteria criteria) {
+        return (policy, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            addIn(predicates, cb, policy.get("client").get("id"), criteria.clientIds());
+            addIn(predicates, cb, policy.get("vehicle").get("id"), criteria.vehicleIds());
+            addIn(predicates, cb, policy.get("status"), criteria.statuses());
+            addIn(predicates, cb, policy.get("insuranceType"), criteria.insuranceTypes());
+            if (criteria.issuedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(policy.get("issueDate"), criteria.issuedFrom()));
+            }
+            if (criteria.issuedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(policy.get("issueDate"), criteria.issuedTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Adds "column = value" for one value and "column IN (...)" for several, nothing for none.
+     */
+    private static <T> void addIn(List<Predicate> predicates, CriteriaBuilder cb, Expression<T> column,
+                                  Set<? extends T> values) {
+        if (values.size() == 1) {
+            predicates.add(cb.equal(column, values.iterator().next()));
+        } else if (!values.isEmpty()) {
+            predicates.add(column.in(values));
+        }
+    }
+}
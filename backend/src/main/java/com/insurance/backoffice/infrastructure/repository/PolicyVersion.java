@@ -0,0 +1,11 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+/**
+ * Read-only projection of a policy's ID and version, enough to tell whether a listed policy changed.
+ * Loaded from the policy index columns alone, without joining clients or vehicles.
+ */
+public record PolicyVersion(
+        Long id,
+        Long version
+) {
+}
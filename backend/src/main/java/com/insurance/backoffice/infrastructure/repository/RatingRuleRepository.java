@@ -0,0 +1,25 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for RatingRule entity operations.
+ * Rules are loaded as a whole into each rating snapshot and compiled there.
+ */
+@Repository
+public interface RatingRuleRepository extends JpaRepository<RatingRule, Long> {
+    
+    /**
+     * Finds the rating rules of an insurance type in application order.
+     * Used for tariff maintenance.
+     * 
+     * @param insuranceType the insurance type to filter by
+     * @return the rules of the insurance type ordered by position
+     */
+    List<RatingRule> findByInsuranceTypeOrderByPositionAsc(InsuranceType insuranceType);
+}
@@ -14,6 +14,8 @@ import java.util.Optional;
 /**
  * Repository interface for RatingTable entity operations.
  * Provides data access methods for rating table management and premium calculations.
+ * Validity predicates use the functions of {@link ValidityRangeFunctionContributor}, which PostgreSQL
+ * answers from the GiST index on daterange(valid_from, valid_to, '[]').
  */
 @Repository
 public interface RatingTableRepository extends JpaRepository<RatingTable, Long> {
@@ -47,7 +49,7 @@ public interface RatingTableRepository extends JpaRepository<RatingTable, Long>
      * @return list of rating tables valid for the specified date
      */
     @Query("SELECT rt FROM RatingTable rt WHERE rt.insuranceType = :insuranceType AND rt.ratingKey = :ratingKey " +
-           "AND rt.validFrom <= :date AND (rt.validTo IS NULL OR rt.validTo >= :date)")
+           "AND validity_contains(rt.validFrom, rt.validTo, :date)")
     List<RatingTable> findByInsuranceTypeAndRatingKeyValidForDate(
         @Param("insuranceType") InsuranceType insuranceType,
         @Param("ratingKey") String ratingKey,
@@ -63,7 +65,7 @@ public interface RatingTableRepository extends JpaRepository<RatingTable, Long>
      * @return list of rating tables valid for the specified date
      */
     @Query("SELECT rt FROM RatingTable rt WHERE rt.insuranceType = :insuranceType " +
-           "AND rt.validFrom <= :date AND (rt.validTo IS NULL OR rt.validTo >= :date)")
+           "AND validity_contains(rt.validFrom, rt.validTo, :date)")
     List<RatingTable> findByInsuranceTypeValidForDate(
         @Param("insuranceType") InsuranceType insuranceType,
         @Param("date") LocalDate date
@@ -77,7 +79,7 @@ public interface RatingTableRepository extends JpaRepository<RatingTable, Long>
      * @return list of currently valid rating tables
      */
     @Query("SELECT rt FROM RatingTable rt WHERE rt.insuranceType = :insuranceType " +
-           "AND rt.validFrom <= CURRENT_DATE AND (rt.validTo IS NULL OR rt.validTo >= CURRENT_DATE)")
+           "AND validity_contains(rt.validFrom, rt.validTo, CURRENT_DATE)")
     List<RatingTable> findCurrentlyValidByInsuranceType(@Param("insuranceType") InsuranceType insuranceType);
     
     /**
@@ -95,7 +97,7 @@ public interface RatingTableRepository extends JpaRepository<RatingTable, Long>
      * 
      * @return list of currently valid rating tables
      */
-    @Query("SELECT rt FROM RatingTable rt WHERE rt.validFrom <= CURRENT_DATE AND (rt.validTo IS NULL OR rt.validTo >= CURRENT_DATE)")
+    @Query("SELECT rt FROM RatingTable rt WHERE validity_contains(rt.validFrom, rt.validTo, CURRENT_DATE)")
     List<RatingTable> findCurrentlyValid();
     
     /**
@@ -104,7 +106,7 @@ public interface RatingTableRepository extends JpaRepository<RatingTable, Long>
      * 
      * @return list of expired rating tables
      */
-    @Query("SELECT rt FROM RatingTable rt WHERE rt.validTo IS NOT NULL AND rt.validTo < CURRENT_DATE")
+    @Query("SELECT rt FROM RatingTable rt WHERE validity_ended_before(rt.validFrom, rt.validTo, CURRENT_DATE)")
     List<RatingTable> findExpired();
     
     /**
@@ -113,7 +115,7 @@ public interface RatingTableRepository extends JpaRepository<RatingTable, Long>
      * 
      * @return list of future-effective rating tables
      */
-    @Query("SELECT rt FROM RatingTable rt WHERE rt.validFrom > CURRENT_DATE")
+    @Query("SELECT rt FROM RatingTable rt WHERE validity_starts_after(rt.validFrom, rt.validTo, CURRENT_DATE)")
     List<RatingTable> findFutureEffective();
     
     /**
@@ -127,9 +129,7 @@ public interface RatingTableRepository extends JpaRepository<RatingTable, Long>
      * @return list of overlapping rating tables
      */
     @Query("SELECT rt FROM RatingTable rt WHERE rt.insuranceType = :insuranceType AND rt.ratingKey = :ratingKey " +
-           "AND ((rt.validFrom <= :validFrom AND (rt.validTo IS NULL OR rt.validTo >= :validFrom)) " +
-           "OR (rt.validFrom <= :validTo AND (rt.validTo IS NULL OR rt.validTo >= :validTo)) " +
-           "OR (rt.validFrom >= :validFrom AND (rt.validTo IS NULL OR rt.validTo <= :validTo)))")
+           "AND validity_overlaps(rt.validFrom, rt.validTo, :validFrom, :validTo)")
     List<RatingTable> findOverlappingValidityPeriods(
         @Param("insuranceType") InsuranceType insuranceType,
         @Param("ratingKey") String ratingKey,
@@ -0,0 +1,25 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+import com.insurance.backoffice.domain.RenewalJob;
+import com.insurance.backoffice.domain.RenewalJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for RenewalJob entity operations.
+ * Provides access to renewal job checkpoints for progress reporting, pausing and resume.
+ */
+@Repository
+public interface RenewalJobRepository extends JpaRepository<RenewalJob, Long> {
+    
+    /**
+     * Finds renewal jobs by status.
+     * Used to resume jobs interrupted by a shutdown or crash.
+     * 
+     * @param status the job status to filter by
+     * @return list of jobs with the specified status
+     */
+    List<RenewalJob> findByStatus(RenewalJobStatus status);
+}
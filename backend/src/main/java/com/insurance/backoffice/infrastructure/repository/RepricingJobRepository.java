@@ -0,0 +1,25 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+import com.insurance.backoffice.domain.RepricingJob;
+import com.insurance.backoffice.domain.RepricingJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for RepricingJob entity operations.
+ * Provides access to repricing job checkpoints for progress reporting and resume.
+ */
+@Repository
+public interface RepricingJobRepository extends JpaRepository<RepricingJob, Long> {
+    
+    /**
+     * Finds repricing jobs by status.
+     * Used to resume jobs interrupted by a shutdown or crash.
+     * 
+     * @param status the job status to filter by
+     * @return list of jobs with the specified status
+     */
+    List<RepricingJob> findByStatus(RepricingJobStatus status);
+}
@@ -0,0 +1,58 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers JPQL predicates over inclusive [validFrom, validTo] validity periods, where a null
+ * validTo is open-ended.
+ * On PostgreSQL they render as daterange operators, so lookups are served by the GiST index behind
+ * the rating table overlap exclusion constraint; the expression matches the indexed
+ * daterange(valid_from, valid_to, '[]') exactly. Other databases (H2 in tests) get the equivalent
+ * plain comparisons.
+ * Registered through META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class ValidityRangeFunctionContributor implements FunctionContributor {
+
+    /** validity_contains(validFrom, validTo, date): the period includes the date. */
+    public static final String CONTAINS = "validity_contains";
+
+    /** validity_overlaps(validFrom, validTo, otherFrom, otherTo): the periods share at least one day. */
+    public static final String OVERLAPS = "validity_overlaps";
+
+    /** validity_ended_before(validFrom, validTo, date): the period ended before the date. */
+    public static final String ENDED_BEFORE = "validity_ended_before";
+
+    /** validity_starts_after(validFrom, validTo, date): the period starts after the date. */
+    public static final String STARTS_AFTER = "validity_starts_after";
+
+    private static final String RANGE = "daterange(?1, ?2, '[]')";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+
+        if (functionContributions.getDialect() instanceof PostgreSQLDialect) {
+            registry.registerPattern(CONTAINS, RANGE + " @> cast(?3 as date)", booleanType);
+            registry.registerPattern(OVERLAPS,
+                    RANGE + " && daterange(cast(?3 as date), cast(?4 as date), '[]')", booleanType);
+            registry.registerPattern(ENDED_BEFORE,
+                    RANGE + " << daterange(cast(?3 as date), null, '[)')", booleanType);
+            registry.registerPattern(STARTS_AFTER,
+                    RANGE + " >> daterange(null, cast(?3 as date), '[]')", booleanType);
+        } else {
+            registry.registerPattern(CONTAINS, "(?1 <= ?3 and (?2 is null or ?2 >= ?3))", booleanType);
+            registry.registerPattern(OVERLAPS,
+                    "(?1 <= coalesce(?4, ?1) and ?3 <= coalesce(?2, ?3))", booleanType);
+            registry.registerPattern(ENDED_BEFORE, "(?2 is not null and ?2 < ?3)", booleanType);
+            registry.registerPattern(STARTS_AFTER, "(?1 > ?3)", booleanType);
+        }
+    }
+}
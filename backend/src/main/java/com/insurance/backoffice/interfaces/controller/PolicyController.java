@@ -1,5 +1,11 @@
 package com.insurance.backoffice.interfaces.controller;
 
+import com.insurance.backoffice.domain.RenewalJob;
+import com.insurance.backoffice.interfaces.dto.BulkCreatePolicyRequest;
+import com.insurance.backoffice.interfaces.dto.BulkPolicyIssuanceResponse;
+import com.insurance.backoffice.interfaces.dto.RenewalJobResponse;
+import com.insurance.backoffice.interfaces.dto.RenewalThrottleRequest;
+import com.insurance.backoffice.interfaces.dto.StartRenewalRequest;
 import com.insurance.backoffice.interfaces.dto.UpdatePolicyRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,15 +18,22 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for policy management operations.
@@ -35,24 +48,47 @@ public class PolicyController {
     
     private final com.insurance.backoffice.application.service.PolicyService policyService;
     private final com.insurance.backoffice.application.service.PdfService pdfService;
+    private final com.insurance.backoffice.application.service.PolicyQueryService policyQueryService;
+    private final com.insurance.backoffice.application.service.PolicyExportService policyExportService;
+    private final com.insurance.backoffice.application.service.PolicyBulkIssuanceService policyBulkIssuanceService;
+    private final com.insurance.backoffice.application.service.PolicySearchService policySearchService;
+    private final com.insurance.backoffice.application.service.PolicyRenewalService policyRenewalService;
     
     public PolicyController(com.insurance.backoffice.application.service.PolicyService policyService,
-                           com.insurance.backoffice.application.service.PdfService pdfService) {
+                           com.insurance.backoffice.application.service.PdfService pdfService,
+                           com.insurance.backoffice.application.service.PolicyQueryService policyQueryService,
+                           com.insurance.backoffice.application.service.PolicyExportService policyExportService,
+                           com.insurance.backoffice.application.service.PolicyBulkIssuanceService policyBulkIssuanceService,
+                           com.insurance.backoffice.application.service.PolicySearchService policySearchService,
+                           com.insurance.backoffice.application.service.PolicyRenewalService policyRenewalService) {
         this.policyService = policyService;
         this.pdfService = pdfService;
+        this.policyQueryService = policyQueryService;
+        this.policyExportService = policyExportService;
+        this.policyBulkIssuanceService = policyBulkIssuanceService;
+        this.policySearchService = policySearchService;
+        this.policyRenewalService = policyRenewalService;
     }
     
     /**
-     * Retrieves all policies.
-     * Clean Code: Simple endpoint with role-based authorization.
+     * Retrieves one page of active policies.
+     * Clean Code: Simple endpoint with role-based authorization; the next page is linked in headers
+     * so the body stays a plain list.
      * 
-     * @return list of all policies
+     * @param size page size, defaults to the configured page size
+     * @param sort sort order by issue date
+     * @param pageToken token of the next page from a previous response
+     * @param ifNoneMatch entity tags of cached copies of the page
+     * @return one page of active policies, or 304 if a cached copy is current
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('OPERATOR', 'ADMIN')")
     @Operation(
         summary = "Get all policies", 
-        description = "Retrieve all policies in the system. Accessible by Operators and Admins.",
+        description = "Retrieve active policies one page at a time, sorted by issue date. When more policies follow, " +
+                      "the response carries the next page token in the X-Next-Page-Token header and a Link header " +
+                      "with rel=\"next\". Every page carries a strong ETag; sending it back in If-None-Match " +
+                      "answers 304 while the page is unchanged. Accessible by Operators and Admins.",
         responses = {
             @ApiResponse(
                 responseCode = "200", 
@@ -91,16 +127,32 @@ public class PolicyController {
                     )
                 )
             ),
+            @ApiResponse(responseCode = "304", description = "Cached page is current"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or page token"),
             @ApiResponse(responseCode = "403", description = "Access denied - Operator or Admin role required")
         }
     )
-    public ResponseEntity<List<PolicyResponse>> getAllPolicies() {
-        // For now, return active policies - this can be enhanced later with filtering
-        List<com.insurance.backoffice.domain.Policy> policies = policyService.findPoliciesByStatus(com.insurance.backoffice.domain.PolicyStatus.ACTIVE);
-        List<PolicyResponse> policyResponses = policies.stream()
-                .map(this::mapToPolicyResponse)
-                .toList();
-        return ResponseEntity.ok(policyResponses);
+    public ResponseEntity<List<PolicyResponse>> getAllPolicies(
+            @Parameter(description = "Page size, capped at the configured maximum", example = "50")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort order by issue date", example = "NEWEST_FIRST")
+            @RequestParam(defaultValue = "NEWEST_FIRST") com.insurance.backoffice.application.service.PolicySortOrder sort,
+            @Parameter(description = "Next page token from the previous response")
+            @RequestParam(required = false) String pageToken,
+            @Parameter(description = "ETags of cached copies of the page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String eTag = policyQueryService.findPoliciesByStatusETag(
+                    com.insurance.backoffice.domain.PolicyStatus.ACTIVE, size, sort, pageToken);
+            if (matchesAny(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+            com.insurance.backoffice.application.service.PolicyPage page = policyQueryService.findPoliciesByStatus(
+                    com.insurance.backoffice.domain.PolicyStatus.ACTIVE, size, sort, pageToken);
+            return pageResponse(page, eTag);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     /**
@@ -108,13 +160,16 @@ public class PolicyController {
      * Clean Code: RESTful endpoint for single resource retrieval.
      * 
      * @param id policy ID
-     * @return policy details
+     * @param ifNoneMatch entity tags of cached copies of the policy
+     * @return policy details, or 304 if a cached copy is current
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('OPERATOR', 'ADMIN')")
     @Operation(
         summary = "Get policy by ID", 
-        description = "Retrieve a specific policy by its ID. Accessible by Operators and Admins.",
+        description = "Retrieve a specific policy by its ID. The response carries the policy version as a strong " +
+                      "ETag; sending it back in If-None-Match answers 304 while the policy is unchanged, and in " +
+                      "If-Match on update rejects the update if the policy changed. Accessible by Operators and Admins.",
         responses = {
             @ApiResponse(
                 responseCode = "200", 
@@ -140,34 +195,48 @@ public class PolicyController {
                     )
                 )
             ),
+            @ApiResponse(responseCode = "304", description = "Cached policy is current"),
             @ApiResponse(responseCode = "404", description = "Policy not found"),
             @ApiResponse(responseCode = "403", description = "Access denied - Operator or Admin role required")
         }
     )
     public ResponseEntity<PolicyResponse> getPolicyById(
             @Parameter(description = "Policy ID", example = "1", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "ETags of cached copies of the policy")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // A version-only query decides; the policy and its associations load only when it changed.
+            // Tagging the body with this version is safe: a write in between only costs a refetch later
+            String eTag = policyETag(policyService.findPolicyVersion(id));
+            if (matchesAny(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
             com.insurance.backoffice.domain.Policy policy = policyService.findPolicyById(id);
             PolicyResponse policyResponse = mapToPolicyResponse(policy);
-            return ResponseEntity.ok(policyResponse);
+            return ResponseEntity.ok().eTag(eTag).body(policyResponse);
         } catch (com.insurance.backoffice.application.service.EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
     /**
-     * Retrieves policies for a specific client.
+     * Retrieves one page of policies for a specific client.
      * Clean Code: RESTful endpoint with path variable.
      * 
      * @param clientId client ID
-     * @return list of client policies
+     * @param size page size, defaults to the configured page size
+     * @param sort sort order by issue date
+     * @param pageToken token of the next page from a previous response
+     * @param ifNoneMatch entity tags of cached copies of the page
+     * @return one page of client policies, or 304 if a cached copy is current
      */
     @GetMapping("/client/{clientId}")
     @PreAuthorize("hasAnyRole('OPERATOR', 'ADMIN')")
     @Operation(
         summary = "Get policies by client", 
-        description = "Retrieve all policies for a specific client. Accessible by Operators and Admins.",
+        description = "Retrieve the policies of a specific client one page at a time, sorted by issue date. " +
+                      "Paging works as for the policy list. Accessible by Operators and Admins.",
         responses = {
             @ApiResponse(
                 responseCode = "200", 
@@ -195,18 +264,249 @@ public class PolicyController {
                     )
                 )
             ),
+            @ApiResponse(responseCode = "304", description = "Cached page is current"),
+            @ApiResponse(responseCode = "400", description = "Invalid page size or page token"),
             @ApiResponse(responseCode = "404", description = "Client not found"),
             @ApiResponse(responseCode = "403", description = "Access denied - Operator or Admin role required")
         }
     )
     public ResponseEntity<List<PolicyResponse>> getPoliciesByClient(
             @Parameter(description = "Client ID", example = "1", required = true)
-            @PathVariable Long clientId) {
-        List<com.insurance.backoffice.domain.Policy> policies = policyService.findPoliciesByClient(clientId);
-        List<PolicyResponse> policyResponses = policies.stream()
+            @PathVariable Long clientId,
+            @Parameter(description = "Page size, capped at the configured maximum", example = "50")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort order by issue date", example = "NEWEST_FIRST")
+            @RequestParam(defaultValue = "NEWEST_FIRST") com.insurance.backoffice.application.service.PolicySortOrder sort,
+            @Parameter(description = "Next page token from the previous response")
+            @RequestParam(required = false) String pageToken,
+            @Parameter(description = "ETags of cached copies of the page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String eTag = policyQueryService.findPoliciesByClientETag(clientId, size, sort, pageToken);
+            if (matchesAny(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+            com.insurance.backoffice.application.service.PolicyPage page =
+                    policyQueryService.findPoliciesByClient(clientId, size, sort, pageToken);
+            return pageResponse(page, eTag);
+        } catch (com.insurance.backoffice.application.service.EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Retrieves one page of the policies matching any combination of filters.
+     * Clean Code: Optional multi-value filters; only those supplied are queried.
+     * 
+     * @param clientId client IDs, any of which matches
+     * @param vehicleId vehicle IDs, any of which matches
+     * @param status statuses, any of which matches
+     * @param insuranceType insurance types, any of which matches
+     * @param issuedFrom earliest issue date, inclusive
+     * @param issuedTo latest issue date, inclusive
+     * @param size page size, defaults to the configured page size
+     * @param sort sort order by issue date
+     * @param pageToken token of the next page from a previous response
+     * @param ifNoneMatch entity tags of cached copies of the page
+     * @return one page of matching policies, or 304 if a cached copy is current
+     */
+    @GetMapping("/filter")
+    @PreAuthorize("hasAnyRole('OPERATOR', 'ADMIN')")
+    @Operation(
+        summary = "Filter policies", 
+        description = "Retrieve the policies matching any combination of client, vehicle, status, insurance type " +
+                      "and issue date range, one page at a time, sorted by issue date. Each filter is optional and " +
+                      "may be repeated to match any of several values. Paging works as for the policy list. " +
+                      "Accessible by Operators and Admins.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Matching policies retrieved successfully",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = PolicyResponse[].class)
+                )
+            ),
+            @ApiResponse(responseCode = "304", description = "Cached page is current"),
+            @ApiResponse(responseCode = "400", description = "Invalid filters, page size or page token"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Operator or Admin role required")
+        }
+    )
+    public ResponseEntity<List<PolicyResponse>> filterPolicies(
+            @Parameter(description = "Client ID, repeatable", example = "1")
+            @RequestParam(required = false) Set<Long> clientId,
+            @Parameter(description = "Vehicle ID, repeatable", example = "1")
+            @RequestParam(required = false) Set<Long> vehicleId,
+            @Parameter(description = "Policy status, repeatable", example = "ACTIVE")
+            @RequestParam(required = false) Set<com.insurance.backoffice.domain.PolicyStatus> status,
+            @Parameter(description = "Insurance type, repeatable", example = "OC")
+            @RequestParam(required = false) Set<com.insurance.backoffice.domain.InsuranceType> insuranceType,
+            @Parameter(description = "Earliest issue date, inclusive", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate issuedFrom,
+            @Parameter(description = "Latest issue date, inclusive", example = "2024-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate issuedTo,
+            @Parameter(description = "Page size, capped at the configured maximum", example = "50")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort order by issue date", example = "NEWEST_FIRST")
+            @RequestParam(defaultValue = "NEWEST_FIRST") com.insurance.backoffice.application.service.PolicySortOrder sort,
+            @Parameter(description = "Next page token from the previous response")
+            @RequestParam(required = false) String pageToken,
+            @Parameter(description = "ETags of cached copies of the page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            com.insurance.backoffice.domain.PolicySearchCriteria criteria =
+                    new com.insurance.backoffice.domain.PolicySearchCriteria(
+                            clientId, vehicleId, status, insuranceType, issuedFrom, issuedTo);
+            String eTag = policyQueryService.findPoliciesETag(criteria, size, sort, pageToken);
+            if (matchesAny(ifNoneMatch, eTag)) {
+                return notModified(eTag);
+            }
+            com.insurance.backoffice.application.service.PolicyPage page =
+                    policyQueryService.findPolicies(criteria, size, sort, pageToken);
+            return pageResponse(page, eTag);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Searches policies by policy number, client name, PESEL, registration number or VIN.
+     * Clean Code: Ranked results are paged like the listings, with the next page linked in headers.
+     * 
+     * @param q search term
+     * @param size page size, defaults to the configured page size
+     * @param pageToken token of the next page from a previous response
+     * @return one page of matching policies, most relevant first
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('OPERATOR', 'ADMIN')")
+    @Operation(
+        summary = "Search policies", 
+        description = "Search policies by policy number, client name, PESEL, registration number or VIN. " +
+                      "Matches whole words, substrings and near spellings, most relevant first. Paging works " +
+                      "as for the policy list. Accessible by Operators and Admins.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Matching policies retrieved successfully",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = PolicyResponse[].class)
+                )
+            ),
+            @ApiResponse(responseCode = "400", description = "Search term too short or too long, or invalid page size or page token"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Operator or Admin role required")
+        }
+    )
+    public ResponseEntity<List<PolicyResponse>> searchPolicies(
+            @Parameter(description = "Search term, at least 3 characters", example = "kowalski", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Page size, capped at the configured maximum", example = "50")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Next page token from the previous response")
+            @RequestParam(required = false) String pageToken) {
+        try {
+            com.insurance.backoffice.application.service.PolicyPage page =
+                    policySearchService.searchPolicies(q, size, pageToken);
+            return pageResponse(page, null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Exports every policy as NDJSON or CSV.
+     * Clean Code: Streams straight from the database cursor to the response, nothing is buffered.
+     * 
+     * @param format output format
+     * @return streamed export
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('OPERATOR', 'ADMIN')")
+    @Operation(
+        summary = "Export all policies", 
+        description = "Stream every policy, ordered by ID, as NDJSON (one JSON object per line) or CSV with a " +
+                      "header row. Rows are sent as they are read, so the download starts immediately and its " +
+                      "size is not limited by server memory. Accessible by Operators and Admins.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Export streamed successfully",
+                content = {
+                    @Content(mediaType = "application/x-ndjson"),
+                    @Content(mediaType = "text/csv")
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Unknown export format"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Operator or Admin role required")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> exportPolicies(
+            @Parameter(description = "Export format", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") com.insurance.backoffice.application.service.PolicyExportFormat format) {
+        StreamingResponseBody body = outputStream -> policyExportService.export(format, outputStream);
+        String filename = "policies-" + LocalDate.now() + "." + format.getFileExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    /**
+     * Maps a policy page to a list response, linking the next page in headers.
+     */
+    private ResponseEntity<List<PolicyResponse>> pageResponse(com.insurance.backoffice.application.service.PolicyPage page,
+                                                              String eTag) {
+        List<PolicyResponse> policyResponses = page.policies().stream()
                 .map(this::mapToPolicyResponse)
                 .toList();
-        return ResponseEntity.ok(policyResponses);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        if (!page.hasNext()) {
+            return response.body(policyResponses);
+        }
+        String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("pageToken", page.nextPageToken())
+                .toUriString();
+        return response
+                .header("X-Next-Page-Token", page.nextPageToken())
+                .header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"")
+                .body(policyResponses);
+    }
+
+    /**
+     * Strong ETag of a policy: its version, which every write bumps.
+     */
+    private static String policyETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Tells whether a conditional header lists the ETag. Weak tags match their strong counterpart,
+     * as If-None-Match compares weakly, and "*" matches any current representation.
+     */
+    private static boolean matchesAny(String conditionalHeader, String eTag) {
+        if (conditionalHeader == null || conditionalHeader.isBlank()) {
+            return false;
+        }
+        for (String candidate : conditionalHeader.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
     }
     
     /**
@@ -301,19 +601,245 @@ public class PolicyController {
         return ResponseEntity.status(201).body(policyResponse);
     }
     
+    /**
+     * Issues many policies in one call.
+     * Clean Code: Per-item errors are part of the response, so valid items are issued even when others fail.
+     * 
+     * @param request the policies to issue
+     * @return issued policies and rejected items
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('OPERATOR', 'ADMIN')")
+    @Operation(
+        summary = "Issue policies in bulk", 
+        description = "Issue up to the configured maximum of policies in one call, for example for a fleet. " +
+                      "Every item is validated and rated on its own; invalid items are listed in errors by their " +
+                      "0-based position and do not prevent the valid ones from being issued. Returns 201 when " +
+                      "every item was issued and 207 when some were rejected. Accessible by Operators and Admins.",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Policies to issue",
+            required = true,
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BulkCreatePolicyRequest.class),
+                examples = @ExampleObject(
+                    name = "Fleet",
+                    value = """
+                    {
+                      "policies": [
+                        {
+                          "clientId": 1,
+                          "vehicleId": 1,
+                          "insuranceType": "OC",
+                          "startDate": "2024-01-01",
+                          "endDate": "2024-12-31",
+                          "discountSurcharge": 0.00
+                        },
+                        {
+                          "clientId": 1,
+                          "vehicleId": 2,
+                          "insuranceType": "AC",
+                          "startDate": "2024-01-01",
+                          "endDate": "2024-12-31",
+                          "discountSurcharge": -100.00
+                        }
+                      ]
+                    }
+                    """
+                )
+            )
+        ),
+        responses = {
+            @ApiResponse(
+                responseCode = "201", 
+                description = "All policies issued",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = BulkPolicyIssuanceResponse.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "207", 
+                description = "Some policies issued, the rest rejected with per-item errors",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = BulkPolicyIssuanceResponse.class)
+                )
+            ),
+            @ApiResponse(responseCode = "400", description = "No policies or more than the configured maximum"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Operator or Admin role required")
+        }
+    )
+    public ResponseEntity<BulkPolicyIssuanceResponse> issuePolicies(@Valid @RequestBody BulkCreatePolicyRequest request) {
+        try {
+            List<com.insurance.backoffice.application.service.PolicyBulkIssuanceService.BulkPolicyItem> items =
+                request.policies().stream()
+                    .map(item -> item == null ? null
+                        : new com.insurance.backoffice.application.service.PolicyBulkIssuanceService.BulkPolicyItem(
+                            item.clientId(),
+                            item.vehicleId(),
+                            item.insuranceType(),
+                            item.startDate(),
+                            item.endDate(),
+                            item.discountSurcharge(),
+                            item.amountGuaranteed(),
+                            item.coverageArea()))
+                    .toList();
+            com.insurance.backoffice.application.service.PolicyBulkIssuanceService.BulkIssuanceResult result =
+                policyBulkIssuanceService.issuePolicies(items);
+            HttpStatus status = result.hasErrors() ? HttpStatus.MULTI_STATUS : HttpStatus.CREATED;
+            return ResponseEntity.status(status).body(BulkPolicyIssuanceResponse.fromResult(result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Starts quoting renewals for ACTIVE policies ending within a window.
+     * The job runs in the background; poll it to follow progress, pause or throttle it while it runs.
+     * Available to Admin users only.
+     * 
+     * @param request expiry window, optional insurance type and optional rate limit
+     * @return the created job
+     */
+    @PostMapping("/renewal-jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Start a renewal quote job", 
+        description = "Quotes renewals for ACTIVE policies ending within the window in resumable chunks, " +
+                      "rated in parallel against one rating snapshot and written as renewal offers. " +
+                      "Admin only.",
+        responses = {
+            @ApiResponse(responseCode = "202", description = "Renewal job started"),
+            @ApiResponse(responseCode = "400", description = "Missing or reversed window, or non-positive rate limit"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required"),
+            @ApiResponse(responseCode = "409", description = "Another renewal job is running")
+        }
+    )
+    public ResponseEntity<RenewalJobResponse> startRenewalJob(@Valid @RequestBody StartRenewalRequest request) {
+        try {
+            RenewalJob job = policyRenewalService.startJob(request.insuranceType(), request.expiringFrom(),
+                    request.expiringTo(), request.maxRowsPerSecond());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(RenewalJobResponse.fromJob(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Gets the progress of a renewal job.
+     * Available to Admin users only.
+     * 
+     * @param id renewal job ID
+     * @return the job
+     */
+    @GetMapping("/renewal-jobs/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get renewal job", 
+               description = "Retrieves status, checkpoint, rate limit, throughput and offer totals of a renewal job")
+    public ResponseEntity<RenewalJobResponse> getRenewalJob(
+            @Parameter(description = "Renewal job ID")
+            @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(RenewalJobResponse.fromJob(policyRenewalService.findJob(id)));
+        } catch (com.insurance.backoffice.application.service.EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Pauses a renewal job after its current chunk.
+     * Available to Admin users only.
+     * 
+     * @param id renewal job ID
+     * @return the job
+     */
+    @PostMapping("/renewal-jobs/{id}/pause")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Pause renewal job", 
+               description = "Stops a renewal job after its current chunk is committed; resume continues from there")
+    public ResponseEntity<RenewalJobResponse> pauseRenewalJob(
+            @Parameter(description = "Renewal job ID")
+            @PathVariable Long id) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(RenewalJobResponse.fromJob(policyRenewalService.pauseJob(id)));
+        } catch (com.insurance.backoffice.application.service.EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Resumes a paused, failed or interrupted renewal job from its last checkpoint.
+     * Available to Admin users only.
+     * 
+     * @param id renewal job ID
+     * @return the job
+     */
+    @PostMapping("/renewal-jobs/{id}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Resume renewal job", 
+               description = "Continues a paused, failed or interrupted renewal job after the last committed chunk")
+    public ResponseEntity<RenewalJobResponse> resumeRenewalJob(
+            @Parameter(description = "Renewal job ID")
+            @PathVariable Long id) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(RenewalJobResponse.fromJob(policyRenewalService.resumeJob(id)));
+        } catch (com.insurance.backoffice.application.service.EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Changes the rate limit of a renewal job, also while it runs.
+     * Available to Admin users only.
+     * 
+     * @param id renewal job ID
+     * @param request the new limit, or null to lift it
+     * @return the job with the new limit
+     */
+    @PutMapping("/renewal-jobs/{id}/throttle")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Throttle renewal job", 
+               description = "Sets the policies-per-second limit of a renewal job, applied from its next chunk; " +
+                             "an empty limit lets the job run at full speed")
+    public ResponseEntity<RenewalJobResponse> throttleRenewalJob(
+            @Parameter(description = "Renewal job ID")
+            @PathVariable Long id,
+            @Valid @RequestBody RenewalThrottleRequest request) {
+        try {
+            return ResponseEntity.ok(RenewalJobResponse.fromJob(
+                    policyRenewalService.throttleJob(id, request.maxRowsPerSecond())));
+        } catch (com.insurance.backoffice.application.service.EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     /**
      * Updates an existing policy.
      * Clean Code: PUT endpoint for policy updates.
      * 
      * @param id policy ID
      * @param request policy update request
+     * @param ifMatch ETag of the policy version the update is based on
      * @return updated policy details
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('OPERATOR', 'ADMIN')")
     @Operation(
         summary = "Update policy", 
-        description = "Update an existing insurance policy. Accessible by Operators and Admins.",
+        description = "Update an existing insurance policy. With an If-Match header holding the policy ETag, the " +
+                      "update is rejected with 412 if the policy changed since; without it, a concurrent update " +
+                      "is rejected with 409. Accessible by Operators and Admins.",
         requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "Policy update data",
             required = true,
@@ -359,13 +885,18 @@ public class PolicyController {
             ),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
             @ApiResponse(responseCode = "404", description = "Policy not found"),
+            @ApiResponse(responseCode = "409", description = "Policy was updated concurrently"),
+            @ApiResponse(responseCode = "412", description = "Policy changed since the If-Match version"),
             @ApiResponse(responseCode = "403", description = "Access denied - Operator or Admin role required")
         }
     )
     public ResponseEntity<PolicyResponse> updatePolicy(
             @Parameter(description = "Policy ID", example = "1", required = true)
             @PathVariable Long id,
-            @Valid @RequestBody UpdatePolicyRequest request) {
+            @Valid @RequestBody UpdatePolicyRequest request,
+            @Parameter(description = "ETag of the policy version the update is based on", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean conditional = ifMatch != null && !ifMatch.isBlank();
         try {
             com.insurance.backoffice.domain.Policy updatedPolicy = policyService.updatePolicy(
                 id,
@@ -373,17 +904,43 @@ public class PolicyController {
                 request.endDate(),
                 request.discountSurcharge(),
                 request.amountGuaranteed(),
-                request.coverageArea()
+                request.coverageArea(),
+                conditional ? expectedVersion(ifMatch) : null
             );
             PolicyResponse policyResponse = mapToPolicyResponse(updatedPolicy);
-            return ResponseEntity.ok(policyResponse);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (updatedPolicy.getVersion() != null) {
+                response.eTag(policyETag(updatedPolicy.getVersion()));
+            }
+            return response.body(policyResponse);
         } catch (com.insurance.backoffice.application.service.EntityNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(conditional ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException | IllegalStateException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Reads the policy version from an If-Match header. "*" accepts any version; a weak or foreign
+     * tag never matches, as If-Match compares strongly.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not a policy version tag, so it matches no version
+            }
+        }
+        throw new OptimisticLockingFailureException("If-Match does not name a policy version: " + tag);
+    }
+
     /**
      * Generates PDF for a policy.
      * Clean Code: POST endpoint for PDF generation action.
@@ -619,6 +1176,27 @@ public class PolicyController {
         Integer power
     ) {}
     
+    /**
+     * Maps a listed PolicySummary to PolicyResponse DTO.
+     * Clean Code: Plain field copy - the summary already carries client name and vehicle registration.
+     */
+    private PolicyResponse mapToPolicyResponse(com.insurance.backoffice.domain.PolicySummary policy) {
+        return new PolicyResponse(
+            policy.id(),
+            policy.policyNumber(),
+            policy.clientName(),
+            policy.vehicleRegistration(),
+            policy.insuranceType(),
+            policy.startDate(),
+            policy.endDate(),
+            policy.premium(),
+            policy.discountSurcharge(),
+            policy.amountGuaranteed(),
+            policy.coverageArea(),
+            policy.status()
+        );
+    }
+    
     /**
      * Maps Policy entity to PolicyResponse DTO.
      * Clean Code: Extracted mapping logic for reusability.
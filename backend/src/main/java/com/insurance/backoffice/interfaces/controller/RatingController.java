@@ -1,19 +1,51 @@
 package com.insurance.backoffice.interfaces.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.backoffice.application.service.EntityNotFoundException;
+import com.insurance.backoffice.application.service.PolicyRepricingService;
+import com.insurance.backoffice.application.service.PremiumCalculationException;
+import com.insurance.backoffice.application.service.QuoteService;
+import com.insurance.backoffice.application.service.QuoteService.BatchSummary;
+import com.insurance.backoffice.application.service.QuoteService.QuoteItem;
+import com.insurance.backoffice.application.service.RatingDayRollover;
 import com.insurance.backoffice.application.service.RatingService;
+import com.insurance.backoffice.application.service.RatingSimulationService;
+import com.insurance.backoffice.application.service.RatingTableImportService;
 import com.insurance.backoffice.application.service.RatingValidationService;
 import com.insurance.backoffice.domain.InsuranceType;
 import com.insurance.backoffice.domain.RatingTable;
+import com.insurance.backoffice.domain.RepricingJob;
+import com.insurance.backoffice.interfaces.dto.BatchQuoteRequest;
+import com.insurance.backoffice.interfaces.dto.BatchQuoteSummaryResponse;
+import com.insurance.backoffice.interfaces.dto.CandidateRatingTableRequest;
+import com.insurance.backoffice.interfaces.dto.PremiumSegmentResponse;
+import com.insurance.backoffice.interfaces.dto.PremiumTimelineRequest;
+import com.insurance.backoffice.interfaces.dto.QuoteResponse;
+import com.insurance.backoffice.interfaces.dto.RatingSimulationRequest;
+import com.insurance.backoffice.interfaces.dto.RatingSimulationResponse;
+import com.insurance.backoffice.interfaces.dto.RatingTableImportResponse;
+import com.insurance.backoffice.interfaces.dto.RepricingJobResponse;
+import com.insurance.backoffice.interfaces.dto.StartRepricingRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for rating system operations.
@@ -26,11 +58,27 @@ public class RatingController {
     
     private final RatingService ratingService;
     private final RatingValidationService ratingValidationService;
+    private final QuoteService quoteService;
+    private final PolicyRepricingService policyRepricingService;
+    private final RatingSimulationService ratingSimulationService;
+    private final RatingTableImportService ratingTableImportService;
+    private final RatingDayRollover ratingDayRollover;
+    private final ObjectMapper objectMapper;
     
     @Autowired
-    public RatingController(RatingService ratingService, RatingValidationService ratingValidationService) {
+    public RatingController(RatingService ratingService, RatingValidationService ratingValidationService,
+                            QuoteService quoteService, PolicyRepricingService policyRepricingService,
+                            RatingSimulationService ratingSimulationService,
+                            RatingTableImportService ratingTableImportService,
+                            RatingDayRollover ratingDayRollover, ObjectMapper objectMapper) {
         this.ratingService = ratingService;
         this.ratingValidationService = ratingValidationService;
+        this.quoteService = quoteService;
+        this.policyRepricingService = policyRepricingService;
+        this.ratingSimulationService = ratingSimulationService;
+        this.ratingTableImportService = ratingTableImportService;
+        this.ratingDayRollover = ratingDayRollover;
+        this.objectMapper = objectMapper;
     }
     
     /**
@@ -45,7 +93,7 @@ public class RatingController {
             @Parameter(description = "Insurance type (OC, AC, NNW)")
             @PathVariable InsuranceType insuranceType) {
         
-        List<RatingTable> ratingTables = ratingService.getCurrentRatingTables(insuranceType);
+        List<RatingTable> ratingTables = ratingDayRollover.getCurrentRatingTables(insuranceType);
         return ResponseEntity.ok(ratingTables);
     }
     
@@ -66,4 +114,205 @@ public class RatingController {
         List<RatingTable> ratingTables = ratingService.getRatingTablesForDate(insuranceType, date);
         return ResponseEntity.ok(ratingTables);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Prices a batch of quotes without creating policies.
+     * Results are streamed as newline-delimited JSON in completion order, one quote per line,
+     * followed by a final line holding the batch summary.
+     * Available to both Admin and Operator users.
+     */
+    @PostMapping(value = "/quotes", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATOR')")
+    @Operation(summary = "Calculate a batch of quotes", 
+               description = "Prices every quote against one rating snapshot and streams results as NDJSON. " +
+                       "Each line is a quote result; the last line is {\"summary\": {...}} with throughput metrics")
+    public ResponseEntity<StreamingResponseBody> calculateQuotes(@Valid @RequestBody BatchQuoteRequest request) {
+        // A null entry stays null, so the quote service reports it as a failed quote of the batch
+        List<QuoteItem> items = request.quotes().stream()
+                .map(quote -> quote != null ? quote.toQuoteItem() : null)
+                .toList();
+        try {
+            quoteService.validateBatch(items);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            try {
+                BatchSummary summary = quoteService.quote(items,
+                        result -> writeLine(outputStream, QuoteResponse.fromResult(result)));
+                writeLine(outputStream, Map.of("summary", BatchQuoteSummaryResponse.fromSummary(summary)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
+    /**
+     * Gets how a vehicle's premium changes over the coming months.
+     * Available to both Admin and Operator users.
+     */
+    @PostMapping("/premium-timeline")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('OPERATOR')")
+    @Operation(summary = "Calculate premium timeline", 
+               description = "Returns consecutive date segments with a constant premium, evaluated only at " +
+                       "rating table validity boundaries and registration anniversaries")
+    public ResponseEntity<List<PremiumSegmentResponse>> calculatePremiumTimeline(
+            @Valid @RequestBody PremiumTimelineRequest request) {
+        try {
+            List<PremiumSegmentResponse> segments = ratingService.calculatePremiumTimeline(
+                    request.insuranceType(), request.toVehicle(), request.from(), request.to()).stream()
+                    .map(PremiumSegmentResponse::fromSegment)
+                    .toList();
+            return ResponseEntity.ok(segments);
+        } catch (IllegalArgumentException | PremiumCalculationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Imports rating table rows from a CSV stream in one validated batch.
+     * Admin only, as it changes the tariff.
+     */
+    @PostMapping(value = "/tables/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import rating tables from CSV", 
+               description = "Imports rows with the header insuranceType,ratingKey,multiplier,validFrom,validTo. " +
+                       "Nothing is imported if any row is invalid or overlaps another row or a stored entry")
+    public ResponseEntity<RatingTableImportResponse> importRatingTablesCsv(InputStream body) {
+        try {
+            return importResponse(ratingTableImportService.importCsv(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent change created an overlap rejected by the validity exclusion constraint
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Imports rating table rows from a JSON array stream in one validated batch.
+     * Admin only, as it changes the tariff.
+     */
+    @PostMapping(value = "/tables/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import rating tables from JSON", 
+               description = "Imports a JSON array of rating table rows. " +
+                       "Nothing is imported if any row is invalid or overlaps another row or a stored entry")
+    public ResponseEntity<RatingTableImportResponse> importRatingTablesJson(InputStream body) {
+        try {
+            return importResponse(ratingTableImportService.importJson(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent change created an overlap rejected by the validity exclusion constraint
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    private ResponseEntity<RatingTableImportResponse> importResponse(RatingTableImportService.ImportResult result) {
+        RatingTableImportResponse response = RatingTableImportResponse.fromResult(result);
+        if (!result.isSuccessful()) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * Simulates candidate rating tables against every active policy without persisting them.
+     * Available to Admin users only.
+     */
+    @PostMapping("/simulations")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Simulate candidate rating tables", 
+               description = "Reprices all active policies with the candidate rows in memory and returns the " +
+                       "premium delta distribution by insurance type, vehicle age bucket and engine band")
+    public ResponseEntity<RatingSimulationResponse> simulateRatingTables(
+            @Valid @RequestBody RatingSimulationRequest request) {
+        try {
+            List<RatingTable> candidates = request.candidates().stream()
+                    .map(CandidateRatingTableRequest::toRatingTable)
+                    .toList();
+            RatingSimulationService.SimulationResult result = ratingSimulationService.simulate(
+                    candidates, request.effectiveDate(), request.insuranceType());
+            return ResponseEntity.ok(RatingSimulationResponse.fromResult(result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Starts repricing ACTIVE policies against the current rating tables.
+     * The job runs in the background; poll its status to follow progress.
+     * Available to Admin users only.
+     */
+    @PostMapping("/repricing-jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Start a portfolio repricing job", 
+               description = "Reprices ACTIVE policies starting on or after the effective date in resumable chunks")
+    public ResponseEntity<RepricingJobResponse> startRepricingJob(@Valid @RequestBody StartRepricingRequest request) {
+        try {
+            RepricingJob job = policyRepricingService.startJob(request.insuranceType(), request.effectiveFrom());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(RepricingJobResponse.fromJob(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Gets the progress of a repricing job.
+     * Available to Admin users only.
+     */
+    @GetMapping("/repricing-jobs/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get repricing job", 
+               description = "Retrieves status, checkpoint, throughput and premium delta totals of a repricing job")
+    public ResponseEntity<RepricingJobResponse> getRepricingJob(
+            @Parameter(description = "Repricing job ID")
+            @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(RepricingJobResponse.fromJob(policyRepricingService.findJob(id)));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Resumes a failed or interrupted repricing job from its last checkpoint.
+     * Available to Admin users only.
+     */
+    @PostMapping("/repricing-jobs/{id}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Resume repricing job", 
+               description = "Continues a failed or interrupted repricing job after the last committed chunk")
+    public ResponseEntity<RepricingJobResponse> resumeRepricingJob(
+            @Parameter(description = "Repricing job ID")
+            @PathVariable Long id) {
+        try {
+            RepricingJob job = policyRepricingService.resumeJob(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(RepricingJobResponse.fromJob(job));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    /**
+     * Writes one NDJSON line and flushes it so the client sees results as they complete.
+     */
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.insurance.backoffice.interfaces.controller;
+
+import com.insurance.backoffice.interfaces.dto.SyncResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for delta sync of policies, clients and vehicles.
+ * Clean Code: Thin controller focused on HTTP concerns with role-based security.
+ * Accessible by both Operators and Admins.
+ */
+@RestController
+@RequestMapping("/api/sync")
+@Tag(name = "Sync", description = "Incremental sync of policies, clients and vehicles (Operator/Admin)")
+@SecurityRequirement(name = "Bearer Authentication")
+public class SyncController {
+    
+    private final com.insurance.backoffice.application.service.SyncService syncService;
+    
+    public SyncController(com.insurance.backoffice.application.service.SyncService syncService) {
+        this.syncService = syncService;
+    }
+    
+    /**
+     * Retrieves the policies, clients and vehicles changed since a sync token.
+     * Clean Code: Clients fetch only what changed instead of reloading whole lists.
+     * 
+     * @param since token from the previous sync, absent for the first one
+     * @return changed rows and the token for the next sync
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('OPERATOR', 'ADMIN')")
+    @Operation(
+        summary = "Sync changes", 
+        description = "Retrieve the policies, clients and vehicles created or changed since the token of the " +
+                      "previous sync, including canceled and expired policies. Without a token every row is " +
+                      "returned. Each response carries the token for the next sync; when hasMore is true, sync " +
+                      "again at once to receive the rest. Accessible by Operators and Admins.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Changes retrieved successfully",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = SyncResponse.class)
+                )
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid sync token"),
+            @ApiResponse(responseCode = "403", description = "Access denied - Operator or Admin role required")
+        }
+    )
+    public ResponseEntity<SyncResponse> sync(
+            @Parameter(description = "Token from the previous sync")
+            @RequestParam(required = false) String since) {
+        try {
+            return ResponseEntity.ok(SyncResponse.fromChangeSet(syncService.changesSince(since)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
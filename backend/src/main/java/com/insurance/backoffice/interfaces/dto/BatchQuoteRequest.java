@@ -0,0 +1,15 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request DTO for pricing a batch of quotes.
+ */
+public record BatchQuoteRequest(
+        @NotEmpty(message = "At least one quote is required")
+        List<@Valid QuoteRequest> quotes
+) {
+}
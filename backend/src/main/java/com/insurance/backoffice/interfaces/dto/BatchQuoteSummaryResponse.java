@@ -0,0 +1,26 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.application.service.QuoteService.BatchSummary;
+
+/**
+ * Response DTO for the throughput summary that closes a batch quote stream.
+ */
+public record BatchQuoteSummaryResponse(
+        int requested,
+        int succeeded,
+        int failed,
+        long ratingSnapshotVersion,
+        long elapsedMillis,
+        double quotesPerSecond
+) {
+    public static BatchQuoteSummaryResponse fromSummary(BatchSummary summary) {
+        return new BatchQuoteSummaryResponse(
+                summary.requested(),
+                summary.succeeded(),
+                summary.failed(),
+                summary.snapshotVersion(),
+                summary.elapsedMillis(),
+                summary.quotesPerSecond()
+        );
+    }
+}
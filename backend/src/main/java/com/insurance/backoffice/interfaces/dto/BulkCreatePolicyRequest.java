@@ -0,0 +1,34 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request DTO for issuing many policies in one call.
+ * Items are deliberately not bean-validated: each one is checked by the service, so an invalid
+ * item is reported by its position instead of rejecting the whole request.
+ */
+public record BulkCreatePolicyRequest(
+        @NotEmpty(message = "At least one policy is required")
+        List<Item> policies
+) {
+
+    /**
+     * One policy to issue.
+     */
+    public record Item(
+            Long clientId,
+            Long vehicleId,
+            InsuranceType insuranceType,
+            LocalDate startDate,
+            LocalDate endDate,
+            BigDecimal discountSurcharge,
+            BigDecimal amountGuaranteed,
+            String coverageArea
+    ) {
+    }
+}
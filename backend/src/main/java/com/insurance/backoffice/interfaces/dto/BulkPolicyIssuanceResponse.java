@@ -0,0 +1,29 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.application.service.PolicyBulkIssuanceService.BulkIssuanceResult;
+import com.insurance.backoffice.application.service.PolicyBulkIssuanceService.IssuedPolicy;
+import com.insurance.backoffice.application.service.PolicyBulkIssuanceService.ItemError;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk policy issuance.
+ * Indexes are 0-based positions in the request's policy list.
+ */
+public record BulkPolicyIssuanceResponse(
+        int received,
+        int issued,
+        int rejected,
+        List<IssuedPolicy> policies,
+        List<ItemError> errors
+) {
+    public static BulkPolicyIssuanceResponse fromResult(BulkIssuanceResult result) {
+        return new BulkPolicyIssuanceResponse(
+                result.received(),
+                result.issued(),
+                result.errors().size(),
+                result.policies(),
+                result.errors()
+        );
+    }
+}
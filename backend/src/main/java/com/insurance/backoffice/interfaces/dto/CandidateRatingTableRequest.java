@@ -0,0 +1,45 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Request DTO for a rating table row that is simulated but not persisted.
+ */
+public record CandidateRatingTableRequest(
+        @NotNull(message = "Insurance type is required")
+        InsuranceType insuranceType,
+
+        @NotBlank(message = "Rating key is required")
+        String ratingKey,
+
+        @NotNull(message = "Multiplier is required")
+        @Positive(message = "Multiplier must be positive")
+        BigDecimal multiplier,
+
+        @NotNull(message = "Valid from date is required")
+        LocalDate validFrom,
+
+        LocalDate validTo
+) {
+    /**
+     * Converts the request into a transient rating table row.
+     *
+     * @throws IllegalArgumentException if the row is invalid
+     */
+    public RatingTable toRatingTable() {
+        return RatingTable.builder()
+                .insuranceType(insuranceType)
+                .ratingKey(ratingKey)
+                .multiplier(multiplier)
+                .validFrom(validFrom)
+                .validTo(validTo)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.application.service.RatingSimulationService.DeltaBucket;
+import com.insurance.backoffice.domain.EngineCapacityBand;
+import com.insurance.backoffice.domain.InsuranceType;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for the premium deltas of one rating bucket of a simulation.
+ */
+public record DeltaBucketResponse(
+        InsuranceType insuranceType,
+        int vehicleAgeBucket,
+        EngineCapacityBand engineBand,
+        long policies,
+        long increased,
+        long decreased,
+        long unchanged,
+        BigDecimal currentPremiumTotal,
+        BigDecimal deltaTotal,
+        BigDecimal minDelta,
+        BigDecimal maxDelta
+) {
+    public static DeltaBucketResponse fromBucket(DeltaBucket bucket) {
+        return new DeltaBucketResponse(
+                bucket.insuranceType(),
+                bucket.vehicleAgeBucket(),
+                bucket.engineBand(),
+                bucket.policies(),
+                bucket.increased(),
+                bucket.decreased(),
+                bucket.unchanged(),
+                bucket.currentPremiumTotal(),
+                bucket.deltaTotal(),
+                bucket.minDelta(),
+                bucket.maxDelta()
+        );
+    }
+}
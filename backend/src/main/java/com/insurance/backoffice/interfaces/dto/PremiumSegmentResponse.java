@@ -0,0 +1,20 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.application.service.RatingService.PremiumSegment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Response DTO for one segment of a premium timeline.
+ * Both dates are inclusive; the premium is constant in between.
+ */
+public record PremiumSegmentResponse(
+        LocalDate from,
+        LocalDate to,
+        BigDecimal premium
+) {
+    public static PremiumSegmentResponse fromSegment(PremiumSegment segment) {
+        return new PremiumSegmentResponse(segment.from(), segment.to(), segment.premium());
+    }
+}
@@ -0,0 +1,50 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.Vehicle;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for the premium timeline of a vehicle over the next months.
+ */
+public record PremiumTimelineRequest(
+        @NotNull(message = "Insurance type is required")
+        InsuranceType insuranceType,
+
+        @NotNull(message = "Engine capacity is required")
+        @Positive(message = "Engine capacity must be positive")
+        Integer engineCapacity,
+
+        @NotNull(message = "Power is required")
+        @Positive(message = "Power must be positive")
+        Integer power,
+
+        @NotNull(message = "First registration date is required")
+        LocalDate firstRegistrationDate,
+
+        @NotNull(message = "Start date is required")
+        LocalDate from,
+
+        @NotNull(message = "Number of months is required")
+        @Positive(message = "Number of months must be positive")
+        @Max(value = 120, message = "Number of months cannot exceed 120")
+        Integer months
+) {
+    /**
+     * Returns the vehicle described by the request's rating attributes.
+     */
+    public Vehicle toVehicle() {
+        return Vehicle.forRating(engineCapacity, power, firstRegistrationDate);
+    }
+
+    /**
+     * Returns the last day covered by the timeline.
+     */
+    public LocalDate to() {
+        return from.plusMonths(months).minusDays(1);
+    }
+}
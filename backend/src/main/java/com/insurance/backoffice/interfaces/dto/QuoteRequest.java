@@ -0,0 +1,45 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.application.service.QuoteService.QuoteItem;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.Vehicle;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for a single quote of a batch.
+ * The vehicle is referenced by ID or described inline by its rating attributes.
+ */
+public record QuoteRequest(
+        @NotNull(message = "Insurance type is required")
+        InsuranceType insuranceType,
+
+        Long vehicleId,
+
+        @Positive(message = "Engine capacity must be positive")
+        Integer engineCapacity,
+
+        @Positive(message = "Power must be positive")
+        Integer power,
+
+        LocalDate firstRegistrationDate,
+
+        @NotNull(message = "Policy date is required")
+        LocalDate policyDate
+) {
+    /**
+     * Converts the request into a quote item for the quote service.
+     */
+    public QuoteItem toQuoteItem() {
+        if (vehicleId != null) {
+            return QuoteItem.forVehicleId(insuranceType, vehicleId, policyDate);
+        }
+        if (engineCapacity == null && power == null && firstRegistrationDate == null) {
+            return new QuoteItem(insuranceType, null, null, policyDate);
+        }
+        Vehicle vehicle = Vehicle.forRating(engineCapacity, power, firstRegistrationDate);
+        return QuoteItem.forVehicle(insuranceType, vehicle, policyDate);
+    }
+}
@@ -0,0 +1,37 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.application.service.QuoteService.QuoteResult;
+import com.insurance.backoffice.application.service.RatingService.PremiumBreakdown;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Response DTO for a single quote of a batch.
+ * Successful quotes carry the premium breakdown, failed quotes carry the error message.
+ */
+public record QuoteResponse(
+        int index,
+        String insuranceType,
+        Long vehicleId,
+        LocalDate policyDate,
+        BigDecimal basePremium,
+        Map<String, BigDecimal> ratingFactors,
+        BigDecimal premium,
+        String error
+) {
+    public static QuoteResponse fromResult(QuoteResult result) {
+        PremiumBreakdown breakdown = result.breakdown();
+        return new QuoteResponse(
+                result.index(),
+                result.insuranceType() != null ? result.insuranceType().name() : null,
+                result.vehicleId(),
+                result.policyDate(),
+                breakdown != null ? breakdown.getBasePremium() : null,
+                breakdown != null ? breakdown.getRatingFactors() : null,
+                breakdown != null ? breakdown.getFinalPremium() : null,
+                result.error()
+        );
+    }
+}
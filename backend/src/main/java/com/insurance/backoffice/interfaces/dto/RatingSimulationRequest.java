@@ -0,0 +1,21 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request DTO for a what-if rating simulation over the active portfolio.
+ * Without an effective date, premiums are compared on the earliest candidate start date.
+ */
+public record RatingSimulationRequest(
+        @NotEmpty(message = "At least one candidate rating table is required")
+        List<@Valid CandidateRatingTableRequest> candidates,
+
+        LocalDate effectiveDate,
+
+        InsuranceType insuranceType
+) {}
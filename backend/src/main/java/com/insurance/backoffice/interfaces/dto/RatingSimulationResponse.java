@@ -0,0 +1,38 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.application.service.RatingSimulationService.SimulationResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for a what-if rating simulation: portfolio totals and the delta distribution.
+ */
+public record RatingSimulationResponse(
+        LocalDate ratingDate,
+        int candidateCount,
+        long policyCount,
+        long increased,
+        long decreased,
+        long unchanged,
+        BigDecimal currentPremiumTotal,
+        BigDecimal deltaTotal,
+        long elapsedMillis,
+        List<DeltaBucketResponse> buckets
+) {
+    public static RatingSimulationResponse fromResult(SimulationResult result) {
+        return new RatingSimulationResponse(
+                result.ratingDate(),
+                result.candidateCount(),
+                result.policyCount(),
+                result.increased(),
+                result.decreased(),
+                result.unchanged(),
+                result.currentPremiumTotal(),
+                result.deltaTotal(),
+                result.elapsedMillis(),
+                result.buckets().stream().map(DeltaBucketResponse::fromBucket).toList()
+        );
+    }
+}
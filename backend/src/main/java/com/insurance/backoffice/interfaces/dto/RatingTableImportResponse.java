@@ -0,0 +1,20 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.application.service.RatingTableImportService.ImportError;
+import com.insurance.backoffice.application.service.RatingTableImportService.ImportResult;
+
+import java.util.List;
+
+/**
+ * Response DTO for a rating table bulk import.
+ * Rows are only imported when the error list is empty.
+ */
+public record RatingTableImportResponse(
+        int received,
+        int imported,
+        List<ImportError> errors
+) {
+    public static RatingTableImportResponse fromResult(ImportResult result) {
+        return new RatingTableImportResponse(result.received(), result.imported(), result.errors());
+    }
+}
@@ -0,0 +1,51 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RenewalJob;
+import com.insurance.backoffice.domain.RenewalJobStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for renewal job progress and offer totals.
+ */
+public record RenewalJobResponse(
+        Long id,
+        RenewalJobStatus status,
+        InsuranceType insuranceType,
+        LocalDate expiringFrom,
+        LocalDate expiringTo,
+        Integer maxRowsPerSecond,
+        Long ratingSnapshotVersion,
+        LocalDate lastEndDate,
+        Long lastPolicyId,
+        Long processedCount,
+        Long offeredCount,
+        Long skippedCount,
+        double rowsPerSecond,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt,
+        String errorMessage
+) {
+    public static RenewalJobResponse fromJob(RenewalJob job) {
+        return new RenewalJobResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getInsuranceType(),
+                job.getExpiringFrom(),
+                job.getExpiringTo(),
+                job.getMaxRowsPerSecond(),
+                job.getSnapshotVersion(),
+                job.getLastEndDate(),
+                job.getLastPolicyId(),
+                job.getProcessedCount(),
+                job.getOfferedCount(),
+                job.getSkippedCount(),
+                job.getRowsPerSecond(),
+                job.getStartedAt(),
+                job.getCompletedAt(),
+                job.getErrorMessage()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Request DTO for changing the rate limit of a renewal job; a null limit lifts it.
+ */
+public record RenewalThrottleRequest(
+        @Positive(message = "Rate limit must be positive")
+        Integer maxRowsPerSecond
+) {}
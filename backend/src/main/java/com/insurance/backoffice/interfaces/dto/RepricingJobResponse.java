@@ -0,0 +1,50 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RepricingJob;
+import com.insurance.backoffice.domain.RepricingJobStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for repricing job progress and premium delta totals.
+ */
+public record RepricingJobResponse(
+        Long id,
+        RepricingJobStatus status,
+        InsuranceType insuranceType,
+        LocalDate effectiveFrom,
+        Long ratingSnapshotVersion,
+        Long lastPolicyId,
+        Long processedCount,
+        Long updatedCount,
+        BigDecimal premiumIncreaseTotal,
+        BigDecimal premiumDecreaseTotal,
+        BigDecimal netPremiumDelta,
+        double rowsPerSecond,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt,
+        String errorMessage
+) {
+    public static RepricingJobResponse fromJob(RepricingJob job) {
+        return new RepricingJobResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getInsuranceType(),
+                job.getEffectiveFrom(),
+                job.getSnapshotVersion(),
+                job.getLastPolicyId(),
+                job.getProcessedCount(),
+                job.getUpdatedCount(),
+                job.getPremiumIncreaseTotal(),
+                job.getPremiumDecreaseTotal(),
+                job.getNetPremiumDelta(),
+                job.getRowsPerSecond(),
+                job.getStartedAt(),
+                job.getCompletedAt(),
+                job.getErrorMessage()
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for starting a bulk renewal quote job.
+ * Without an insurance type, expiring ACTIVE policies of every type are quoted; without a rate
+ * limit, the configured default applies.
+ */
+public record StartRenewalRequest(
+        InsuranceType insuranceType,
+        
+        @NotNull(message = "Expiring from date is required")
+        LocalDate expiringFrom,
+        
+        @NotNull(message = "Expiring to date is required")
+        LocalDate expiringTo,
+        
+        @Positive(message = "Rate limit must be positive")
+        Integer maxRowsPerSecond
+) {}
@@ -0,0 +1,17 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for starting a portfolio repricing job.
+ * Without an insurance type, ACTIVE policies of every type are repriced.
+ */
+public record StartRepricingRequest(
+        InsuranceType insuranceType,
+        
+        @NotNull(message = "Effective from date is required")
+        LocalDate effectiveFrom
+) {}
@@ -0,0 +1,31 @@
+package com.insurance.backoffice.interfaces.dto;
+
+import com.insurance.backoffice.application.service.SyncService.ChangeSet;
+import com.insurance.backoffice.application.service.SyncService.ClientChange;
+import com.insurance.backoffice.application.service.SyncService.PolicyChange;
+import com.insurance.backoffice.application.service.SyncService.VehicleChange;
+
+import java.util.List;
+
+/**
+ * Response DTO for a delta sync.
+ * Rows are the current state of everything created or changed since the request's token; the client
+ * replaces its copies by ID and syncs again with the returned token, at once while more changes follow.
+ */
+public record SyncResponse(
+        List<PolicyChange> policies,
+        List<ClientChange> clients,
+        List<VehicleChange> vehicles,
+        String nextToken,
+        boolean hasMore
+) {
+    public static SyncResponse fromChangeSet(ChangeSet changes) {
+        return new SyncResponse(
+                changes.policies(),
+                changes.clients(),
+                changes.vehicles(),
+                changes.nextToken(),
+                changes.hasMore()
+        );
+    }
+}
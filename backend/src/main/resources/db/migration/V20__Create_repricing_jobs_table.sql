@@ -0,0 +1,31 @@
+-- Create repricing jobs table
+-- Migration: V20__Create_repricing_jobs_table.sql
+-- Description: Checkpoints of portfolio repricing jobs, so an interrupted job resumes after its last processed policy
+
+CREATE TABLE repricing_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    insurance_type VARCHAR(10) CHECK (insurance_type IN ('OC', 'AC', 'NNW')),
+    effective_from DATE NOT NULL,
+    snapshot_version BIGINT,
+    last_policy_id BIGINT NOT NULL DEFAULT 0,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    updated_count BIGINT NOT NULL DEFAULT 0,
+    premium_increase_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    premium_decrease_total DECIMAL(14,2) NOT NULL DEFAULT 0,
+    elapsed_millis BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    error_message VARCHAR(1000)
+);
+
+CREATE INDEX idx_repricing_jobs_status ON repricing_jobs(status);
+
+-- Keyset scan of active policies by ID for repricing
+CREATE INDEX idx_policies_active_id ON policies(id) WHERE status = 'ACTIVE';
+
+-- Add comments for documentation
+COMMENT ON TABLE repricing_jobs IS 'Portfolio repricing jobs and their resume checkpoints';
+COMMENT ON COLUMN repricing_jobs.last_policy_id IS 'Highest policy ID already repriced; the job resumes after it';
+COMMENT ON COLUMN repricing_jobs.snapshot_version IS 'In-memory rating snapshot version used by the latest run';
+COMMENT ON COLUMN repricing_jobs.premium_decrease_total IS 'Sum of premium decreases as a positive amount';
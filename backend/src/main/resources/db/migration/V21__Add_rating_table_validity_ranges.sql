@@ -0,0 +1,24 @@
+-- Range-typed validity for rating tables
+-- Migration: V21__Add_rating_table_validity_ranges.sql
+-- Description: Serves validity lookups from a GiST index on daterange(valid_from, valid_to, '[]') and
+-- rejects overlapping periods for the same insurance type and rating key in the database itself
+
+-- btree_gist provides GiST operator classes for the equality columns of the exclusion constraint
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- The exclusion constraint's GiST index also answers the @>, &&, << and >> lookups of
+-- RatingTableRepository, whose JPQL functions render exactly this range expression
+ALTER TABLE rating_tables ADD CONSTRAINT excl_rating_tables_validity_overlap
+    EXCLUDE USING gist (
+        insurance_type WITH =,
+        rating_key WITH =,
+        daterange(valid_from, valid_to, '[]') WITH &&
+    );
+
+-- Superseded by the range index: these could only bound one side of the validity period
+DROP INDEX IF EXISTS idx_rating_tables_valid_from;
+DROP INDEX IF EXISTS idx_rating_tables_valid_to;
+DROP INDEX IF EXISTS idx_rating_tables_validity;
+
+COMMENT ON CONSTRAINT excl_rating_tables_validity_overlap ON rating_tables IS
+    'Validity periods of the same insurance type and rating key must not overlap; NULL valid_to is open-ended';
@@ -0,0 +1,37 @@
+-- Rating table change notifications
+-- Migration: V22__Add_rating_table_change_notifications.sql
+-- Description: NOTIFY every backend instance of rating table changes so local rating caches are
+-- invalidated within milliseconds instead of after the snapshot max age
+
+-- Payload is '<insurance_type>:<rating_key>'; identical payloads within one transaction are
+-- delivered once, so a bulk import sends one notification per changed rating key
+CREATE OR REPLACE FUNCTION notify_rating_tables_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM pg_notify('rating_tables_changed', OLD.insurance_type || ':' || OLD.rating_key);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM pg_notify('rating_tables_changed', NEW.insurance_type || ':' || NEW.rating_key);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_rating_tables_changed
+    AFTER INSERT OR UPDATE OR DELETE ON rating_tables
+    FOR EACH ROW EXECUTE FUNCTION notify_rating_tables_changed();
+
+-- TRUNCATE has no rows; notify with an empty payload so listeners drop everything
+CREATE OR REPLACE FUNCTION notify_rating_tables_truncated() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('rating_tables_changed', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_rating_tables_truncated
+    AFTER TRUNCATE ON rating_tables
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_rating_tables_truncated();
+
+COMMENT ON FUNCTION notify_rating_tables_changed() IS
+    'Sends the changed insurance type and rating key on channel rating_tables_changed';
@@ -0,0 +1,64 @@
+-- Create rating_rules table
+-- Migration: V23__Create_rating_rules_table.sql
+-- Description: Data-driven tariff structure. Each rule buckets a vehicle attribute by ascending
+-- inclusive upper bounds and names the rating key of every bucket; values above the last bound
+-- fall into the final bucket. Rules are compiled into every rating snapshot.
+
+CREATE TABLE rating_rules (
+    id BIGSERIAL PRIMARY KEY,
+    insurance_type VARCHAR(10) NOT NULL CHECK (insurance_type IN ('OC', 'AC', 'NNW')),
+    factor_name VARCHAR(50) NOT NULL,
+    attribute VARCHAR(20) NOT NULL CHECK (attribute IN ('VEHICLE_AGE', 'ENGINE_CAPACITY', 'POWER', 'NONE')),
+    upper_bounds VARCHAR(500),
+    rating_keys VARCHAR(2000) NOT NULL,
+    position INTEGER NOT NULL,
+    CONSTRAINT uk_rating_rules_factor UNIQUE (insurance_type, factor_name),
+    -- One more rating key than upper bounds
+    CONSTRAINT chk_rating_rules_bucket_count CHECK (
+        array_length(string_to_array(rating_keys, ','), 1) =
+        COALESCE(array_length(string_to_array(upper_bounds, ','), 1), 0) + 1
+    ),
+    CONSTRAINT chk_rating_rules_no_attribute CHECK (attribute <> 'NONE' OR upper_bounds IS NULL)
+);
+
+CREATE INDEX idx_rating_rules_insurance_type ON rating_rules(insurance_type, position);
+
+-- Seed the tariff structure that was previously compiled into the application
+INSERT INTO rating_rules (insurance_type, factor_name, attribute, upper_bounds, rating_keys, position)
+SELECT t.insurance_type, r.factor_name, r.attribute, r.upper_bounds,
+       COALESCE(r.rating_keys, t.coverage_key), r.position
+FROM (VALUES ('OC', 'OC_STANDARD'), ('AC', 'AC_COMPREHENSIVE'), ('NNW', 'NNW_STANDARD'))
+         AS t(insurance_type, coverage_key)
+CROSS JOIN (VALUES
+    ('VEHICLE_AGE', 'VEHICLE_AGE', '0,1,2,3,4,5,6,7,8,9',
+     'VEHICLE_AGE_0,VEHICLE_AGE_1,VEHICLE_AGE_2,VEHICLE_AGE_3,VEHICLE_AGE_4,VEHICLE_AGE_5,VEHICLE_AGE_6,VEHICLE_AGE_7,VEHICLE_AGE_8,VEHICLE_AGE_9,VEHICLE_AGE_10', 1),
+    ('ENGINE_CAPACITY', 'ENGINE_CAPACITY', '1000,1600,2000',
+     'ENGINE_SMALL,ENGINE_MEDIUM,ENGINE_LARGE,ENGINE_XLARGE', 2),
+    ('POWER', 'POWER', '75,150,250',
+     'POWER_LOW,POWER_MEDIUM,POWER_HIGH,POWER_VERY_HIGH', 3),
+    ('COVERAGE', 'NONE', NULL, NULL, 4)
+) AS r(factor_name, attribute, upper_bounds, rating_keys, position);
+
+-- Coverage factors keep the names the premium breakdown has always used
+UPDATE rating_rules SET factor_name = insurance_type || '_COVERAGE' WHERE factor_name = 'COVERAGE';
+
+-- Rule changes reach every instance like rating table changes
+CREATE OR REPLACE FUNCTION notify_rating_rules_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('rating_tables_changed', OLD.insurance_type || ':' || OLD.factor_name);
+    ELSE
+        PERFORM pg_notify('rating_tables_changed', NEW.insurance_type || ':' || NEW.factor_name);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_rating_rules_changed
+    AFTER INSERT OR UPDATE OR DELETE ON rating_rules
+    FOR EACH ROW EXECUTE FUNCTION notify_rating_rules_changed();
+
+COMMENT ON TABLE rating_rules IS 'Rating factors per insurance type: attribute, bucket bounds and rating keys';
+COMMENT ON COLUMN rating_rules.upper_bounds IS 'Comma-separated ascending inclusive upper bounds; NULL for a single bucket';
+COMMENT ON COLUMN rating_rules.rating_keys IS 'Comma-separated rating key per bucket, one more than upper bounds';
+COMMENT ON COLUMN rating_rules.position IS 'Order in which factors are applied';
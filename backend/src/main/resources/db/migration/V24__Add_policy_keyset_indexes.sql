@@ -0,0 +1,14 @@
+-- Policy listing keyset indexes
+-- Migration: V24__Add_policy_keyset_indexes.sql
+-- Description: Serve paginated policy listings by keyset on (issue_date, id), so every page is an
+-- index range scan that starts where the previous page ended instead of skipping an offset
+
+-- Active policy list: WHERE status = ? AND (issue_date, id) < (?, ?) ORDER BY issue_date DESC, id DESC
+CREATE INDEX idx_policies_status_issue_date_id ON policies(status, issue_date, id);
+
+-- Client policy list; its leading client_id column also serves every lookup of the plain client index
+CREATE INDEX idx_policies_client_issue_date_id ON policies(client_id, issue_date, id);
+DROP INDEX IF EXISTS idx_policies_client_id;
+
+COMMENT ON INDEX idx_policies_status_issue_date_id IS 'Keyset pagination of policies by status in issue date order';
+COMMENT ON INDEX idx_policies_client_issue_date_id IS 'Keyset pagination of client policies in issue date order';
@@ -0,0 +1,8 @@
+-- Pooled policy ID allocation
+-- Migration: V25__Pool_policy_id_sequence.sql
+-- Description: Policy IDs are drawn from policies_id_seq in blocks of 50 (pooled optimizer), so
+-- Hibernate can batch policy inserts instead of reading back an identity value per row
+
+-- Must match allocationSize of the Policy ID generator; the column default keeps working for plain
+-- SQL inserts, which take single values that never fall inside a block handed out to the application
+ALTER SEQUENCE policies_id_seq INCREMENT BY 50;
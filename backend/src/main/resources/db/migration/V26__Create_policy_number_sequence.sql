@@ -0,0 +1,10 @@
+-- Policy number sequence
+-- Migration: V26__Create_policy_number_sequence.sql
+-- Description: Policy numbers are allocated from this sequence in blocks, each node reserving a
+-- block with one nextval() call and handing out its numbers from memory
+
+-- INCREMENT BY must match PolicyNumberAllocator.BLOCK_SIZE: nextval() returns the first number of
+-- a block, and the block runs up to the next value any node can receive
+CREATE SEQUENCE policy_number_seq START WITH 1 INCREMENT BY 100;
+
+COMMENT ON SEQUENCE policy_number_seq IS 'Blocks of policy numbers reserved by application nodes';
@@ -0,0 +1,95 @@
+-- Policy search
+-- Migration: V27__Add_policy_search_indexes.sql
+-- Description: Index-backed policy search over policy number, client name, PESEL, registration
+-- number and VIN, so search matches and substring filters use GIN indexes instead of
+-- sequential scans with LOWER(...) LIKE '%x%'
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Searchable fields of a policy, its client and its vehicle; identifiers are weighted above the name.
+-- The 'simple' configuration keeps names and identifiers unstemmed
+CREATE OR REPLACE FUNCTION policy_search_vector(policy_number TEXT, full_name TEXT, pesel TEXT,
+                                                registration_number TEXT, vin TEXT) RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('simple', coalesce(policy_number, '')), 'A') ||
+           setweight(to_tsvector('simple', coalesce(pesel, '')), 'A') ||
+           setweight(to_tsvector('simple', coalesce(registration_number, '')), 'A') ||
+           setweight(to_tsvector('simple', coalesce(vin, '')), 'A') ||
+           setweight(to_tsvector('simple', coalesce(full_name, '')), 'B');
+$$ LANGUAGE sql IMMUTABLE;
+
+-- The same fields as one lower-case string, for trigram similarity and substring matching
+CREATE OR REPLACE FUNCTION policy_search_text(policy_number TEXT, full_name TEXT, pesel TEXT,
+                                              registration_number TEXT, vin TEXT) RETURNS TEXT AS $$
+    SELECT lower(concat_ws(' ', policy_number, full_name, pesel, registration_number, vin));
+$$ LANGUAGE sql IMMUTABLE;
+
+ALTER TABLE policies ADD COLUMN search_vector tsvector;
+ALTER TABLE policies ADD COLUMN search_text TEXT;
+
+UPDATE policies p
+SET search_vector = policy_search_vector(p.policy_number, c.full_name, c.pesel, v.registration_number, v.vin),
+    search_text = policy_search_text(p.policy_number, c.full_name, c.pesel, v.registration_number, v.vin)
+FROM clients c, vehicles v
+WHERE c.id = p.client_id AND v.id = p.vehicle_id;
+
+CREATE INDEX idx_policies_search_vector ON policies USING GIN (search_vector);
+CREATE INDEX idx_policies_search_text_trgm ON policies USING GIN (search_text gin_trgm_ops);
+
+-- Keep the search columns current: on policy writes, and on changes to the client or vehicle fields
+-- they copy. The columns are not mapped by JPA, so only these triggers write them
+CREATE OR REPLACE FUNCTION policies_refresh_search() RETURNS trigger AS $$
+BEGIN
+    SELECT policy_search_vector(NEW.policy_number, c.full_name, c.pesel, v.registration_number, v.vin),
+           policy_search_text(NEW.policy_number, c.full_name, c.pesel, v.registration_number, v.vin)
+    INTO NEW.search_vector, NEW.search_text
+    FROM clients c, vehicles v
+    WHERE c.id = NEW.client_id AND v.id = NEW.vehicle_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_policies_refresh_search
+    BEFORE INSERT OR UPDATE OF policy_number, client_id, vehicle_id ON policies
+    FOR EACH ROW EXECUTE FUNCTION policies_refresh_search();
+
+CREATE OR REPLACE FUNCTION clients_refresh_policy_search() RETURNS trigger AS $$
+BEGIN
+    UPDATE policies p
+    SET search_vector = policy_search_vector(p.policy_number, NEW.full_name, NEW.pesel, v.registration_number, v.vin),
+        search_text = policy_search_text(p.policy_number, NEW.full_name, NEW.pesel, v.registration_number, v.vin)
+    FROM vehicles v
+    WHERE p.client_id = NEW.id AND v.id = p.vehicle_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_clients_refresh_policy_search
+    AFTER UPDATE OF full_name, pesel ON clients
+    FOR EACH ROW
+    WHEN (OLD.full_name IS DISTINCT FROM NEW.full_name OR OLD.pesel IS DISTINCT FROM NEW.pesel)
+    EXECUTE FUNCTION clients_refresh_policy_search();
+
+CREATE OR REPLACE FUNCTION vehicles_refresh_policy_search() RETURNS trigger AS $$
+BEGIN
+    UPDATE policies p
+    SET search_vector = policy_search_vector(p.policy_number, c.full_name, c.pesel, NEW.registration_number, NEW.vin),
+        search_text = policy_search_text(p.policy_number, c.full_name, c.pesel, NEW.registration_number, NEW.vin)
+    FROM clients c
+    WHERE p.vehicle_id = NEW.id AND c.id = p.client_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_vehicles_refresh_policy_search
+    AFTER UPDATE OF registration_number, vin ON vehicles
+    FOR EACH ROW
+    WHEN (OLD.registration_number IS DISTINCT FROM NEW.registration_number OR OLD.vin IS DISTINCT FROM NEW.vin)
+    EXECUTE FUNCTION vehicles_refresh_policy_search();
+
+-- Trigram indexes for the existing substring searches on client and user names. The expressions
+-- match the SQL Hibernate generates for LOWER(c.fullName) and LOWER(CONCAT(u.firstName, ' ', u.lastName))
+CREATE INDEX idx_clients_full_name_trgm ON clients USING GIN (lower(full_name) gin_trgm_ops);
+CREATE INDEX idx_users_full_name_trgm ON users USING GIN (lower(first_name || ' ' || last_name) gin_trgm_ops);
+
+COMMENT ON COLUMN policies.search_vector IS 'Full-text vector of policy number, client name, PESEL, registration and VIN (trigger-maintained)';
+COMMENT ON COLUMN policies.search_text IS 'Lower-case policy number, client name, PESEL, registration and VIN for trigram search (trigger-maintained)';
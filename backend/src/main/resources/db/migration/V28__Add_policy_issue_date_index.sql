@@ -0,0 +1,7 @@
+-- Policy issue date keyset index
+-- Migration: V28__Add_policy_issue_date_index.sql
+-- Description: Criteria searches without a client, vehicle or status filter are ordered by
+-- (issue_date, id) with an optional issue date range; this index serves them as an ordered range
+-- scan that stops after one page. The other filters use the V7 and V24 composite indexes
+
+CREATE INDEX idx_policies_issue_date_id ON policies(issue_date, id);
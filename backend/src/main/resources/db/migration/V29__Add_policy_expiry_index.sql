@@ -0,0 +1,8 @@
+-- Policy expiry index
+-- Migration: V29__Add_policy_expiry_index.sql
+-- Description: The expiry sweeper moves ACTIVE policies past their end date to EXPIRED in chunks;
+-- this partial index finds them by end date without touching policies that are no longer ACTIVE
+
+CREATE INDEX idx_policies_active_end_date ON policies(end_date) WHERE status = 'ACTIVE';
+
+COMMENT ON INDEX idx_policies_active_end_date IS 'Overdue ACTIVE policies for the expiry sweeper';
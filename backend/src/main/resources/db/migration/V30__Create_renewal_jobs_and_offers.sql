@@ -0,0 +1,54 @@
+-- Create renewal jobs and offers tables
+-- Migration: V30__Create_renewal_jobs_and_offers.sql
+-- Description: Checkpoints of bulk renewal quote jobs, and the renewal offers they write, so an
+-- interrupted or paused job resumes after its last processed policy
+
+CREATE TABLE renewal_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'PAUSED', 'COMPLETED', 'FAILED')),
+    insurance_type VARCHAR(10) CHECK (insurance_type IN ('OC', 'AC', 'NNW')),
+    expiring_from DATE NOT NULL,
+    expiring_to DATE NOT NULL,
+    max_rows_per_second INTEGER CHECK (max_rows_per_second > 0),
+    snapshot_version BIGINT,
+    last_end_date DATE NOT NULL,
+    last_policy_id BIGINT NOT NULL DEFAULT 0,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    offered_count BIGINT NOT NULL DEFAULT 0,
+    skipped_count BIGINT NOT NULL DEFAULT 0,
+    elapsed_millis BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    error_message VARCHAR(1000),
+    CONSTRAINT chk_renewal_jobs_window CHECK (expiring_from <= expiring_to)
+);
+
+CREATE INDEX idx_renewal_jobs_status ON renewal_jobs(status);
+
+CREATE TABLE renewal_offers (
+    id BIGSERIAL PRIMARY KEY,
+    policy_id BIGINT NOT NULL REFERENCES policies(id),
+    renewal_job_id BIGINT NOT NULL REFERENCES renewal_jobs(id),
+    insurance_type VARCHAR(10) NOT NULL CHECK (insurance_type IN ('OC', 'AC', 'NNW')),
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    premium DECIMAL(10,2) NOT NULL,
+    previous_premium DECIMAL(10,2) NOT NULL,
+    snapshot_version BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- One offer per policy and renewal term, so rerunning a window writes nothing twice
+    CONSTRAINT uk_renewal_offers_policy_start UNIQUE (policy_id, start_date)
+);
+
+CREATE INDEX idx_renewal_offers_job ON renewal_offers(renewal_job_id);
+
+-- Keyset scan of ACTIVE policies by (end date, ID) for renewal jobs; also serves the expiry
+-- sweeper's end date range, so it replaces the V29 index
+CREATE INDEX idx_policies_active_end_date_id ON policies(end_date, id) WHERE status = 'ACTIVE';
+DROP INDEX IF EXISTS idx_policies_active_end_date;
+
+-- Add comments for documentation
+COMMENT ON TABLE renewal_jobs IS 'Bulk renewal quote jobs and their resume checkpoints';
+COMMENT ON COLUMN renewal_jobs.last_end_date IS 'End date of the last policy already quoted; the job resumes after (last_end_date, last_policy_id)';
+COMMENT ON COLUMN renewal_jobs.max_rows_per_second IS 'Throttle of the job in policies per second (NULL = unthrottled)';
+COMMENT ON TABLE renewal_offers IS 'Renewal quotes for expiring policies, priced against one rating snapshot per job run';
@@ -0,0 +1,35 @@
+-- Policy version
+-- Migration: V31__Add_policy_version.sql
+-- Description: Optimistic locking version of policies, also the source of policy ETags. Every write
+-- that changes what a policy response shows bumps it, so comparing versions tells whether a cached
+-- response is still current without loading the policy
+
+ALTER TABLE policies ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Policy responses show the client name and vehicle registration, so renaming a client or
+-- re-registering a vehicle bumps the version of their policies along with the search columns
+CREATE OR REPLACE FUNCTION clients_refresh_policy_search() RETURNS trigger AS $$
+BEGIN
+    UPDATE policies p
+    SET search_vector = policy_search_vector(p.policy_number, NEW.full_name, NEW.pesel, v.registration_number, v.vin),
+        search_text = policy_search_text(p.policy_number, NEW.full_name, NEW.pesel, v.registration_number, v.vin),
+        version = p.version + 1
+    FROM vehicles v
+    WHERE p.client_id = NEW.id AND v.id = p.vehicle_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION vehicles_refresh_policy_search() RETURNS trigger AS $$
+BEGIN
+    UPDATE policies p
+    SET search_vector = policy_search_vector(p.policy_number, c.full_name, c.pesel, NEW.registration_number, NEW.vin),
+        search_text = policy_search_text(p.policy_number, c.full_name, c.pesel, NEW.registration_number, NEW.vin),
+        version = p.version + 1
+    FROM clients c
+    WHERE p.vehicle_id = NEW.id AND c.id = p.client_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON COLUMN policies.version IS 'Optimistic locking version; bumped by every policy write and by client or vehicle changes shown with the policy';
@@ -0,0 +1,20 @@
+-- Repricing job claims
+-- Migration: V33__Add_repricing_job_claims.sql
+-- Description: With several application instances, a repricing job is run by the instance that claimed it;
+-- a claim lapses when its owner stops heartbeating, so another instance can take the job over
+
+ALTER TABLE repricing_jobs ADD COLUMN owner VARCHAR(100);
+ALTER TABLE repricing_jobs ADD COLUMN heartbeat_at TIMESTAMP;
+ALTER TABLE repricing_jobs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Only the oldest of several RUNNING jobs started concurrently keeps running
+UPDATE repricing_jobs
+SET status = 'FAILED', error_message = 'Superseded by a concurrently started repricing job'
+WHERE status = 'RUNNING' AND id > (SELECT MIN(id) FROM repricing_jobs WHERE status = 'RUNNING');
+
+-- At most one RUNNING job, enforced by the database rather than an existence check
+CREATE UNIQUE INDEX uk_repricing_jobs_running ON repricing_jobs(status) WHERE status = 'RUNNING';
+
+COMMENT ON COLUMN repricing_jobs.owner IS 'Instance that last claimed the job; NULL once released at shutdown';
+COMMENT ON COLUMN repricing_jobs.heartbeat_at IS 'Last heartbeat of the owner; the claim lapses when it is older than the lease';
+COMMENT ON COLUMN repricing_jobs.version IS 'Optimistic lock version, bumped by every checkpoint and claim';
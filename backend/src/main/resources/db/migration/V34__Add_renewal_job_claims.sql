@@ -0,0 +1,20 @@
+-- Renewal job claims
+-- Migration: V34__Add_renewal_job_claims.sql
+-- Description: With several application instances, a renewal job is run by the instance that claimed it;
+-- a claim lapses when its owner stops heartbeating, so another instance can take the job over
+
+ALTER TABLE renewal_jobs ADD COLUMN owner VARCHAR(100);
+ALTER TABLE renewal_jobs ADD COLUMN heartbeat_at TIMESTAMP;
+ALTER TABLE renewal_jobs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Only the oldest of several RUNNING jobs started concurrently keeps running
+UPDATE renewal_jobs
+SET status = 'FAILED', error_message = 'Superseded by a concurrently started renewal job'
+WHERE status = 'RUNNING' AND id > (SELECT MIN(id) FROM renewal_jobs WHERE status = 'RUNNING');
+
+-- At most one RUNNING job, enforced by the database rather than an existence check
+CREATE UNIQUE INDEX uk_renewal_jobs_running ON renewal_jobs(status) WHERE status = 'RUNNING';
+
+COMMENT ON COLUMN renewal_jobs.owner IS 'Instance that last claimed the job; NULL once released at shutdown';
+COMMENT ON COLUMN renewal_jobs.heartbeat_at IS 'Last heartbeat of the owner; the claim lapses when it is older than the lease';
+COMMENT ON COLUMN renewal_jobs.version IS 'Optimistic lock version, bumped by every checkpoint, claim and remote pause';
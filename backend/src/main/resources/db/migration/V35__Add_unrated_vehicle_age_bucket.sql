@@ -0,0 +1,12 @@
+-- Unrated vehicle age bucket
+-- Migration: V35__Add_unrated_vehicle_age_bucket.sql
+-- Description: A vehicle first registered after the policy date has a negative age. The vehicle age
+-- rules seeded by V23 put it into their first bucket, rating it like a new vehicle. A leading bucket
+-- up to -1 with a key no rating table defines gives it the neutral multiplier 1.0 again, as the
+-- default tariff does.
+
+UPDATE rating_rules
+SET upper_bounds = '-1' || COALESCE(',' || upper_bounds, ''),
+    rating_keys = 'VEHICLE_AGE_UNRATED,' || rating_keys
+WHERE attribute = 'VEHICLE_AGE'
+  AND (upper_bounds IS NULL OR split_part(upper_bounds, ',', 1)::INTEGER >= 0);
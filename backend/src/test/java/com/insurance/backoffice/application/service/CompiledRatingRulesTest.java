@@ -0,0 +1,84 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.EngineCapacityBand;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.PowerBand;
+import com.insurance.backoffice.domain.RatingAttribute;
+import com.insurance.backoffice.domain.RatingRule;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for CompiledRatingRules.
+ * Clean Code: Verifies threshold bucketing against the default bands and stored rules.
+ */
+class CompiledRatingRulesTest {
+
+    @Test
+    void shouldBucketLikeDefaultBands() {
+        // Given
+        CompiledRatingRules rules = CompiledRatingRules.defaults();
+
+        // When & Then
+        for (int engineCapacity : new int[] {0, 999, 1000, 1001, 1600, 1601, 2000, 2001, 6000}) {
+            for (int power : new int[] {0, 75, 76, 150, 151, 250, 251, 600}) {
+                assertThat(rules.ratingKeys(InsuranceType.OC, 3, engineCapacity, power))
+                        .containsExactly("VEHICLE_AGE_3", EngineCapacityBand.of(engineCapacity).getRatingKey(),
+                                PowerBand.of(power).getRatingKey(), "OC_STANDARD");
+            }
+        }
+        assertThat(rules.ratingKeys(InsuranceType.AC, 25, 1200, 100)[0]).isEqualTo("VEHICLE_AGE_10");
+        assertThat(rules.ratingKeys(InsuranceType.AC, 0, 1200, 100)[0]).isEqualTo("VEHICLE_AGE_0");
+        assertThat(rules.ratingKeys(InsuranceType.AC, -1, 1200, 100)[0])
+                .isEqualTo(CompiledRatingRules.UNRATED_VEHICLE_AGE_KEY);
+        assertThat(rules.factorNames(InsuranceType.NNW))
+                .containsExactly("VEHICLE_AGE", "ENGINE_CAPACITY", "POWER", "NNW_COVERAGE");
+        assertThat(rules.cellCount(InsuranceType.OC)).isEqualTo(12 * 4 * 4);
+    }
+
+    @Test
+    void shouldOverrideDefaultsOnlyForTypesWithStoredRules() {
+        // Given
+        CompiledRatingRules rules = CompiledRatingRules.compile(List.of(
+                rule("AGE", RatingAttribute.VEHICLE_AGE, 1, new int[] {2, 7}, "NEW", "USED", "OLD"),
+                rule("NNW_BASIC", RatingAttribute.NONE, 2, new int[0], "NNW_BASIC")));
+
+        // When & Then
+        assertThat(rules.factorNames(InsuranceType.NNW)).containsExactly("AGE", "NNW_BASIC");
+        assertThat(rules.ratingKeys(InsuranceType.NNW, 2, 1400, 100)).containsExactly("NEW", "NNW_BASIC");
+        assertThat(rules.ratingKeys(InsuranceType.NNW, 3, 1400, 100)).containsExactly("USED", "NNW_BASIC");
+        assertThat(rules.ratingKeys(InsuranceType.NNW, 8, 1400, 100)).containsExactly("OLD", "NNW_BASIC");
+        assertThat(rules.cellCount(InsuranceType.NNW)).isEqualTo(3);
+        assertThat(rules.getVehicleAgeBoundaries(InsuranceType.NNW)).containsExactly(3, 8);
+        assertThat(rules.factorNames(InsuranceType.OC))
+                .isEqualTo(CompiledRatingRules.defaults().factorNames(InsuranceType.OC));
+    }
+
+    @Test
+    void shouldRejectStoredRuleWithMismatchedBuckets() {
+        // Given - a row edited in the database behind the builder's back
+        RatingRule rule = rule("AGE", RatingAttribute.VEHICLE_AGE, 1, new int[] {5}, "NEW", "OLD");
+        ReflectionTestUtils.setField(rule, "ratingKeys", "NEW");
+
+        // When & Then
+        assertThatThrownBy(() -> CompiledRatingRules.compile(List.of(rule)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("NNW AGE");
+    }
+
+    private RatingRule rule(String factorName, RatingAttribute attribute, int position, int[] upperBounds,
+                            String... ratingKeys) {
+        return RatingRule.builder()
+                .insuranceType(InsuranceType.NNW)
+                .factorName(factorName)
+                .attribute(attribute)
+                .position(position)
+                .upperBounds(upperBounds)
+                .ratingKeys(ratingKeys)
+                .build();
+    }
+}
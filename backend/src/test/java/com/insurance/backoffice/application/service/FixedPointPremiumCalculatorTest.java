@@ -0,0 +1,129 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for FixedPointPremiumCalculator and FixedPointArithmetic.
+ * Clean Code: Proves fixed-point cents equal the BigDecimal reference, including overflow fallback.
+ */
+class FixedPointPremiumCalculatorTest {
+
+    private static final LocalDate POLICY_DATE = LocalDate.of(2024, 6, 1);
+    private static final String[] RATING_KEYS = {"VEHICLE_AGE_3", "ENGINE_MEDIUM", "POWER_HIGH", "OC_STANDARD"};
+
+    @Test
+    void shouldRoundHalfUpToCents() {
+        // Given - 800.00 x 1.0005 = 800.40, 0.125 rounds up, 0.124 rounds down
+        long[] premium = {FixedPointArithmetic.encode(new BigDecimal("800.00")),
+                FixedPointArithmetic.encode(new BigDecimal("1.0005"))};
+        long[] halfCent = {FixedPointArithmetic.encode(new BigDecimal("0.125"))};
+        long[] belowHalfCent = {FixedPointArithmetic.encode(new BigDecimal("0.124"))};
+
+        // When & Then
+        assertThat(FixedPointArithmetic.multiplyToCents(premium, 2)).isEqualTo(80040L);
+        assertThat(FixedPointArithmetic.multiplyToCents(halfCent, 1)).isEqualTo(13L);
+        assertThat(FixedPointArithmetic.multiplyToCents(belowHalfCent, 1)).isEqualTo(12L);
+        assertThat(FixedPointArithmetic.encode(new BigDecimal("-1.0"))).isEqualTo(FixedPointArithmetic.UNREPRESENTABLE);
+    }
+
+    @Test
+    void shouldMatchBigDecimalForRandomMultipliersInShadowMode() {
+        // Given
+        Random random = new Random(42);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FixedPointPremiumCalculator calculator = new FixedPointPremiumCalculator(meterRegistry, false, 1.0);
+        BigDecimal basePremium = new BigDecimal("800.00");
+
+        for (int i = 0; i < 1000; i++) {
+            List<RatingTable> ratingTables = new ArrayList<>();
+            for (String ratingKey : RATING_KEYS) {
+                // DECIMAL(5,4) multipliers between 0.0001 and 9.9999
+                BigDecimal multiplier = BigDecimal.valueOf(1 + random.nextInt(99999), 4);
+                ratingTables.add(rating(ratingKey, multiplier));
+            }
+            RatingTableSnapshot snapshot = RatingTableSnapshot.of(i, ratingTables);
+
+            // When
+            BigDecimal premium = calculator.premium(snapshot, InsuranceType.OC, basePremium, RATING_KEYS,
+                    POLICY_DATE.toEpochDay(), () -> exactPremium(basePremium, ratingTables));
+
+            // Then
+            assertThat(premium).isEqualTo(exactPremium(basePremium, ratingTables));
+        }
+        assertThat(meterRegistry.get("rating.fixed-point.comparisons").counter().count()).isEqualTo(1000.0);
+        assertThat(meterRegistry.get("rating.fixed-point.fallbacks").counter().count()).isZero();
+        assertThat(meterRegistry.get("rating.fixed-point.mismatches").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldFallBackToBigDecimalOnOverflow() {
+        // Given - multipliers with 15 decimal places overflow the 128-bit product
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FixedPointPremiumCalculator calculator = new FixedPointPremiumCalculator(meterRegistry, true, 0.0);
+        List<RatingTable> ratingTables = new ArrayList<>();
+        for (String ratingKey : RATING_KEYS) {
+            ratingTables.add(rating(ratingKey, new BigDecimal("9.999999999999999")));
+        }
+        RatingTableSnapshot snapshot = RatingTableSnapshot.of(1, ratingTables);
+        BigDecimal basePremium = new BigDecimal("123456.78");
+
+        // When
+        BigDecimal premium = calculator.premium(snapshot, InsuranceType.OC, basePremium, RATING_KEYS,
+                POLICY_DATE.toEpochDay(), () -> exactPremium(basePremium, ratingTables));
+
+        // Then
+        assertThat(premium).isEqualTo(exactPremium(basePremium, ratingTables));
+        assertThat(meterRegistry.get("rating.fixed-point.fallbacks").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldUseFixedPointWhenEnabled() {
+        // Given
+        FixedPointPremiumCalculator calculator = new FixedPointPremiumCalculator(new SimpleMeterRegistry(), true, 0.0);
+        RatingTableSnapshot snapshot = RatingTableSnapshot.of(1, List.of(rating("ENGINE_MEDIUM", new BigDecimal("1.2000"))));
+
+        // When
+        BigDecimal premium = calculator.premium(snapshot, InsuranceType.OC, new BigDecimal("800.00"), RATING_KEYS,
+                POLICY_DATE.toEpochDay(), () -> {
+                    throw new AssertionError("BigDecimal path must not run");
+                });
+
+        // Then - missing keys are neutral
+        assertThat(premium).isEqualTo(new BigDecimal("960.00"));
+    }
+
+    @Test
+    void shouldRejectInvalidSampleRate() {
+        assertThatThrownBy(() -> new FixedPointPremiumCalculator(new SimpleMeterRegistry(), false, 1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BigDecimal exactPremium(BigDecimal basePremium, List<RatingTable> ratingTables) {
+        BigDecimal premium = basePremium;
+        for (RatingTable ratingTable : ratingTables) {
+            premium = premium.multiply(ratingTable.getMultiplier());
+        }
+        return premium.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private RatingTable rating(String ratingKey, BigDecimal multiplier) {
+        return RatingTable.builder()
+                .insuranceType(InsuranceType.OC)
+                .ratingKey(ratingKey)
+                .multiplier(multiplier)
+                .validFrom(LocalDate.of(2024, 1, 1))
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.application.service.PolicyBulkIssuanceService.BulkIssuanceResult;
+import com.insurance.backoffice.application.service.PolicyBulkIssuanceService.BulkPolicyItem;
+import com.insurance.backoffice.domain.*;
+import com.insurance.backoffice.infrastructure.repository.ClientRepository;
+import com.insurance.backoffice.infrastructure.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PolicyBulkIssuanceService.
+ * Clean Code: Verifies per-item errors and the chunked flush/clear cycle against a mocked session.
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicyBulkIssuanceServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private PolicyNumberAllocator policyNumberAllocator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    private PolicyBulkIssuanceService service;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @BeforeEach
+    void setUp() {
+        service = new PolicyBulkIssuanceService(clientRepository, vehicleRepository, ratingService,
+                policyNumberAllocator, entityManager, BATCH_SIZE, 10);
+        startDate = LocalDate.now().plusDays(1);
+        endDate = LocalDate.now().plusYears(1);
+    }
+
+    @Test
+    void shouldIssueValidItemsInBatchesAndReportRejectedOnes() {
+        // Given
+        givenClientAndVehicle();
+        when(policyNumberAllocator.nextPolicyNumber(InsuranceType.OC))
+                .thenReturn("OC-0000001", "OC-0000002", "OC-0000003");
+        List<BulkPolicyItem> items = List.of(
+                item(1L, 1L),
+                item(1L, 99L),
+                item(1L, 1L),
+                new BulkPolicyItem(1L, 1L, InsuranceType.OC, endDate, startDate, null, null, null),
+                item(1L, 1L));
+
+        // When
+        BulkIssuanceResult result = service.issuePolicies(items);
+
+        // Then
+        assertThat(result.received()).isEqualTo(5);
+        assertThat(result.issued()).isEqualTo(3);
+        assertThat(result.policies()).extracting(PolicyBulkIssuanceService.IssuedPolicy::index)
+                .containsExactly(0, 2, 4);
+        assertThat(result.policies()).extracting(PolicyBulkIssuanceService.IssuedPolicy::policyNumber)
+                .containsExactly("OC-0000001", "OC-0000002", "OC-0000003");
+        assertThat(result.errors()).extracting(PolicyBulkIssuanceService.ItemError::index).containsExactly(1, 3);
+        assertThat(result.errors().get(0).message()).isEqualTo("Vehicle not found with ID: 99");
+        assertThat(result.errors().get(1).message()).isEqualTo("Start date must be before end date");
+
+        verify(session).setJdbcBatchSize(BATCH_SIZE);
+        verify(session, times(3)).persist(any(Policy.class));
+        verify(session, times(2)).flush();
+        verify(session, times(2)).clear();
+        verify(clientRepository).findAllById(anyCollection());
+        verify(vehicleRepository).findAllById(anyCollection());
+        verify(policyNumberAllocator, times(3)).nextPolicyNumber(InsuranceType.OC);
+    }
+
+    @Test
+    void shouldRejectRequestsAboveTheLimit() {
+        // Given
+        List<BulkPolicyItem> items = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            items.add(item(1L, 1L));
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> service.issuePolicies(items))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At most 10 policies can be issued per request");
+        assertThatThrownBy(() -> service.issuePolicies(List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At least one policy is required");
+        verifyNoInteractions(clientRepository, vehicleRepository, policyNumberAllocator, entityManager);
+    }
+
+    private void givenClientAndVehicle() {
+        Client client = Client.builder()
+                .id(1L)
+                .fullName("Fleet Owner")
+                .pesel("12345678901")
+                .address("123 Main St")
+                .email("fleet@example.com")
+                .phoneNumber("123456789")
+                .build();
+        Vehicle vehicle = Vehicle.builder()
+                .id(1L)
+                .make("Toyota")
+                .model("Corolla")
+                .yearOfManufacture(2020)
+                .registrationNumber("WA12345")
+                .vin("1234567890ABCDEFG")
+                .engineCapacity(1600)
+                .power(132)
+                .firstRegistrationDate(LocalDate.of(2020, 1, 1))
+                .build();
+        when(clientRepository.findAllById(anyCollection())).thenReturn(List.of(client));
+        when(vehicleRepository.findAllById(anyCollection())).thenReturn(List.of(vehicle));
+        when(ratingService.calculatePremium(eq(InsuranceType.OC), eq(vehicle), eq(startDate)))
+                .thenReturn(new BigDecimal("1200.00"));
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+    }
+
+    private BulkPolicyItem item(Long clientId, Long vehicleId) {
+        return new BulkPolicyItem(clientId, vehicleId, InsuranceType.OC, startDate, endDate,
+                BigDecimal.ZERO, null, null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.insurance.backoffice.application.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PolicyExpirySweeper.
+ * Clean Code: Chunking and metrics are checked against the statement count, not a database.
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicyExpirySweeperTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PolicyExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new PolicyExpirySweeper(jdbcTemplate, transactionManager, meterRegistry, false,
+                Duration.ofHours(1), 2);
+    }
+
+    @Test
+    void shouldExpireInChunksUntilAChunkComesBackShort() {
+        // Given
+        when(jdbcTemplate.update(anyString(), eq(2))).thenReturn(2, 2, 1);
+
+        // When
+        long swept = sweeper.sweep();
+
+        // Then
+        assertThat(swept).isEqualTo(5);
+        verify(jdbcTemplate, times(3)).update(contains("FOR UPDATE SKIP LOCKED"), eq(2));
+        verify(transactionManager, times(3)).commit(any());
+        assertThat(meterRegistry.get("policies.expiry.swept").counter().count()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("policies.expiry.sweep").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordSweepTimeWhenAChunkFails() {
+        // Given
+        when(jdbcTemplate.update(anyString(), eq(2))).thenReturn(2).thenThrow(new QueryTimeoutException("timeout"));
+
+        // When & Then
+        assertThatThrownBy(() -> sweeper.sweep()).isInstanceOf(QueryTimeoutException.class);
+        verify(transactionManager).commit(any());
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.get("policies.expiry.swept").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("policies.expiry.sweep").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectNonPositiveChunkSize() {
+        // When & Then
+        assertThatThrownBy(() -> new PolicyExpirySweeper(jdbcTemplate, transactionManager, meterRegistry, false,
+                Duration.ofHours(1), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expiry chunk size must be positive");
+    }
+}
@@ -0,0 +1,96 @@
+package com.insurance.backoffice.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.PolicyStatus;
+import com.insurance.backoffice.domain.PolicySummary;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PolicyExportService.
+ * Clean Code: Checks the exact bytes of both formats.
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicyExportServiceTest {
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private PolicyExportService policyExportService;
+    private final AtomicBoolean streamClosed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        policyExportService = new PolicyExportService(policyRepository, objectMapper);
+        PolicySummary plain = new PolicySummary(1L, "OC-2024-001", LocalDate.of(2024, 1, 1), "John Doe",
+                "WA12345", InsuranceType.OC, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31),
+                new BigDecimal("1200.00"), BigDecimal.ZERO, null, null, PolicyStatus.ACTIVE);
+        PolicySummary quoted = new PolicySummary(2L, "AC-2024-002", LocalDate.of(2024, 2, 1), "Kowalski, \"Jan\"",
+                "KR67890", InsuranceType.AC, LocalDate.of(2024, 2, 1), LocalDate.of(2025, 1, 31),
+                new BigDecimal("2500.00"), new BigDecimal("-10.00"), new BigDecimal("50000.00"), "Europe",
+                PolicyStatus.CANCELED);
+        when(policyRepository.streamAllSummaries())
+                .thenReturn(Stream.of(plain, quoted).onClose(() -> streamClosed.set(true)));
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long count = policyExportService.export(PolicyExportFormat.NDJSON, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("policyNumber").asText()).isEqualTo("OC-2024-001");
+        assertThat(first.get("issueDate").asText()).isEqualTo("2024-01-01");
+        assertThat(first.get("premium").decimalValue()).isEqualByComparingTo("1200.00");
+        assertThat(objectMapper.readTree(lines[1]).get("clientName").asText()).isEqualTo("Kowalski, \"Jan\"");
+        assertThat(streamClosed).isTrue();
+    }
+
+    @Test
+    void shouldWriteCsvWithHeaderAndQuotedFields() throws IOException {
+        // Given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long count = policyExportService.export(PolicyExportFormat.CSV, output);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                PolicyExportService.CSV_HEADER + "\r\n" +
+                "1,OC-2024-001,2024-01-01,John Doe,WA12345,OC,2024-01-01,2024-12-31,1200.00,0,,,ACTIVE\r\n" +
+                "2,AC-2024-002,2024-02-01,\"Kowalski, \"\"Jan\"\"\",KR67890,AC,2024-02-01,2025-01-31," +
+                "2500.00,-10.00,50000.00,Europe,CANCELED\r\n");
+        assertThat(streamClosed).isTrue();
+    }
+}
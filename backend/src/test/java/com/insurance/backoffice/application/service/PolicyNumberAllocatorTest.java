@@ -0,0 +1,112 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PolicyNumberAllocator.
+ * Clean Code: The sequence is simulated by a counter stepping by the block size, like policy_number_seq.
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicyNumberAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PolicyNumberAllocator allocator;
+    private final AtomicLong sequence = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() {
+        allocator = new PolicyNumberAllocator(jdbcTemplate);
+        lenient().when(jdbcTemplate.queryForObject(anyString(), eq(Long.class)))
+                .thenAnswer(invocation -> sequence.getAndAdd(PolicyNumberAllocator.BLOCK_SIZE));
+    }
+
+    @Test
+    void shouldFormatNumbersWithTypePrefixAndFixedWidthBase36() {
+        // When
+        String first = allocator.nextPolicyNumber(InsuranceType.OC);
+        String second = allocator.nextPolicyNumber(InsuranceType.NNW);
+
+        // Then
+        assertThat(first).isEqualTo("OC-0000001");
+        assertThat(second).isEqualTo("NNW-0000002");
+        assertThat(PolicyNumberAllocator.encode(35)).isEqualTo("000000Z");
+        assertThat(PolicyNumberAllocator.encode(36)).isEqualTo("0000010");
+    }
+
+    @Test
+    void shouldQueryTheSequenceOncePerBlock() {
+        // When
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < PolicyNumberAllocator.BLOCK_SIZE * 2 + 1; i++) {
+            values.add(allocator.nextSequenceValue());
+        }
+
+        // Then
+        assertThat(values).doesNotHaveDuplicates().isSorted();
+        assertThat(values.get(0)).isEqualTo(1);
+        assertThat(values.get(values.size() - 1)).isEqualTo(PolicyNumberAllocator.BLOCK_SIZE * 2 + 1);
+        verify(jdbcTemplate, times(3)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void shouldNeverHandOutTheSameNumberToConcurrentCallers() throws Exception {
+        // Given
+        int threads = 8;
+        int perThread = 1_000;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(allocator.nextPolicyNumber(InsuranceType.AC));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(numbers).hasSize(threads * perThread);
+        verify(jdbcTemplate, times(threads * perThread / PolicyNumberAllocator.BLOCK_SIZE))
+                .queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    void shouldRejectMissingInsuranceTypeAndValuesBeyondTheEncodableRange() {
+        assertThatThrownBy(() -> allocator.nextPolicyNumber(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insurance type cannot be null");
+        assertThatThrownBy(() -> PolicyNumberAllocator.encode(78_364_164_096L))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(PolicyNumberAllocator.encode(78_364_164_095L)).isEqualTo("ZZZZZZZ");
+    }
+}
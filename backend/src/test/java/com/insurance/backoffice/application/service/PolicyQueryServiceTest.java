@@ -0,0 +1,219 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.PolicySearchCriteria;
+import com.insurance.backoffice.domain.PolicyStatus;
+import com.insurance.backoffice.domain.PolicySummary;
+import com.insurance.backoffice.infrastructure.repository.ClientRepository;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import com.insurance.backoffice.infrastructure.repository.PolicyVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PolicyQueryService.
+ * Clean Code: Page tokens are exercised end to end through the service.
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicyQueryServiceTest {
+
+    private static final LocalDate ISSUED = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    private PolicyQueryService policyQueryService;
+
+    @BeforeEach
+    void setUp() {
+        policyQueryService = new PolicyQueryService(policyRepository, clientRepository, 2, 3);
+    }
+
+    @Test
+    void shouldReturnNextPageTokenWhenMorePoliciesFollow() {
+        // Given
+        PolicySummary last = policy(ISSUED, 42L);
+        when(policyRepository.findByStatusIssuedBefore(PolicyStatus.ACTIVE, LocalDate.of(9999, 12, 31),
+                Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(List.of(policy(ISSUED, 50L), last, policy(ISSUED, 30L)));
+
+        // When
+        PolicyPage page = policyQueryService.findPoliciesByStatus(PolicyStatus.ACTIVE, null,
+                PolicySortOrder.NEWEST_FIRST, null);
+
+        // Then
+        assertThat(page.policies()).hasSize(2).endsWith(last);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void shouldContinueAfterLastPolicyOfPreviousPage() {
+        // Given
+        PolicySummary last = policy(ISSUED, 42L);
+        when(policyRepository.findByClientIssuedAfter(eq(7L), any(LocalDate.class), anyLong(), any()))
+                .thenReturn(List.of(last, policy(ISSUED, 43L)))
+                .thenReturn(List.of());
+        String nextPageToken = policyQueryService.findPoliciesByClient(7L, 1, PolicySortOrder.OLDEST_FIRST, null)
+                .nextPageToken();
+
+        // When
+        PolicyPage page = policyQueryService.findPoliciesByClient(7L, 1, PolicySortOrder.OLDEST_FIRST, nextPageToken);
+
+        // Then
+        assertThat(page.policies()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+        verify(policyRepository).findByClientIssuedAfter(7L, ISSUED, 42L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void shouldCapPageSizeAtMaximum() {
+        // Given
+        when(policyRepository.findByClientIssuedBefore(eq(7L), any(LocalDate.class), anyLong(), any()))
+                .thenReturn(List.of());
+        when(clientRepository.existsById(7L)).thenReturn(true);
+
+        // When
+        policyQueryService.findPoliciesByClient(7L, 1000, PolicySortOrder.NEWEST_FIRST, null);
+
+        // Then
+        verify(policyRepository).findByClientIssuedBefore(7L, LocalDate.of(9999, 12, 31), Long.MAX_VALUE,
+                PageRequest.of(0, 4));
+    }
+
+    @Test
+    void shouldRejectUnknownClient() {
+        // Given
+        when(policyRepository.findByClientIssuedBefore(eq(404L), any(LocalDate.class), anyLong(), any()))
+                .thenReturn(List.of());
+        when(clientRepository.existsById(404L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> policyQueryService.findPoliciesByClient(404L, null,
+                PolicySortOrder.NEWEST_FIRST, null))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("Client not found with ID: 404");
+    }
+
+    @Test
+    void shouldNotLookUpClientWhenPageHasPolicies() {
+        // Given
+        when(policyRepository.findByClientIssuedBefore(eq(7L), any(LocalDate.class), anyLong(), any()))
+                .thenReturn(List.of(policy(ISSUED, 42L)));
+
+        // When
+        policyQueryService.findPoliciesByClient(7L, null, PolicySortOrder.NEWEST_FIRST, null);
+
+        // Then
+        verifyNoInteractions(clientRepository);
+    }
+
+    @Test
+    void shouldRejectNonPositivePageSize() {
+        // When & Then
+        assertThatThrownBy(() -> policyQueryService.findPoliciesByClient(7L, 0, PolicySortOrder.NEWEST_FIRST, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be positive");
+
+        verifyNoInteractions(policyRepository);
+    }
+
+    @Test
+    void shouldRejectTokenOfAnotherListingOrSortOrder() {
+        // Given
+        String clientToken = new PolicyPageToken("client:7", PolicySortOrder.NEWEST_FIRST, ISSUED, 42L).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> policyQueryService.findPoliciesByClient(8L, null,
+                PolicySortOrder.NEWEST_FIRST, clientToken))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policyQueryService.findPoliciesByClient(7L, null,
+                PolicySortOrder.OLDEST_FIRST, clientToken))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policyQueryService.findPoliciesByStatus(PolicyStatus.ACTIVE, null,
+                PolicySortOrder.NEWEST_FIRST, "not-a-token"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid page token");
+
+        verifyNoInteractions(policyRepository);
+    }
+
+    @Test
+    void shouldBindCriteriaPageTokenToTheFiltersWhateverTheirOrder() {
+        // Given
+        PolicySearchCriteria criteria = new PolicySearchCriteria(new LinkedHashSet<>(List.of(1L, 2L)), null,
+                Set.of(PolicyStatus.ACTIVE), null, ISSUED.minusYears(1), null);
+        PolicySearchCriteria reordered = new PolicySearchCriteria(new LinkedHashSet<>(List.of(2L, 1L)), null,
+                Set.of(PolicyStatus.ACTIVE), null, ISSUED.minusYears(1), null);
+        when(policyRepository.findByCriteriaIssuedBefore(eq(criteria), any(LocalDate.class), anyLong(), any()))
+                .thenReturn(List.of(policy(ISSUED, 42L), policy(ISSUED, 41L), policy(ISSUED, 40L)));
+        String nextPageToken = policyQueryService.findPolicies(criteria, null, PolicySortOrder.NEWEST_FIRST, null)
+                .nextPageToken();
+
+        // When
+        policyQueryService.findPolicies(reordered, null, PolicySortOrder.NEWEST_FIRST, nextPageToken);
+
+        // Then
+        verify(policyRepository).findByCriteriaIssuedBefore(criteria, ISSUED, 41L, PageRequest.of(0, 3));
+        assertThatThrownBy(() -> policyQueryService.findPolicies(PolicySearchCriteria.of(1L, null, null, null,
+                null, null), null, PolicySortOrder.NEWEST_FIRST, nextPageToken))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectReversedIssueDateRange() {
+        // When & Then
+        assertThatThrownBy(() -> policyQueryService.findPolicies(PolicySearchCriteria.of(null, null, null, null,
+                ISSUED, ISSUED.minusDays(1)), null, PolicySortOrder.NEWEST_FIRST, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Issue date range start must not be after its end");
+
+        verifyNoInteractions(policyRepository);
+    }
+
+    @Test
+    void shouldChangeETagOnlyWhenAListedPolicyChanges() {
+        // Given
+        PolicySearchCriteria active = PolicySearchCriteria.of(null, null, PolicyStatus.ACTIVE, null, null, null);
+        when(policyRepository.findVersionsByCriteriaIssuedBefore(active, LocalDate.of(9999, 12, 31),
+                Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(List.of(new PolicyVersion(50L, 1L), new PolicyVersion(42L, 0L)))
+                .thenReturn(List.of(new PolicyVersion(50L, 1L), new PolicyVersion(42L, 0L)))
+                .thenReturn(List.of(new PolicyVersion(50L, 2L), new PolicyVersion(42L, 0L)));
+
+        // When
+        String first = policyQueryService.findPoliciesByStatusETag(PolicyStatus.ACTIVE, null,
+                PolicySortOrder.NEWEST_FIRST, null);
+        String unchanged = policyQueryService.findPoliciesByStatusETag(PolicyStatus.ACTIVE, null,
+                PolicySortOrder.NEWEST_FIRST, null);
+        String edited = policyQueryService.findPoliciesByStatusETag(PolicyStatus.ACTIVE, null,
+                PolicySortOrder.NEWEST_FIRST, null);
+
+        // Then
+        assertThat(first).startsWith("\"").endsWith("\"").isEqualTo(unchanged);
+        assertThat(edited).isNotEqualTo(first);
+        verify(policyRepository, never()).findByStatusIssuedBefore(any(), any(), anyLong(), any());
+    }
+
+    private PolicySummary policy(LocalDate issueDate, Long id) {
+        return new PolicySummary(id, "OC-" + id, issueDate, "John Doe", "ABC123", InsuranceType.OC,
+                issueDate, issueDate.plusYears(1).minusDays(1), new BigDecimal("1200.00"), BigDecimal.ZERO,
+                null, null, PolicyStatus.ACTIVE);
+    }
+}
@@ -0,0 +1,282 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import com.insurance.backoffice.domain.RenewalJob;
+import com.insurance.backoffice.domain.RenewalJobStatus;
+import com.insurance.backoffice.infrastructure.repository.PolicyRenewalView;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingRuleRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import com.insurance.backoffice.infrastructure.repository.RenewalJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PolicyRenewalService.
+ * Clean Code: Verifies keyset streaming, batched offer writes, pausing and checkpoint/resume behaviour.
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicyRenewalServiceTest {
+
+    private static final LocalDate EXPIRING_FROM = LocalDate.of(2024, 6, 1);
+    private static final LocalDate EXPIRING_TO = LocalDate.of(2024, 6, 30);
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    @Mock
+    private RenewalJobRepository renewalJobRepository;
+
+    @Mock
+    private RatingTableRepository ratingTableRepository;
+
+    @Mock
+    private RatingRuleRepository ratingRuleRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PolicyRenewalService renewalService;
+    private RenewalJob job;
+
+    @BeforeEach
+    void setUp() {
+        RatingTableSnapshotProvider snapshotProvider =
+                new RatingTableSnapshotProvider(ratingTableRepository, ratingRuleRepository, Duration.ofMinutes(5));
+        RatingService ratingService = new RatingService(ratingTableRepository, snapshotProvider,
+                new FixedPointPremiumCalculator(new SimpleMeterRegistry(), false, 0.0));
+        renewalService = new PolicyRenewalService(policyRepository, renewalJobRepository, ratingService,
+                snapshotProvider, jdbcTemplate, transactionManager, 2, 2, 0, false, Duration.ofMinutes(2));
+
+        job = RenewalJob.builder()
+                .insuranceType(InsuranceType.OC)
+                .expiringFrom(EXPIRING_FROM)
+                .expiringTo(EXPIRING_TO)
+                .build();
+        lenient().when(renewalJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        lenient().when(renewalJobRepository.save(any(RenewalJob.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        // Claims and heartbeats succeed unless a test moves the job to another instance
+        lenient().when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        lenient().when(ratingTableRepository.findAll()).thenReturn(List.of(
+                RatingTable.builder()
+                        .insuranceType(InsuranceType.OC)
+                        .ratingKey("ENGINE_MEDIUM")
+                        .multiplier(new BigDecimal("1.2000"))
+                        .validFrom(LocalDate.of(2024, 1, 1))
+                        .build()
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        renewalService.shutdown();
+    }
+
+    @Test
+    void shouldQuoteExpiringPoliciesChunkByChunk() {
+        // Given - policy 1 renews at 960.00, policy 2 at 800.00, policy 5 at 960.00
+        givenChunk(EXPIRING_FROM, 0L, policy(1L, "10", 1600), policy(2L, "10", 900));
+        givenChunk(LocalDate.of(2024, 6, 10), 2L, policy(5L, "20", 1600));
+        givenChunk(LocalDate.of(2024, 6, 20), 5L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[] {1, 1})
+                .thenReturn(new int[] {1});
+
+        // When
+        RenewalJob result = renewalService.runJob(1L);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(RenewalJobStatus.COMPLETED);
+        assertThat(result.getLastEndDate()).isEqualTo(LocalDate.of(2024, 6, 20));
+        assertThat(result.getLastPolicyId()).isEqualTo(5L);
+        assertThat(result.getProcessedCount()).isEqualTo(3L);
+        assertThat(result.getOfferedCount()).isEqualTo(3L);
+        assertThat(result.getSkippedCount()).isZero();
+        assertThat(result.getSnapshotVersion()).isEqualTo(1L);
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 2
+                && rows.get(0)[0].equals(1L)
+                && rows.get(0)[3].equals(LocalDate.of(2024, 6, 11))
+                && rows.get(0)[4].equals(LocalDate.of(2025, 6, 10))
+                && new BigDecimal("960.00").compareTo((BigDecimal) rows.get(0)[5]) == 0
+                && new BigDecimal("800.00").compareTo((BigDecimal) rows.get(1)[5]) == 0));
+        verify(ratingTableRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldSkipPoliciesThatCannotBeRatedAndNotCountExistingOffers() {
+        // Given - policy 2 has no engine capacity, policy 1 already has an offer for the term
+        givenChunk(EXPIRING_FROM, 0L, policy(1L, "10", 1600), policy(2L, "10", null));
+        givenChunk(LocalDate.of(2024, 6, 10), 2L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {0});
+
+        // When
+        RenewalJob result = renewalService.runJob(1L);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(RenewalJobStatus.COMPLETED);
+        assertThat(result.getProcessedCount()).isEqualTo(2L);
+        assertThat(result.getOfferedCount()).isZero();
+        assertThat(result.getSkippedCount()).isEqualTo(1L);
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 1
+                && rows.get(0)[0].equals(1L)));
+    }
+
+    @Test
+    void shouldPauseAfterTheCurrentChunkAndResumeFromItsCheckpoint() {
+        // Given - the pause arrives while the first chunk is read
+        when(policyRepository.findActivePoliciesForRenewal(eq(EXPIRING_FROM), eq(0L), eq(EXPIRING_TO),
+                eq(InsuranceType.OC), any()))
+                .thenAnswer(invocation -> {
+                    renewalService.pauseJob(1L);
+                    return List.of(policy(1L, "10", 1600), policy(2L, "10", 1600));
+                });
+        givenChunk(LocalDate.of(2024, 6, 10), 2L, policy(3L, "15", 1600));
+        givenChunk(LocalDate.of(2024, 6, 15), 3L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[] {1, 1})
+                .thenReturn(new int[] {1});
+
+        // When
+        RenewalJob paused = renewalService.runJob(1L);
+
+        // Then
+        assertThat(paused.getStatus()).isEqualTo(RenewalJobStatus.PAUSED);
+        assertThat(paused.getLastPolicyId()).isEqualTo(2L);
+        assertThat(paused.getOfferedCount()).isEqualTo(2L);
+
+        // When
+        RenewalJob resumed = renewalService.runJob(1L);
+
+        // Then
+        assertThat(resumed.getStatus()).isEqualTo(RenewalJobStatus.COMPLETED);
+        assertThat(resumed.getProcessedCount()).isEqualTo(3L);
+        assertThat(resumed.getOfferedCount()).isEqualTo(3L);
+        verify(policyRepository, times(1)).findActivePoliciesForRenewal(eq(EXPIRING_FROM), eq(0L), eq(EXPIRING_TO),
+                eq(InsuranceType.OC), any());
+    }
+
+    @Test
+    void shouldResumeFailedJobFromLastCommittedChunk() {
+        // Given
+        givenChunk(EXPIRING_FROM, 0L, policy(1L, "10", 1600), policy(2L, "10", 1600));
+        givenChunk(LocalDate.of(2024, 6, 10), 2L, policy(3L, "15", 1600));
+        givenChunk(LocalDate.of(2024, 6, 15), 3L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[] {1, 1})
+                .thenThrow(new DataAccessResourceFailureException("Connection lost"))
+                .thenReturn(new int[] {1});
+
+        // When
+        RenewalJob failed = renewalService.runJob(1L);
+
+        // Then
+        assertThat(failed.getStatus()).isEqualTo(RenewalJobStatus.FAILED);
+        assertThat(failed.getErrorMessage()).isEqualTo("Connection lost");
+        assertThat(failed.getLastPolicyId()).isEqualTo(2L);
+
+        // When
+        RenewalJob resumed = renewalService.runJob(1L);
+
+        // Then
+        assertThat(resumed.getStatus()).isEqualTo(RenewalJobStatus.COMPLETED);
+        assertThat(resumed.getErrorMessage()).isNull();
+        assertThat(resumed.getProcessedCount()).isEqualTo(3L);
+        assertThat(resumed.getOfferedCount()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldStoreThrottleAndPauseOfJobsNotRunningHere() {
+        // When
+        RenewalJob throttled = renewalService.throttleJob(1L, 50);
+        renewalService.pauseJob(1L);
+
+        // Then - both are written apart from the checkpoint, for whichever instance runs the job
+        assertThat(throttled.getMaxRowsPerSecond()).isEqualTo(50);
+        verify(jdbcTemplate).update(contains("SET max_rows_per_second"), eq(50), eq(1L));
+        verify(jdbcTemplate).update(contains("SET status = 'PAUSED'"), eq(1L));
+        verify(renewalJobRepository, never()).save(any());
+        assertThatThrownBy(() -> renewalService.throttleJob(1L, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Renewal rate limit must be positive");
+    }
+
+    @Test
+    void shouldStopWhenPausedOnAnotherInstance() {
+        // Given - another instance paused the job while the first chunk was rated
+        givenChunk(EXPIRING_FROM, 0L, policy(1L, "10", 1600));
+        when(jdbcTemplate.update(contains("SET heartbeat_at"), any(Object[].class))).thenReturn(0);
+
+        // When
+        RenewalJob result = renewalService.runJob(1L);
+
+        // Then - nothing of the chunk is written, and the job is not marked failed
+        assertThat(result.getLastPolicyId()).isZero();
+        assertThat(result.getErrorMessage()).isNull();
+        assertThat(result.getStatus()).isNotEqualTo(RenewalJobStatus.FAILED);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void shouldNotRunJobClaimedByAnotherInstance() {
+        // Given
+        when(jdbcTemplate.update(contains("SET status = 'RUNNING'"), any(Object[].class))).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> renewalService.runJob(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Renewal job is running on another instance");
+        verifyNoInteractions(policyRepository);
+    }
+
+    @Test
+    void shouldRejectReversedWindowsAndConcurrentJobs() {
+        // Given - the unique index on RUNNING jobs rejects a second one
+        when(renewalJobRepository.save(any(RenewalJob.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_renewal_jobs_running"));
+
+        // When & Then
+        assertThatThrownBy(() -> renewalService.startJob(null, EXPIRING_TO, EXPIRING_FROM, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expiry window start must not be after its end");
+        assertThatThrownBy(() -> renewalService.startJob(null, EXPIRING_FROM, EXPIRING_TO, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("A renewal job is already running");
+        verify(renewalJobRepository, times(1)).save(any());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void givenChunk(LocalDate endDate, long afterId, PolicyRenewalView... policies) {
+        when(policyRepository.findActivePoliciesForRenewal(eq(endDate), eq(afterId), eq(EXPIRING_TO),
+                eq(InsuranceType.OC), any()))
+                .thenReturn(List.of(policies));
+    }
+
+    private PolicyRenewalView policy(Long id, String endDay, Integer engineCapacity) {
+        return new PolicyRenewalView(id, InsuranceType.OC, LocalDate.of(2024, 6, Integer.parseInt(endDay)),
+                new BigDecimal("900.00"), engineCapacity, 100, LocalDate.of(2020, 1, 1));
+    }
+}
@@ -0,0 +1,232 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import com.insurance.backoffice.domain.RepricingJob;
+import com.insurance.backoffice.domain.RepricingJobStatus;
+import com.insurance.backoffice.infrastructure.repository.PolicyRatingView;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingRuleRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import com.insurance.backoffice.infrastructure.repository.RepricingJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PolicyRepricingService.
+ * Clean Code: Verifies keyset paging, batched premium writes and checkpoint/resume behaviour.
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicyRepricingServiceTest {
+
+    private static final LocalDate EFFECTIVE_FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate START_DATE = LocalDate.of(2024, 6, 1);
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    @Mock
+    private RepricingJobRepository repricingJobRepository;
+
+    @Mock
+    private RatingTableRepository ratingTableRepository;
+
+    @Mock
+    private RatingRuleRepository ratingRuleRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PolicyRepricingService repricingService;
+    private RepricingJob job;
+
+    @BeforeEach
+    void setUp() {
+        RatingTableSnapshotProvider snapshotProvider =
+                new RatingTableSnapshotProvider(ratingTableRepository, ratingRuleRepository, Duration.ofMinutes(5));
+        RatingService ratingService = new RatingService(ratingTableRepository, snapshotProvider,
+                new FixedPointPremiumCalculator(new SimpleMeterRegistry(), false, 0.0));
+        repricingService = new PolicyRepricingService(policyRepository, repricingJobRepository, ratingService,
+                snapshotProvider, jdbcTemplate, transactionManager, 2, false, Duration.ofMinutes(2));
+
+        job = RepricingJob.builder()
+                .insuranceType(InsuranceType.OC)
+                .effectiveFrom(EFFECTIVE_FROM)
+                .build();
+        lenient().when(repricingJobRepository.findById(1L)).thenReturn(Optional.of(job));
+        lenient().when(repricingJobRepository.save(any(RepricingJob.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        // Claims and heartbeats succeed unless a test takes the job to another instance
+        lenient().when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1);
+        lenient().when(ratingTableRepository.findAll()).thenReturn(List.of(
+                RatingTable.builder()
+                        .insuranceType(InsuranceType.OC)
+                        .ratingKey("ENGINE_MEDIUM")
+                        .multiplier(new BigDecimal("1.2000"))
+                        .validFrom(EFFECTIVE_FROM)
+                        .build()
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repricingService.shutdown();
+    }
+
+    @Test
+    void shouldRepriceChangedPoliciesChunkByChunk() {
+        // Given - policy 1 rises 800.00 -> 960.00, policy 2 is unchanged, policy 5 drops 1000.00 -> 800.00
+        givenChunk(0L, policy(1L, "800.00", 1600), policy(2L, "960.00", 1600));
+        givenChunk(2L, policy(5L, "1000.00", 900));
+        givenChunk(5L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {1});
+
+        // When
+        RepricingJob result = repricingService.runJob(1L);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(RepricingJobStatus.COMPLETED);
+        assertThat(result.getLastPolicyId()).isEqualTo(5L);
+        assertThat(result.getProcessedCount()).isEqualTo(3L);
+        assertThat(result.getUpdatedCount()).isEqualTo(2L);
+        assertThat(result.getPremiumIncreaseTotal()).isEqualByComparingTo("160.00");
+        assertThat(result.getPremiumDecreaseTotal()).isEqualByComparingTo("200.00");
+        assertThat(result.getNetPremiumDelta()).isEqualByComparingTo("-40.00");
+        assertThat(result.getSnapshotVersion()).isEqualTo(1L);
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 1
+                && rows.get(0)[1].equals(1L) && new BigDecimal("960.00").compareTo((BigDecimal) rows.get(0)[0]) == 0));
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 1
+                && rows.get(0)[1].equals(5L) && new BigDecimal("800.00").compareTo((BigDecimal) rows.get(0)[0]) == 0));
+        verify(ratingTableRepository, times(1)).findAll();
+    }
+
+    @Test
+    void shouldNotCountPoliciesChangedSinceTheyWereRead() {
+        // Given
+        givenChunk(0L, policy(1L, "800.00", 1600));
+        givenChunk(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] {0});
+
+        // When
+        RepricingJob result = repricingService.runJob(1L);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(RepricingJobStatus.COMPLETED);
+        assertThat(result.getProcessedCount()).isEqualTo(1L);
+        assertThat(result.getUpdatedCount()).isZero();
+        assertThat(result.getNetPremiumDelta()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void shouldResumeFailedJobFromLastCommittedChunk() {
+        // Given
+        givenChunk(0L, policy(1L, "800.00", 1600), policy(2L, "800.00", 1600));
+        givenChunk(2L, policy(3L, "800.00", 1600));
+        givenChunk(3L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[] {1, 1})
+                .thenThrow(new DataAccessResourceFailureException("Connection lost"))
+                .thenReturn(new int[] {1});
+
+        // When
+        RepricingJob failed = repricingService.runJob(1L);
+
+        // Then
+        assertThat(failed.getStatus()).isEqualTo(RepricingJobStatus.FAILED);
+        assertThat(failed.getErrorMessage()).isEqualTo("Connection lost");
+        assertThat(failed.getLastPolicyId()).isEqualTo(2L);
+        assertThat(failed.getUpdatedCount()).isEqualTo(2L);
+
+        // When
+        RepricingJob resumed = repricingService.runJob(1L);
+
+        // Then
+        assertThat(resumed.getStatus()).isEqualTo(RepricingJobStatus.COMPLETED);
+        assertThat(resumed.getErrorMessage()).isNull();
+        assertThat(resumed.getProcessedCount()).isEqualTo(3L);
+        assertThat(resumed.getUpdatedCount()).isEqualTo(3L);
+        assertThat(resumed.getPremiumIncreaseTotal()).isEqualByComparingTo("480.00");
+        verify(policyRepository, times(1))
+                .findActivePoliciesForRepricing(eq(0L), eq(EFFECTIVE_FROM), eq(InsuranceType.OC), any());
+    }
+
+    @Test
+    void shouldNotRunJobClaimedByAnotherInstance() {
+        // Given
+        when(jdbcTemplate.update(contains("SET status = 'RUNNING'"), any(Object[].class))).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> repricingService.runJob(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Repricing job is running on another instance");
+        verifyNoInteractions(policyRepository);
+    }
+
+    @Test
+    void shouldStopWithoutFailingJobTakenOverByAnotherInstance() {
+        // Given - the claim lapsed and another instance renewed it before the chunk committed
+        givenChunk(0L, policy(1L, "800.00", 1600));
+        when(jdbcTemplate.update(contains("SET heartbeat_at"), any(Object[].class))).thenReturn(0);
+
+        // When
+        RepricingJob result = repricingService.runJob(1L);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(RepricingJobStatus.RUNNING);
+        assertThat(result.getLastPolicyId()).isZero();
+        assertThat(result.getErrorMessage()).isNull();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void shouldRejectConcurrentAndCompletedJobs() {
+        // Given - the unique index on RUNNING jobs rejects a second one
+        when(repricingJobRepository.save(any(RepricingJob.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_repricing_jobs_running"));
+        job.complete();
+
+        // When & Then
+        assertThatThrownBy(() -> repricingService.startJob(InsuranceType.OC, EFFECTIVE_FROM))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("A repricing job is already running");
+        assertThatThrownBy(() -> repricingService.resumeJob(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Repricing job is already completed");
+        assertThatThrownBy(() -> repricingService.startJob(InsuranceType.OC, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repricingJobRepository, times(1)).save(any());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void givenChunk(long afterId, PolicyRatingView... policies) {
+        when(policyRepository.findActivePoliciesForRepricing(eq(afterId), eq(EFFECTIVE_FROM), eq(InsuranceType.OC), any()))
+                .thenReturn(List.of(policies));
+    }
+
+    private PolicyRatingView policy(Long id, String premium, int engineCapacity) {
+        return new PolicyRatingView(id, InsuranceType.OC, START_DATE, new BigDecimal(premium),
+                engineCapacity, 100, LocalDate.of(2020, 1, 1));
+    }
+}
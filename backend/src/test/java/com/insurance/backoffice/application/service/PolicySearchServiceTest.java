@@ -0,0 +1,118 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.application.service.PolicySearchService.RankedSummary;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.PolicyStatus;
+import com.insurance.backoffice.domain.PolicySummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PolicySearchService.
+ * Clean Code: Checks term handling and keyset paging through the bound query parameters.
+ */
+@ExtendWith(MockitoExtension.class)
+class PolicySearchServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private PolicySearchService policySearchService;
+
+    @BeforeEach
+    void setUp() {
+        policySearchService = new PolicySearchService(jdbcTemplate, 2, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldContinueAfterRankAndIdOfPreviousPage() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(ranked(9L, 0.9), ranked(7L, 0.5), ranked(8L, 0.5)))
+                .thenReturn(List.of(ranked(8L, 0.5)));
+
+        // When
+        PolicyPage first = policySearchService.searchPolicies("  Jan   Kowalski ", null, null);
+        PolicyPage second = policySearchService.searchPolicies("jan kowalski", null, first.nextPageToken());
+
+        // Then
+        assertThat(first.policies()).extracting(PolicySummary::id).containsExactly(9L, 7L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.policies()).extracting(PolicySummary::id).containsExactly(8L);
+        assertThat(second.hasNext()).isFalse();
+
+        ArgumentCaptor<SqlParameterSource> parameters = ArgumentCaptor.forClass(SqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).query(anyString(), parameters.capture(), any(RowMapper.class));
+        SqlParameterSource firstQuery = parameters.getAllValues().get(0);
+        assertThat(firstQuery.getValue("term")).isEqualTo("jan kowalski");
+        assertThat(firstQuery.getValue("firstPage")).isEqualTo(true);
+        assertThat(firstQuery.getValue("limit")).isEqualTo(3);
+        SqlParameterSource secondQuery = parameters.getAllValues().get(1);
+        assertThat(secondQuery.getValue("firstPage")).isEqualTo(false);
+        assertThat(secondQuery.getValue("afterRank")).isEqualTo(0.5);
+        assertThat(secondQuery.getValue("afterId")).isEqualTo(7L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldMatchLikeWildcardsLiterally() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        // When
+        PolicyPage page = policySearchService.searchPolicies("50%_off", 10, null);
+
+        // Then
+        assertThat(page.policies()).isEmpty();
+        ArgumentCaptor<SqlParameterSource> parameters = ArgumentCaptor.forClass(SqlParameterSource.class);
+        verify(jdbcTemplate).query(anyString(), parameters.capture(), any(RowMapper.class));
+        assertThat(parameters.getValue().getValue("pattern")).isEqualTo("%50\\%\\_off%");
+        assertThat(parameters.getValue().getValue("limit")).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRejectShortTermsAndTokensOfAnotherSearch() {
+        // Given
+        String token = new PolicySearchPageToken("kowalski", 0.5, 7L).encode();
+
+        // When & Then
+        assertThatThrownBy(() -> policySearchService.searchPolicies(" ab ", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Search term must have at least 3 characters");
+        assertThatThrownBy(() -> policySearchService.searchPolicies(null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Search term is required");
+        assertThatThrownBy(() -> policySearchService.searchPolicies("nowak", null, token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page token belongs to another search");
+        assertThatThrownBy(() -> policySearchService.searchPolicies("nowak", null, "not-a-token"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid page token");
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private RankedSummary ranked(Long id, double rank) {
+        LocalDate issued = LocalDate.of(2024, 3, 15);
+        return new RankedSummary(new PolicySummary(id, "OC-" + id, issued, "Jan Kowalski", "WA12345",
+                InsuranceType.OC, issued, issued.plusYears(1).minusDays(1), new BigDecimal("1200.00"),
+                BigDecimal.ZERO, null, null, PolicyStatus.ACTIVE), rank);
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -38,6 +39,9 @@ class PolicyServiceTest {
     @Mock
     private RatingService ratingService;
     
+    @Mock
+    private PolicyNumberAllocator policyNumberAllocator;
+    
     @InjectMocks
     private PolicyService policyService;
     
@@ -95,7 +99,7 @@ class PolicyServiceTest {
         when(vehicleRepository.findById(vehicleId)).thenReturn(Optional.of(testVehicle));
         when(ratingService.calculatePremium(InsuranceType.OC, testVehicle, startDate))
                 .thenReturn(expectedPremium);
-        when(policyRepository.existsByPolicyNumber(anyString())).thenReturn(false);
+        when(policyNumberAllocator.nextPolicyNumber(InsuranceType.OC)).thenReturn("OC-0000001");
         when(policyRepository.save(any(Policy.class))).thenReturn(testPolicy);
         
         // When
@@ -231,6 +235,21 @@ class PolicyServiceTest {
         verify(policyRepository, never()).save(any(Policy.class));
     }
     
+    @Test
+    void shouldRejectUpdateOfPolicyModifiedSinceExpectedVersion() {
+        // Given
+        Long policyId = 1L;
+        when(policyRepository.findById(policyId)).thenReturn(Optional.of(testPolicy));
+        
+        // When & Then
+        assertThatThrownBy(() -> policyService.updatePolicy(policyId, startDate, endDate, null, null, null, 2L))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessage("Policy 1 was modified since version 2");
+        
+        verify(policyRepository, never()).save(any(Policy.class));
+        verifyNoInteractions(ratingService);
+    }
+    
     @Test
     void shouldCancelPolicySuccessfully() {
         // Given
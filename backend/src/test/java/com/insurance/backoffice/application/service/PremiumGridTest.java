@@ -0,0 +1,277 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.EngineCapacityBand;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.PowerBand;
+import com.insurance.backoffice.domain.RatingAttribute;
+import com.insurance.backoffice.domain.RatingRule;
+import com.insurance.backoffice.domain.RatingTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PremiumGrid.
+ * Clean Code: Verifies precompiled premiums against the plain BigDecimal factor product.
+ */
+class PremiumGridTest {
+
+    private static final LocalDate JAN_2024 = LocalDate.of(2024, 1, 1);
+    private static final LocalDate JUL_2024 = LocalDate.of(2024, 7, 1);
+
+    private static final Map<InsuranceType, BigDecimal> BASE_PREMIUMS = Map.of(
+            InsuranceType.OC, new BigDecimal("800.00"),
+            InsuranceType.AC, new BigDecimal("1200.00"),
+            InsuranceType.NNW, new BigDecimal("300.00")
+    );
+
+    private static final Map<InsuranceType, String> COVERAGE_KEYS = Map.of(
+            InsuranceType.OC, "OC_STANDARD",
+            InsuranceType.AC, "AC_COMPREHENSIVE",
+            InsuranceType.NNW, "NNW_STANDARD"
+    );
+
+    private final List<RatingTable> ratingTables = List.of(
+            rating(InsuranceType.OC, "OC_STANDARD", "1.0370", JAN_2024, null),
+            rating(InsuranceType.OC, "VEHICLE_AGE_0", "1.1333", JAN_2024, null),
+            rating(InsuranceType.OC, "VEHICLE_AGE_10", "0.7777", JAN_2024, null),
+            rating(InsuranceType.OC, "ENGINE_MEDIUM", "1.0500", JAN_2024, JUL_2024.minusDays(1)),
+            rating(InsuranceType.OC, "ENGINE_MEDIUM", "1.0800", JUL_2024, null),
+            rating(InsuranceType.OC, "POWER_HIGH", "1.2345", JAN_2024, null),
+            rating(InsuranceType.AC, "AC_COMPREHENSIVE", "1.3000", JAN_2024, null)
+    );
+
+    @Test
+    void shouldMatchFactorProductForEveryBucket() {
+        // Given
+        RatingTableSnapshot snapshot = RatingTableSnapshot.of(1, ratingTables);
+        PremiumGrid grid = PremiumGrid.of(snapshot, BASE_PREMIUMS, bigDecimalCalculator());
+
+        // When & Then
+        assertGridMatchesFactorProduct(snapshot, grid);
+    }
+
+    @Test
+    void shouldCompileSameGridWithFixedPointArithmetic() {
+        // Given
+        RatingTableSnapshot snapshot = RatingTableSnapshot.of(1, ratingTables);
+        PremiumGrid grid = PremiumGrid.of(snapshot, BASE_PREMIUMS,
+                new FixedPointPremiumCalculator(new SimpleMeterRegistry(), true, 0.0));
+
+        // When & Then
+        assertGridMatchesFactorProduct(snapshot, grid);
+    }
+
+    @Test
+    void shouldSwitchPremiumAtEpochBoundary() {
+        // Given
+        PremiumGrid grid = PremiumGrid.of(RatingTableSnapshot.of(1, ratingTables), BASE_PREMIUMS,
+                bigDecimalCalculator());
+
+        // When
+        BigDecimal beforeChange = grid.premium(InsuranceType.OC, 5, 1400, 60,
+                JUL_2024.minusDays(1).toEpochDay());
+        BigDecimal afterChange = grid.premium(InsuranceType.OC, 5, 1400, 60,
+                JUL_2024.toEpochDay());
+
+        // Then - 800.00 x 1.0370 x 1.05 and x 1.08
+        assertThat(beforeChange).isEqualByComparingTo("871.08");
+        assertThat(afterChange).isEqualByComparingTo("895.97");
+    }
+
+    @Test
+    void shouldKeepOneGridPerSnapshot() {
+        // Given
+        RatingTableSnapshot pinned = RatingTableSnapshot.of(1, ratingTables);
+        RatingTableSnapshot current = RatingTableSnapshot.of(2, ratingTables);
+        AtomicInteger compiles = new AtomicInteger();
+        Function<RatingTableSnapshot, PremiumGrid> compiler = snapshot -> {
+            compiles.incrementAndGet();
+            return PremiumGrid.of(snapshot, BASE_PREMIUMS, bigDecimalCalculator());
+        };
+
+        // When - callers alternate between an older and the current snapshot
+        PremiumGrid pinnedGrid = pinned.premiumGrid(compiler);
+        PremiumGrid currentGrid = current.premiumGrid(compiler);
+
+        // Then
+        assertThat(pinned.premiumGrid(compiler)).isSameAs(pinnedGrid);
+        assertThat(current.premiumGrid(compiler)).isSameAs(currentGrid);
+        assertThat(compiles).hasValue(2);
+    }
+
+    @Test
+    void shouldKeepGridOfReloadedSnapshotOnlyWhenContentIsUnchanged() {
+        // Given
+        AtomicInteger compiles = new AtomicInteger();
+        Function<RatingTableSnapshot, PremiumGrid> compiler = snapshot -> {
+            compiles.incrementAndGet();
+            return PremiumGrid.of(snapshot, BASE_PREMIUMS, bigDecimalCalculator());
+        };
+        RatingTableSnapshot previous = RatingTableSnapshot.of(1, ratingTables);
+        PremiumGrid prewarmed = previous.premiumGrid(compiler);
+        List<RatingTable> changedTables = new ArrayList<>(ratingTables);
+        changedTables.add(rating(InsuranceType.NNW, "NNW_STANDARD", "1.1000", JAN_2024, null));
+
+        // When - a periodic reload and a reload after a rating change
+        RatingTableSnapshot unchanged = RatingTableSnapshot.of(2, ratingTables);
+        unchanged.inheritPremiumGrid(previous);
+        RatingTableSnapshot changed = RatingTableSnapshot.of(3, changedTables);
+        changed.inheritPremiumGrid(previous);
+
+        // Then
+        assertThat(unchanged.premiumGrid(compiler)).isSameAs(prewarmed);
+        assertThat(changed.premiumGrid(compiler)).isNotSameAs(prewarmed);
+        assertThat(compiles).hasValue(2);
+    }
+
+    @Test
+    void shouldCompileEpochOnceForConcurrentCallers() throws Exception {
+        // Given - the first caller's compile is held until a second caller has arrived
+        AtomicInteger compiledCells = new AtomicInteger();
+        CountDownLatch compiling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FixedPointPremiumCalculator calculator = new FixedPointPremiumCalculator(new SimpleMeterRegistry(), false, 0.0) {
+            @Override
+            public BigDecimal premium(RatingTableSnapshot snapshot, InsuranceType insuranceType,
+                                      BigDecimal basePremium, String[] ratingKeys, long epochDay,
+                                      Supplier<BigDecimal> exactPremium) {
+                compiledCells.incrementAndGet();
+                compiling.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.premium(snapshot, insuranceType, basePremium, ratingKeys, epochDay, exactPremium);
+            }
+        };
+        RatingTableSnapshot snapshot = RatingTableSnapshot.of(1, ratingTables);
+        PremiumGrid grid = PremiumGrid.of(snapshot, BASE_PREMIUMS, calculator);
+        CompletableFuture<BigDecimal> first = CompletableFuture.supplyAsync(
+                () -> grid.premium(InsuranceType.OC, 5, 1400, 60, JAN_2024.toEpochDay()));
+        assertThat(compiling.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Thread waiter = new Thread(() -> grid.premium(InsuranceType.OC, 5, 1400, 60, JAN_2024.toEpochDay()));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING && waiter.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        waiter.join(5000);
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualByComparingTo("871.08");
+        assertThat(compiledCells).hasValue(snapshot.getRatingRules().cellCount(InsuranceType.OC));
+    }
+
+    @Test
+    void shouldPriceNegativeVehicleAgeNeutrallyWithSeededRules() {
+        // Given - the rating rules of a migrated database
+        RatingTableSnapshot snapshot = RatingTableSnapshot.of(1, ratingTables,
+                CompiledRatingRules.compile(seededRatingRules()));
+        PremiumGrid grid = PremiumGrid.of(snapshot, BASE_PREMIUMS, bigDecimalCalculator());
+
+        // When - first registered a year after the policy date
+        BigDecimal unrated = grid.premium(InsuranceType.OC, -1, 1400, 60, JAN_2024.toEpochDay());
+        BigDecimal newVehicle = grid.premium(InsuranceType.OC, 0, 1400, 60, JAN_2024.toEpochDay());
+
+        // Then - 800.00 x 1.0370 x 1.05 without the VEHICLE_AGE_0 multiplier
+        assertThat(unrated).isEqualByComparingTo("871.08");
+        assertThat(newVehicle).isEqualByComparingTo("987.19");
+    }
+
+    /**
+     * Rating rules as seeded by V23 and extended with the unrated vehicle age bucket by V35.
+     */
+    private List<RatingRule> seededRatingRules() {
+        String[] ageKeys = new String[12];
+        ageKeys[0] = "VEHICLE_AGE_UNRATED";
+        for (int age = 0; age <= 10; age++) {
+            ageKeys[age + 1] = "VEHICLE_AGE_" + age;
+        }
+        List<RatingRule> ratingRules = new ArrayList<>();
+        for (InsuranceType insuranceType : InsuranceType.values()) {
+            ratingRules.add(rule(insuranceType, "VEHICLE_AGE", RatingAttribute.VEHICLE_AGE, 1,
+                    new int[] {-1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, ageKeys));
+            ratingRules.add(rule(insuranceType, "ENGINE_CAPACITY", RatingAttribute.ENGINE_CAPACITY, 2,
+                    new int[] {1000, 1600, 2000}, "ENGINE_SMALL", "ENGINE_MEDIUM", "ENGINE_LARGE", "ENGINE_XLARGE"));
+            ratingRules.add(rule(insuranceType, "POWER", RatingAttribute.POWER, 3,
+                    new int[] {75, 150, 250}, "POWER_LOW", "POWER_MEDIUM", "POWER_HIGH", "POWER_VERY_HIGH"));
+            ratingRules.add(rule(insuranceType, insuranceType + "_COVERAGE", RatingAttribute.NONE, 4,
+                    new int[0], COVERAGE_KEYS.get(insuranceType)));
+        }
+        return ratingRules;
+    }
+
+    private RatingRule rule(InsuranceType insuranceType, String factorName, RatingAttribute attribute,
+                            int position, int[] upperBounds, String... ratingKeys) {
+        return RatingRule.builder()
+                .insuranceType(insuranceType)
+                .factorName(factorName)
+                .attribute(attribute)
+                .position(position)
+                .upperBounds(upperBounds)
+                .ratingKeys(ratingKeys)
+                .build();
+    }
+
+    private void assertGridMatchesFactorProduct(RatingTableSnapshot snapshot, PremiumGrid grid) {
+        // Dates before, inside and after the ENGINE_MEDIUM change; each band is probed at its inclusive upper bound
+        for (LocalDate date : List.of(JAN_2024.minusDays(1), JAN_2024, JUL_2024.minusDays(1), JUL_2024)) {
+            for (InsuranceType insuranceType : InsuranceType.values()) {
+                for (int age = 0; age <= CompiledRatingRules.DEFAULT_MAX_RATED_VEHICLE_AGE; age++) {
+                    for (EngineCapacityBand engineBand : EngineCapacityBand.values()) {
+                        for (PowerBand powerBand : PowerBand.values()) {
+                            assertThat(grid.premium(insuranceType, age, engineBand.getUpperBound(),
+                                    powerBand.getUpperBound(), date.toEpochDay()))
+                                    .as("%s age %d %s %s on %s", insuranceType, age, engineBand, powerBand, date)
+                                    .isEqualTo(expectedPremium(snapshot, insuranceType, age, engineBand, powerBand, date));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private BigDecimal expectedPremium(RatingTableSnapshot snapshot, InsuranceType insuranceType, int age,
+                                       EngineCapacityBand engineBand, PowerBand powerBand, LocalDate date) {
+        BigDecimal premium = BASE_PREMIUMS.get(insuranceType);
+        for (String ratingKey : List.of(COVERAGE_KEYS.get(insuranceType),
+                "VEHICLE_AGE_" + age, engineBand.getRatingKey(), powerBand.getRatingKey())) {
+            BigDecimal multiplier = snapshot.findMultiplier(insuranceType, ratingKey, date);
+            premium = premium.multiply(multiplier != null ? multiplier : BigDecimal.ONE);
+        }
+        return premium.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private FixedPointPremiumCalculator bigDecimalCalculator() {
+        return new FixedPointPremiumCalculator(new SimpleMeterRegistry(), false, 0.0);
+    }
+
+    private RatingTable rating(InsuranceType insuranceType, String ratingKey, String multiplier,
+                               LocalDate validFrom, LocalDate validTo) {
+        return RatingTable.builder()
+                .insuranceType(insuranceType)
+                .ratingKey(ratingKey)
+                .multiplier(new BigDecimal(multiplier))
+                .validFrom(validFrom)
+                .validTo(validTo)
+                .build();
+    }
+}
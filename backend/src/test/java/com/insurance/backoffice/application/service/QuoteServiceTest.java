@@ -0,0 +1,185 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.application.service.QuoteService.BatchSummary;
+import com.insurance.backoffice.application.service.QuoteService.QuoteItem;
+import com.insurance.backoffice.application.service.QuoteService.QuoteResult;
+import com.insurance.backoffice.domain.*;
+import com.insurance.backoffice.infrastructure.repository.RatingRuleRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import com.insurance.backoffice.infrastructure.repository.VehicleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for QuoteService.
+ * Clean Code: Verifies batch pricing, per-item error reporting and batch limits.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuoteServiceTest {
+
+    private static final LocalDate POLICY_DATE = LocalDate.of(2024, 6, 1);
+
+    @Mock
+    private RatingTableRepository ratingTableRepository;
+
+    @Mock
+    private RatingRuleRepository ratingRuleRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QuoteService quoteService;
+
+    @BeforeEach
+    void setUp() {
+        RatingTableSnapshotProvider snapshotProvider =
+                new RatingTableSnapshotProvider(ratingTableRepository, ratingRuleRepository, Duration.ofMinutes(5));
+        meterRegistry = new SimpleMeterRegistry();
+        RatingService ratingService = new RatingService(ratingTableRepository, snapshotProvider,
+                new FixedPointPremiumCalculator(meterRegistry, false, 0.0));
+        quoteService = new QuoteService(ratingService, snapshotProvider, vehicleRepository, meterRegistry, 100, 4);
+
+        lenient().when(ratingTableRepository.findAll()).thenReturn(List.of(
+                RatingTable.builder()
+                        .insuranceType(InsuranceType.OC)
+                        .ratingKey("ENGINE_MEDIUM")
+                        .multiplier(new BigDecimal("1.2000"))
+                        .validFrom(LocalDate.of(2024, 1, 1))
+                        .build()
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        quoteService.shutdown();
+    }
+
+    @Test
+    void shouldPriceEveryItemAgainstOneSnapshot() {
+        // Given
+        List<QuoteItem> items = IntStream.range(0, 50)
+                .mapToObj(i -> QuoteItem.forVehicle(InsuranceType.OC, vehicle(null, 1600), POLICY_DATE))
+                .toList();
+        List<QuoteResult> results = new ArrayList<>();
+
+        // When
+        BatchSummary summary = quoteService.quote(items, results::add);
+
+        // Then
+        assertThat(results).hasSize(50);
+        assertThat(results).extracting(QuoteResult::index)
+                .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 50).boxed().toList());
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.isSuccessful()).isTrue();
+            assertThat(result.breakdown().getFinalPremium()).isEqualByComparingTo("960.00");
+        });
+        assertThat(summary.requested()).isEqualTo(50);
+        assertThat(summary.succeeded()).isEqualTo(50);
+        assertThat(summary.failed()).isZero();
+        assertThat(summary.snapshotVersion()).isEqualTo(1);
+        verify(ratingTableRepository, times(1)).findAll();
+        verifyNoInteractions(vehicleRepository);
+        assertThat(meterRegistry.get("rating.quotes.items").tag("outcome", "success").counter().count())
+                .isEqualTo(50.0);
+    }
+
+    @Test
+    void shouldLoadReferencedVehiclesWithSingleQuery() {
+        // Given
+        when(vehicleRepository.findAllById(anyIterable())).thenReturn(List.of(vehicle(1L, 900), vehicle(2L, 1600)));
+        List<QuoteItem> items = List.of(
+                QuoteItem.forVehicleId(InsuranceType.OC, 1L, POLICY_DATE),
+                QuoteItem.forVehicleId(InsuranceType.OC, 2L, POLICY_DATE),
+                QuoteItem.forVehicleId(InsuranceType.OC, 1L, POLICY_DATE)
+        );
+        List<QuoteResult> results = new ArrayList<>();
+
+        // When
+        quoteService.quote(items, results::add);
+
+        // Then
+        verify(vehicleRepository, times(1)).findAllById(anyIterable());
+        assertThat(results).filteredOn(result -> result.vehicleId() == 2L)
+                .singleElement()
+                .satisfies(result -> assertThat(result.breakdown().getFinalPremium()).isEqualByComparingTo("960.00"));
+        assertThat(results).filteredOn(result -> result.vehicleId() == 1L)
+                .hasSize(2)
+                .allSatisfy(result -> assertThat(result.breakdown().getFinalPremium()).isEqualByComparingTo("800.00"));
+    }
+
+    @Test
+    void shouldReportFailedItemsWithoutAbortingBatch() {
+        // Given
+        when(vehicleRepository.findAllById(anyIterable())).thenReturn(List.of());
+        List<QuoteItem> items = List.of(
+                QuoteItem.forVehicle(InsuranceType.OC, vehicle(null, 1600), POLICY_DATE),
+                QuoteItem.forVehicleId(InsuranceType.OC, 99L, POLICY_DATE),
+                new QuoteItem(InsuranceType.AC, null, null, POLICY_DATE),
+                QuoteItem.forVehicle(null, vehicle(null, 1600), POLICY_DATE)
+        );
+        List<QuoteResult> results = new ArrayList<>();
+
+        // When
+        BatchSummary summary = quoteService.quote(items, results::add);
+
+        // Then
+        assertThat(summary.succeeded()).isEqualTo(1);
+        assertThat(summary.failed()).isEqualTo(3);
+        assertThat(results).filteredOn(result -> result.index() == 1).singleElement()
+                .satisfies(result -> assertThat(result.error()).isEqualTo("Vehicle not found with ID: 99"));
+        assertThat(results).filteredOn(result -> result.index() == 2).singleElement()
+                .satisfies(result -> assertThat(result.error()).contains("vehicle attributes are required"));
+        assertThat(results).filteredOn(result -> result.index() == 3).singleElement()
+                .satisfies(result -> assertThat(result.error()).isEqualTo("Insurance type cannot be null"));
+    }
+
+    @Test
+    void shouldRejectEmptyAndOversizedBatches() {
+        // Given
+        List<QuoteItem> oversized = IntStream.range(0, 101)
+                .mapToObj(i -> QuoteItem.forVehicle(InsuranceType.OC, vehicle(null, 1600), POLICY_DATE))
+                .toList();
+
+        // When & Then
+        assertThatThrownBy(() -> quoteService.quote(List.of(), result -> { }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At least one quote is required");
+        assertThatThrownBy(() -> quoteService.quote(oversized, result -> { }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds the maximum of 100 quotes");
+    }
+
+    private Vehicle vehicle(Long id, int engineCapacity) {
+        if (id == null) {
+            return Vehicle.forRating(engineCapacity, 100, LocalDate.of(2020, 1, 1));
+        }
+        return Vehicle.builder()
+                .id(id)
+                .make("Toyota")
+                .model("Corolla")
+                .yearOfManufacture(2020)
+                .registrationNumber("WA" + id)
+                .vin("VIN0000000000000" + id)
+                .engineCapacity(engineCapacity)
+                .power(100)
+                .firstRegistrationDate(LocalDate.of(2020, 1, 1))
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.application.service.RatingDayRollover.RolloverStatus;
+import com.insurance.backoffice.application.service.RatingDayRollover.WarmUpStatus;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingDayRollover.
+ * Clean Code: Drives warm-up and switch directly instead of waiting for midnight.
+ */
+@ExtendWith(MockitoExtension.class)
+class RatingDayRolloverTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 30);
+    private static final LocalDate TOMORROW = TODAY.plusDays(1);
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private RatingTableSnapshotProvider snapshotProvider;
+
+    private RatingDayRollover rollover;
+    private RatingTable julyRating;
+
+    @BeforeEach
+    void setUp() {
+        rollover = new RatingDayRollover(ratingService, snapshotProvider, new SimpleMeterRegistry(),
+                true, Duration.ofMinutes(10), "Europe/Warsaw");
+        julyRating = RatingTable.builder()
+                .insuranceType(InsuranceType.OC)
+                .ratingKey("ENGINE_MEDIUM")
+                .multiplier(new BigDecimal("1.08"))
+                .validFrom(TOMORROW)
+                .build();
+    }
+
+    @Test
+    void shouldServePreparedDayWithoutQueryingAfterSwitch() {
+        // Given
+        when(snapshotProvider.current()).thenReturn(RatingTableSnapshot.of(1, List.of(julyRating)));
+        givenRatingTablesOn(TOMORROW);
+        rollover.warmUp(TOMORROW);
+
+        // When
+        rollover.switchTo(TOMORROW);
+        List<RatingTable> ratingTables = rollover.ratingTablesOn(InsuranceType.OC, TOMORROW);
+
+        // Then
+        assertThat(ratingTables).containsExactly(julyRating);
+        verify(ratingService).prewarmPremiumGrid(TOMORROW);
+        verify(ratingService, times(InsuranceType.values().length)).getRatingTablesForDate(any(), eq(TOMORROW));
+        RolloverStatus status = rollover.getStatus();
+        assertThat(status.currentDay()).isEqualTo(TOMORROW);
+        assertThat(status.warmUpStatus()).isEqualTo(WarmUpStatus.SCHEDULED);
+    }
+
+    @Test
+    void shouldUsePreparedDayWhenDateChangesBeforeScheduledSwitch() {
+        // Given
+        when(snapshotProvider.current()).thenReturn(RatingTableSnapshot.of(1, List.of(julyRating)));
+        givenRatingTablesOn(TOMORROW);
+        rollover.warmUp(TOMORROW);
+
+        // When
+        List<RatingTable> ratingTables = rollover.ratingTablesOn(InsuranceType.OC, TOMORROW);
+
+        // Then
+        assertThat(ratingTables).containsExactly(julyRating);
+        assertThat(rollover.getStatus().currentDay()).isEqualTo(TOMORROW);
+        verify(ratingService, times(InsuranceType.values().length)).getRatingTablesForDate(any(), eq(TOMORROW));
+    }
+
+    @Test
+    void shouldKeepPreparedDayWhenReloadLeavesRatingsUnchanged() {
+        // Given - a periodic reload before midnight produced a new version with the same ratings
+        when(snapshotProvider.current()).thenReturn(
+                RatingTableSnapshot.of(1, List.of(julyRating)),
+                RatingTableSnapshot.of(2, List.of(julyRating)));
+        givenRatingTablesOn(TOMORROW);
+        rollover.warmUp(TOMORROW);
+        rollover.switchTo(TOMORROW);
+
+        // When
+        rollover.ratingTablesOn(InsuranceType.OC, TOMORROW);
+
+        // Then
+        verify(ratingService, times(InsuranceType.values().length)).getRatingTablesForDate(any(), eq(TOMORROW));
+        assertThat(rollover.getStatus().currentSnapshotVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldRebuildDayStateWhenRatingsChanged() {
+        // Given
+        RatingTable correctedRating = RatingTable.builder()
+                .insuranceType(InsuranceType.OC)
+                .ratingKey("ENGINE_MEDIUM")
+                .multiplier(new BigDecimal("1.09"))
+                .validFrom(TOMORROW)
+                .build();
+        when(snapshotProvider.current()).thenReturn(
+                RatingTableSnapshot.of(1, List.of(julyRating)),
+                RatingTableSnapshot.of(2, List.of(correctedRating)));
+        givenRatingTablesOn(TOMORROW);
+        rollover.warmUp(TOMORROW);
+        rollover.switchTo(TOMORROW);
+
+        // When
+        rollover.ratingTablesOn(InsuranceType.OC, TOMORROW);
+
+        // Then
+        verify(ratingService, times(2 * InsuranceType.values().length)).getRatingTablesForDate(any(), eq(TOMORROW));
+        assertThat(rollover.getStatus().currentSnapshotVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldBuildMissingDayStateOnceForConcurrentCallers() throws Exception {
+        // Given - the first caller's build is held until a second caller has arrived
+        when(snapshotProvider.current()).thenReturn(RatingTableSnapshot.of(1, List.of(julyRating)));
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(ratingService.getRatingTablesForDate(any(), eq(TOMORROW))).thenAnswer(invocation -> {
+            building.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0) == InsuranceType.OC ? List.of(julyRating) : List.of();
+        });
+        CompletableFuture<List<RatingTable>> first = CompletableFuture.supplyAsync(
+                () -> rollover.ratingTablesOn(InsuranceType.OC, TOMORROW));
+        assertThat(building.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Thread waiter = new Thread(() -> rollover.ratingTablesOn(InsuranceType.OC, TOMORROW));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING && waiter.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        waiter.join(5000);
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsExactly(julyRating);
+        verify(ratingService, times(InsuranceType.values().length)).getRatingTablesForDate(any(), eq(TOMORROW));
+    }
+
+    @Test
+    void shouldRecordFailedWarmUpAndBuildOnFirstUse() {
+        // Given
+        when(snapshotProvider.current()).thenReturn(RatingTableSnapshot.of(1, List.of(julyRating)));
+        when(ratingService.getRatingTablesForDate(any(), eq(TOMORROW)))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(List.of(julyRating));
+
+        // When
+        rollover.warmUp(TOMORROW);
+        RolloverStatus failed = rollover.getStatus();
+        rollover.switchTo(TOMORROW);
+        List<RatingTable> ratingTables = rollover.ratingTablesOn(InsuranceType.OC, TOMORROW);
+
+        // Then
+        assertThat(failed.warmUpStatus()).isEqualTo(WarmUpStatus.FAILED);
+        assertThat(failed.lastWarmUpError()).isEqualTo("connection refused");
+        assertThat(failed.preparedDay()).isNull();
+        assertThat(ratingTables).containsExactly(julyRating);
+        verify(ratingService, never()).prewarmPremiumGrid(any());
+    }
+
+    @Test
+    void shouldReportNextRatingChange() {
+        // Given
+        when(snapshotProvider.current()).thenReturn(RatingTableSnapshot.of(1, List.of(julyRating)));
+
+        // When & Then
+        assertThat(rollover.nextRatingChange(TODAY.minusDays(1))).isEqualTo(TOMORROW);
+        assertThat(rollover.nextRatingChange(TODAY)).isEqualTo(TOMORROW);
+        assertThat(rollover.nextRatingChange(TOMORROW)).isNull();
+    }
+
+    @Test
+    void shouldRejectNullInsuranceType() {
+        // When & Then
+        assertThatThrownBy(() -> rollover.getCurrentRatingTables(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insurance type cannot be null");
+    }
+
+    private void givenRatingTablesOn(LocalDate day) {
+        when(ratingService.getRatingTablesForDate(any(), eq(day))).thenAnswer(invocation ->
+                invocation.getArgument(0) == InsuranceType.OC ? List.of(julyRating) : List.of());
+    }
+}
@@ -1,18 +1,20 @@
 package com.insurance.backoffice.application.service;
 
 import com.insurance.backoffice.domain.*;
+import com.insurance.backoffice.infrastructure.repository.RatingRuleRepository;
 import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -28,15 +30,27 @@ class RatingServicePremiumCalculationTest {
     
     @Mock
     private RatingTableRepository ratingTableRepository;
+
+    @Mock
+    private RatingRuleRepository ratingRuleRepository;
+    
+    private RatingTableSnapshotProvider snapshotProvider;
     
-    @InjectMocks
     private RatingService ratingService;
     
     private LocalDate policyDate;
     
+    private final List<RatingTable> ratingRows = new ArrayList<>();
+    
     @BeforeEach
     void setUp() {
         policyDate = LocalDate.now();
+        snapshotProvider = new RatingTableSnapshotProvider(ratingTableRepository, ratingRuleRepository, Duration.ofMinutes(5));
+        ratingService = new RatingService(ratingTableRepository, snapshotProvider,
+                new FixedPointPremiumCalculator(new SimpleMeterRegistry(), false, 0.0));
+        
+        // The rating snapshot is loaded from whatever rows the test registered
+        lenient().when(ratingTableRepository.findAll()).thenReturn(ratingRows);
     }
     
     @Test
@@ -226,9 +240,6 @@ class RatingServicePremiumCalculationTest {
         BigDecimal premium = ratingService.calculatePremium(InsuranceType.OC, veryOldCar, policyDate);
         
         // Then
-        verify(ratingTableRepository).findByInsuranceTypeAndRatingKeyValidForDate(
-            InsuranceType.OC, "VEHICLE_AGE_10", policyDate);
-        
         BigDecimal expected = new BigDecimal("800.00")
                 .multiply(new BigDecimal("1.4000"))
                 .setScale(2, RoundingMode.HALF_UP);
@@ -292,11 +303,32 @@ class RatingServicePremiumCalculationTest {
         BigDecimal premium = ratingService.calculatePremium(InsuranceType.OC, brandNewCar, policyDate);
         
         // Then
-        verify(ratingTableRepository).findByInsuranceTypeAndRatingKeyValidForDate(
-            InsuranceType.OC, "VEHICLE_AGE_0", policyDate);
         assertThat(premium).isEqualTo(new BigDecimal("720.00"));
     }
     
+    @Test
+    void shouldPricePersistedPremiumFromDatabaseWhileSeededSnapshotServes() {
+        // Given - a stale snapshot file was seeded before the database was read
+        Vehicle car = createVehicle(2020, 1600, 120, LocalDate.of(2020, 1, 1));
+        RatingTable staleRating = RatingTable.builder()
+                .insuranceType(InsuranceType.OC)
+                .ratingKey("OC_STANDARD")
+                .multiplier(new BigDecimal("2.0000"))
+                .validFrom(LocalDate.now().minusYears(1))
+                .build();
+        mockRatingFactor(InsuranceType.OC, "OC_STANDARD", new BigDecimal("1.5000"));
+        snapshotProvider.seed(List.of(staleRating), List.of());
+        
+        // When
+        BigDecimal quoted = ratingService.calculatePremiumBreakdown(InsuranceType.OC, car, policyDate)
+                .getFinalPremium();
+        BigDecimal persisted = ratingService.calculatePremium(InsuranceType.OC, car, policyDate);
+        
+        // Then
+        assertThat(quoted).isEqualTo(new BigDecimal("1600.00"));
+        assertThat(persisted).isEqualTo(new BigDecimal("1200.00"));
+    }
+    
     /**
      * Helper method to create a vehicle with specific characteristics.
      * Clean Code: Extracted vehicle creation for test readability.
@@ -315,7 +347,7 @@ class RatingServicePremiumCalculationTest {
     }
     
     /**
-     * Helper method to mock a specific rating factor.
+     * Helper method to register a specific rating factor in the rating snapshot.
      * Clean Code: Extracted mocking for test readability.
      */
     private void mockRatingFactor(InsuranceType insuranceType, String ratingKey, BigDecimal multiplier) {
@@ -326,12 +358,18 @@ class RatingServicePremiumCalculationTest {
                 .validFrom(LocalDate.now().minusYears(1))
                 .build();
         
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                insuranceType, ratingKey, policyDate))
-                .thenReturn(Arrays.asList(ratingTable));
+        ratingRows.add(ratingTable);
+        snapshotProvider.invalidate();
     }
     
-
+    /**
+     * Helper method to start a scenario with an empty rating snapshot.
+     * Clean Code: Keeps parameterized helpers independent of each other.
+     */
+    private void resetRatingFactors() {
+        ratingRows.clear();
+        snapshotProvider.invalidate();
+    }
     
     /**
      * Helper method to test engine category mapping.
@@ -340,15 +378,13 @@ class RatingServicePremiumCalculationTest {
     private void testEngineCategory(int engineCapacity, String expectedKey) {
         Vehicle car = createVehicle(2020, engineCapacity, 120, LocalDate.of(2020, 1, 1));
         
-        mockRatingFactor(InsuranceType.OC, "VEHICLE_AGE_5", new BigDecimal("1.0000"));
-        mockRatingFactor(InsuranceType.OC, expectedKey, new BigDecimal("1.0000"));
-        mockRatingFactor(InsuranceType.OC, "POWER_MEDIUM", new BigDecimal("1.0000"));
-        mockRatingFactor(InsuranceType.OC, "OC_STANDARD", new BigDecimal("1.0000"));
+        // Only the expected key carries a non-neutral multiplier
+        resetRatingFactors();
+        mockRatingFactor(InsuranceType.OC, expectedKey, new BigDecimal("1.5000"));
         
-        ratingService.calculatePremium(InsuranceType.OC, car, policyDate);
+        BigDecimal premium = ratingService.calculatePremium(InsuranceType.OC, car, policyDate);
         
-        verify(ratingTableRepository).findByInsuranceTypeAndRatingKeyValidForDate(
-            InsuranceType.OC, expectedKey, policyDate);
+        assertThat(premium).isEqualTo(new BigDecimal("1200.00"));
     }
     
     /**
@@ -358,14 +394,12 @@ class RatingServicePremiumCalculationTest {
     private void testPowerCategory(int power, String expectedKey) {
         Vehicle car = createVehicle(2020, 1600, power, LocalDate.of(2020, 1, 1));
         
-        mockRatingFactor(InsuranceType.OC, "VEHICLE_AGE_5", new BigDecimal("1.0000"));
-        mockRatingFactor(InsuranceType.OC, "ENGINE_MEDIUM", new BigDecimal("1.0000"));
-        mockRatingFactor(InsuranceType.OC, expectedKey, new BigDecimal("1.0000"));
-        mockRatingFactor(InsuranceType.OC, "OC_STANDARD", new BigDecimal("1.0000"));
+        // Only the expected key carries a non-neutral multiplier
+        resetRatingFactors();
+        mockRatingFactor(InsuranceType.OC, expectedKey, new BigDecimal("1.5000"));
         
-        ratingService.calculatePremium(InsuranceType.OC, car, policyDate);
+        BigDecimal premium = ratingService.calculatePremium(InsuranceType.OC, car, policyDate);
         
-        verify(ratingTableRepository).findByInsuranceTypeAndRatingKeyValidForDate(
-            InsuranceType.OC, expectedKey, policyDate);
+        assertThat(premium).isEqualTo(new BigDecimal("1200.00"));
     }
 }
\ No newline at end of file
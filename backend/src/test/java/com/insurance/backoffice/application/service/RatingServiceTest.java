@@ -1,15 +1,17 @@
 package com.insurance.backoffice.application.service;
 
 import com.insurance.backoffice.domain.*;
+import com.insurance.backoffice.infrastructure.repository.RatingRuleRepository;
 import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -27,8 +29,10 @@ class RatingServiceTest {
     
     @Mock
     private RatingTableRepository ratingTableRepository;
+
+    @Mock
+    private RatingRuleRepository ratingRuleRepository;
     
-    @InjectMocks
     private RatingService ratingService;
     
     private Vehicle testVehicle;
@@ -39,6 +43,10 @@ class RatingServiceTest {
     
     @BeforeEach
     void setUp() {
+        ratingService = new RatingService(ratingTableRepository,
+                new RatingTableSnapshotProvider(ratingTableRepository, ratingRuleRepository, Duration.ofMinutes(5)),
+                new FixedPointPremiumCalculator(new SimpleMeterRegistry(), false, 0.0));
+        
         testVehicle = Vehicle.builder()
                 .make("Toyota")
                 .model("Camry")
@@ -84,23 +92,10 @@ class RatingServiceTest {
         int vehicleAge = java.time.Period.between(testVehicle.getFirstRegistrationDate(), policyDate).getYears();
         String expectedAgeKey = "VEHICLE_AGE_" + Math.min(vehicleAge, 10);
         
-        // Mock all possible rating key lookups to return empty lists by default
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), anyString(), eq(policyDate)))
-                .thenReturn(Arrays.asList());
-        
-        // Then override specific ones we want to return values
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq(expectedAgeKey), eq(policyDate)))
-                .thenReturn(Arrays.asList(vehicleAgeRating));
-        
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("ENGINE_MEDIUM"), eq(policyDate)))
-                .thenReturn(Arrays.asList(engineCapacityRating));
-        
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("POWER_MEDIUM"), eq(policyDate)))
-                .thenReturn(Arrays.asList(powerRating));
+        // Rating snapshot contains only the age, engine and power factors
+        vehicleAgeRating.setRatingKey(expectedAgeKey);
+        when(ratingTableRepository.findAll())
+                .thenReturn(Arrays.asList(vehicleAgeRating, engineCapacityRating, powerRating));
         
         // When
         BigDecimal result = ratingService.calculatePremium(InsuranceType.OC, testVehicle, policyDate);
@@ -121,9 +116,7 @@ class RatingServiceTest {
         // Given
         BigDecimal expectedBasePremium = new BigDecimal("1200.00");
         
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.AC), anyString(), eq(policyDate)))
-                .thenReturn(Arrays.asList());
+        when(ratingTableRepository.findAll()).thenReturn(Arrays.asList());
         
         // When
         BigDecimal result = ratingService.calculatePremium(InsuranceType.AC, testVehicle, policyDate);
@@ -138,9 +131,7 @@ class RatingServiceTest {
         // Given
         BigDecimal expectedBasePremium = new BigDecimal("300.00");
         
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.NNW), anyString(), eq(policyDate)))
-                .thenReturn(Arrays.asList());
+        when(ratingTableRepository.findAll()).thenReturn(Arrays.asList());
         
         // When
         BigDecimal result = ratingService.calculatePremium(InsuranceType.NNW, testVehicle, policyDate);
@@ -186,23 +177,10 @@ class RatingServiceTest {
         int vehicleAge = java.time.Period.between(testVehicle.getFirstRegistrationDate(), policyDate).getYears();
         String expectedAgeKey = "VEHICLE_AGE_" + Math.min(vehicleAge, 10);
         
-        // Mock all possible rating key lookups to return empty lists by default
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), anyString(), eq(policyDate)))
-                .thenReturn(Arrays.asList());
-        
-        // Then override specific ones we want to return values
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq(expectedAgeKey), eq(policyDate)))
-                .thenReturn(Arrays.asList(vehicleAgeRating));
-        
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("ENGINE_MEDIUM"), eq(policyDate)))
-                .thenReturn(Arrays.asList(engineCapacityRating));
-        
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("POWER_MEDIUM"), eq(policyDate)))
-                .thenReturn(Arrays.asList(powerRating));
+        // Rating snapshot contains only the age, engine and power factors
+        vehicleAgeRating.setRatingKey(expectedAgeKey);
+        when(ratingTableRepository.findAll())
+                .thenReturn(Arrays.asList(vehicleAgeRating, engineCapacityRating, powerRating));
         
         // When
         RatingService.PremiumBreakdown result = ratingService.calculatePremiumBreakdown(
@@ -283,9 +261,7 @@ class RatingServiceTest {
     @Test
     void shouldUseNeutralMultiplierWhenNoRatingTableFound() {
         // Given
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), anyString(), eq(policyDate)))
-                .thenReturn(Arrays.asList());
+        when(ratingTableRepository.findAll()).thenReturn(Arrays.asList());
         
         // When
         BigDecimal result = ratingService.calculatePremium(InsuranceType.OC, testVehicle, policyDate);
@@ -309,23 +285,16 @@ class RatingServiceTest {
                 .firstRegistrationDate(LocalDate.of(2020, 1, 1))
                 .build();
         
-        // Mock all possible rating key lookups to return empty lists by default
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), anyString(), eq(policyDate)))
-                .thenReturn(Arrays.asList());
-        
-        // Then override the specific one we want to test
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("ENGINE_SMALL"), eq(policyDate)))
-                .thenReturn(Arrays.asList(engineCapacityRating));
+        // Only the engine factor we want to test is present in the rating snapshot
+        engineCapacityRating.setRatingKey("ENGINE_SMALL");
+        when(ratingTableRepository.findAll()).thenReturn(Arrays.asList(engineCapacityRating));
         
         // When
         BigDecimal result = ratingService.calculatePremium(InsuranceType.OC, smallEngineVehicle, policyDate);
         
         // Then
-        assertThat(result).isNotNull();
-        verify(ratingTableRepository).findByInsuranceTypeAndRatingKeyValidForDate(
-                InsuranceType.OC, "ENGINE_SMALL", policyDate);
+        // Expected calculation: 800.00 * 1.2 = 960.00
+        assertThat(result).isEqualTo(new BigDecimal("960.00"));
     }
     
     @Test
@@ -342,30 +311,22 @@ class RatingServiceTest {
                 .firstRegistrationDate(LocalDate.of(2020, 1, 1))
                 .build();
         
-        // Mock all possible rating key lookups to return empty lists by default
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), anyString(), eq(policyDate)))
-                .thenReturn(Arrays.asList());
-        
-        // Then override the specific one we want to test
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("ENGINE_XLARGE"), eq(policyDate)))
-                .thenReturn(Arrays.asList(engineCapacityRating));
+        // Only the engine factor we want to test is present in the rating snapshot
+        engineCapacityRating.setRatingKey("ENGINE_XLARGE");
+        when(ratingTableRepository.findAll()).thenReturn(Arrays.asList(engineCapacityRating));
         
         // When
         BigDecimal result = ratingService.calculatePremium(InsuranceType.OC, largeEngineVehicle, policyDate);
         
         // Then
-        assertThat(result).isNotNull();
-        verify(ratingTableRepository).findByInsuranceTypeAndRatingKeyValidForDate(
-                InsuranceType.OC, "ENGINE_XLARGE", policyDate);
+        // Expected calculation: 800.00 * 1.2 = 960.00
+        assertThat(result).isEqualTo(new BigDecimal("960.00"));
     }
     
     @Test
     void shouldThrowPremiumCalculationExceptionWhenRepositoryFails() {
         // Given
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                any(), anyString(), any()))
+        when(ratingTableRepository.findAll())
                 .thenThrow(new RuntimeException("Database error"));
         
         // When & Then
@@ -374,4 +335,81 @@ class RatingServiceTest {
                 .hasMessage("Failed to calculate premium for OC insurance")
                 .hasCauseInstanceOf(RuntimeException.class);
     }
+    
+    @Test
+    void shouldLoadRatingTablesOnceForRepeatedCalculations() {
+        // Given
+        when(ratingTableRepository.findAll())
+                .thenReturn(Arrays.asList(engineCapacityRating, powerRating));
+        
+        // When
+        ratingService.calculatePremium(InsuranceType.OC, testVehicle, policyDate);
+        ratingService.calculatePremium(InsuranceType.OC, testVehicle, policyDate.plusDays(1));
+        ratingService.calculatePremiumBreakdown(InsuranceType.OC, testVehicle, policyDate);
+        
+        // Then
+        verify(ratingTableRepository, times(1)).findAll();
+        verify(ratingTableRepository, never()).findByInsuranceTypeAndRatingKeyValidForDate(any(), anyString(), any());
+    }
+    
+    @Test
+    void shouldSplitPremiumTimelineAtRatingBoundariesAndAnniversaries() {
+        // Given - vehicle turns 4 on 2024-03-15, engine factor changes on 2024-07-01,
+        // and a neutral power factor starting on 2024-09-01 does not change the premium
+        Vehicle vehicle = Vehicle.forRating(1600, 120, LocalDate.of(2020, 3, 15));
+        when(ratingTableRepository.findAll()).thenReturn(Arrays.asList(
+                rating("VEHICLE_AGE_3", "1.10", LocalDate.of(2020, 1, 1), null),
+                rating("ENGINE_MEDIUM", "1.20", LocalDate.of(2020, 1, 1), LocalDate.of(2024, 6, 30)),
+                rating("ENGINE_MEDIUM", "1.25", LocalDate.of(2024, 7, 1), null),
+                rating("POWER_MEDIUM", "1.00", LocalDate.of(2024, 9, 1), null)
+        ));
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        
+        // When
+        List<RatingService.PremiumSegment> timeline =
+                ratingService.calculatePremiumTimeline(InsuranceType.OC, vehicle, from, to);
+        
+        // Then
+        assertThat(timeline).containsExactly(
+                new RatingService.PremiumSegment(from, LocalDate.of(2024, 3, 14), new BigDecimal("1056.00")),
+                new RatingService.PremiumSegment(LocalDate.of(2024, 3, 15), LocalDate.of(2024, 6, 30),
+                        new BigDecimal("960.00")),
+                new RatingService.PremiumSegment(LocalDate.of(2024, 7, 1), to, new BigDecimal("1000.00"))
+        );
+        for (RatingService.PremiumSegment segment : timeline) {
+            for (LocalDate day = segment.from(); !day.isAfter(segment.to()); day = day.plusDays(1)) {
+                assertThat(ratingService.calculatePremium(InsuranceType.OC, vehicle, day))
+                        .as("premium on %s", day)
+                        .isEqualByComparingTo(segment.premium());
+            }
+        }
+    }
+    
+    @Test
+    void shouldRejectInvalidPremiumTimelineRange() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        
+        // When & Then
+        assertThatThrownBy(() -> ratingService.calculatePremiumTimeline(
+                InsuranceType.OC, testVehicle, from, from.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Timeline end date cannot be before start date");
+        assertThatThrownBy(() -> ratingService.calculatePremiumTimeline(
+                InsuranceType.OC, testVehicle, from, from.plusYears(11)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Timeline cannot exceed 10 years");
+        verifyNoInteractions(ratingTableRepository);
+    }
+    
+    private RatingTable rating(String ratingKey, String multiplier, LocalDate validFrom, LocalDate validTo) {
+        return RatingTable.builder()
+                .insuranceType(InsuranceType.OC)
+                .ratingKey(ratingKey)
+                .multiplier(new BigDecimal(multiplier))
+                .validFrom(validFrom)
+                .validTo(validTo)
+                .build();
+    }
 }
\ No newline at end of file
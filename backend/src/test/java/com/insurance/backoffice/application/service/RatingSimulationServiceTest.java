@@ -0,0 +1,160 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.application.service.RatingSimulationService.DeltaBucket;
+import com.insurance.backoffice.application.service.RatingSimulationService.SimulationResult;
+import com.insurance.backoffice.domain.EngineCapacityBand;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import com.insurance.backoffice.infrastructure.repository.PolicyRatingView;
+import com.insurance.backoffice.infrastructure.repository.PolicyRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingRuleRepository;
+import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingSimulationService.
+ * Clean Code: Verifies paged streaming, fork-join aggregation and that nothing is persisted.
+ */
+@ExtendWith(MockitoExtension.class)
+class RatingSimulationServiceTest {
+
+    private static final LocalDate REGISTERED = LocalDate.of(2020, 1, 1);
+    private static final LocalDate CANDIDATE_START = LocalDate.of(2025, 1, 1);
+
+    @Mock
+    private PolicyRepository policyRepository;
+
+    @Mock
+    private RatingTableRepository ratingTableRepository;
+
+    @Mock
+    private RatingRuleRepository ratingRuleRepository;
+
+    private RatingSimulationService simulationService;
+
+    @AfterEach
+    void tearDown() {
+        simulationService.shutdown();
+    }
+
+    @Test
+    void shouldReportDeltaDistributionByBucket() {
+        // Given - candidate raises the OC medium engine factor from 1.20 to 1.50
+        simulationService = createService(2);
+        givenStoredRatingTables();
+        givenPage(0L, policy(1L, InsuranceType.OC, 1600), policy(2L, InsuranceType.OC, 900));
+        givenPage(2L, policy(3L, InsuranceType.AC, 1600));
+        givenPage(3L);
+
+        // When
+        SimulationResult result = simulationService.simulate(List.of(candidate()), null, null);
+
+        // Then
+        assertThat(result.ratingDate()).isEqualTo(CANDIDATE_START);
+        assertThat(result.policyCount()).isEqualTo(3);
+        assertThat(result.increased()).isEqualTo(1);
+        assertThat(result.unchanged()).isEqualTo(2);
+        assertThat(result.currentPremiumTotal()).isEqualByComparingTo("2960.00");
+        assertThat(result.deltaTotal()).isEqualByComparingTo("240.00");
+        assertThat(result.buckets()).hasSize(3);
+        assertThat(result.buckets())
+                .filteredOn(bucket -> bucket.insuranceType() == InsuranceType.OC
+                        && bucket.engineBand() == EngineCapacityBand.MEDIUM)
+                .singleElement()
+                .satisfies(bucket -> {
+                    assertThat(bucket.vehicleAgeBucket()).isEqualTo(5);
+                    assertThat(bucket.policies()).isEqualTo(1);
+                    assertThat(bucket.deltaTotal()).isEqualByComparingTo("240.00");
+                });
+        verify(ratingTableRepository, never()).save(any());
+        verify(ratingTableRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldAggregateLargePageAcrossForkJoinTasks() {
+        // Given
+        simulationService = createService(5000);
+        givenStoredRatingTables();
+        givenPage(0L, LongStream.rangeClosed(1, 3000)
+                .mapToObj(id -> policy(id, InsuranceType.OC, 1600))
+                .toArray(PolicyRatingView[]::new));
+        givenPage(3000L);
+
+        // When
+        SimulationResult result = simulationService.simulate(List.of(candidate()), CANDIDATE_START,
+                InsuranceType.OC);
+
+        // Then
+        assertThat(result.policyCount()).isEqualTo(3000);
+        assertThat(result.increased()).isEqualTo(3000);
+        assertThat(result.deltaTotal()).isEqualByComparingTo("720000.00");
+        assertThat(result.buckets()).singleElement().satisfies(bucket -> {
+            assertThat(bucket.minDelta()).isEqualByComparingTo("240.00");
+            assertThat(bucket.maxDelta()).isEqualByComparingTo("240.00");
+        });
+    }
+
+    @Test
+    void shouldRejectSimulationWithoutCandidates() {
+        // Given
+        simulationService = createService(2);
+
+        // When & Then
+        assertThatThrownBy(() -> simulationService.simulate(List.of(), null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At least one candidate rating table is required");
+        verifyNoInteractions(policyRepository, ratingTableRepository);
+    }
+
+    private RatingSimulationService createService(int pageSize) {
+        RatingService ratingService = new RatingService(ratingTableRepository,
+                new RatingTableSnapshotProvider(ratingTableRepository, ratingRuleRepository, Duration.ofMinutes(5)),
+                new FixedPointPremiumCalculator(new SimpleMeterRegistry(), false, 0.0));
+        return new RatingSimulationService(policyRepository, ratingTableRepository, ratingService, pageSize, 4);
+    }
+
+    private void givenStoredRatingTables() {
+        when(ratingTableRepository.findAll()).thenReturn(List.of(
+                RatingTable.builder()
+                        .insuranceType(InsuranceType.OC)
+                        .ratingKey("ENGINE_MEDIUM")
+                        .multiplier(new BigDecimal("1.20"))
+                        .validFrom(LocalDate.of(2024, 1, 1))
+                        .build()
+        ));
+    }
+
+    private RatingTable candidate() {
+        return RatingTable.builder()
+                .insuranceType(InsuranceType.OC)
+                .ratingKey("ENGINE_MEDIUM")
+                .multiplier(new BigDecimal("1.50"))
+                .validFrom(CANDIDATE_START)
+                .build();
+    }
+
+    private void givenPage(long afterId, PolicyRatingView... policies) {
+        when(policyRepository.findActivePoliciesForRepricing(eq(afterId), isNull(), any(), any()))
+                .thenReturn(List.of(policies));
+    }
+
+    private PolicyRatingView policy(Long id, InsuranceType insuranceType, int engineCapacity) {
+        return new PolicyRatingView(id, insuranceType, LocalDate.of(2024, 6, 1), new BigDecimal("1000.00"),
+                engineCapacity, 100, REGISTERED);
+    }
+}
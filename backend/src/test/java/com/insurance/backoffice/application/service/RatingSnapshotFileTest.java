@@ -0,0 +1,123 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingAttribute;
+import com.insurance.backoffice.domain.RatingRule;
+import com.insurance.backoffice.domain.RatingTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RatingSnapshotFile.
+ * Clean Code: Round-trips real files through the memory-mapped reader.
+ */
+class RatingSnapshotFileTest {
+
+    private static final Instant EXPORTED_AT = Instant.parse("2024-06-30T21:50:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final RatingTable openEnded = rating(InsuranceType.OC, "ENGINE_MEDIUM", "1.0800", LocalDate.of(2024, 7, 1), null);
+    private final RatingTable closed = rating(InsuranceType.OC, "ENGINE_MEDIUM", "1.0500",
+            LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 30));
+    private final RatingTable comprehensive = rating(InsuranceType.AC, "AC_COMPREHENSIVE", "1.3000",
+            LocalDate.of(2024, 1, 1), null);
+    private final RatingRule ageRule = RatingRule.builder()
+            .insuranceType(InsuranceType.AC)
+            .factorName("VEHICLE_AGE")
+            .attribute(RatingAttribute.VEHICLE_AGE)
+            .position(1)
+            .upperBounds(2, 7)
+            .ratingKeys("NEW", "USED", "OLD")
+            .build();
+
+    @Test
+    void shouldRoundTripRatingDataThroughFile() throws IOException {
+        // Given
+        Path path = directory.resolve("rating-snapshot.bin");
+        RatingSnapshotFile exported = RatingSnapshotFile.of(List.of(openEnded, closed, comprehensive),
+                List.of(ageRule), EXPORTED_AT);
+
+        // When
+        exported.writeTo(path);
+        RatingSnapshotFile read = RatingSnapshotFile.read(path);
+
+        // Then
+        assertThat(read.getVersion()).isEqualTo(exported.getVersion());
+        assertThat(read.getExportedAt()).isEqualTo(EXPORTED_AT);
+        assertThat(read.getRatingTables()).hasSize(3);
+        RatingTable first = read.getRatingTables().get(0);
+        assertThat(first.getInsuranceType()).isEqualTo(InsuranceType.OC);
+        assertThat(first.getMultiplier()).isEqualTo(new BigDecimal("1.0500"));
+        assertThat(first.getValidTo()).isEqualTo(LocalDate.of(2024, 6, 30));
+        assertThat(read.getRatingTables().get(1).getValidTo()).isNull();
+        assertThat(read.getRatingRules()).singleElement().satisfies(rule -> {
+            assertThat(rule.getUpperBoundValues()).containsExactly(2, 7);
+            assertThat(rule.getRatingKeyValues()).containsExactly("NEW", "USED", "OLD");
+        });
+    }
+
+    @Test
+    void shouldDeriveVersionFromContentRegardlessOfRowOrder() {
+        // When
+        RatingSnapshotFile first = RatingSnapshotFile.of(List.of(openEnded, closed, comprehensive), List.of(ageRule),
+                EXPORTED_AT);
+        RatingSnapshotFile reordered = RatingSnapshotFile.of(List.of(comprehensive, closed, openEnded),
+                List.of(ageRule), EXPORTED_AT.plusSeconds(60));
+        RatingSnapshotFile changed = RatingSnapshotFile.of(List.of(closed, comprehensive), List.of(ageRule),
+                EXPORTED_AT);
+
+        // Then
+        assertThat(reordered.getVersion()).isEqualTo(first.getVersion());
+        assertThat(changed.getVersion()).isNotEqualTo(first.getVersion());
+    }
+
+    @Test
+    void shouldRejectCorruptedFile() throws IOException {
+        // Given
+        Path path = directory.resolve("rating-snapshot.bin");
+        RatingSnapshotFile.of(List.of(openEnded), List.of(), EXPORTED_AT).writeTo(path);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(path, bytes);
+
+        // When & Then
+        assertThatThrownBy(() -> RatingSnapshotFile.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void shouldRejectFileOfAnotherFormat() throws IOException {
+        // Given
+        Path path = directory.resolve("rating-snapshot.bin");
+        Files.write(path, new byte[64]);
+
+        // When & Then
+        assertThatThrownBy(() -> RatingSnapshotFile.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("not a rating snapshot");
+    }
+
+    private RatingTable rating(InsuranceType insuranceType, String ratingKey, String multiplier,
+                               LocalDate validFrom, LocalDate validTo) {
+        return RatingTable.builder()
+                .insuranceType(insuranceType)
+                .ratingKey(ratingKey)
+                .multiplier(new BigDecimal(multiplier))
+                .validFrom(validFrom)
+                .validTo(validTo)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.insurance.backoffice.application.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingTableChangeNotificationListener.
+ * Clean Code: Verifies invalidation on notifications and resync on every (re)connect.
+ */
+@ExtendWith(MockitoExtension.class)
+class RatingTableChangeNotificationListenerTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private RatingTableSnapshotProvider snapshotProvider;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache ratingTablesCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RatingTableChangeNotificationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new RatingTableChangeNotificationListener(dataSource, snapshotProvider, cacheManager,
+                meterRegistry, true, Duration.ofMillis(10), Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.shutdown();
+    }
+
+    @Test
+    void shouldResyncOnConnectAndInvalidateOnNotification() throws SQLException {
+        // Given - one notification arrives, then the connection drops
+        givenPostgresConnection();
+        PGNotification notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn("OC:ENGINE_MEDIUM");
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(new PGNotification[] {notification})
+                .thenThrow(new SQLException("connection lost"));
+
+        // When & Then
+        assertThatThrownBy(() -> listener.listenUntilFailure())
+                .isInstanceOf(SQLException.class)
+                .hasMessage("connection lost");
+        verify(statement).execute("LISTEN " + RatingTableChangeNotificationListener.CHANNEL);
+        verify(snapshotProvider, times(2)).invalidate();
+        verify(ratingTablesCache, times(2)).clear();
+        verify(connection).close();
+        assertThat(listener.isListening()).isFalse();
+        assertThat(meterRegistry.counter("rating.notifications.received").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("rating.notifications.resyncs").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldPingIdleConnectionSoDeadOnesAreDetected() throws SQLException {
+        // Given - no notifications, and the ping fails
+        givenPostgresConnection();
+        when(pgConnection.getNotifications(anyInt())).thenReturn(new PGNotification[0]);
+        when(statement.execute(anyString()))
+                .thenReturn(false)
+                .thenThrow(new SQLException("broken pipe"));
+
+        // When & Then
+        assertThatThrownBy(() -> listener.listenUntilFailure())
+                .isInstanceOf(SQLException.class)
+                .hasMessage("broken pipe");
+        verify(statement).execute("SELECT 1");
+        verify(snapshotProvider, times(1)).invalidate();
+    }
+
+    @Test
+    void shouldStopWhenDatabaseDoesNotSupportNotifications() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(false);
+
+        // When
+        boolean retry = listener.listenUntilFailure();
+
+        // Then
+        assertThat(retry).isFalse();
+        verify(connection, never()).createStatement();
+        verifyNoInteractions(snapshotProvider);
+    }
+
+    private void givenPostgresConnection() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(cacheManager.getCache(RatingTableChangeNotificationListener.RATING_TABLES_CACHE))
+                .thenReturn(ratingTablesCache);
+    }
+}
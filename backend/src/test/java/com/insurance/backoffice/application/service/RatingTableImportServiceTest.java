@@ -0,0 +1,169 @@
+package com.insurance.backoffice.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.backoffice.application.service.RatingTableImportService.ImportError;
+import com.insurance.backoffice.application.service.RatingTableImportService.ImportResult;
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import com.insurance.backoffice.domain.RatingTablesChangedEvent;
+import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RatingTableImportService.
+ * Clean Code: Verifies single-sweep overlap detection, bounds checks and all-or-nothing batch inserts.
+ */
+@ExtendWith(MockitoExtension.class)
+class RatingTableImportServiceTest {
+
+    @Mock
+    private RatingTableRepository ratingTableRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RatingTableImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new RatingTableImportService(ratingTableRepository, jdbcTemplate, eventPublisher,
+                new ObjectMapper().findAndRegisterModules(), 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldImportCsvRowsInOneBatch() {
+        // Given - the imported period starts the day after the stored one ends
+        when(ratingTableRepository.findAll()).thenReturn(List.of(
+                stored(InsuranceType.OC, "ENGINE_MEDIUM", LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31))));
+
+        // When
+        ImportResult result = importService.importCsv(csv(
+                "OC,ENGINE_MEDIUM,1.2500,2024-01-01,",
+                "OC,VEHICLE_AGE_3,1.1000,2024-01-01,2024-12-31",
+                "OC,VEHICLE_AGE_3,1.0500,2025-01-01,"));
+
+        // Then
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.received()).isEqualTo(3);
+        assertThat(result.imported()).isEqualTo(3);
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO rating_tables"), batch.capture());
+        assertThat(batch.getValue()).hasSize(3);
+        assertThat(batch.getValue().get(0)).containsExactly("OC", "ENGINE_MEDIUM", new BigDecimal("1.2500"),
+                LocalDate.of(2024, 1, 1), null);
+        verify(eventPublisher).publishEvent(new RatingTablesChangedEvent(InsuranceType.OC, "ENGINE_MEDIUM"));
+        verify(eventPublisher).publishEvent(new RatingTablesChangedEvent(InsuranceType.OC, "VEHICLE_AGE_3"));
+    }
+
+    @Test
+    void shouldRejectOverlapsWithStoredRowsAndWithinImport() {
+        // Given
+        when(ratingTableRepository.findAll()).thenReturn(List.of(
+                stored(InsuranceType.AC, "POWER_HIGH", LocalDate.of(2024, 1, 1), null)));
+
+        // When
+        ImportResult result = importService.importCsv(csv(
+                "AC,POWER_HIGH,1.3000,2025-01-01,",
+                "OC,VEHICLE_AGE_1,1.1000,2024-01-01,2024-06-30",
+                "OC,VEHICLE_AGE_1,1.2000,2024-06-30,",
+                "OC,VEHICLE_AGE_2,1.2000,2024-01-01,"));
+
+        // Then
+        assertThat(result.isSuccessful()).isFalse();
+        assertThat(result.received()).isEqualTo(4);
+        assertThat(result.imported()).isZero();
+        assertThat(result.errors()).extracting(ImportError::row).containsExactly(1, 3);
+        assertThat(result.errors().get(0).message()).contains("overlaps stored entry valid from 2024-01-01");
+        assertThat(result.errors().get(1).message()).contains("overlaps row 2");
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+    }
+
+    @Test
+    void shouldRejectMultipliersOutOfBoundsAndUnparseableRows() {
+        // Given
+        when(ratingTableRepository.findAll()).thenReturn(List.of());
+
+        // When
+        ImportResult result = importService.importCsv(csv(
+                "NNW,NNW_STANDARD,7.0000,2024-01-01,",
+                "NNW,VEHICLE_AGE_1,1.12345,2024-01-01,",
+                "NNW,VEHICLE_AGE_2,abc,2024-01-01,",
+                "NNW,VEHICLE_AGE_3,1.0000,2024-01-01,"));
+
+        // Then
+        assertThat(result.received()).isEqualTo(4);
+        assertThat(result.errors()).extracting(ImportError::row).containsExactly(1, 2, 3);
+        assertThat(result.errors().get(0).message()).contains("exceeds maximum allowed value");
+        assertThat(result.errors().get(1).message()).contains("decimal places");
+        assertThat(result.errors().get(2).message()).startsWith("Unparseable row");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldImportJsonArray() {
+        // Given
+        when(ratingTableRepository.findAll()).thenReturn(List.of());
+        String json = """
+                [{"insuranceType":"AC","ratingKey":"AC_COMPREHENSIVE","multiplier":1.05,"validFrom":"2024-01-01"},
+                 {"insuranceType":"AC","ratingKey":"AC_COMPREHENSIVE","multiplier":1.10,"validFrom":"2023-01-01",
+                  "validTo":"2023-12-31"}]
+                """;
+
+        // When
+        ImportResult result = importService.importJson(stream(json));
+
+        // Then
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.imported()).isEqualTo(2);
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void shouldRejectCsvWithWrongHeader() {
+        // When & Then
+        assertThatThrownBy(() -> importService.importCsv(stream("type,key\nOC,ENGINE_MEDIUM")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("CSV header must be");
+        verifyNoInteractions(ratingTableRepository, jdbcTemplate);
+    }
+
+    private InputStream csv(String... rows) {
+        return stream(RatingTableImportService.CSV_HEADER + "\n" + String.join("\n", rows));
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private RatingTable stored(InsuranceType insuranceType, String ratingKey, LocalDate validFrom, LocalDate validTo) {
+        return RatingTable.builder()
+                .insuranceType(insuranceType)
+                .ratingKey(ratingKey)
+                .multiplier(new BigDecimal("1.2000"))
+                .validFrom(validFrom)
+                .validTo(validTo)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.domain.InsuranceType;
+import com.insurance.backoffice.domain.RatingTable;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RatingTableSnapshot.
+ * Clean Code: Verifies date-based lookups against sorted validity intervals.
+ */
+class RatingTableSnapshotTest {
+
+    private static final LocalDate JAN_2024 = LocalDate.of(2024, 1, 1);
+    private static final LocalDate JUL_2024 = LocalDate.of(2024, 7, 1);
+
+    @Test
+    void shouldFindMultiplierValidForDate() {
+        // Given - closed period followed by an open-ended period, inserted out of order
+        RatingTableSnapshot snapshot = RatingTableSnapshot.of(1, List.of(
+                rating(InsuranceType.OC, "ENGINE_SMALL", "0.9000", JUL_2024, null),
+                rating(InsuranceType.OC, "ENGINE_SMALL", "0.8500", JAN_2024, JUL_2024.minusDays(1))
+        ));
+
+        // When & Then
+        assertThat(snapshot.findMultiplier(InsuranceType.OC, "ENGINE_SMALL", JAN_2024))
+                .isEqualTo(new BigDecimal("0.8500"));
+        assertThat(snapshot.findMultiplier(InsuranceType.OC, "ENGINE_SMALL", JUL_2024.minusDays(1)))
+                .isEqualTo(new BigDecimal("0.8500"));
+        assertThat(snapshot.findMultiplier(InsuranceType.OC, "ENGINE_SMALL", JUL_2024))
+                .isEqualTo(new BigDecimal("0.9000"));
+        assertThat(snapshot.findMultiplier(InsuranceType.OC, "ENGINE_SMALL", LocalDate.of(2030, 1, 1)))
+                .isEqualTo(new BigDecimal("0.9000"));
+    }
+
+    @Test
+    void shouldReturnNullWhenNoEntryIsValid() {
+        // Given
+        RatingTableSnapshot snapshot = RatingTableSnapshot.of(1, List.of(
+                rating(InsuranceType.OC, "ENGINE_SMALL", "0.8500", JAN_2024, JUL_2024)
+        ));
+
+        // When & Then
+        assertThat(snapshot.findMultiplier(InsuranceType.OC, "ENGINE_SMALL", JAN_2024.minusDays(1))).isNull();
+        assertThat(snapshot.findMultiplier(InsuranceType.OC, "ENGINE_SMALL", JUL_2024.plusDays(1))).isNull();
+        assertThat(snapshot.findMultiplier(InsuranceType.AC, "ENGINE_SMALL", JAN_2024)).isNull();
+        assertThat(snapshot.findMultiplier(InsuranceType.OC, "ENGINE_LARGE", JAN_2024)).isNull();
+    }
+
+    @Test
+    void shouldCountOverlappingEntries() {
+        // Given
+        RatingTableSnapshot snapshot = RatingTableSnapshot.of(1, List.of(
+                rating(InsuranceType.AC, "AC_COMPREHENSIVE", "1.0000", JAN_2024, null),
+                rating(InsuranceType.AC, "AC_COMPREHENSIVE", "1.1000", JUL_2024, null)
+        ));
+
+        // When & Then
+        assertThat(snapshot.countValidEntries(InsuranceType.AC, "AC_COMPREHENSIVE", JAN_2024)).isEqualTo(1);
+        assertThat(snapshot.countValidEntries(InsuranceType.AC, "AC_COMPREHENSIVE", JUL_2024)).isEqualTo(2);
+        // Latest-starting entry wins when periods overlap
+        assertThat(snapshot.findMultiplier(InsuranceType.AC, "AC_COMPREHENSIVE", JUL_2024))
+                .isEqualTo(new BigDecimal("1.1000"));
+        assertThat(snapshot.getEntryCount()).isEqualTo(2);
+        assertThat(snapshot.getRatingKeys(InsuranceType.AC)).containsExactly("AC_COMPREHENSIVE");
+    }
+
+    private RatingTable rating(InsuranceType insuranceType, String ratingKey, String multiplier,
+                               LocalDate validFrom, LocalDate validTo) {
+        return RatingTable.builder()
+                .insuranceType(insuranceType)
+                .ratingKey(ratingKey)
+                .multiplier(new BigDecimal(multiplier))
+                .validFrom(validFrom)
+                .validTo(validTo)
+                .build();
+    }
+}
@@ -1,16 +1,19 @@
 package com.insurance.backoffice.application.service;
 
 import com.insurance.backoffice.domain.*;
+import com.insurance.backoffice.infrastructure.repository.RatingRuleRepository;
 import com.insurance.backoffice.infrastructure.repository.RatingTableRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -27,8 +30,10 @@ class RatingValidationServiceTest {
     
     @Mock
     private RatingTableRepository ratingTableRepository;
+
+    @Mock
+    private RatingRuleRepository ratingRuleRepository;
     
-    @InjectMocks
     private RatingValidationService ratingValidationService;
     
     private Vehicle validVehicle;
@@ -39,6 +44,12 @@ class RatingValidationServiceTest {
     
     @BeforeEach
     void setUp() {
+        RatingTableSnapshotProvider snapshotProvider =
+                new RatingTableSnapshotProvider(ratingTableRepository, ratingRuleRepository, Duration.ofMinutes(5));
+        RatingService ratingService = new RatingService(ratingTableRepository, snapshotProvider,
+                new FixedPointPremiumCalculator(new SimpleMeterRegistry(), false, 0.0));
+        ratingValidationService = new RatingValidationService(ratingTableRepository, ratingService);
+        
         validVehicle = Vehicle.builder()
                 .make("Toyota")
                 .model("Camry")
@@ -165,9 +176,7 @@ class RatingValidationServiceTest {
     @Test
     void shouldFailValidationWhenRatingTablesAreMissing() {
         // Given
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                any(InsuranceType.class), anyString(), any(LocalDate.class)))
-                .thenReturn(Arrays.asList()); // No rating tables found
+        when(ratingTableRepository.findAll()).thenReturn(Arrays.asList()); // No rating tables found
         
         // When
         RatingValidationService.RatingValidationResult result = 
@@ -304,9 +313,7 @@ class RatingValidationServiceTest {
     @Test
     void shouldReturnFalseWhenCannotCalculatePremium() {
         // Given
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                any(InsuranceType.class), anyString(), any(LocalDate.class)))
-                .thenReturn(Arrays.asList()); // No rating tables
+        when(ratingTableRepository.findAll()).thenReturn(Arrays.asList()); // No rating tables
         
         // When
         boolean canCalculate = ratingValidationService.canCalculatePremium(InsuranceType.OC, validVehicle, policyDate);
@@ -317,31 +324,69 @@ class RatingValidationServiceTest {
     
     @Test
     void shouldReturnMissingRatingFactors() {
-        // Given - Mock specific missing factor
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("VEHICLE_AGE_5"), eq(policyDate)))
-                .thenReturn(Arrays.asList()); // Missing this factor
+        // Given - every factor except the vehicle's age factor is present
+        String ageKey = "VEHICLE_AGE_" + Math.min(
+                java.time.Period.between(validVehicle.getFirstRegistrationDate(), policyDate).getYears(), 10);
+        when(ratingTableRepository.findAll()).thenReturn(allRatingTables().stream()
+                .filter(ratingTable -> !ratingTable.getRatingKey().equals(ageKey))
+                .toList());
         
-        // Mock other factors as present
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("ENGINE_MEDIUM"), eq(policyDate)))
-                .thenReturn(Arrays.asList(validRatingTable));
-        
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("POWER_MEDIUM"), eq(policyDate)))
-                .thenReturn(Arrays.asList(validRatingTable));
+        // When
+        List<String> missingFactors = ratingValidationService.getMissingRatingFactors(
+                InsuranceType.OC, validVehicle, policyDate);
         
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                eq(InsuranceType.OC), eq("OC_STANDARD"), eq(policyDate)))
-                .thenReturn(Arrays.asList(validRatingTable));
+        // Then
+        assertThat(missingFactors).containsExactly(ageKey);
+    }
+    
+    @Test
+    void shouldValidateAndCalculatePremiumWithSingleRatingTableLoad() {
+        // Given
+        mockValidRatingTableLookups();
         
         // When
+        RatingValidationService.ValidatedQuote quote = 
+            ratingValidationService.validateAndCalculatePremium(InsuranceType.OC, validVehicle, policyDate);
         List<String> missingFactors = ratingValidationService.getMissingRatingFactors(
                 InsuranceType.OC, validVehicle, policyDate);
         
+        // Then - 800.00 x 1.1 for each of the four factors
+        assertThat(quote.isValid()).isTrue();
+        assertThat(quote.getPremiumBreakdown().getFinalPremium()).isEqualByComparingTo("1171.28");
+        assertThat(missingFactors).isEmpty();
+        verify(ratingTableRepository, times(1)).findAll();
+        verify(ratingTableRepository, never()).findByInsuranceTypeAndRatingKeyValidForDate(any(), any(), any());
+    }
+    
+    @Test
+    void shouldNotCalculatePremiumForInvalidQuote() {
+        // Given
+        mockValidRatingTableLookups();
+        
+        // When
+        RatingValidationService.ValidatedQuote quote = 
+            ratingValidationService.validateAndCalculatePremium(InsuranceType.OC, invalidVehicle, policyDate);
+        
+        // Then
+        assertThat(quote.isValid()).isFalse();
+        assertThat(quote.getPremiumBreakdown()).isNull();
+    }
+    
+    @Test
+    void shouldWarnAboutOverlappingRatingEntries() {
+        // Given
+        List<RatingTable> ratingTables = new ArrayList<>(allRatingTables());
+        ratingTables.add(ratingTable(InsuranceType.OC, "OC_STANDARD"));
+        when(ratingTableRepository.findAll()).thenReturn(ratingTables);
+        
+        // When
+        RatingValidationService.RatingValidationResult result = 
+            ratingValidationService.validateRatingFactors(InsuranceType.OC, validVehicle, policyDate);
+        
         // Then
-        assertThat(missingFactors).isNotEmpty();
-        assertThat(missingFactors).contains("VEHICLE_AGE_5");
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.getWarnings()).containsExactly(
+                "Multiple rating entries found for factor: OC_STANDARD, using first one");
     }
     
     @Test
@@ -463,8 +508,37 @@ class RatingValidationServiceTest {
      * Clean Code: Extracted common test setup.
      */
     private void mockValidRatingTableLookups() {
-        when(ratingTableRepository.findByInsuranceTypeAndRatingKeyValidForDate(
-                any(InsuranceType.class), anyString(), any(LocalDate.class)))
-                .thenReturn(Arrays.asList(validRatingTable));
+        when(ratingTableRepository.findAll()).thenReturn(allRatingTables());
+    }
+    
+    /**
+     * Creates one open-ended entry for every rating key of every insurance type.
+     */
+    private List<RatingTable> allRatingTables() {
+        List<RatingTable> ratingTables = new ArrayList<>();
+        for (InsuranceType insuranceType : InsuranceType.values()) {
+            for (int age = 0; age <= 10; age++) {
+                ratingTables.add(ratingTable(insuranceType, "VEHICLE_AGE_" + age));
+            }
+            for (EngineCapacityBand engineBand : EngineCapacityBand.values()) {
+                ratingTables.add(ratingTable(insuranceType, engineBand.getRatingKey()));
+            }
+            for (PowerBand powerBand : PowerBand.values()) {
+                ratingTables.add(ratingTable(insuranceType, powerBand.getRatingKey()));
+            }
+        }
+        ratingTables.add(ratingTable(InsuranceType.OC, "OC_STANDARD"));
+        ratingTables.add(ratingTable(InsuranceType.AC, "AC_COMPREHENSIVE"));
+        ratingTables.add(ratingTable(InsuranceType.NNW, "NNW_STANDARD"));
+        return ratingTables;
+    }
+    
+    private RatingTable ratingTable(InsuranceType insuranceType, String ratingKey) {
+        return RatingTable.builder()
+                .insuranceType(insuranceType)
+                .ratingKey(ratingKey)
+                .multiplier(new BigDecimal("1.1000"))
+                .validFrom(LocalDate.of(1900, 1, 1))
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.insurance.backoffice.application.service;
+
+import com.insurance.backoffice.application.service.SyncService.ChangeSet;
+import com.insurance.backoffice.application.service.SyncService.ClientChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SyncService.
+ * Clean Code: Checks feed positions through the bound query parameters and returned tokens.
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private SyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new SyncService(jdbcTemplate, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldContinueAfterLastClientWhenMoreChangesFollow() throws Exception {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(String.class)))
+                .thenReturn("900");
+        when(jdbcTemplate.query(contains("FROM clients"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> mapRows(invocation.getArgument(2),
+                        client(3L, 500), client(4L, 500), client(1L, 610)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.query(contains("FROM policies"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.query(contains("FROM vehicles"), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        // When
+        ChangeSet first = syncService.changesSince(null);
+        ChangeSet second = syncService.changesSince(first.nextToken());
+
+        // Then
+        assertThat(first.clients()).extracting(ClientChange::id).containsExactly(3L, 4L);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.hasMore()).isFalse();
+
+        ArgumentCaptor<SqlParameterSource> parameters = ArgumentCaptor.forClass(SqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).query(contains("FROM clients"), parameters.capture(), any(RowMapper.class));
+        SqlParameterSource firstQuery = parameters.getAllValues().get(0);
+        assertThat(firstQuery.getValue("afterXid")).isEqualTo("0");
+        assertThat(firstQuery.getValue("upTo")).isEqualTo("900");
+        assertThat(firstQuery.getValue("limit")).isEqualTo(3);
+        SqlParameterSource secondQuery = parameters.getAllValues().get(1);
+        assertThat(secondQuery.getValue("afterXid")).isEqualTo("500");
+        assertThat(secondQuery.getValue("afterId")).isEqualTo(4L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldResumeFromWatermarkOnceCaughtUp() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), any(SqlParameterSource.class), eq(String.class)))
+                .thenReturn("900")
+                .thenReturn("950");
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        // When
+        ChangeSet first = syncService.changesSince(null);
+        syncService.changesSince(first.nextToken());
+
+        // Then
+        assertThat(first.hasMore()).isFalse();
+        ArgumentCaptor<SqlParameterSource> parameters = ArgumentCaptor.forClass(SqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).query(contains("FROM policies"), parameters.capture(), any(RowMapper.class));
+        // Changes of transactions still running at the first sync are read by the second
+        SqlParameterSource secondQuery = parameters.getAllValues().get(1);
+        assertThat(secondQuery.getValue("afterXid")).isEqualTo("900");
+        assertThat(secondQuery.getValue("afterId")).isEqualTo(0L);
+        assertThat(secondQuery.getValue("upTo")).isEqualTo("950");
+    }
+
+    @Test
+    void shouldRejectInvalidToken() {
+        // When & Then
+        assertThatThrownBy(() -> syncService.changesSince("not-a-token"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid sync token");
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private <T> List<T> mapRows(RowMapper<T> rowMapper, ResultSet... rows) throws Exception {
+        List<T> mapped = new ArrayList<>();
+        for (int i = 0; i < rows.length; i++) {
+            mapped.add(rowMapper.mapRow(rows[i], i));
+        }
+        return mapped;
+    }
+
+    private ResultSet client(Long id, long changeXid) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("full_name")).thenReturn("Client " + id);
+        when(rs.getString("change_xid")).thenReturn(Long.toString(changeXid));
+        when(rs.getObject("updated_at", LocalDateTime.class)).thenReturn(LocalDateTime.of(2024, 3, 15, 10, 0));
+        return rs;
+    }
+}
@@ -1,5 +1,10 @@
 package com.insurance.backoffice.config;
 
+import com.insurance.backoffice.application.service.RatingSnapshotFileStore;
+import com.insurance.backoffice.application.service.RatingSnapshotFileStore.FileStatus;
+import com.insurance.backoffice.application.service.RatingSnapshotFileStore.SnapshotFileStatus;
+import com.insurance.backoffice.application.service.RatingTableSnapshot;
+import com.insurance.backoffice.application.service.RatingTableSnapshotProvider;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -10,6 +15,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -24,6 +33,12 @@ class ActuatorConfigTest {
     @MockBean
     private JdbcTemplate jdbcTemplate;
 
+    @MockBean
+    private RatingTableSnapshotProvider ratingTableSnapshotProvider;
+
+    @MockBean
+    private RatingSnapshotFileStore ratingSnapshotFileStore;
+
     @Test
     void shouldCreateDatabaseHealthIndicator() {
         // Given
@@ -54,7 +69,13 @@ class ActuatorConfigTest {
         config.applicationName = "test-app";
         config.activeProfile = "test";
 
+        config.ratingTableSnapshotProvider = ratingTableSnapshotProvider;
+        config.ratingSnapshotFileStore = ratingSnapshotFileStore;
+
         when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rating_tables", Long.class)).thenReturn(10L);
+        when(ratingTableSnapshotProvider.peek()).thenReturn(RatingTableSnapshot.of(7, List.of()));
+        when(ratingSnapshotFileStore.getStatus()).thenReturn(
+                new SnapshotFileStatus(FileStatus.MAPPED, "1-0badc0de", Instant.now(), true));
 
         // When
         HealthIndicator healthIndicator = config.applicationHealthIndicator();
@@ -66,6 +87,12 @@ class ActuatorConfigTest {
         assertThat(health.getDetails()).containsKey("profile");
         assertThat(health.getDetails().get("ratingTablesCount")).isEqualTo(10L);
         assertThat(health.getDetails().get("profile")).isEqualTo("test");
+
+        @SuppressWarnings("unchecked")
+        var ratingSnapshot = (Map<String, Object>) health.getDetails().get("ratingSnapshot");
+        assertThat(ratingSnapshot.get("version")).isEqualTo(7L);
+        assertThat(ratingSnapshot.get("source")).isEqualTo("FILE");
+        assertThat(ratingSnapshot.get("fileVersion")).isEqualTo("1-0badc0de");
     }
 
     @Test
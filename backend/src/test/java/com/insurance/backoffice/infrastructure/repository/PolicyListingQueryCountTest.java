@@ -0,0 +1,157 @@
+package com.insurance.backoffice.infrastructure.repository;
+
+import com.insurance.backoffice.application.service.PolicyPage;
+import com.insurance.backoffice.application.service.PolicyQueryService;
+import com.insurance.backoffice.application.service.PolicySortOrder;
+import com.insurance.backoffice.domain.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that policy listings cost a constant number of queries, however many policies,
+ * clients and vehicles a page spans.
+ * Clean Code: Counts statements through Hibernate statistics instead of inspecting SQL logs.
+ */
+@DataJpaTest
+@Import(PolicyQueryService.class)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PolicyListingQueryCountTest {
+
+    private static final int POLICY_COUNT = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PolicyQueryService policyQueryService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    private Statistics statistics;
+    private Client client;
+    private Policy lastPolicy;
+
+    @BeforeEach
+    void setUp() {
+        client = persistClient(0);
+        for (int i = 0; i < POLICY_COUNT; i++) {
+            // Every other policy belongs to its own client, and every policy insures its own vehicle
+            Client owner = i % 2 == 0 ? client : persistClient(i);
+            lastPolicy = persistPolicy(i, owner, persistVehicle(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldListActivePoliciesInOneQueryRegardlessOfPageSize() {
+        // When
+        PolicyPage smallPage = policyQueryService.findPoliciesByStatus(PolicyStatus.ACTIVE, 2,
+                PolicySortOrder.NEWEST_FIRST, null);
+        long smallPageQueries = statistics.getPrepareStatementCount();
+        statistics.clear();
+        PolicyPage fullPage = policyQueryService.findPoliciesByStatus(PolicyStatus.ACTIVE, POLICY_COUNT,
+                PolicySortOrder.NEWEST_FIRST, null);
+
+        // Then
+        assertThat(smallPage.policies()).hasSize(2);
+        assertThat(fullPage.policies()).hasSize(POLICY_COUNT);
+        assertThat(fullPage.policies()).extracting(PolicySummary::clientName).doesNotContainNull();
+        assertThat(fullPage.policies()).extracting(PolicySummary::vehicleRegistration).doesNotContainNull();
+        assertThat(smallPageQueries).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldListClientPoliciesInOneQueryPerPage() {
+        // When
+        PolicyPage firstPage = policyQueryService.findPoliciesByClient(client.getId(), 3,
+                PolicySortOrder.OLDEST_FIRST, null);
+        PolicyPage secondPage = policyQueryService.findPoliciesByClient(client.getId(), 3,
+                PolicySortOrder.OLDEST_FIRST, firstPage.nextPageToken());
+
+        // Then
+        assertThat(firstPage.policies()).hasSize(3);
+        assertThat(secondPage.policies()).hasSize(3);
+        assertThat(secondPage.hasNext()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldLoadSinglePolicyWithClientVehicleAndDetailsInOneQuery() {
+        // When
+        Policy policy = policyRepository.findById(lastPolicy.getId()).orElseThrow();
+
+        // Then
+        assertThat(policy.getClient().getFullName()).isNotBlank();
+        assertThat(policy.getVehicle().getRegistrationNumber()).isNotBlank();
+        assertThat(policy.getPolicyDetails().getCoverageArea()).isEqualTo("EU");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Client persistClient(int index) {
+        return entityManager.persist(Client.builder()
+                .fullName("Client " + index)
+                .pesel(String.format("%011d", 80010100000L + index))
+                .address("ul. Testowa " + index + ", 00-001 Warszawa")
+                .email("client" + index + "@example.com")
+                .phoneNumber("+48123456789")
+                .build());
+    }
+
+    private Vehicle persistVehicle(int index) {
+        return entityManager.persist(Vehicle.builder()
+                .make("Toyota")
+                .model("Corolla")
+                .yearOfManufacture(2020)
+                .registrationNumber(String.format("WA%05d", index))
+                .vin(String.format("JT%015d", index))
+                .engineCapacity(1600)
+                .power(132)
+                .firstRegistrationDate(LocalDate.of(2020, 5, 15))
+                .build());
+    }
+
+    private Policy persistPolicy(int index, Client owner, Vehicle vehicle) {
+        LocalDate issueDate = LocalDate.now().minusDays(index);
+        Policy policy = entityManager.persist(Policy.builder()
+                .policyNumber(String.format("POL-%03d", index))
+                .issueDate(issueDate)
+                .startDate(issueDate)
+                .endDate(issueDate.plusYears(1))
+                .status(PolicyStatus.ACTIVE)
+                .insuranceType(InsuranceType.OC)
+                .premium(BigDecimal.valueOf(1200.00))
+                .client(owner)
+                .vehicle(vehicle)
+                .build());
+        entityManager.persist(PolicyDetails.builder()
+                .policy(policy)
+                .coverageArea("EU")
+                .build());
+        return policy;
+    }
+}
@@ -6,12 +6,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -173,6 +175,38 @@ class PolicyRepositoryTest {
         assertThat(policies.get(1).getPolicyNumber()).isEqualTo("POL-002");
     }
     
+    @Test
+    void shouldPageClientPoliciesByIssueDateKeyset() {
+        // When
+        List<PolicySummary> firstPage = policyRepository.findByClientIssuedBefore(
+                client1.getId(), LocalDate.of(9999, 12, 31), Long.MAX_VALUE, PageRequest.of(0, 1));
+        PolicySummary last = firstPage.get(0);
+        List<PolicySummary> secondPage = policyRepository.findByClientIssuedBefore(
+                client1.getId(), last.issueDate(), last.id(), PageRequest.of(0, 1));
+        List<PolicySummary> oldestFirst = policyRepository.findByClientIssuedAfter(
+                client1.getId(), LocalDate.of(1, 1, 1), Long.MIN_VALUE, PageRequest.of(0, 10));
+        
+        // Then
+        assertThat(firstPage).extracting(PolicySummary::policyNumber).containsExactly("POL-001");
+        assertThat(secondPage).extracting(PolicySummary::policyNumber).containsExactly("POL-002");
+        assertThat(oldestFirst).extracting(PolicySummary::policyNumber).containsExactly("POL-002", "POL-001");
+        assertThat(secondPage.get(0).clientName()).isEqualTo("John Kowalski");
+        assertThat(secondPage.get(0).vehicleRegistration()).isEqualTo("KR67890");
+    }
+    
+    @Test
+    void shouldPagePoliciesByStatusAfterKeysetPosition() {
+        // When
+        List<PolicySummary> afterActive = policyRepository.findByStatusIssuedBefore(
+                PolicyStatus.ACTIVE, activePolicy.getIssueDate(), activePolicy.getId(), PageRequest.of(0, 10));
+        List<PolicySummary> active = policyRepository.findByStatusIssuedAfter(
+                PolicyStatus.ACTIVE, LocalDate.of(1, 1, 1), Long.MIN_VALUE, PageRequest.of(0, 10));
+        
+        // Then
+        assertThat(afterActive).isEmpty();
+        assertThat(active).extracting(PolicySummary::policyNumber).containsExactly("POL-001");
+    }
+    
     @Test
     void shouldFindPoliciesByVehicleId() {
         // When
@@ -314,6 +348,44 @@ class PolicyRepositoryTest {
         assertThat(policies).hasSize(3);
     }
     
+    @Test
+    void shouldFindPoliciesMatchingAnyOfSeveralValuesPerFilter() {
+        // Given
+        PolicySearchCriteria criteria = new PolicySearchCriteria(
+                Set.of(client1.getId(), client2.getId()), null,
+                Set.of(PolicyStatus.ACTIVE, PolicyStatus.EXPIRED), Set.of(InsuranceType.OC, InsuranceType.NNW),
+                null, null);
+        
+        // When
+        List<PolicySummary> policies = policyRepository.findByCriteriaIssuedBefore(criteria,
+                LocalDate.of(9999, 12, 31), Long.MAX_VALUE, PageRequest.of(0, 10));
+        
+        // Then
+        assertThat(policies).extracting(PolicySummary::policyNumber).containsExactly("POL-001", "POL-003");
+        assertThat(policies.get(0).clientName()).isEqualTo("John Kowalski");
+    }
+    
+    @Test
+    void shouldPageCriteriaSearchByIssueDateKeyset() {
+        // Given
+        PolicySearchCriteria criteria = PolicySearchCriteria.of(client1.getId(), null, null, null,
+                LocalDate.now().minusDays(90), null);
+        
+        // When
+        List<PolicySummary> firstPage = policyRepository.findByCriteriaIssuedAfter(criteria,
+                LocalDate.of(1, 1, 1), Long.MIN_VALUE, PageRequest.of(0, 1));
+        PolicySummary last = firstPage.get(0);
+        List<PolicySummary> secondPage = policyRepository.findByCriteriaIssuedAfter(criteria,
+                last.issueDate(), last.id(), PageRequest.of(0, 1));
+        List<PolicySummary> thirdPage = policyRepository.findByCriteriaIssuedAfter(criteria,
+                secondPage.get(0).issueDate(), secondPage.get(0).id(), PageRequest.of(0, 1));
+        
+        // Then
+        assertThat(last.policyNumber()).isEqualTo("POL-002");
+        assertThat(secondPage).extracting(PolicySummary::policyNumber).containsExactly("POL-001");
+        assertThat(thirdPage).isEmpty();
+    }
+    
     @Test
     void shouldFindPoliciesByClientNameContainingIgnoreCase() {
         // When
@@ -221,6 +221,16 @@ class RatingTableRepositoryTest {
         assertThat(overlapping).isEmpty();
     }
     
+    @Test
+    void shouldFindOverlapWithOpenEndedPeriodEnclosingExistingOne() {
+        // When - an open-ended period starting before ocDriverAge covers it entirely
+        List<RatingTable> overlapping = ratingTableRepository.findOverlappingValidityPeriods(
+                InsuranceType.OC, "DRIVER_AGE_25_35", LocalDate.now().minusYears(2), null);
+        
+        // Then
+        assertThat(overlapping).hasSize(1);
+    }
+    
     @Test
     void shouldReturnEmptyWhenRatingTableNotFound() {
         // When
@@ -1,26 +1,48 @@
 package com.insurance.backoffice.interfaces.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insurance.backoffice.application.service.PolicyBulkIssuanceService;
+import com.insurance.backoffice.application.service.PolicyBulkIssuanceService.BulkIssuanceResult;
+import com.insurance.backoffice.application.service.PolicyBulkIssuanceService.IssuedPolicy;
+import com.insurance.backoffice.application.service.PolicyBulkIssuanceService.ItemError;
 import com.insurance.backoffice.application.service.PolicyService;
 import com.insurance.backoffice.application.service.PdfService;
 import com.insurance.backoffice.application.service.PdfGenerationException;
+import com.insurance.backoffice.application.service.PolicyExportFormat;
+import com.insurance.backoffice.application.service.PolicyExportService;
+import com.insurance.backoffice.application.service.PolicyPage;
+import com.insurance.backoffice.application.service.PolicyQueryService;
+import com.insurance.backoffice.application.service.PolicyRenewalService;
+import com.insurance.backoffice.application.service.PolicySearchService;
+import com.insurance.backoffice.application.service.PolicySortOrder;
 import com.insurance.backoffice.domain.*;
 import com.insurance.backoffice.interfaces.controller.PolicyController.CreatePolicyRequest;
 import com.insurance.backoffice.interfaces.controller.PolicyController.PolicyResponse;
+import com.insurance.backoffice.interfaces.dto.BulkCreatePolicyRequest;
+import com.insurance.backoffice.interfaces.dto.StartRenewalRequest;
+import com.insurance.backoffice.interfaces.dto.UpdatePolicyRequest;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.context.annotation.Import;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -48,16 +70,39 @@ class PolicyControllerTest {
     @MockBean
     private PdfService pdfService;
     
+    @MockBean
+    private PolicyQueryService policyQueryService;
+    
+    @MockBean
+    private PolicyExportService policyExportService;
+    
+    @MockBean
+    private PolicyBulkIssuanceService policyBulkIssuanceService;
+    
+    @MockBean
+    private PolicySearchService policySearchService;
+    
+    @MockBean
+    private PolicyRenewalService policyRenewalService;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
+    @BeforeEach
+    void setUp() {
+        when(policyQueryService.findPoliciesByStatusETag(any(), any(), any(), any())).thenReturn("\"status-page\"");
+        when(policyQueryService.findPoliciesByClientETag(any(), any(), any(), any())).thenReturn("\"client-page\"");
+        when(policyQueryService.findPoliciesETag(any(), any(), any(), any())).thenReturn("\"criteria-page\"");
+    }
+    
     @Test
     @WithMockUser(roles = "OPERATOR")
     void shouldGetAllPoliciesSuccessfully() throws Exception {
         // Given
         List<Policy> policies = createMockPolicies();
         
-        when(policyService.findPoliciesByStatus(PolicyStatus.ACTIVE)).thenReturn(policies);
+        when(policyQueryService.findPoliciesByStatus(eq(PolicyStatus.ACTIVE), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull()))
+                .thenReturn(pageOf(policies, null));
         
         // When & Then
         mockMvc.perform(get("/api/policies"))
@@ -72,7 +117,7 @@ class PolicyControllerTest {
                 .andExpect(jsonPath("$[0].premium").value(1200.00))
                 .andExpect(jsonPath("$[0].status").value("ACTIVE"));
         
-        verify(policyService).findPoliciesByStatus(PolicyStatus.ACTIVE);
+        verify(policyQueryService).findPoliciesByStatus(eq(PolicyStatus.ACTIVE), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull());
     }
     
     @Test
@@ -81,7 +126,8 @@ class PolicyControllerTest {
         // Given
         List<Policy> policies = List.of(createMockPolicy());
         
-        when(policyService.findPoliciesByStatus(PolicyStatus.ACTIVE)).thenReturn(policies);
+        when(policyQueryService.findPoliciesByStatus(eq(PolicyStatus.ACTIVE), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull()))
+                .thenReturn(pageOf(policies, null));
         
         // When & Then
         mockMvc.perform(get("/api/policies"))
@@ -89,7 +135,7 @@ class PolicyControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(1));
         
-        verify(policyService).findPoliciesByStatus(PolicyStatus.ACTIVE);
+        verify(policyQueryService).findPoliciesByStatus(eq(PolicyStatus.ACTIVE), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull());
     }
     
     @Test
@@ -101,13 +147,236 @@ class PolicyControllerTest {
         verifyNoInteractions(policyService);
     }
     
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldLinkNextPageWhenMorePoliciesFollow() throws Exception {
+        // Given
+        when(policyQueryService.findPoliciesByStatus(PolicyStatus.ACTIVE, 1, PolicySortOrder.OLDEST_FIRST, "first"))
+                .thenReturn(pageOf(List.of(createMockPolicy()), "second"));
+        
+        // When & Then
+        mockMvc.perform(get("/api/policies")
+                        .param("size", "1")
+                        .param("sort", "OLDEST_FIRST")
+                        .param("pageToken", "first"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string("X-Next-Page-Token", "second"))
+                .andExpect(header().string("Link",
+                        "<http://localhost/api/policies?size=1&sort=OLDEST_FIRST&pageToken=second>; rel=\"next\""));
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldAnswerNotModifiedWithoutLoadingPageWhenETagMatches() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/policies")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale-page\", W/\"status-page\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"status-page\""))
+                .andExpect(content().string(""));
+        
+        verify(policyQueryService, never()).findPoliciesByStatus(any(), any(), any(), any());
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldTagPageWhenCachedCopyIsStale() throws Exception {
+        // Given
+        when(policyQueryService.findPoliciesByClient(eq(1L), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull()))
+                .thenReturn(pageOf(createMockPolicies(), null));
+        
+        // When & Then
+        mockMvc.perform(get("/api/policies/client/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale-page\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"client-page\""))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldAnswerNotModifiedWithoutLoadingPolicyWhenVersionIsUnchanged() throws Exception {
+        // Given
+        when(policyService.findPolicyVersion(1L)).thenReturn(3L);
+        
+        // When & Then
+        mockMvc.perform(get("/api/policies/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        
+        verify(policyService, never()).findPolicyById(any());
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldReturnPolicyTaggedWithItsVersion() throws Exception {
+        // Given
+        Policy policy = createMockPolicy();
+        when(policyService.findPolicyVersion(1L)).thenReturn(4L);
+        when(policyService.findPolicyById(1L)).thenReturn(policy);
+        
+        // When & Then
+        mockMvc.perform(get("/api/policies/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.policyNumber").value("POL-2024-001"));
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldRejectUpdateWhenIfMatchVersionIsStale() throws Exception {
+        // Given
+        UpdatePolicyRequest request = UpdatePolicyRequest.builder()
+            .startDate(LocalDate.of(2024, 2, 1))
+            .endDate(LocalDate.of(2025, 1, 31))
+            .build();
+        when(policyService.updatePolicy(eq(1L), any(), any(), any(), any(), any(), eq(2L)))
+            .thenThrow(new OptimisticLockingFailureException("Policy 1 was modified since version 2"));
+        
+        // When & Then
+        mockMvc.perform(put("/api/policies/1")
+                .with(csrf())
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldReturnBadRequestWhenPageTokenIsInvalid() throws Exception {
+        // Given
+        when(policyQueryService.findPoliciesByClient(1L, null, PolicySortOrder.NEWEST_FIRST, "garbage"))
+                .thenThrow(new IllegalArgumentException("Invalid page token"));
+        
+        // When & Then
+        mockMvc.perform(get("/api/policies/client/1").param("pageToken", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldStartRenewalJob() throws Exception {
+        // Given
+        StartRenewalRequest request = new StartRenewalRequest(InsuranceType.OC,
+            LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30), 200);
+        RenewalJob job = RenewalJob.builder()
+            .insuranceType(InsuranceType.OC)
+            .expiringFrom(LocalDate.of(2024, 6, 1))
+            .expiringTo(LocalDate.of(2024, 6, 30))
+            .maxRowsPerSecond(200)
+            .build();
+        when(policyRenewalService.startJob(InsuranceType.OC, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30), 200))
+            .thenReturn(job);
+        
+        // When & Then
+        mockMvc.perform(post("/api/policies/renewal-jobs")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.maxRowsPerSecond").value(200))
+                .andExpect(jsonPath("$.processedCount").value(0));
+    }
+    
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldReturnConflictWhenRenewalJobIsAlreadyRunning() throws Exception {
+        // Given
+        StartRenewalRequest request = new StartRenewalRequest(null,
+            LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30), null);
+        when(policyRenewalService.startJob(isNull(), any(LocalDate.class), any(LocalDate.class), isNull()))
+            .thenThrow(new IllegalStateException("A renewal job is already running"));
+        
+        // When & Then
+        mockMvc.perform(post("/api/policies/renewal-jobs")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict());
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldFilterPoliciesByRepeatedCriteria() throws Exception {
+        // Given
+        PolicySearchCriteria criteria = new PolicySearchCriteria(Set.of(1L, 2L), null,
+                Set.of(PolicyStatus.ACTIVE), Set.of(InsuranceType.OC, InsuranceType.AC),
+                LocalDate.of(2024, 1, 1), null);
+        when(policyQueryService.findPolicies(criteria, null, PolicySortOrder.OLDEST_FIRST, null))
+                .thenReturn(pageOf(createMockPolicies(), null));
+        
+        // When & Then
+        mockMvc.perform(get("/api/policies/filter")
+                .param("clientId", "1", "2")
+                .param("status", "ACTIVE")
+                .param("insuranceType", "OC", "AC")
+                .param("issuedFrom", "2024-01-01")
+                .param("sort", "OLDEST_FIRST"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist("X-Next-Page-Token"));
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldSearchPoliciesByRelevance() throws Exception {
+        // Given
+        when(policySearchService.searchPolicies("kowalski", 1, null))
+                .thenReturn(pageOf(List.of(createMockACPolicy()), "next-token"));
+        
+        // When & Then
+        mockMvc.perform(get("/api/policies/search").param("q", "kowalski").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].policyNumber").value("POL-2024-002"))
+                .andExpect(header().string("X-Next-Page-Token", "next-token"));
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldReturnBadRequestWhenSearchTermIsTooShort() throws Exception {
+        // Given
+        when(policySearchService.searchPolicies("ab", null, null))
+                .thenThrow(new IllegalArgumentException("Search term must have at least 3 characters"));
+        
+        // When & Then
+        mockMvc.perform(get("/api/policies/search").param("q", "ab"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldStreamPolicyExport() throws Exception {
+        // Given
+        when(policyExportService.export(eq(PolicyExportFormat.CSV), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("id\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        
+        // When
+        MvcResult result = mockMvc.perform(get("/api/policies/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", startsWith("attachment; filename=\"policies-")))
+                .andExpect(content().string("id\r\n1\r\n"));
+    }
+    
     @Test
     @WithMockUser(roles = "OPERATOR")
     void shouldGetPoliciesByClientSuccessfully() throws Exception {
         // Given
         List<Policy> policies = List.of(createMockPolicy());
         
-        when(policyService.findPoliciesByClient(1L)).thenReturn(policies);
+        when(policyQueryService.findPoliciesByClient(eq(1L), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull()))
+                .thenReturn(pageOf(policies, null));
         
         // When & Then
         mockMvc.perform(get("/api/policies/client/1"))
@@ -116,14 +385,15 @@ class PolicyControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].clientName").value("John Doe"));
         
-        verify(policyService).findPoliciesByClient(1L);
+        verify(policyQueryService).findPoliciesByClient(eq(1L), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull());
     }
     
     @Test
     @WithMockUser(roles = "OPERATOR")
     void shouldReturnEmptyListWhenClientHasNoPolicies() throws Exception {
         // Given
-        when(policyService.findPoliciesByClient(999L)).thenReturn(List.of());
+        when(policyQueryService.findPoliciesByClient(eq(999L), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull()))
+                .thenReturn(pageOf(List.of(), null));
         
         // When & Then
         mockMvc.perform(get("/api/policies/client/999"))
@@ -131,7 +401,20 @@ class PolicyControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
         
-        verify(policyService).findPoliciesByClient(999L);
+        verify(policyQueryService).findPoliciesByClient(eq(999L), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull());
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldReturnNotFoundForPoliciesOfUnknownClient() throws Exception {
+        // Given
+        when(policyQueryService.findPoliciesByClient(eq(404L), isNull(), eq(PolicySortOrder.NEWEST_FIRST), isNull()))
+                .thenThrow(new com.insurance.backoffice.application.service.EntityNotFoundException(
+                        "Client not found with ID: 404"));
+        
+        // When & Then
+        mockMvc.perform(get("/api/policies/client/404"))
+                .andExpect(status().isNotFound());
     }
     
     @Test
@@ -195,6 +478,56 @@ class PolicyControllerTest {
             eq(LocalDate.of(2024, 1, 1)), eq(LocalDate.of(2024, 12, 31)), eq(BigDecimal.valueOf(-100.00)));
     }
     
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldReportRejectedItemsOfBulkIssuance() throws Exception {
+        // Given
+        BulkCreatePolicyRequest request = new BulkCreatePolicyRequest(List.of(
+            new BulkCreatePolicyRequest.Item(1L, 1L, InsuranceType.OC,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), BigDecimal.ZERO, null, null),
+            new BulkCreatePolicyRequest.Item(1L, 99L, InsuranceType.OC,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), BigDecimal.ZERO, null, null)
+        ));
+        when(policyBulkIssuanceService.issuePolicies(anyList())).thenReturn(new BulkIssuanceResult(2, 1,
+            List.of(new IssuedPolicy(0, 10L, "OC-1A2B3C4D")),
+            List.of(new ItemError(1, "Vehicle not found with ID: 99"))));
+        
+        // When & Then
+        mockMvc.perform(post("/api/policies/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.issued").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.policies[0].policyNumber").value("OC-1A2B3C4D"))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Vehicle not found with ID: 99"));
+        
+        verify(policyBulkIssuanceService).issuePolicies(argThat(items -> items.size() == 2
+            && items.get(1).vehicleId().equals(99L)));
+    }
+    
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    void shouldReturnBadRequestWhenBulkIssuanceExceedsLimit() throws Exception {
+        // Given
+        BulkCreatePolicyRequest request = new BulkCreatePolicyRequest(List.of(
+            new BulkCreatePolicyRequest.Item(1L, 1L, InsuranceType.OC,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), BigDecimal.ZERO, null, null)
+        ));
+        when(policyBulkIssuanceService.issuePolicies(anyList()))
+            .thenThrow(new IllegalArgumentException("At most 0 policies can be issued per request"));
+        
+        // When & Then
+        mockMvc.perform(post("/api/policies/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     @WithMockUser(roles = "OPERATOR")
     void shouldReturnBadRequestWhenCreatePolicyDataIsInvalid() throws Exception {
@@ -357,4 +690,24 @@ class PolicyControllerTest {
             .status(PolicyStatus.ACTIVE)
             .build();
     }
-}
\ No newline at end of file
+    
+    private PolicyPage pageOf(List<Policy> policies, String nextPageToken) {
+        List<PolicySummary> summaries = policies.stream()
+            .map(policy -> new PolicySummary(
+                policy.getId(),
+                policy.getPolicyNumber(),
+                policy.getIssueDate(),
+                policy.getClient().getFullName(),
+                policy.getVehicle().getRegistrationNumber(),
+                policy.getInsuranceType(),
+                policy.getStartDate(),
+                policy.getEndDate(),
+                policy.getPremium(),
+                policy.getDiscountSurcharge(),
+                policy.getAmountGuaranteed(),
+                policy.getCoverageArea(),
+                policy.getStatus()))
+            .toList();
+        return new PolicyPage(summaries, nextPageToken);
+    }
+}
@@ -0,0 +1,107 @@
+package com.insurance.backoffice.interfaces.controller;
+
+import com.insurance.backoffice.application.service.PolicyRepricingService;
+import com.insurance.backoffice.application.service.QuoteService;
+import com.insurance.backoffice.application.service.QuoteService.BatchSummary;
+import com.insurance.backoffice.application.service.QuoteService.QuoteItem;
+import com.insurance.backoffice.application.service.QuoteService.QuoteResult;
+import com.insurance.backoffice.application.service.RatingDayRollover;
+import com.insurance.backoffice.application.service.RatingService;
+import com.insurance.backoffice.application.service.RatingSimulationService;
+import com.insurance.backoffice.application.service.RatingTableImportService;
+import com.insurance.backoffice.application.service.RatingValidationService;
+import com.insurance.backoffice.domain.InsuranceType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for RatingController class.
+ * Clean Code: Web layer testing with mocked service dependencies.
+ */
+@WebMvcTest(controllers = RatingController.class,
+    excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+    })
+@TestPropertySource(locations = "classpath:application-test.properties")
+class RatingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RatingService ratingService;
+
+    @MockBean
+    private RatingValidationService ratingValidationService;
+
+    @MockBean
+    private QuoteService quoteService;
+
+    @MockBean
+    private PolicyRepricingService policyRepricingService;
+
+    @MockBean
+    private RatingSimulationService ratingSimulationService;
+
+    @MockBean
+    private RatingTableImportService ratingTableImportService;
+
+    @MockBean
+    private RatingDayRollover ratingDayRollover;
+
+    @Test
+    @WithMockUser(roles = "OPERATOR")
+    @SuppressWarnings("unchecked")
+    void shouldReportNullQuoteOfBatchAsFailedQuote() throws Exception {
+        // Given
+        when(quoteService.quote(anyList(), any())).thenAnswer(invocation -> {
+            Consumer<QuoteResult> consumer = invocation.getArgument(1);
+            consumer.accept(new QuoteResult(0, null, null, null, null, "Quote item cannot be null"));
+            consumer.accept(new QuoteResult(1, InsuranceType.OC, 1L, LocalDate.of(2024, 3, 15), null,
+                    "Vehicle not found with ID: 1"));
+            return new BatchSummary(2, 0, 2, 1L, 1L, 2000.0);
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/rating/quotes")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"quotes": [null, {"insuranceType": "OC", "vehicleId": 1, "policyDate": "2024-03-15"}]}
+                        """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Quote item cannot be null")));
+
+        ArgumentCaptor<List<QuoteItem>> items = ArgumentCaptor.forClass(List.class);
+        verify(quoteService).validateBatch(items.capture());
+        assertThat(items.getValue()).hasSize(2);
+        assertThat(items.getValue().get(0)).isNull();
+        assertThat(items.getValue().get(1).vehicleId()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,2 @@
+-- Objects created by Flyway migrations that the JPA-generated test schema does not include
+CREATE SEQUENCE IF NOT EXISTS policy_number_seq START WITH 1 INCREMENT BY 100;
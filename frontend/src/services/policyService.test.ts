@@ -34,6 +34,45 @@ describe('policyService', () => {
       expect(mockedApiClient.get).toHaveBeenCalledWith('/policies');
       expect(result).toEqual(mockPolicies);
     });
+
+    test('should follow next page tokens until the last page', async () => {
+      const firstPage: Policy[] = [
+        {
+          id: 2,
+          policyNumber: 'POL-2024-002',
+          clientName: 'Jane Smith',
+          vehicleRegistration: 'XYZ789',
+          insuranceType: 'AC',
+          startDate: '2024-02-01',
+          endDate: '2025-01-31',
+          premium: 1500.00,
+          status: 'ACTIVE',
+        },
+      ];
+      const lastPage: Policy[] = [
+        {
+          id: 1,
+          policyNumber: 'POL-2024-001',
+          clientName: 'John Doe',
+          vehicleRegistration: 'ABC123',
+          insuranceType: 'OC',
+          startDate: '2024-01-01',
+          endDate: '2024-12-31',
+          premium: 1200.00,
+          status: 'ACTIVE',
+        },
+      ];
+
+      mockedApiClient.get
+        .mockResolvedValueOnce({ data: firstPage, headers: { 'x-next-page-token': 'token-2' } })
+        .mockResolvedValueOnce({ data: lastPage, headers: {} });
+
+      const result = await policyService.getAllPolicies();
+
+      expect(mockedApiClient.get).toHaveBeenCalledTimes(2);
+      expect(mockedApiClient.get).toHaveBeenNthCalledWith(2, '/policies', { params: { pageToken: 'token-2' } });
+      expect(result).toEqual([...firstPage, ...lastPage]);
+    });
   });
 
   describe('getPolicyById', () => {
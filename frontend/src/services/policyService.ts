@@ -1,10 +1,25 @@
 import { apiClient } from './apiClient';
 import { Policy, CreatePolicyRequest, UpdatePolicyRequest, Client, Vehicle } from '../types/policy';
 
+// Policy listings are paged; the token of the next page comes in this header
+const NEXT_PAGE_TOKEN_HEADER = 'x-next-page-token';
+
+// Fetches every page of a policy listing by following the next page tokens
+const getAllPages = async (url: string): Promise<Policy[]> => {
+  let response = await apiClient.get<Policy[]>(url);
+  const policies = [...response.data];
+  let pageToken = response.headers?.[NEXT_PAGE_TOKEN_HEADER];
+  while (pageToken) {
+    response = await apiClient.get<Policy[]>(url, { params: { pageToken } });
+    policies.push(...response.data);
+    pageToken = response.headers?.[NEXT_PAGE_TOKEN_HEADER];
+  }
+  return policies;
+};
+
 export const policyService = {
   async getAllPolicies(): Promise<Policy[]> {
-    const response = await apiClient.get<Policy[]>('/policies');
-    return response.data;
+    return getAllPages('/policies');
   },
 
   async getPolicyById(id: number): Promise<Policy> {
@@ -13,8 +28,7 @@ export const policyService = {
   },
 
   async getPoliciesByClient(clientId: number): Promise<Policy[]> {
-    const response = await apiClient.get<Policy[]>(`/policies/client/${clientId}`);
-    return response.data;
+    return getAllPages(`/policies/client/${clientId}`);
   },
 
   async createPolicy(policyData: CreatePolicyRequest): Promise<Policy> {